@@ -0,0 +1,70 @@
+package com.astrology.api.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import swisseph.SweConst;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Planet positions through a {@link SwissEphPool} with one pooled instance
+ * per core, from one thread and from as many threads as cores; the ratio of
+ * the two is how far the pool lets calculations scale.
+ * Run with {@code mvn -Pbench test-compile exec:exec -Dbench.filter=SwissEphPool}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SwissEphPoolBenchmark {
+    private static final int FLAGS = SweConst.SEFLG_SWIEPH | SweConst.SEFLG_SPEED;
+
+    @State(Scope.Benchmark)
+    public static class Pool {
+        SwissEphPool pool;
+
+        @Setup
+        public void setUp() {
+            pool = new SwissEphPool(Runtime.getRuntime().availableProcessors(), null);
+        }
+    }
+
+    // Per-thread scratch and a moving instant, so calls do not hit the instance's position cache
+    @State(Scope.Thread)
+    public static class Caller {
+        final double[] xx = new double[6];
+        final StringBuffer serr = new StringBuffer();
+        double julianDay = 2451545.0;
+        int body;
+    }
+
+    @Benchmark
+    @Threads(1)
+    public double singleThread(Pool pool, Caller caller) {
+        return calculate(pool, caller);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public double allCores(Pool pool, Caller caller) {
+        return calculate(pool, caller);
+    }
+
+    private static double calculate(Pool pool, Caller caller) {
+        caller.julianDay += 3.7;
+        caller.body = (caller.body + 1) % 10;
+        pool.pool.execute(swissEph -> swissEph.swe_calc_ut(caller.julianDay, caller.body, FLAGS, caller.xx,
+            caller.serr));
+        return caller.xx[0];
+    }
+}
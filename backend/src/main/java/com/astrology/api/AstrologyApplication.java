@@ -2,8 +2,10 @@ package com.astrology.api;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class AstrologyApplication {
     public static void main(String[] args) {
         SpringApplication.run(AstrologyApplication.class, args);
@@ -0,0 +1,25 @@
+package com.astrology.api.config;
+
+import com.astrology.api.model.astrology.AspectType;
+import com.astrology.api.util.AspectCalculator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class AspectConfig {
+
+    // Adds semi-sextile, semi-square, quintile, sesquiquadrate, biquintile and quincunx
+    @Value("${aspects.minor:false}")
+    private boolean includeMinor;
+
+    // Multiplier on the default orb of every aspect type
+    @Value("${aspects.orb.scale:1.0}")
+    private double orbScale;
+
+    @Bean
+    public AspectCalculator aspectCalculator() {
+        AspectType[] types = includeMinor ? AspectType.values() : AspectType.majors();
+        return new AspectCalculator(types, orbScale);
+    }
+}
@@ -0,0 +1,87 @@
+package com.astrology.api.config;
+
+import com.astrology.api.util.ChebyshevEngine;
+import com.astrology.api.util.ChebyshevEphemeris;
+import com.astrology.api.util.EphemerisEngine;
+import com.astrology.api.util.EphemerisRouter;
+import com.astrology.api.util.JPLDE405Reader;
+import com.astrology.api.util.JplEngine;
+import com.astrology.api.util.KeplerEngine;
+import com.astrology.api.util.SwissEphPool;
+import com.astrology.api.util.SwissEphemerisEngine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+@Configuration
+public class EphemerisConfig {
+
+    // 0 means one SwissEph instance per available core
+    @Value("${ephemeris.pool.size:0}")
+    private int poolSize;
+
+    @Value("${ephemeris.path:}")
+    private String ephemerisPath;
+
+    // JPL DE binary file (e.g. lnxp1900p2053.405 or de440.bin); empty keeps the Keplerian fallback
+    @Value("${ephemeris.jpl.file:}")
+    private String jplFile;
+
+    // Position engine for the standard precision tier: "swisseph" or "chebyshev"
+    @Value("${ephemeris.engine:swisseph}")
+    private String engine;
+
+    // File written by ChebyshevEphemerisGenerator, used when engine=chebyshev
+    @Value("${ephemeris.chebyshev.file:}")
+    private String chebyshevFile;
+
+    @PostConstruct
+    public void configurePool() {
+        SwissEphPool.configureShared(poolSize, ephemerisPath);
+    }
+
+    // Preview is analytic, standard the configured engine, research the JPL file when one is set
+    @Bean
+    public EphemerisRouter ephemerisRouter() throws IOException {
+        if (!isChebyshevEngine() && !"swisseph".equalsIgnoreCase(engine)) {
+            throw new IllegalStateException("Unknown ephemeris.engine: " + engine + " (swisseph or chebyshev)");
+        }
+        if (isChebyshevEngine() && getChebyshevFile() == null) {
+            throw new IllegalStateException("ephemeris.engine=chebyshev needs ephemeris.chebyshev.file");
+        }
+        EphemerisEngine standard = isChebyshevEngine()
+            ? new ChebyshevEngine(ChebyshevEphemeris.open(getChebyshevFile()))
+            : new SwissEphemerisEngine();
+        JPLDE405Reader reader = new JPLDE405Reader(getJplFile());
+        reader.open();
+        return new EphemerisRouter(new KeplerEngine(), standard, reader.isOpen() ? new JplEngine(reader) : null);
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public String getEphemerisPath() {
+        return ephemerisPath;
+    }
+
+    public Path getJplFile() {
+        return jplFile == null || jplFile.isBlank() ? null : Path.of(jplFile);
+    }
+
+    public String getEngine() {
+        return engine;
+    }
+
+    public boolean isChebyshevEngine() {
+        return "chebyshev".equalsIgnoreCase(engine);
+    }
+
+    public Path getChebyshevFile() {
+        return chebyshevFile == null || chebyshevFile.isBlank() ? null : Path.of(chebyshevFile);
+    }
+}
@@ -2,15 +2,34 @@ package com.astrology.api.controller;
 
 import com.astrology.api.config.AppConfig;
 import com.astrology.api.dto.BirthChartRequest;
+import com.astrology.api.dto.ChartDelta;
+import com.astrology.api.dto.NakshatraPlacement;
+import com.astrology.api.dto.ReturnChart;
+import com.astrology.api.dto.SynastryResult;
+import com.astrology.api.dto.TransitHit;
 import com.astrology.api.model.BirthChart;
+import com.astrology.api.util.ProgressionTimeline;
+import com.astrology.api.util.VimshottariDasha;
 import com.astrology.api.service.BirthChartService;
+import com.astrology.api.service.ChartDeltaService;
 import com.astrology.api.service.ChartImageService;
+import com.astrology.api.service.ProgressionService;
+import com.astrology.api.service.RelationshipChartService;
+import com.astrology.api.service.ReturnService;
+import com.astrology.api.service.SynastryService;
+import com.astrology.api.service.TransitService;
+import com.astrology.api.service.VedicService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -20,14 +39,35 @@ public class BirthChartController {
 
     private final BirthChartService birthChartService;
     private final ChartImageService chartImageService;
+    private final TransitService transitService;
+    private final SynastryService synastryService;
+    private final RelationshipChartService relationshipChartService;
+    private final ProgressionService progressionService;
+    private final ReturnService returnService;
+    private final VedicService vedicService;
+    private final ChartDeltaService chartDeltaService;
     private final ObjectMapper objectMapper;
 
     @Autowired
     public BirthChartController(BirthChartService birthChartService,
                                ChartImageService chartImageService,
+                               TransitService transitService,
+                               SynastryService synastryService,
+                               RelationshipChartService relationshipChartService,
+                               ProgressionService progressionService,
+                               ReturnService returnService,
+                               VedicService vedicService,
+                               ChartDeltaService chartDeltaService,
                                ObjectMapper objectMapper) {
         this.birthChartService = birthChartService;
         this.chartImageService = chartImageService;
+        this.transitService = transitService;
+        this.synastryService = synastryService;
+        this.relationshipChartService = relationshipChartService;
+        this.progressionService = progressionService;
+        this.returnService = returnService;
+        this.vedicService = vedicService;
+        this.chartDeltaService = chartDeltaService;
         this.objectMapper = objectMapper;
     }
 
@@ -43,6 +83,12 @@ public class BirthChartController {
         return ResponseEntity.ok(birthChart);
     }
 
+    // Time slider step: the chart moved by an offset in minutes, only what changed, nothing saved
+    @GetMapping("/{id}/delta")
+    public ResponseEntity<ChartDelta> getDelta(@PathVariable Long id, @RequestParam double minutes) {
+        return ResponseEntity.ok(chartDeltaService.delta(id, minutes));
+    }
+
     @GetMapping("/{id}/image")
     public ResponseEntity<String> getChartImageUrl(@PathVariable Long id) {
         try {
@@ -55,6 +101,95 @@ public class BirthChartController {
         }
     }
 
+    @GetMapping("/{id}/transits")
+    public ResponseEntity<List<TransitHit>> getTransits(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) List<String> bodies,
+            @RequestParam(defaultValue = "false") boolean minor) {
+        return ResponseEntity.ok(transitService.findTransits(id, from, to, bodies, minor));
+    }
+
+    // Cross aspects with one or more partner charts: ?with=2 or ?with=2,3,4
+    @GetMapping("/{id}/synastry")
+    public ResponseEntity<List<SynastryResult>> getSynastry(@PathVariable Long id,
+                                                            @RequestParam("with") List<Long> partnerIds) {
+        return ResponseEntity.ok(synastryService.synastry(id, partnerIds));
+    }
+
+    // Relationship charts are derived on request and not saved
+    @GetMapping("/{id}/composite/{partnerId}")
+    public ResponseEntity<BirthChart> getCompositeChart(@PathVariable Long id, @PathVariable Long partnerId) {
+        return ResponseEntity.ok(relationshipChartService.compositeChart(id, partnerId));
+    }
+
+    @GetMapping("/{id}/davison/{partnerId}")
+    public ResponseEntity<BirthChart> getDavisonChart(@PathVariable Long id, @PathVariable Long partnerId) {
+        return ResponseEntity.ok(relationshipChartService.davisonChart(id, partnerId));
+    }
+
+    // Secondary progressions and solar arcs as newline-delimited JSON, step=year or step=month
+    @GetMapping("/{id}/progressions")
+    public ResponseEntity<StreamingResponseBody> getProgressions(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "100") int years,
+            @RequestParam(defaultValue = "year") String step) {
+        if (!"year".equalsIgnoreCase(step) && !"month".equalsIgnoreCase(step)) {
+            throw new IllegalArgumentException("Step must be 'year' or 'month'");
+        }
+        // Generated before the response starts so errors still map to 400
+        ProgressionTimeline timeline = progressionService.getTimeline(id, years, "month".equalsIgnoreCase(step));
+        StreamingResponseBody body = out -> progressionService.writeTimeline(timeline, out);
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType("application/x-ndjson"))
+            .body(body);
+    }
+
+    // Return charts are cast for the natal place unless a "City, Country" location is given
+    @GetMapping("/{id}/solar-returns")
+    public ResponseEntity<List<ReturnChart>> getSolarReturns(
+            @PathVariable Long id,
+            @RequestParam int from,
+            @RequestParam int to,
+            @RequestParam(required = false) String location) {
+        return ResponseEntity.ok(returnService.solarReturns(id, from, to, location));
+    }
+
+    @GetMapping("/{id}/lunar-returns")
+    public ResponseEntity<List<ReturnChart>> getLunarReturns(
+            @PathVariable Long id,
+            @RequestParam int year,
+            @RequestParam(required = false) String location) {
+        return ResponseEntity.ok(returnService.lunarReturns(id, year, location));
+    }
+
+    // Sidereal nakshatra and pada of each body; the chart's ayanamsa, or Lahiri, unless one is given
+    @GetMapping("/{id}/nakshatras")
+    public ResponseEntity<List<NakshatraPlacement>> getNakshatras(
+            @PathVariable Long id,
+            @RequestParam(required = false) String ayanamsa) {
+        return ResponseEntity.ok(vedicService.nakshatras(id, ayanamsa));
+    }
+
+    // One page of the Vimshottari dasha timeline as newline-delimited JSON; depth 3 stops at pratyantardashas
+    @GetMapping("/{id}/dasha")
+    public ResponseEntity<StreamingResponseBody> getDasha(
+            @PathVariable Long id,
+            @RequestParam(required = false) String ayanamsa,
+            @RequestParam(defaultValue = "3") int depth,
+            @RequestParam(defaultValue = "120") int years,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "1000") int size) {
+        VimshottariDasha dasha = vedicService.getDasha(id, ayanamsa, depth, years);
+        vedicService.checkPage(dasha, page, size);
+        StreamingResponseBody body = out -> vedicService.writePage(dasha, page, size, out);
+        return ResponseEntity.ok()
+            .header("X-Total-Count", String.valueOf(dasha.size()))
+            .contentType(MediaType.parseMediaType("application/x-ndjson"))
+            .body(body);
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<String> handleRuntimeException(RuntimeException ex) {
         return ResponseEntity.badRequest().body(ex.getMessage());
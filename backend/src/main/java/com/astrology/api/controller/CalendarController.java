@@ -0,0 +1,76 @@
+package com.astrology.api.controller;
+
+import com.astrology.api.dto.CalendarEvent;
+import com.astrology.api.service.CalendarService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+// Times are UTC; "at" defaults to now
+@RestController
+@RequestMapping("/api/calendar")
+public class CalendarController {
+
+    private final CalendarService calendarService;
+
+    @Autowired
+    public CalendarController(CalendarService calendarService) {
+        this.calendarService = calendarService;
+    }
+
+    @GetMapping("/next")
+    public ResponseEntity<List<CalendarEvent>> next(
+            @RequestParam String type,
+            @RequestParam(required = false) String body,
+            @RequestParam(required = false) String detail,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at,
+            @RequestParam(defaultValue = "1") int limit) {
+        return ResponseEntity.ok(calendarService.next(type, body, detail, atOrNow(at), limit));
+    }
+
+    @GetMapping("/previous")
+    public ResponseEntity<List<CalendarEvent>> previous(
+            @RequestParam String type,
+            @RequestParam(required = false) String body,
+            @RequestParam(required = false) String detail,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at,
+            @RequestParam(defaultValue = "1") int limit) {
+        return ResponseEntity.ok(calendarService.previous(type, body, detail, atOrNow(at), limit));
+    }
+
+    @GetMapping("/events")
+    public ResponseEntity<List<CalendarEvent>> events(
+            @RequestParam String type,
+            @RequestParam(required = false) String body,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(calendarService.between(type, body, from.atStartOfDay(), to.atStartOfDay()));
+    }
+
+    @GetMapping("/status")
+    public ResponseEntity<Map<String, Boolean>> status() {
+        return ResponseEntity.ok(Map.of("ready", calendarService.isReady()));
+    }
+
+    private static LocalDateTime atOrNow(LocalDateTime at) {
+        return at != null ? at : LocalDateTime.now(ZoneOffset.UTC);
+    }
+
+    @ExceptionHandler(IllegalStateException.class)
+    public ResponseEntity<String> handleIllegalStateException(IllegalStateException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(RuntimeException.class)
+    public ResponseEntity<String> handleRuntimeException(RuntimeException ex) {
+        return ResponseEntity.badRequest().body(ex.getMessage());
+    }
+}
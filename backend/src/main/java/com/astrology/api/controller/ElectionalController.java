@@ -0,0 +1,40 @@
+package com.astrology.api.controller;
+
+import com.astrology.api.dto.ElectionalWindow;
+import com.astrology.api.service.ElectionalService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// e.g. /api/electional?location=London, UK&from=2025-03-01T00:00&to=2025-04-01T00:00
+//      &where=Moon not void, Venus angular, no Mars-Saturn hard aspect (times UTC)
+@RestController
+@RequestMapping("/api/electional")
+public class ElectionalController {
+
+    private final ElectionalService electionalService;
+
+    @Autowired
+    public ElectionalController(ElectionalService electionalService) {
+        this.electionalService = electionalService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<ElectionalWindow>> windows(
+            @RequestParam String location,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam String where,
+            @RequestParam(required = false) String houseSystem) {
+        return ResponseEntity.ok(electionalService.findWindows(location, from, to, where, houseSystem));
+    }
+
+    @ExceptionHandler(RuntimeException.class)
+    public ResponseEntity<String> handleRuntimeException(RuntimeException ex) {
+        return ResponseEntity.badRequest().body(ex.getMessage());
+    }
+}
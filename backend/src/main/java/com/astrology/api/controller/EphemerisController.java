@@ -0,0 +1,59 @@
+package com.astrology.api.controller;
+
+import com.astrology.api.service.SkyNowService;
+import com.astrology.api.util.EphemerisRouter;
+import com.astrology.api.util.SwissEphPool;
+import com.astrology.api.util.SwissEphemerisCalculator;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/ephemeris")
+public class EphemerisController {
+    // Clients such as EventSource reconnect on their own when a stream ends
+    private static final long STREAM_TIMEOUT_MS = 30 * 60 * 1000L;
+
+    private final EphemerisRouter ephemerisRouter;
+    private final SkyNowService skyNowService;
+
+    public EphemerisController(EphemerisRouter ephemerisRouter, SkyNowService skyNowService) {
+        this.ephemerisRouter = ephemerisRouter;
+        this.skyNowService = skyNowService;
+    }
+
+    @GetMapping("/pool-stats")
+    public ResponseEntity<SwissEphPool.PoolStats> getPoolStats() {
+        return ResponseEntity.ok(SwissEphemerisCalculator.getPoolStats());
+    }
+
+    // Engine, error bound and observed latencies of each precision tier
+    @GetMapping("/engines")
+    public ResponseEntity<List<EphemerisRouter.TierProfile>> getEngines() {
+        return ResponseEntity.ok(ephemerisRouter.getProfiles());
+    }
+
+    // Streams a "sky" event each tick, followed by an "angles" event when a location or coordinates are given
+    @GetMapping(value = "/sky-now", produces = "text/event-stream")
+    public SseEmitter skyNow(@RequestParam(required = false) String location,
+                             @RequestParam(required = false) Double latitude,
+                             @RequestParam(required = false) Double longitude,
+                             @RequestParam(required = false) String houseSystem) {
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+        skyNowService.subscribe(emitter, location, latitude, longitude, houseSystem);
+        return emitter;
+    }
+
+    // Subscribers, shared places and the cost and size of each tick's frame
+    @GetMapping("/sky-now/stats")
+    public ResponseEntity<SkyNowService.StreamStats> getSkyNowStats() {
+        return ResponseEntity.ok(skyNowService.getStats());
+    }
+
+    @ExceptionHandler(RuntimeException.class)
+    public ResponseEntity<String> handleRuntimeException(RuntimeException ex) {
+        return ResponseEntity.badRequest().body(ex.getMessage());
+    }
+}
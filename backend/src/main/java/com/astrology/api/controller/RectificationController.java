@@ -0,0 +1,36 @@
+package com.astrology.api.controller;
+
+import com.astrology.api.dto.RectificationRequest;
+import com.astrology.api.service.RectificationService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+// Streams "progress" events while candidate birth times are scored, then a "result" event
+@RestController
+@RequestMapping("/api/rectification")
+public class RectificationController {
+
+    private static final long STREAM_TIMEOUT_MS = 5 * 60 * 1000L;
+
+    private final RectificationService rectificationService;
+
+    @Autowired
+    public RectificationController(RectificationService rectificationService) {
+        this.rectificationService = rectificationService;
+    }
+
+    @PostMapping(produces = "text/event-stream")
+    public SseEmitter rectify(@Valid @RequestBody RectificationRequest request) {
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+        rectificationService.rectify(request, emitter);
+        return emitter;
+    }
+
+    @ExceptionHandler(RuntimeException.class)
+    public ResponseEntity<String> handleRuntimeException(RuntimeException ex) {
+        return ResponseEntity.badRequest().body(ex.getMessage());
+    }
+}
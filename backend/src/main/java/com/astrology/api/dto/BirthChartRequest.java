@@ -23,4 +23,17 @@ public class BirthChartRequest {
     
     @NotBlank(message = "Gender is required")
     private String gender;
+
+    // House system name or letter, Placidus when absent
+    private String houseSystem;
+
+    // Extra bodies, e.g. "nodes,lilith,asteroids,points,stars" or "all"; the configured default when absent
+    private String bodies;
+
+    // "tropical" (default) or "sidereal"; an ayanamsa such as "lahiri" or "fagan-bradley" implies sidereal
+    private String zodiac;
+    private String ayanamsa;
+
+    // "preview", "standard" (default) or "research"; saved charts are at least standard
+    private String precision;
 } 
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.astrology.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class CalendarEvent {
+    // ingress, station or lunar_phase
+    private String type;
+    // Planet name; null for lunar phases
+    private String body;
+    // ISO-8601 UTC
+    private String dateTime;
+    private double julianDay;
+    // Sign entered ("Leo", "Cancer (R)"), "retrograde"/"direct", or the phase name
+    private String detail;
+}
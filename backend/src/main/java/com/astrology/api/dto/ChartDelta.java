@@ -0,0 +1,28 @@
+package com.astrology.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+// A stored chart moved by a time offset; only what differs from the stored chart, empty parts left out
+@Data
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class ChartDelta {
+    private double julianDay;
+    // Planets recomputed from the ephemeris rather than extrapolated
+    private int refined;
+    // Longitudes of the planets that moved, to 0.0001 degrees
+    private Map<String, Double> bodies;
+    // ASC and MC
+    private Map<String, Double> angles;
+    // All cusps, index 0 unused as in the chart, when any of them changed
+    private double[] houses;
+    // Aspects that formed or changed type, keyed "SUN-MOON" like the chart's aspectsDetails
+    private Map<String, String> aspects;
+    // Keys of the chart's aspects that no longer hold
+    private List<String> endedAspects;
+}
@@ -0,0 +1,20 @@
+package com.astrology.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class DashaPeriod {
+    // Position in the timeline, 0 being the period running at birth
+    private long index;
+    // Mahadasha lord first, then one lord per deeper level
+    private List<String> lords;
+    // UTC date and time to the minute
+    private String start;
+    private String end;
+    private double startJulianDay;
+    private double endJulianDay;
+}
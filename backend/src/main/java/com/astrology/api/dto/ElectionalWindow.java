@@ -0,0 +1,15 @@
+package com.astrology.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ElectionalWindow {
+    // ISO-8601 UTC; a window touching the searched range is clipped to it
+    private String start;
+    private String end;
+    private double startJulianDay;
+    private double endJulianDay;
+    private double durationMinutes;
+}
@@ -0,0 +1,19 @@
+package com.astrology.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+public class LifeEvent {
+    @NotNull(message = "Event date is required")
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate date;
+
+    // Relative importance, 1 when absent
+    private Double weight;
+
+    private String description;
+}
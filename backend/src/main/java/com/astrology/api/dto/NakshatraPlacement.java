@@ -0,0 +1,17 @@
+package com.astrology.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class NakshatraPlacement {
+    // Planet name, RAHU, KETU or ASC
+    private String body;
+    // Sidereal longitude in degrees
+    private double longitude;
+    private String nakshatra;
+    // 1-4
+    private int pada;
+    private String lord;
+}
@@ -0,0 +1,22 @@
+package com.astrology.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+public class ProgressionPoint {
+    private double age;
+    // Calendar date (UTC) the point applies to
+    private String date;
+    private double progressedJulianDay;
+    private double solarArc;
+    // Secondary-progressed longitudes by planet
+    private Map<String, Double> progressed;
+    private List<String> progressedRetrograde;
+    // Natal planets, ASC and MC directed by the solar arc
+    private Map<String, Double> solarArcDirected;
+}
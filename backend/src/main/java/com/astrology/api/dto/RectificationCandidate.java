@@ -0,0 +1,17 @@
+package com.astrology.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class RectificationCandidate {
+    // Candidate birth time in the request's timezone and in UTC (ISO-8601)
+    private String localDateTime;
+    private String dateTime;
+    private double julianDay;
+    private double ascendant;
+    private double midheaven;
+    private String ascendantSign;
+    private double score;
+}
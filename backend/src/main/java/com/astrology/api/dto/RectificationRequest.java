@@ -0,0 +1,39 @@
+package com.astrology.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+public class RectificationRequest {
+    @NotBlank(message = "Location is required")
+    private String location;
+
+    @NotBlank(message = "Timezone is required")
+    private String timezone;
+
+    // Local times bounding the possible birth moments
+    @NotNull(message = "Window start is required")
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm[:ss]")
+    private LocalDateTime windowStart;
+
+    @NotNull(message = "Window end is required")
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm[:ss]")
+    private LocalDateTime windowEnd;
+
+    // Spacing of candidate times, one minute when absent
+    private Double stepMinutes;
+
+    @Valid
+    @NotEmpty(message = "At least one life event is required")
+    private List<LifeEvent> events;
+
+    // Number of best candidates returned, 10 when absent
+    private Integer limit;
+}
@@ -0,0 +1,18 @@
+package com.astrology.api.dto;
+
+import com.astrology.api.model.BirthChart;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ReturnChart {
+    // solar or lunar
+    private String type;
+    // Exact return moment, ISO-8601 UTC
+    private String dateTime;
+    private double julianDay;
+    private double latitude;
+    private double longitude;
+    private BirthChart chart;
+}
@@ -0,0 +1,19 @@
+package com.astrology.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// Angles of the current sky at one place, sent after the frame to the subscribers there
+@Data
+@AllArgsConstructor
+public class SkyAngles {
+    private double julianDay;
+    private double latitude;
+    private double longitude;
+    // House system actually used, Porphyry when Placidus or Koch fail near the poles
+    private String houseSystem;
+    private double ascendant;
+    private double midheaven;
+    // Index 0 unused, as in a chart
+    private double[] houses;
+}
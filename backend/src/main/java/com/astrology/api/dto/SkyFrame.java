@@ -0,0 +1,19 @@
+package com.astrology.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Map;
+
+// The current sky, computed once per tick and sent to every sky-now subscriber
+@Data
+@AllArgsConstructor
+public class SkyFrame {
+    // ISO-8601 UTC
+    private String dateTime;
+    private double julianDay;
+    // Tropical, swe_calc_ut layout as in a chart's planetPositions
+    private Map<String, double[]> planetPositions;
+    // "Leo", "Cancer (R)"
+    private Map<String, String> planetSigns;
+}
@@ -0,0 +1,18 @@
+package com.astrology.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class SynastryAspect {
+    // Point of the first chart (planet name, ASC or MC)
+    private String point;
+    // Point of the partner chart
+    private String partnerPoint;
+    private String aspect;
+    private double separation;
+    private double orb;
+    // "applying", "separating", or null when the two points do not move relative to each other
+    private String motion;
+}
@@ -0,0 +1,14 @@
+package com.astrology.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class SynastryResult {
+    private Long chartId;
+    private Long partnerId;
+    private List<SynastryAspect> aspects;
+}
@@ -0,0 +1,17 @@
+package com.astrology.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class TransitHit {
+    // Exact time of the aspect, ISO-8601 UTC
+    private String dateTime;
+    private double julianDay;
+    private String transitingBody;
+    private String aspect;
+    private String natalPoint;
+    private double transitLongitude;
+    private boolean retrograde;
+}
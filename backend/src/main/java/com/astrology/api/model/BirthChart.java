@@ -53,6 +53,26 @@ public class BirthChart {
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
+    // Moment (UT Julian day) and place the chart was computed for; null on charts saved before they were stored
+    @Column(name = "julian_day")
+    private Double julianDay;
+
+    @Column(name = "latitude")
+    private Double latitude;
+
+    @Column(name = "longitude")
+    private Double longitude;
+
+    @Column(name = "timezone")
+    private String timezone;
+
+    @Column(name = "house_system")
+    private String houseSystem;
+
+    // Ayanamsa name of a sidereal chart, null for tropical charts
+    @Column(name = "ayanamsa")
+    private String ayanamsa;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -137,6 +157,15 @@ public class BirthChart {
     @JsonDeserialize(using = MapDeserializer.class)
     private Map<String, String> planetSigns = new HashMap<>();
 
+    // Star name -> ecliptic longitude, latitude and visual magnitude
+    @ElementCollection
+    @CollectionTable(name = "fixed_stars", joinColumns = @JoinColumn(name = "birth_chart_id"))
+    @MapKeyColumn(name = "star")
+    @Column(name = "position")
+    @JsonSerialize(using = MapSerializer.class)
+    @JsonDeserialize(using = MapDeserializer.class)
+    private Map<String, double[]> fixedStars = new HashMap<>();
+
     @ElementCollection
     @CollectionTable(name = "chart_image_url", joinColumns = @JoinColumn(name = "birth_chart_id"))
     @MapKeyColumn(name = "key")
@@ -156,15 +185,17 @@ public class BirthChart {
         this.signs = new HashMap<>();
         this.housesSigns = new HashMap<>();
         this.planetSigns = new HashMap<>();
+        this.fixedStars = new HashMap<>();
         this.chartImageUrl = new HashMap<>();
     }
 
     public void setPlanetPositions(Map<String, double[]> planetPositions) {
         this.planetPositions = planetPositions;
-        updatePlanetSpeeds();
+        refreshPlanetSpeeds();
     }
 
-    private void updatePlanetSpeeds() {
+    // Copies each position's speed into planetSpeeds, for bodies added to planetPositions after it was set
+    public void refreshPlanetSpeeds() {
         if (planetPositions != null) {
             for (Map.Entry<String, double[]> entry : planetPositions.entrySet()) {
                 if (entry.getValue() != null && entry.getValue().length > 3) {
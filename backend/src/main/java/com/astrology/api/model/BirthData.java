@@ -16,4 +16,13 @@ public class BirthData {
     private double latitude;
     private double longitude;
     private String location;
+    // House system name or letter, Placidus when absent
+    private String houseSystem;
+    // Comma-separated BodySet names ("nodes,lilith" or "all"); the configured default when absent
+    private String bodies;
+    // "tropical" (default) or "sidereal", with an ayanamsa name (Lahiri when absent)
+    private String zodiac;
+    private String ayanamsa;
+    // "preview", "standard" (default) or "research"
+    private String precision;
 } 
\ No newline at end of file
@@ -0,0 +1,57 @@
+package com.astrology.api.model.astrology;
+
+public enum AspectType {
+    CONJUNCTION(0, 8, "Conjunction", true),
+    SEXTILE(60, 5, "Sextile", true),
+    SQUARE(90, 7, "Square", true),
+    TRINE(120, 7, "Trine", true),
+    OPPOSITION(180, 8, "Opposition", true),
+    SEMI_SEXTILE(30, 2, "Semi-sextile", false),
+    SEMI_SQUARE(45, 2, "Semi-square", false),
+    QUINTILE(72, 2, "Quintile", false),
+    SESQUIQUADRATE(135, 2, "Sesquiquadrate", false),
+    BIQUINTILE(144, 2, "Biquintile", false),
+    QUINCUNX(150, 3, "Quincunx", false);
+
+    private final double angle;
+    private final double defaultOrb;
+    private final String displayName;
+    private final boolean major;
+
+    AspectType(double angle, double defaultOrb, String displayName, boolean major) {
+        this.angle = angle;
+        this.defaultOrb = defaultOrb;
+        this.displayName = displayName;
+        this.major = major;
+    }
+
+    public double getAngle() {
+        return angle;
+    }
+
+    public double getDefaultOrb() {
+        return defaultOrb;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public boolean isMajor() {
+        return major;
+    }
+
+    // Accepts the display name in any case ("trine", "Semi-square") or the enum name
+    public static AspectType fromName(String name) {
+        for (AspectType type : values()) {
+            if (type.displayName.equalsIgnoreCase(name) || type.name().equalsIgnoreCase(name)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown aspect: " + name);
+    }
+
+    public static AspectType[] majors() {
+        return new AspectType[]{CONJUNCTION, SEXTILE, SQUARE, TRINE, OPPOSITION};
+    }
+}
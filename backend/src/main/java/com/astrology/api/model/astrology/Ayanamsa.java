@@ -0,0 +1,81 @@
+package com.astrology.api.model.astrology;
+
+import swisseph.SweConst;
+
+/**
+ * Sidereal zodiacs by their ayanamsa, the offset of the sidereal from the
+ * tropical zodiac. Swiss Ephemeris modes whose reference star needs a star
+ * file (True Revati, True Pushya) are left out.
+ */
+public enum Ayanamsa {
+    LAHIRI(SweConst.SE_SIDM_LAHIRI, "Lahiri"),
+    FAGAN_BRADLEY(SweConst.SE_SIDM_FAGAN_BRADLEY, "Fagan/Bradley"),
+    RAMAN(SweConst.SE_SIDM_RAMAN, "Raman"),
+    KRISHNAMURTI(SweConst.SE_SIDM_KRISHNAMURTI, "Krishnamurti"),
+    YUKTESHWAR(SweConst.SE_SIDM_YUKTESHWAR, "Yukteshwar"),
+    JN_BHASIN(SweConst.SE_SIDM_JN_BHASIN, "J.N. Bhasin"),
+    TRUE_CITRA(SweConst.SE_SIDM_TRUE_CITRA, "True Citra"),
+    SS_CITRA(SweConst.SE_SIDM_SS_CITRA, "Surya Siddhanta Citra"),
+    SURYASIDDHANTA(SweConst.SE_SIDM_SURYASIDDHANTA, "Surya Siddhanta"),
+    ARYABHATA(SweConst.SE_SIDM_ARYABHATA, "Aryabhata"),
+    USHASHASHI(SweConst.SE_SIDM_USHASHASHI, "Ushashashi"),
+    DELUCE(SweConst.SE_SIDM_DELUCE, "De Luce"),
+    DJWHAL_KHUL(SweConst.SE_SIDM_DJWHAL_KHUL, "Djwhal Khul"),
+    HIPPARCHOS(SweConst.SE_SIDM_HIPPARCHOS, "Hipparchos"),
+    SASSANIAN(SweConst.SE_SIDM_SASSANIAN, "Sassanian"),
+    BABYLONIAN_HUBER(SweConst.SE_SIDM_BABYL_HUBER, "Babylonian/Huber"),
+    GALACTIC_CENTER(SweConst.SE_SIDM_GALCENT_0SAG, "Galactic Center = 0 Sag");
+
+    private final int sweMode;
+    private final String displayName;
+
+    Ayanamsa(int sweMode, String displayName) {
+        this.sweMode = sweMode;
+        this.displayName = displayName;
+    }
+
+    // Swiss Ephemeris SE_SIDM_* constant
+    public int getSweMode() {
+        return sweMode;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Resolves a request value such as "Lahiri", "fagan-bradley" or
+     * "true citra". Blank values mean Lahiri.
+     */
+    public static Ayanamsa fromString(String value) {
+        if (value == null || value.isBlank()) {
+            return LAHIRI;
+        }
+        String normalized = value.trim().toUpperCase().replace(' ', '_').replace('-', '_').replace('/', '_');
+        for (Ayanamsa ayanamsa : values()) {
+            if (ayanamsa.name().equals(normalized)) {
+                return ayanamsa;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported ayanamsa: " + value);
+    }
+
+    /**
+     * The ayanamsa of a request's zodiac, or null for the tropical zodiac
+     * ("tropical" or blank). An ayanamsa given without a zodiac implies
+     * "sidereal".
+     */
+    public static Ayanamsa forZodiac(String zodiac, String ayanamsa) {
+        boolean sidereal;
+        if (zodiac == null || zodiac.isBlank()) {
+            sidereal = ayanamsa != null && !ayanamsa.isBlank();
+        } else if (zodiac.trim().equalsIgnoreCase("sidereal")) {
+            sidereal = true;
+        } else if (zodiac.trim().equalsIgnoreCase("tropical")) {
+            sidereal = false;
+        } else {
+            throw new IllegalArgumentException("Unsupported zodiac: " + zodiac);
+        }
+        return sidereal ? fromString(ayanamsa) : null;
+    }
+}
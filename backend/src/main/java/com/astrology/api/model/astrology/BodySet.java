@@ -0,0 +1,42 @@
+package com.astrology.api.model.astrology;
+
+import java.util.EnumSet;
+import java.util.Locale;
+
+/**
+ * Optional groups of bodies a chart can include beyond the ten planets. Each
+ * group costs extra work, so requests name only the ones they need.
+ */
+public enum BodySet {
+    NODES,
+    LILITH,
+    ASTEROIDS,
+    POINTS,
+    STARS;
+
+    /**
+     * Parses a comma-separated list of set names ("nodes, lilith"); "all"
+     * selects every set and a blank value none.
+     */
+    public static EnumSet<BodySet> parse(String value) {
+        EnumSet<BodySet> sets = EnumSet.noneOf(BodySet.class);
+        if (value == null || value.isBlank()) {
+            return sets;
+        }
+        for (String part : value.split(",")) {
+            String name = part.trim().toUpperCase(Locale.ROOT);
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (name.equals("ALL")) {
+                return EnumSet.allOf(BodySet.class);
+            }
+            try {
+                sets.add(valueOf(name));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown body set: " + part.trim());
+            }
+        }
+        return sets;
+    }
+}
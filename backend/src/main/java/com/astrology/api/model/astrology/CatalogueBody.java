@@ -0,0 +1,68 @@
+package com.astrology.api.model.astrology;
+
+import swisseph.SweConst;
+
+/**
+ * Bodies and points outside the ten planets, grouped by {@link BodySet}.
+ * Derived points have no Swiss Ephemeris body number ({@link #DERIVED}).
+ * Fixed stars are not listed here; they come from FixedStarCatalogue.
+ */
+public enum CatalogueBody {
+    MEAN_NODE(SweConst.SE_MEAN_NODE, "Mean Node", BodySet.NODES),
+    TRUE_NODE(SweConst.SE_TRUE_NODE, "True Node", BodySet.NODES),
+    // Opposite the true node
+    SOUTH_NODE("South Node", BodySet.NODES),
+    // Black Moon Lilith, the mean lunar apogee; the osculating apogee is "true" Lilith
+    LILITH(SweConst.SE_MEAN_APOG, "Lilith", BodySet.LILITH),
+    TRUE_LILITH(SweConst.SE_OSCU_APOG, "True Lilith", BodySet.LILITH),
+    // Asteroids and centaurs need seas_18.se1 in the ephemeris path
+    CHIRON(SweConst.SE_CHIRON, "Chiron", BodySet.ASTEROIDS),
+    PHOLUS(SweConst.SE_PHOLUS, "Pholus", BodySet.ASTEROIDS),
+    CERES(SweConst.SE_CERES, "Ceres", BodySet.ASTEROIDS),
+    PALLAS(SweConst.SE_PALLAS, "Pallas", BodySet.ASTEROIDS),
+    JUNO(SweConst.SE_JUNO, "Juno", BodySet.ASTEROIDS),
+    VESTA(SweConst.SE_VESTA, "Vesta", BodySet.ASTEROIDS),
+    // Chart points from the houses and luminaries
+    VERTEX("Vertex", BodySet.POINTS),
+    FORTUNE("Part of Fortune", BodySet.POINTS),
+    SPIRIT("Part of Spirit", BodySet.POINTS);
+
+    public static final int DERIVED = -1;
+
+    private static final CatalogueBody[] VALUES = values();
+
+    private final int sweBody;
+    private final String displayName;
+    private final BodySet set;
+
+    CatalogueBody(int sweBody, String displayName, BodySet set) {
+        this.sweBody = sweBody;
+        this.displayName = displayName;
+        this.set = set;
+    }
+
+    CatalogueBody(String displayName, BodySet set) {
+        this(DERIVED, displayName, set);
+    }
+
+    public int getSweBody() {
+        return sweBody;
+    }
+
+    public boolean isDerived() {
+        return sweBody == DERIVED;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public BodySet getSet() {
+        return set;
+    }
+
+    // Shared array in ordinal order; callers must not modify it
+    public static CatalogueBody[] all() {
+        return VALUES;
+    }
+}
@@ -0,0 +1,42 @@
+package com.astrology.api.model.astrology;
+
+/**
+ * The nine Vimshottari dasha lords in sequence with their mahadasha lengths
+ * in years, 120 in all. Rahu and Ketu are the lunar nodes.
+ */
+public enum DashaLord {
+    KETU("Ketu", 7),
+    VENUS("Venus", 20),
+    SUN("Sun", 6),
+    MOON("Moon", 10),
+    MARS("Mars", 7),
+    RAHU("Rahu", 18),
+    JUPITER("Jupiter", 16),
+    SATURN("Saturn", 19),
+    MERCURY("Mercury", 17);
+
+    public static final int CYCLE_YEARS = 120;
+
+    private static final DashaLord[] VALUES = values();
+
+    private final String displayName;
+    private final int years;
+
+    DashaLord(String displayName, int years) {
+        this.displayName = displayName;
+        this.years = years;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public int getYears() {
+        return years;
+    }
+
+    // Shared array in sequence order; callers must not modify it
+    public static DashaLord[] all() {
+        return VALUES;
+    }
+}
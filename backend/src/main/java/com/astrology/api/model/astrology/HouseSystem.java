@@ -0,0 +1,47 @@
+package com.astrology.api.model.astrology;
+
+public enum HouseSystem {
+    PLACIDUS('P', true),
+    KOCH('K', true),
+    REGIOMONTANUS('R', true),
+    CAMPANUS('C', true),
+    PORPHYRY('O', true),
+    EQUAL('E', false),
+    WHOLE_SIGN('W', false);
+
+    private final char code;
+    private final boolean quadrant;
+
+    HouseSystem(char code, boolean quadrant) {
+        this.code = code;
+        this.quadrant = quadrant;
+    }
+
+    // Swiss Ephemeris house system letter
+    public char getCode() {
+        return code;
+    }
+
+    // Quadrant systems put the MC on the 10th cusp
+    public boolean isQuadrant() {
+        return quadrant;
+    }
+
+    /**
+     * Resolves a request value given either as a name ("Placidus", "whole_sign")
+     * or as a Swiss Ephemeris letter ("P"). Blank values mean Placidus.
+     */
+    public static HouseSystem fromString(String value) {
+        if (value == null || value.isBlank()) {
+            return PLACIDUS;
+        }
+        String normalized = value.trim().toUpperCase().replace(' ', '_').replace('-', '_');
+        for (HouseSystem system : values()) {
+            if (system.name().equals(normalized)
+                    || (normalized.length() == 1 && system.code == normalized.charAt(0))) {
+                return system;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported house system: " + value);
+    }
+}
@@ -0,0 +1,75 @@
+package com.astrology.api.model.astrology;
+
+/**
+ * The 27 lunar mansions of 13 degrees 20 minutes each from 0 sidereal Aries,
+ * with four padas of 3 degrees 20 minutes. Lords follow the Vimshottari
+ * sequence from Ketu for Ashwini.
+ */
+public enum Nakshatra {
+    ASHWINI("Ashwini"),
+    BHARANI("Bharani"),
+    KRITTIKA("Krittika"),
+    ROHINI("Rohini"),
+    MRIGASHIRA("Mrigashira"),
+    ARDRA("Ardra"),
+    PUNARVASU("Punarvasu"),
+    PUSHYA("Pushya"),
+    ASHLESHA("Ashlesha"),
+    MAGHA("Magha"),
+    PURVA_PHALGUNI("Purva Phalguni"),
+    UTTARA_PHALGUNI("Uttara Phalguni"),
+    HASTA("Hasta"),
+    CHITRA("Chitra"),
+    SWATI("Swati"),
+    VISHAKHA("Vishakha"),
+    ANURADHA("Anuradha"),
+    JYESHTHA("Jyeshtha"),
+    MULA("Mula"),
+    PURVA_ASHADHA("Purva Ashadha"),
+    UTTARA_ASHADHA("Uttara Ashadha"),
+    SHRAVANA("Shravana"),
+    DHANISHTA("Dhanishta"),
+    SHATABHISHA("Shatabhisha"),
+    PURVA_BHADRAPADA("Purva Bhadrapada"),
+    UTTARA_BHADRAPADA("Uttara Bhadrapada"),
+    REVATI("Revati");
+
+    public static final double SPAN = 360.0 / 27;
+    public static final double PADA_SPAN = SPAN / 4;
+
+    private static final Nakshatra[] VALUES = values();
+
+    private final String displayName;
+
+    Nakshatra(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public DashaLord getLord() {
+        return DashaLord.all()[ordinal() % DashaLord.all().length];
+    }
+
+    public static Nakshatra of(double siderealLongitude) {
+        return VALUES[(int) (normalize(siderealLongitude) / SPAN) % VALUES.length];
+    }
+
+    // Pada 1-4 within the nakshatra
+    public static int pada(double siderealLongitude) {
+        return (int) (normalize(siderealLongitude) / PADA_SPAN) % 4 + 1;
+    }
+
+    // Fraction of the nakshatra already traversed, 0 to 1
+    public static double elapsed(double siderealLongitude) {
+        double value = normalize(siderealLongitude) / SPAN;
+        return value - Math.floor(value);
+    }
+
+    private static double normalize(double longitude) {
+        double value = longitude % 360.0;
+        return value < 0 ? value + 360.0 : value;
+    }
+}
@@ -0,0 +1,63 @@
+package com.astrology.api.model.astrology;
+
+import swisseph.SweConst;
+
+public enum Planet {
+    SUN(SweConst.SE_SUN, "Sun", 1.25, 1.03, 0.001),
+    MOON(SweConst.SE_MOON, "Moon", 1.25, 15.5, 0.55),
+    MERCURY(SweConst.SE_MERCURY, "Mercury", 1.0, 2.25, 0.21),
+    VENUS(SweConst.SE_VENUS, "Venus", 1.0, 1.28, 0.045),
+    MARS(SweConst.SE_MARS, "Mars", 1.0, 0.82, 0.016),
+    JUPITER(SweConst.SE_JUPITER, "Jupiter", 1.0, 0.25, 0.01),
+    SATURN(SweConst.SE_SATURN, "Saturn", 1.0, 0.14, 0.055),
+    URANUS(SweConst.SE_URANUS, "Uranus", 1.0, 0.07, 0.045),
+    NEPTUNE(SweConst.SE_NEPTUNE, "Neptune", 1.0, 0.045, 0.055),
+    PLUTO(SweConst.SE_PLUTO, "Pluto", 1.0, 0.045, 0.02);
+
+    private static final Planet[] VALUES = values();
+
+    public static final int COUNT = VALUES.length;
+
+    private final int sweBody;
+    private final String displayName;
+    private final double orbFactor;
+    private final double maxSpeed;
+    private final double maxAcceleration;
+
+    Planet(int sweBody, String displayName, double orbFactor, double maxSpeed, double maxAcceleration) {
+        this.sweBody = sweBody;
+        this.displayName = displayName;
+        this.orbFactor = orbFactor;
+        this.maxSpeed = maxSpeed;
+        this.maxAcceleration = maxAcceleration;
+    }
+
+    public int getSweBody() {
+        return sweBody;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    // Multiplier on aspect orbs; the luminaries traditionally get wider orbs
+    public double getOrbFactor() {
+        return orbFactor;
+    }
+
+    // Upper bounds on |longitude speed| (degrees/day) and its rate of change (degrees/day^2),
+    // measured over 1900-2100 with some headroom; the outer planets' accelerations are
+    // dominated by noise in the ephemeris speeds rather than by their motion
+    public double getMaxSpeed() {
+        return maxSpeed;
+    }
+
+    public double getMaxAcceleration() {
+        return maxAcceleration;
+    }
+
+    // Shared array in ordinal order; callers must not modify it
+    public static Planet[] all() {
+        return VALUES;
+    }
+}
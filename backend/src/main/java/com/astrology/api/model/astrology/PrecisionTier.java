@@ -0,0 +1,29 @@
+package com.astrology.api.model.astrology;
+
+import java.util.Locale;
+
+/**
+ * How much accuracy a request pays for. Each tier maps to a position engine
+ * (see EphemerisRouter); a date the engine does not cover moves up to the
+ * next tier.
+ */
+public enum PrecisionTier {
+    // Analytic Keplerian orbits and tabulated house angles, for sliders and bulk scans
+    PREVIEW,
+    // Swiss Ephemeris, or the precomputed Chebyshev file when configured
+    STANDARD,
+    // JPL DE file when configured
+    RESEARCH;
+
+    public static PrecisionTier fromString(String value) {
+        if (value == null || value.isBlank()) {
+            return STANDARD;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown precision: " + value.trim()
+                + " (expected preview, standard or research)");
+        }
+    }
+}
@@ -4,24 +4,40 @@ import com.astrology.api.dto.BirthChartRequest;
 import com.astrology.api.model.BirthChart;
 import com.astrology.api.model.BirthData;
 import com.astrology.api.model.City;
+import com.astrology.api.model.astrology.AspectType;
+import com.astrology.api.model.astrology.Ayanamsa;
+import com.astrology.api.model.astrology.BodySet;
+import com.astrology.api.model.astrology.HouseSystem;
+import com.astrology.api.model.astrology.Planet;
+import com.astrology.api.model.astrology.PrecisionTier;
+import com.astrology.api.model.astrology.ZodiacSign;
 import com.astrology.api.repository.BirthChartRepository;
+import com.astrology.api.util.AspectCalculator;
+import com.astrology.api.util.AspectTable;
 import com.astrology.api.util.AstrologyCalculator;
-import com.astrology.api.util.JPLDE405Reader;
-import com.astrology.api.util.HouseCalculator;
-import com.astrology.api.util.SwissEphemerisCalculator;
+import com.astrology.api.util.AyanamsaCache;
+import com.astrology.api.util.BodyCatalogue;
+import com.astrology.api.util.ChartKernel;
+import com.astrology.api.util.ChartResult;
+import com.astrology.api.util.EphemerisRouter;
+import com.astrology.api.util.FixedStarCatalogue;
+import com.astrology.api.util.SwissEphPool;
+import com.astrology.api.util.TimeScale;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
-import java.time.LocalDateTime;
-import java.time.ZoneId;
+import java.nio.file.Path;
 import java.time.format.DateTimeFormatter;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @Service
 public class BirthChartService {
@@ -31,21 +47,59 @@ public class BirthChartService {
     private final BirthChartRepository birthChartRepository;
     private final AstrologyCalculator astrologyCalculator;
     private final ObjectMapper objectMapper;
-    private final JPLDE405Reader de405Reader;
+    private final EphemerisRouter ephemerisRouter;
+    private final AspectCalculator aspectCalculator;
+    private final BodyCatalogue bodyCatalogue;
+    private final EnumSet<BodySet> defaultBodySets;
     private final Map<String, List<City>> cities;
     private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    // Aspect orb multipliers indexed by Planet ordinal
+    private static final double[] ORB_FACTORS = new double[Planet.COUNT];
+    // Display names and ranges indexed by ZodiacSign ordinal
+    private static final String[] SIGN_NAMES = new String[12];
+    private static final Map<String, String> SIGN_RANGES = new HashMap<>();
+    // Element and modality names indexed by sign % 4 and sign % 3
+    private static final String[] ELEMENT_NAMES = new String[ChartResult.ELEMENT_COUNT];
+    private static final String[] MODALITY_NAMES = new String[ChartResult.MODALITY_COUNT];
+    private static final ThreadLocal<ChartResult> CHART_RESULTS = ThreadLocal.withInitial(ChartResult::new);
+    private static final ThreadLocal<AspectTable> ASPECT_TABLES = ThreadLocal.withInitial(AspectTable::new);
+
+    static {
+        ZodiacSign[] zodiac = ZodiacSign.values();
+        for (ZodiacSign sign : zodiac) {
+            String name = sign.name().charAt(0) + sign.name().substring(1).toLowerCase();
+            SIGN_NAMES[sign.ordinal()] = name;
+            SIGN_RANGES.put(name, sign.getRange());
+        }
+        for (int i = 0; i < ELEMENT_NAMES.length; i++) {
+            ELEMENT_NAMES[i] = zodiac[i].getElement();
+        }
+        for (int i = 0; i < MODALITY_NAMES.length; i++) {
+            MODALITY_NAMES[i] = zodiac[i].getModality();
+        }
+        for (Planet planet : Planet.all()) {
+            ORB_FACTORS[planet.ordinal()] = planet.getOrbFactor();
+        }
+    }
 
     @Autowired
     public BirthChartService(BirthChartRepository birthChartRepository,
                             AstrologyCalculator astrologyCalculator,
                             ObjectMapper objectMapper,
-                            Map<String, List<City>> cities) throws IOException {
+                            Map<String, List<City>> cities,
+                            EphemerisRouter ephemerisRouter,
+                            AspectCalculator aspectCalculator,
+                            @Value("${chart.bodies.default:}") String defaultBodies,
+                            @Value("${chart.stars.file:}") String starsFile) throws IOException {
         this.birthChartRepository = birthChartRepository;
+        this.aspectCalculator = aspectCalculator;
         this.astrologyCalculator = astrologyCalculator;
         this.objectMapper = objectMapper;
-        this.de405Reader = new JPLDE405Reader();
-        this.de405Reader.open();
+        this.ephemerisRouter = ephemerisRouter;
         this.cities = cities;
+        this.defaultBodySets = BodySet.parse(defaultBodies);
+        this.bodyCatalogue = new BodyCatalogue(starsFile == null || starsFile.isBlank()
+            ? FixedStarCatalogue.bundled() : FixedStarCatalogue.open(Path.of(starsFile)));
     }
 
     public BirthChart generateBirthChart(BirthChartRequest request) {
@@ -56,36 +110,9 @@ public class BirthChartService {
         birthChart.setLocation(request.getLocation());
         birthChart.setGender(request.getGender());
         
-        // Parse location string to get city and country
-        String[] locationParts = request.getLocation().split(", ");
-        if (locationParts.length != 2) {
-            throw new IllegalArgumentException("Invalid location format. Expected format: 'City, Country'");
-        }
-        
-        String city = locationParts[0];
-        String country = locationParts[1];
-        
-        // Get latitude and longitude from cities data
-        double latitude = 0.0;
-        double longitude = 0.0;
-        boolean found = false;
-        
-        // Find the city in the cities data
-        List<City> countryCities = this.cities.get(country);
-        if (countryCities != null) {
-            for (City c : countryCities) {
-                if (c.getName().equals(city)) {
-                    latitude = c.getLat();
-                    longitude = c.getLng();
-                    found = true;
-                    break;
-                }
-            }
-        }
-        
-        if (!found) {
-            throw new IllegalArgumentException("Location not found in database: " + request.getLocation());
-        }
+        double[] coordinates = resolveLocation(request.getLocation());
+        double latitude = coordinates[0];
+        double longitude = coordinates[1];
         
         logger.info("Using latitude: {}, longitude: {} for location: {}", latitude, longitude, request.getLocation());
         
@@ -95,6 +122,22 @@ public class BirthChartService {
         birthData.setTimezone(request.getTimezone());
         birthData.setLatitude(latitude);
         birthData.setLongitude(longitude);
+        birthData.setHouseSystem(request.getHouseSystem());
+        birthData.setBodies(request.getBodies());
+        birthData.setZodiac(request.getZodiac());
+        birthData.setAyanamsa(request.getAyanamsa());
+        // Saved charts are never previews
+        PrecisionTier precision = PrecisionTier.fromString(request.getPrecision());
+        birthData.setPrecision((precision == PrecisionTier.PREVIEW ? PrecisionTier.STANDARD : precision).name());
+
+        // Keep the moment and place so relationship charts can be derived later
+        birthChart.setJulianDay(TimeScale.julianDay(request.getBirthDateTime(), request.getTimezone()));
+        birthChart.setLatitude(latitude);
+        birthChart.setLongitude(longitude);
+        birthChart.setTimezone(request.getTimezone());
+        birthChart.setHouseSystem(HouseSystem.fromString(request.getHouseSystem()).name());
+        Ayanamsa ayanamsa = Ayanamsa.forZodiac(request.getZodiac(), request.getAyanamsa());
+        birthChart.setAyanamsa(ayanamsa == null ? null : ayanamsa.name());
         
         try {
             // Calculate complete chart data
@@ -111,6 +154,7 @@ public class BirthChartService {
             birthChart.setSigns(calculatedChart.getSigns());
             birthChart.setHousesSigns(calculatedChart.getHousesSigns());
             birthChart.setPlanetSigns(calculatedChart.getPlanetSigns());
+            birthChart.setFixedStars(calculatedChart.getFixedStars());
             
             // Convert chart data to JSON string
             String chartDataJson = objectMapper.writeValueAsString(calculatedChart);
@@ -169,14 +213,16 @@ public class BirthChartService {
         
         // Add aspect interpretations
         Map<String, Double> aspects = chart.getAspects();
+        Map<String, String> aspectsDetails = chart.getAspectsDetails();
         if (aspects != null && !aspects.isEmpty()) {
             interpretation.append("\n\nSignificant planetary aspects in your chart:\n");
             for (Map.Entry<String, Double> entry : aspects.entrySet()) {
                 String[] planets = entry.getKey().split("-");
                 String planet1 = planets[0];
                 String planet2 = planets[1];
-                double orb = entry.getValue();
-                String aspectType = determineAspectType(orb);
+                AspectType type = AspectType.fromName(aspectsDetails.get(entry.getKey()));
+                String aspectType = type.getDisplayName();
+                double orb = Math.abs(entry.getValue() - type.getAngle());
                 
                 interpretation.append(String.format(
                     "- %s %s %s (orb: %.1f°): %s\n",
@@ -226,231 +272,165 @@ public class BirthChartService {
         };
     }
 
-    public BirthChart getBirthChart(Long id) {
-        return birthChartRepository.findById(id)
-            .orElseThrow(() -> new RuntimeException("Birth chart not found"));
-    }
-
-    public BirthChart calculateBirthChart(BirthData birthData) throws IOException {
-        // Convert local time to UTC
-        LocalDateTime localDateTime = birthData.getBirthDateTime();
-        ZoneId zoneId = ZoneId.of(birthData.getTimezone());
-        LocalDateTime utcDateTime = localDateTime.atZone(zoneId).withZoneSameInstant(ZoneId.of("UTC")).toLocalDateTime();
-
-        // Calculate planetary positions using Swiss Ephemeris
-        Map<String, double[]> planetPositions = SwissEphemerisCalculator.calculatePlanetPositions(
-            utcDateTime, birthData.getLatitude(), birthData.getLongitude());
-
-        // Calculate house positions
-        double[] houses = SwissEphemerisCalculator.calculateHouses(
-            utcDateTime, birthData.getLatitude(), birthData.getLongitude());
-
-        // Create birth chart object
-        BirthChart birthChart = new BirthChart(planetPositions, houses);
+    // Latitude and longitude of a "City, Country" location from the cities data
+    public double[] resolveLocation(String location) {
+        // Parse location string to get city and country
+        String[] locationParts = location.split(", ");
+        if (locationParts.length != 2) {
+            throw new IllegalArgumentException("Invalid location format. Expected format: 'City, Country'");
+        }
         
-        // Calculate aspects
-        Map<String, Double> aspects = calculateAspects(planetPositions);
-        birthChart.setAspects(aspects);
-
-        // Calculate aspect details
-        Map<String, String> aspectsDetails = calculateAspectDetails(aspects);
-        birthChart.setAspectsDetails(aspectsDetails);
-
-        // Set zodiac ranges
-        Map<String, String> signs = new HashMap<>();
-        signs.put("Aries", "0-30");
-        signs.put("Taurus", "30-60");
-        signs.put("Gemini", "60-90");
-        signs.put("Cancer", "90-120");
-        signs.put("Leo", "120-150");
-        signs.put("Virgo", "150-180");
-        signs.put("Libra", "180-210");
-        signs.put("Scorpio", "210-240");
-        signs.put("Sagittarius", "240-270");
-        signs.put("Capricorn", "270-300");
-        signs.put("Aquarius", "300-330");
-        signs.put("Pisces", "330-360");
-        birthChart.setSigns(signs);
-
-        // Calculate planet signs and retrograde status
-        Map<String, String> planetSigns = new HashMap<>();
-        Map<String, Double> planetSpeeds = new HashMap<>();
-        for (Map.Entry<String, double[]> entry : planetPositions.entrySet()) {
-            String planet = entry.getKey();
-            double[] position = entry.getValue();
-            double longitude = position[0];
-            double speed = position[3];  // Use the 4th element (index 3) as speed
-            String sign = determineSign(longitude, signs);
-            String status = speed < 0 ? " (R)" : "";  // R indicates retrograde
-            planetSigns.put(planet, sign + status);
-            planetSpeeds.put(planet, speed);
+        String city = locationParts[0];
+        String country = locationParts[1];
+        
+        // Find the city in the cities data
+        List<City> countryCities = this.cities.get(country);
+        if (countryCities != null) {
+            for (City c : countryCities) {
+                if (c.getName().equals(city)) {
+                    return new double[]{c.getLat(), c.getLng()};
+                }
+            }
         }
-        birthChart.setPlanetSigns(planetSigns);
-        birthChart.setPlanetSpeeds(planetSpeeds);
-
-        // Calculate house signs
-        Map<String, String> housesSigns = calculateHouseSigns(houses, signs);
-        birthChart.setHousesSigns(housesSigns);
-
-        // Calculate element distribution
-        Map<String, String> elements = calculateElements(planetSigns);
-        birthChart.setElements(elements);
+        throw new IllegalArgumentException("Location not found in database: " + location);
+    }
 
-        // Calculate mode distribution
-        Map<String, String> modalities = calculateModalities(planetSigns);
-        birthChart.setModalities(modalities);
+    /**
+     * The ayanamsa a chart was saved with, null for a tropical chart. Stored
+     * longitudes and cusps are in this zodiac; anything comparing them with
+     * ephemeris positions or with another chart must use the same one.
+     */
+    public static Ayanamsa ayanamsa(BirthChart chart) {
+        return chart.getAyanamsa() == null ? null : Ayanamsa.valueOf(chart.getAyanamsa());
+    }
 
-        return birthChart;
+    /**
+     * Degrees to add to a chart's stored longitudes and cusps for the tropical
+     * ones: its ayanamsa plus the nutation at the birth moment, 0 for a
+     * tropical chart. Borrows a pooled instance, so never call it while holding one.
+     */
+    public static double tropicalOffset(BirthChart chart) {
+        Ayanamsa ayanamsa = ayanamsa(chart);
+        if (ayanamsa == null) {
+            return 0.0;
+        }
+        if (chart.getJulianDay() == null) {
+            throw new IllegalArgumentException("Sidereal chart " + chart.getId() + " has no stored birth moment");
+        }
+        double julianDay = chart.getJulianDay();
+        return SwissEphPool.shared().execute(swissEph -> AyanamsaCache.offset(swissEph, ayanamsa, julianDay));
     }
 
-    private double calculateJulianDay(LocalDateTime dateTime) {
-        int year = dateTime.getYear();
-        int month = dateTime.getMonthValue();
-        int day = dateTime.getDayOfMonth();
-        int hour = dateTime.getHour();
-        int minute = dateTime.getMinute();
-        int second = dateTime.getSecond();
+    public BirthChart getBirthChart(Long id) {
+        return birthChartRepository.findById(id)
+            .orElseThrow(() -> new RuntimeException("Birth chart not found"));
+    }
 
-        // Convert to Julian Day
-        double a = (14 - month) / 12;
-        double y = year + 4800 - a;
-        double m = month + 12 * a - 3;
+    public BirthChart calculateBirthChart(BirthData birthData) throws IOException {
+        // Convert local birth time to a Julian day (UT) once for the whole chart
+        double julianDay = TimeScale.julianDay(birthData.getBirthDateTime(), birthData.getTimezone());
+        Set<BodySet> bodySets = birthData.getBodies() == null ? defaultBodySets : BodySet.parse(birthData.getBodies());
+        return calculateBirthChart(julianDay, birthData.getLatitude(), birthData.getLongitude(),
+            HouseSystem.fromString(birthData.getHouseSystem()),
+            Ayanamsa.forZodiac(birthData.getZodiac(), birthData.getAyanamsa()), bodySets,
+            PrecisionTier.fromString(birthData.getPrecision()));
+    }
 
-        double jd = day + (153 * m + 2) / 5 + 365 * y + y / 4 - y / 100 + y / 400 - 32045;
-        double time = (hour + minute / 60.0 + second / 3600.0) / 24.0;
+    public BirthChart calculateBirthChart(double julianDay, double latitude, double longitude, HouseSystem houseSystem) {
+        return calculateBirthChart(julianDay, latitude, longitude, houseSystem, null, EnumSet.noneOf(BodySet.class));
+    }
 
-        return jd + time;
+    /**
+     * The ten planets plus the selected catalogue bodies, which stay out of
+     * signs, elements and aspects. With an ayanamsa every longitude, cusp,
+     * sign and aspect is sidereal; null means tropical.
+     */
+    public BirthChart calculateBirthChart(double julianDay, double latitude, double longitude, HouseSystem houseSystem,
+                                          Ayanamsa ayanamsa, Set<BodySet> bodySets) {
+        return calculateBirthChart(julianDay, latitude, longitude, houseSystem, ayanamsa, bodySets,
+            PrecisionTier.STANDARD);
     }
 
-    private Map<String, Double> calculateAspects(Map<String, double[]> planetPositions) {
-        Map<String, Double> aspects = new HashMap<>();
-        
-        // Calculate aspects between planets
-        String[] planets = {"SUN", "MOON", "MERCURY", "VENUS", "MARS", 
-                          "JUPITER", "SATURN", "URANUS", "NEPTUNE", "PLUTO"};
-        
-        for (int i = 0; i < planets.length; i++) {
-            for (int j = i + 1; j < planets.length; j++) {
-                String planet1 = planets[i];
-                String planet2 = planets[j];
-                double[] pos1 = planetPositions.get(planet1);
-                double[] pos2 = planetPositions.get(planet2);
-                
-                if (pos1 != null && pos2 != null) {
-                    double angle = calculateAngle(pos1, pos2);
-                    
-                    // Only record major aspects
-                    if (isMajorAspect(angle)) {
-                        aspects.put(planet1 + "-" + planet2, angle);
-                    }
-                }
-            }
+    // As above with the planets from the precision tier's engine; catalogue bodies always use the Swiss Ephemeris
+    public BirthChart calculateBirthChart(double julianDay, double latitude, double longitude, HouseSystem houseSystem,
+                                          Ayanamsa ayanamsa, Set<BodySet> bodySets, PrecisionTier precision) {
+        // Bodies, houses, signs and tallies in one pass into this thread's buffers
+        ChartResult result = ephemerisRouter.compute(precision, julianDay, latitude, longitude, houseSystem, ayanamsa,
+            CHART_RESULTS.get());
+        BirthChart birthChart = toBirthChart(result);
+        if (!bodySets.isEmpty()) {
+            bodyCatalogue.compute(result, bodySets, birthChart.getPlanetPositions(), birthChart.getFixedStars());
+            birthChart.refreshPlanetSpeeds();
         }
-        
-        return aspects;
+        return birthChart;
     }
 
-    private double calculateAngle(double[] pos1, double[] pos2) {
-        // Calculate angle between two positions
-        double x1 = pos1[0];
-        double y1 = pos1[1];
-        double x2 = pos2[0];
-        double y2 = pos2[1];
-        
-        double angle = Math.atan2(y2 - y1, x2 - x1) * 180.0 / Math.PI;
-        if (angle < 0) {
-            angle += 360.0;
-        }
-        return angle;
+    // Chart from given body values and cusps without the ephemeris, e.g. composite midpoints
+    public BirthChart calculateBirthChart(double[] bodies, double[] cusps, HouseSystem houseSystem) {
+        return toBirthChart(ChartKernel.compose(bodies, cusps, houseSystem, CHART_RESULTS.get()));
     }
 
-    private boolean isMajorAspect(double angle) {
-        // Check if angle is a major aspect (0°, 60°, 90°, 120°, 180°)
-        double[] majorAspects = {0, 60, 90, 120, 180};
-        for (double aspect : majorAspects) {
-            if (Math.abs(angle - aspect) < 5) { // Allow 5 degrees orb
-                return true;
-            }
+    // Builds the entity maps from a kernel result; the only place a chart allocates
+    private BirthChart toBirthChart(ChartResult result) {
+        Map<String, double[]> planetPositions = new HashMap<>();
+        Map<String, String> planetSigns = new HashMap<>();
+        Map<String, Double> planetSpeeds = new HashMap<>();
+        StringBuilder[] elementPlanets = new StringBuilder[ChartResult.ELEMENT_COUNT];
+        StringBuilder[] modalityPlanets = new StringBuilder[ChartResult.MODALITY_COUNT];
+        for (Planet planet : Planet.all()) {
+            String name = planet.name();
+            int sign = result.sign(planet);
+            planetPositions.put(name, result.position(planet));
+            planetSpeeds.put(name, result.speed(planet));
+            planetSigns.put(name, SIGN_NAMES[sign] + (result.isRetrograde(planet) ? " (R)" : ""));
+            append(elementPlanets, sign % ChartResult.ELEMENT_COUNT, name);
+            append(modalityPlanets, sign % ChartResult.MODALITY_COUNT, name);
         }
-        return false;
-    }
 
-    private Map<String, String> calculateAspectDetails(Map<String, Double> aspects) {
-        Map<String, String> details = new HashMap<>();
-        
-        for (Map.Entry<String, Double> entry : aspects.entrySet()) {
-            double angle = entry.getValue();
-            String aspectType = determineAspectType(angle);
-            details.put(entry.getKey(), aspectType);
+        double[] houses = result.getCusps().clone();
+        Map<String, String> housesSigns = new HashMap<>();
+        for (int house = 1; house < ChartResult.CUSP_COUNT; house++) {
+            housesSigns.put("House" + house, SIGN_NAMES[result.cuspSign(house)]);
         }
-        
-        return details;
-    }
 
-    private String determineAspectType(double angle) {
-        if (angle < 5) return "conjunction";
-        if (Math.abs(angle - 60) < 5) return "sextile";
-        if (Math.abs(angle - 90) < 5) return "square";
-        if (Math.abs(angle - 120) < 5) return "trine";
-        if (Math.abs(angle - 180) < 5) return "opposition";
-        return "unknown";
-    }
+        BirthChart birthChart = new BirthChart(planetPositions, houses);
 
-    private Map<String, String> calculateHouseSigns(double[] houses, Map<String, String> signs) {
-        Map<String, String> houseSigns = new HashMap<>();
-        
-        for (int i = 0; i < houses.length; i++) {
-            double position = houses[i];
-            String sign = determineSign(position, signs);
-            houseSigns.put("House" + (i + 1), sign);
+        // Aspects keyed "SUN-MOON" with the separation angle and the aspect name
+        AspectTable aspectTable = aspectCalculator.calculate(result.getLongitudes(), result.getSpeeds(),
+            ORB_FACTORS, Planet.COUNT, ASPECT_TABLES.get());
+        Map<String, Double> aspects = new HashMap<>();
+        Map<String, String> aspectsDetails = new HashMap<>();
+        Planet[] planets = Planet.all();
+        for (int row = 0; row < aspectTable.size(); row++) {
+            String key = planets[aspectTable.first(row)].name() + "-" + planets[aspectTable.second(row)].name();
+            aspects.put(key, aspectTable.separation(row));
+            aspectsDetails.put(key, aspectCalculator.getAspect(aspectTable.aspect(row)).getDisplayName().toLowerCase());
         }
-        
-        return houseSigns;
-    }
+        birthChart.setAspects(aspects);
+        birthChart.setAspectsDetails(aspectsDetails);
 
-    private String determineSign(double position, Map<String, String> signs) {
-        for (Map.Entry<String, String> entry : signs.entrySet()) {
-            String[] range = entry.getValue().split("-");
-            double start = Double.parseDouble(range[0]);
-            double end = Double.parseDouble(range[1]);
-            if (position >= start && position < end) {
-                return entry.getKey();
-            }
-        }
-        return "Unknown";
+        birthChart.setSigns(new HashMap<>(SIGN_RANGES));
+        birthChart.setPlanetSigns(planetSigns);
+        birthChart.setPlanetSpeeds(planetSpeeds);
+        birthChart.setHousesSigns(housesSigns);
+        birthChart.setElements(toGroupMap(elementPlanets, ELEMENT_NAMES));
+        birthChart.setModalities(toGroupMap(modalityPlanets, MODALITY_NAMES));
+        return birthChart;
     }
 
-    private Map<String, String> calculateElements(Map<String, String> planetSigns) {
-        Map<String, String> elements = new HashMap<>();
-        for (Map.Entry<String, String> entry : planetSigns.entrySet()) {
-            String planet = entry.getKey();
-            String sign = entry.getValue();
-            if (sign.contains("Aries") || sign.contains("Leo") || sign.contains("Sagittarius")) {
-                elements.put("Fire", elements.getOrDefault("Fire", "") + planet + ", ");
-            } else if (sign.contains("Taurus") || sign.contains("Virgo") || sign.contains("Capricorn")) {
-                elements.put("Earth", elements.getOrDefault("Earth", "") + planet + ", ");
-            } else if (sign.contains("Gemini") || sign.contains("Libra") || sign.contains("Aquarius")) {
-                elements.put("Air", elements.getOrDefault("Air", "") + planet + ", ");
-            } else if (sign.contains("Cancer") || sign.contains("Scorpio") || sign.contains("Pisces")) {
-                elements.put("Water", elements.getOrDefault("Water", "") + planet + ", ");
-            }
+    private static void append(StringBuilder[] groups, int group, String planet) {
+        if (groups[group] == null) {
+            groups[group] = new StringBuilder();
         }
-        return elements;
+        groups[group].append(planet).append(", ");
     }
 
-    private Map<String, String> calculateModalities(Map<String, String> planetSigns) {
-        Map<String, String> modalities = new HashMap<>();
-        for (Map.Entry<String, String> entry : planetSigns.entrySet()) {
-            String planet = entry.getKey();
-            String sign = entry.getValue();
-            if (sign.contains("Aries") || sign.contains("Cancer") || sign.contains("Libra") || sign.contains("Capricorn")) {
-                modalities.put("Cardinal", modalities.getOrDefault("Cardinal", "") + planet + ", ");
-            } else if (sign.contains("Taurus") || sign.contains("Leo") || sign.contains("Scorpio") || sign.contains("Aquarius")) {
-                modalities.put("Fixed", modalities.getOrDefault("Fixed", "") + planet + ", ");
-            } else if (sign.contains("Gemini") || sign.contains("Virgo") || sign.contains("Sagittarius") || sign.contains("Pisces")) {
-                modalities.put("Mutable", modalities.getOrDefault("Mutable", "") + planet + ", ");
+    private static Map<String, String> toGroupMap(StringBuilder[] groups, String[] names) {
+        Map<String, String> map = new HashMap<>();
+        for (int i = 0; i < groups.length; i++) {
+            if (groups[i] != null) {
+                map.put(names[i], groups[i].toString());
             }
         }
-        return modalities;
-    }
-} 
\ No newline at end of file
+        return map;
+    }}
\ No newline at end of file
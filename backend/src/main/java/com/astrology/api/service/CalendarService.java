@@ -0,0 +1,265 @@
+package com.astrology.api.service;
+
+import com.astrology.api.config.EphemerisConfig;
+import com.astrology.api.dto.CalendarEvent;
+import com.astrology.api.model.astrology.Planet;
+import com.astrology.api.model.astrology.ZodiacSign;
+import com.astrology.api.util.CalendarIndex;
+import com.astrology.api.util.CalendarIndexBuilder;
+import com.astrology.api.util.TimeScale;
+import com.astrology.api.util.TransitSearch;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import swisseph.SwissEph;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Answers calendar questions (next station, last ingress into a sign, lunar
+ * phases in a range) from the memory-mapped {@link CalendarIndex}. A missing
+ * or outdated index file is rebuilt in the background at startup; queries
+ * fail with IllegalStateException until it is ready.
+ */
+@Service
+public class CalendarService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CalendarService.class);
+
+    private static final String[] SIGN_NAMES = new String[12];
+    private static final String[] PHASE_NAMES = {"New Moon", "First Quarter", "Full Moon", "Last Quarter"};
+    private static final int MAX_EVENTS = 1000;
+
+    static {
+        for (ZodiacSign sign : ZodiacSign.values()) {
+            SIGN_NAMES[sign.ordinal()] = sign.name().charAt(0) + sign.name().substring(1).toLowerCase();
+        }
+    }
+
+    private final EphemerisConfig ephemerisConfig;
+    private final ExecutorService builder = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "calendar-index-builder");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile CalendarIndex index;
+
+    @Value("${calendar.index.file:calendar-index.bin}")
+    private String indexFile;
+
+    @Value("${calendar.index.start-year:1950}")
+    private int startYear;
+
+    @Value("${calendar.index.end-year:2050}")
+    private int endYear;
+
+    @Autowired
+    public CalendarService(EphemerisConfig ephemerisConfig) {
+        this.ephemerisConfig = ephemerisConfig;
+    }
+
+    @PostConstruct
+    public void loadIndex() {
+        Path file = Path.of(indexFile);
+        double startJd = TimeScale.julianDayUtc(LocalDateTime.of(startYear, 1, 1, 0, 0));
+        double endJd = TimeScale.julianDayUtc(LocalDateTime.of(endYear, 1, 1, 0, 0));
+        if (Files.exists(file)) {
+            try {
+                CalendarIndex existing = CalendarIndex.open(file);
+                if (existing.getStartJd() <= startJd && existing.getEndJd() >= endJd) {
+                    index = existing;
+                    return;
+                }
+                logger.info("Calendar index {} does not cover {}-{}, rebuilding", file, startYear, endYear);
+            } catch (Exception e) {
+                logger.warn("Could not open calendar index {}, rebuilding: {}", file, e.getMessage());
+            }
+        }
+
+        // The build takes a few seconds per decade; it uses its own SwissEph so the pool stays free
+        builder.submit(() -> {
+            try {
+                String ephePath = ephemerisConfig.getEphemerisPath();
+                SwissEph swissEph = ephePath == null || ephePath.isBlank() ? new SwissEph() : new SwissEph(ephePath);
+                new CalendarIndexBuilder(swissEph).build(file, startJd, endJd);
+                index = CalendarIndex.open(file);
+            } catch (Exception e) {
+                logger.error("Failed to build calendar index {}", file, e);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        builder.shutdownNow();
+    }
+
+    public boolean isReady() {
+        return index != null;
+    }
+
+    /**
+     * Up to {@code limit} events after {@code after} (UTC), optionally only
+     * those matching {@code detail}: a sign for ingresses, "retrograde" or
+     * "direct" for stations, a phase name for lunar phases.
+     */
+    public List<CalendarEvent> next(String type, String body, String detail, LocalDateTime after, int limit) {
+        CalendarIndex calendar = requireIndex();
+        CalendarIndex.Kind kind = CalendarIndex.Kind.fromString(type);
+        Planet planet = resolveBody(kind, body);
+        int section = section(calendar, kind, planet);
+        int code = detailCode(kind, detail);
+        double julianDay = julianDay(calendar, after);
+
+        List<CalendarEvent> events = new ArrayList<>();
+        for (int i = calendar.firstAfter(section, julianDay);
+             i < calendar.count(section) && events.size() < clampLimit(limit); i++) {
+            if (matches(kind, calendar.code(section, i), code)) {
+                events.add(toEvent(calendar, kind, planet, section, i));
+            }
+        }
+        return events;
+    }
+
+    /** As {@link #next}, going backwards from {@code before}; most recent first. */
+    public List<CalendarEvent> previous(String type, String body, String detail, LocalDateTime before, int limit) {
+        CalendarIndex calendar = requireIndex();
+        CalendarIndex.Kind kind = CalendarIndex.Kind.fromString(type);
+        Planet planet = resolveBody(kind, body);
+        int section = section(calendar, kind, planet);
+        int code = detailCode(kind, detail);
+        double julianDay = julianDay(calendar, before);
+
+        List<CalendarEvent> events = new ArrayList<>();
+        // firstAfter(t - ulp) is the first event at or after t, so everything below it is strictly before
+        for (int i = calendar.firstAfter(section, Math.nextDown(julianDay)) - 1;
+             i >= 0 && events.size() < clampLimit(limit); i--) {
+            if (matches(kind, calendar.code(section, i), code)) {
+                events.add(toEvent(calendar, kind, planet, section, i));
+            }
+        }
+        return events;
+    }
+
+    /** Every event in [from, to), in time order. */
+    public List<CalendarEvent> between(String type, String body, LocalDateTime from, LocalDateTime to) {
+        if (!to.isAfter(from)) {
+            throw new IllegalArgumentException("The end date must be after the start date");
+        }
+        CalendarIndex calendar = requireIndex();
+        CalendarIndex.Kind kind = CalendarIndex.Kind.fromString(type);
+        Planet planet = resolveBody(kind, body);
+        int section = section(calendar, kind, planet);
+        double start = julianDay(calendar, from);
+        double end = julianDay(calendar, to);
+
+        List<CalendarEvent> events = new ArrayList<>();
+        for (int i = calendar.firstAfter(section, Math.nextDown(start));
+             i < calendar.count(section) && calendar.julianDay(section, i) < end; i++) {
+            if (events.size() == MAX_EVENTS) {
+                throw new IllegalArgumentException("More than " + MAX_EVENTS + " events; narrow the range");
+            }
+            events.add(toEvent(calendar, kind, planet, section, i));
+        }
+        return events;
+    }
+
+    private CalendarIndex requireIndex() {
+        CalendarIndex calendar = index;
+        if (calendar == null) {
+            throw new IllegalStateException("The calendar index is still being built");
+        }
+        return calendar;
+    }
+
+    private static Planet resolveBody(CalendarIndex.Kind kind, String body) {
+        if (kind == CalendarIndex.Kind.LUNAR_PHASE) {
+            return null;
+        }
+        if (body == null || body.isBlank()) {
+            throw new IllegalArgumentException("A body is required for " + kind.name().toLowerCase() + " events");
+        }
+        try {
+            return Planet.valueOf(body.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown body: " + body);
+        }
+    }
+
+    private static int section(CalendarIndex calendar, CalendarIndex.Kind kind, Planet planet) {
+        int section = calendar.section(kind, planet == null ? CalendarIndex.LUNAR_PHASE_BODY : planet.getSweBody());
+        if (section < 0) {
+            throw new IllegalArgumentException("No " + kind.name().toLowerCase() + " events indexed for " + planet);
+        }
+        return section;
+    }
+
+    private static double julianDay(CalendarIndex calendar, LocalDateTime utc) {
+        double julianDay = TimeScale.julianDayUtc(utc);
+        if (!calendar.covers(julianDay)) {
+            throw new IllegalArgumentException("Date " + utc + " is outside the calendar index");
+        }
+        return julianDay;
+    }
+
+    private static int clampLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_EVENTS));
+    }
+
+    // Index code to match, or -1 for any
+    private static int detailCode(CalendarIndex.Kind kind, String detail) {
+        if (detail == null || detail.isBlank()) {
+            return -1;
+        }
+        String value = detail.trim();
+        String[] names = switch (kind) {
+            case INGRESS -> SIGN_NAMES;
+            case STATION -> new String[]{"retrograde", "direct"};
+            case LUNAR_PHASE -> PHASE_NAMES;
+        };
+        for (int code = 0; code < names.length; code++) {
+            if (names[code].equalsIgnoreCase(value) || names[code].replace(' ', '_').equalsIgnoreCase(value)) {
+                return code;
+            }
+        }
+        throw new IllegalArgumentException("Unknown " + kind.name().toLowerCase() + " filter: " + detail);
+    }
+
+    // Ingress filters match the sign whichever direction the body entered it
+    private static boolean matches(CalendarIndex.Kind kind, int code, int wanted) {
+        if (wanted < 0) {
+            return true;
+        }
+        return (kind == CalendarIndex.Kind.INGRESS ? code & ~CalendarIndex.INGRESS_RETROGRADE : code) == wanted;
+    }
+
+    private static CalendarEvent toEvent(CalendarIndex calendar, CalendarIndex.Kind kind, Planet planet,
+                                         int section, int event) {
+        double julianDay = calendar.julianDay(section, event);
+        int code = calendar.code(section, event);
+        String detail = switch (kind) {
+            case INGRESS -> SIGN_NAMES[code & ~CalendarIndex.INGRESS_RETROGRADE]
+                    + ((code & CalendarIndex.INGRESS_RETROGRADE) != 0 ? " (R)" : "");
+            case STATION -> code == TransitSearch.STATION_RETROGRADE ? "retrograde" : "direct";
+            case LUNAR_PHASE -> PHASE_NAMES[code];
+        };
+        return new CalendarEvent(
+            kind.name().toLowerCase(),
+            planet == null ? null : planet.name(),
+            Instant.ofEpochSecond(TimeScale.epochSeconds(julianDay)).atOffset(ZoneOffset.UTC).toString(),
+            julianDay,
+            detail);
+    }
+}
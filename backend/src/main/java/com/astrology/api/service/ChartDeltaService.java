@@ -0,0 +1,186 @@
+package com.astrology.api.service;
+
+import com.astrology.api.dto.ChartDelta;
+import com.astrology.api.model.BirthChart;
+import com.astrology.api.model.astrology.Ayanamsa;
+import com.astrology.api.model.astrology.HouseSystem;
+import com.astrology.api.model.astrology.Planet;
+import com.astrology.api.util.AspectCalculator;
+import com.astrology.api.util.AspectTable;
+import com.astrology.api.util.ChartExtrapolator;
+import com.astrology.api.util.ChartResult;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Non-persisting chart deltas for time sliders: a stored chart moved by a
+ * time offset through {@link ChartExtrapolator}, reduced to the planets,
+ * angles, cusps and aspects that differ from the stored chart. Nothing is
+ * interpreted or saved. The parts of a stored chart a delta needs are decoded
+ * once and kept in an LRU cache; stored charts never change, so entries do
+ * not go stale.
+ */
+@Service
+public class ChartDeltaService {
+
+    private static final int CACHE_SIZE = 1_000;
+    private static final double MAX_OFFSET_MINUTES = 366 * 1440.0;
+    private static final double MINUTES_PER_DAY = 1440.0;
+    // Values are compared and sent to 0.0001 degrees
+    private static final double RESOLUTION = 1e4;
+    private static final Planet[] PLANETS = Planet.all();
+    // Aspect orb multipliers indexed by Planet ordinal, as for stored charts
+    private static final double[] ORB_FACTORS = new double[Planet.COUNT];
+    private static final ThreadLocal<ChartResult> CHART_RESULTS = ThreadLocal.withInitial(ChartResult::new);
+    private static final ThreadLocal<AspectTable> ASPECT_TABLES = ThreadLocal.withInitial(AspectTable::new);
+
+    static {
+        for (Planet planet : PLANETS) {
+            ORB_FACTORS[planet.ordinal()] = planet.getOrbFactor();
+        }
+    }
+
+    private final BirthChartService birthChartService;
+    private final AspectCalculator aspectCalculator;
+    private final ChartExtrapolator extrapolator;
+    private final Map<Long, Base> bases = Collections.synchronizedMap(
+        new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Base> eldest) {
+                return size() > CACHE_SIZE;
+            }
+        });
+
+    // What a delta reads from a stored chart
+    private static final class Base {
+        final double julianDay;
+        final double latitude;
+        final double longitude;
+        final HouseSystem houseSystem;
+        final Ayanamsa ayanamsa;
+        final double[] bodies;
+        final double[] houses;
+        final Map<String, String> aspects;
+
+        Base(double julianDay, double latitude, double longitude, HouseSystem houseSystem, Ayanamsa ayanamsa,
+             double[] bodies, double[] houses, Map<String, String> aspects) {
+            this.julianDay = julianDay;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.houseSystem = houseSystem;
+            this.ayanamsa = ayanamsa;
+            this.bodies = bodies;
+            this.houses = houses;
+            this.aspects = aspects;
+        }
+    }
+
+    @Autowired
+    public ChartDeltaService(BirthChartService birthChartService,
+                             AspectCalculator aspectCalculator,
+                             @Value("${chart.delta.tolerance-arcsec:60}") double toleranceArcsec) {
+        this.birthChartService = birthChartService;
+        this.aspectCalculator = aspectCalculator;
+        this.extrapolator = new ChartExtrapolator(toleranceArcsec);
+    }
+
+    public ChartDelta delta(Long chartId, double minutes) {
+        if (!(Math.abs(minutes) <= MAX_OFFSET_MINUTES)) {
+            throw new IllegalArgumentException("The offset must be within a year (" + (long) MAX_OFFSET_MINUTES
+                + " minutes)");
+        }
+        Base base = base(chartId);
+        ChartResult result = CHART_RESULTS.get();
+        int refined = extrapolator.extrapolate(base.bodies, base.julianDay, minutes / MINUTES_PER_DAY,
+            base.latitude, base.longitude, base.houseSystem, base.ayanamsa, result);
+
+        Map<String, Double> bodies = new LinkedHashMap<>();
+        for (Planet planet : PLANETS) {
+            double longitude = round(result.longitude(planet));
+            if (longitude != round(base.bodies[planet.ordinal() * ChartResult.BODY_STRIDE])) {
+                bodies.put(planet.name(), longitude);
+            }
+        }
+
+        Map<String, Double> angles = new LinkedHashMap<>();
+        angles.put("ASC", round(result.getAscendant()));
+        angles.put("MC", round(result.getMidheaven()));
+
+        double[] houses = null;
+        double[] cusps = result.getCusps();
+        for (int house = 1; house < ChartResult.CUSP_COUNT; house++) {
+            if (round(cusps[house]) != round(base.houses[house])) {
+                houses = new double[ChartResult.CUSP_COUNT];
+                for (int h = 1; h < ChartResult.CUSP_COUNT; h++) {
+                    houses[h] = round(cusps[h]);
+                }
+                break;
+            }
+        }
+
+        AspectTable table = aspectCalculator.calculate(result.getLongitudes(), result.getSpeeds(),
+            ORB_FACTORS, Planet.COUNT, ASPECT_TABLES.get());
+        Map<String, String> aspects = new LinkedHashMap<>();
+        Map<String, String> current = new HashMap<>();
+        for (int row = 0; row < table.size(); row++) {
+            String key = PLANETS[table.first(row)].name() + "-" + PLANETS[table.second(row)].name();
+            String aspect = aspectCalculator.getAspect(table.aspect(row)).getDisplayName().toLowerCase();
+            current.put(key, aspect);
+            if (!aspect.equals(base.aspects.get(key))) {
+                aspects.put(key, aspect);
+            }
+        }
+        List<String> ended = new ArrayList<>();
+        for (String key : base.aspects.keySet()) {
+            if (!current.containsKey(key)) {
+                ended.add(key);
+            }
+        }
+        return new ChartDelta(result.getJulianDay(), refined, bodies, angles, houses, aspects, ended);
+    }
+
+    private Base base(Long chartId) {
+        Base base = bases.get(chartId);
+        if (base != null) {
+            return base;
+        }
+        BirthChart chart = birthChartService.getBirthChart(chartId);
+        if (chart.getJulianDay() == null || chart.getLatitude() == null || chart.getLongitude() == null) {
+            throw new IllegalArgumentException("Chart " + chartId
+                + " was saved without its birth moment and place; recreate it to use time sliders");
+        }
+        double[] bodies = new double[Planet.COUNT * ChartResult.BODY_STRIDE];
+        for (Planet planet : PLANETS) {
+            double[] position = chart.getPlanetPositions().get(planet.name());
+            if (position == null || position.length < ChartResult.BODY_STRIDE) {
+                throw new IllegalArgumentException("Chart " + chartId + " has no stored position for " + planet);
+            }
+            System.arraycopy(position, 0, bodies, planet.ordinal() * ChartResult.BODY_STRIDE,
+                ChartResult.BODY_STRIDE);
+        }
+        double[] houses = chart.getHouses();
+        if (houses == null || houses.length < ChartResult.CUSP_COUNT) {
+            throw new IllegalArgumentException("Chart " + chartId + " has no stored house cusps");
+        }
+        Map<String, String> aspects = chart.getAspectsDetails() == null
+            ? Map.of() : new HashMap<>(chart.getAspectsDetails());
+        base = new Base(chart.getJulianDay(), chart.getLatitude(), chart.getLongitude(),
+            HouseSystem.fromString(chart.getHouseSystem()),
+            BirthChartService.ayanamsa(chart),
+            bodies, houses.clone(), aspects);
+        bases.put(chartId, base);
+        return base;
+    }
+
+    private static double round(double degrees) {
+        return Math.round(degrees * RESOLUTION) / RESOLUTION;
+    }
+}
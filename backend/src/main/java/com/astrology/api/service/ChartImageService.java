@@ -2,6 +2,7 @@ package com.astrology.api.service;
 
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.UriComponentsBuilder;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -82,6 +83,28 @@ public class ChartImageService {
                    .queryParam("p_spirit", points.get("spirit"));
         }
 
+        // Add catalogue bodies computed for the chart (longitude first in each position)
+        @SuppressWarnings("unchecked")
+        Map<String, List<Number>> positions = (Map<String, List<Number>>) chartData.get("planetPositions");
+        if (positions != null) {
+            Map<String, String> catalogueParams = Map.of(
+                "CHIRON", "p_chiron",
+                "LILITH", "p_lilith",
+                "TRUE_NODE", "p_uzel",
+                "VERTEX", "p_vertex",
+                "FORTUNE", "p_fortune",
+                "SPIRIT", "p_spirit"
+            );
+            catalogueParams.forEach((body, paramName) -> {
+                List<Number> position = positions.get(body);
+                // Explicit special points win over computed ones
+                boolean given = points != null && points.get(body.toLowerCase()) != null;
+                if (position != null && !position.isEmpty() && !given) {
+                    builder.queryParam(paramName, position.get(0).doubleValue());
+                }
+            });
+        }
+
         // Add retrograde planets
         builder.queryParam("r_saturn", "ANO")
                .queryParam("r_pluto", "ANO")
@@ -0,0 +1,77 @@
+package com.astrology.api.service;
+
+import com.astrology.api.dto.ElectionalWindow;
+import com.astrology.api.model.astrology.HouseSystem;
+import com.astrology.api.util.ElectionalCondition;
+import com.astrology.api.util.ElectionalSearch;
+import com.astrology.api.util.TimeScale;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Electional searches: the windows in a date range during which every clause
+ * of a condition string holds at a location (see {@link ElectionalCondition}
+ * for the clauses and {@link ElectionalSearch} for the scan).
+ */
+@Service
+public class ElectionalService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ElectionalService.class);
+
+    private static final int MAX_DAYS = 366;
+    private static final int MAX_CONDITIONS = 20;
+    private static final int MAX_WINDOWS = 1000;
+
+    private final BirthChartService birthChartService;
+
+    @Autowired
+    public ElectionalService(BirthChartService birthChartService) {
+        this.birthChartService = birthChartService;
+    }
+
+    /** Windows in [from, to) (UTC) at a "City, Country" location. */
+    public List<ElectionalWindow> findWindows(String location, LocalDateTime from, LocalDateTime to,
+                                              String conditions, String houseSystem) {
+        if (!to.isAfter(from)) {
+            throw new IllegalArgumentException("The end date must be after the start date");
+        }
+        if (from.plusDays(MAX_DAYS).isBefore(to)) {
+            throw new IllegalArgumentException("Search at most " + MAX_DAYS + " days at a time");
+        }
+        List<ElectionalCondition> parsed = ElectionalCondition.parseAll(conditions);
+        if (parsed.size() > MAX_CONDITIONS) {
+            throw new IllegalArgumentException("At most " + MAX_CONDITIONS + " conditions are allowed");
+        }
+        double[] place = birthChartService.resolveLocation(location);
+
+        long start = System.nanoTime();
+        ElectionalSearch search = new ElectionalSearch(parsed, place[0], place[1], HouseSystem.fromString(houseSystem));
+        ElectionalSearch.Windows windows = search.search(TimeScale.julianDayUtc(from), TimeScale.julianDayUtc(to));
+        if (windows.size() > MAX_WINDOWS) {
+            throw new IllegalArgumentException("More than " + MAX_WINDOWS + " windows; narrow the range");
+        }
+        logger.debug("Electional search '{}' found {} windows with {} evaluations in {} ms", conditions,
+            windows.size(), search.getEvaluations(), (System.nanoTime() - start) / 1_000_000);
+
+        List<ElectionalWindow> result = new ArrayList<>(windows.size());
+        for (int i = 0; i < windows.size(); i++) {
+            double startJd = windows.start(i);
+            double endJd = windows.end(i);
+            result.add(new ElectionalWindow(
+                Instant.ofEpochSecond(TimeScale.epochSeconds(startJd)).atOffset(ZoneOffset.UTC).toString(),
+                Instant.ofEpochSecond(TimeScale.epochSeconds(endJd)).atOffset(ZoneOffset.UTC).toString(),
+                startJd,
+                endJd,
+                Math.round((endJd - startJd) * 1440 * 10) / 10.0));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,136 @@
+package com.astrology.api.service;
+
+import com.astrology.api.dto.ProgressionPoint;
+import com.astrology.api.model.BirthChart;
+import com.astrology.api.model.astrology.Ayanamsa;
+import com.astrology.api.model.astrology.Planet;
+import com.astrology.api.util.ProgressionTimeline;
+import com.astrology.api.util.SwissEphPool;
+import com.astrology.api.util.TimeScale;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Secondary progression and solar arc timelines for stored charts. A timeline
+ * is generated once per chart, length and step, kept in an LRU cache and
+ * streamed as one JSON object per line. Progressed and directed positions
+ * are in the chart's zodiac.
+ */
+@Service
+public class ProgressionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProgressionService.class);
+
+    private static final int MAX_YEARS = 120;
+    private static final int CACHE_SIZE = 200;
+    // Calendar days of life per progressed day
+    private static final double TROPICAL_YEAR = 365.242190;
+    private static final String[] DIRECTED_NAMES = new String[Planet.COUNT + 2];
+
+    static {
+        for (Planet planet : Planet.all()) {
+            DIRECTED_NAMES[planet.ordinal()] = planet.name();
+        }
+        DIRECTED_NAMES[Planet.COUNT] = "ASC";
+        DIRECTED_NAMES[Planet.COUNT + 1] = "MC";
+    }
+
+    private final BirthChartService birthChartService;
+    private final ObjectMapper objectMapper;
+    private final Map<String, ProgressionTimeline> timelines = Collections.synchronizedMap(
+        new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ProgressionTimeline> eldest) {
+                return size() > CACHE_SIZE;
+            }
+        });
+
+    @Autowired
+    public ProgressionService(BirthChartService birthChartService, ObjectMapper objectMapper) {
+        this.birthChartService = birthChartService;
+        this.objectMapper = objectMapper;
+    }
+
+    /** Timeline from birth to {@code years}, one point per year or per month. */
+    public ProgressionTimeline getTimeline(Long chartId, int years, boolean monthly) {
+        if (years < 1 || years > MAX_YEARS) {
+            throw new IllegalArgumentException("Years must be between 1 and " + MAX_YEARS);
+        }
+        int pointsPerYear = monthly ? 12 : 1;
+        String key = chartId + ":" + years + ":" + pointsPerYear;
+        ProgressionTimeline cached = timelines.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        BirthChart chart = birthChartService.getBirthChart(chartId);
+        if (chart.getJulianDay() == null) {
+            throw new IllegalArgumentException("Chart " + chartId
+                + " was saved without its birth moment; recreate it to build progressions");
+        }
+        double[] houses = chart.getHouses();
+        if (houses == null || houses.length < 11) {
+            throw new IllegalArgumentException("Chart " + chartId + " has no stored house cusps");
+        }
+        double[] natal = new double[Planet.COUNT + 2];
+        for (Planet planet : Planet.all()) {
+            double[] position = chart.getPlanetPositions().get(planet.name());
+            if (position == null) {
+                throw new IllegalArgumentException("Chart " + chartId + " has no stored position for " + planet);
+            }
+            natal[planet.ordinal()] = position[0];
+        }
+        natal[Planet.COUNT] = houses[1];
+        natal[Planet.COUNT + 1] = houses[10];
+
+        Ayanamsa ayanamsa = BirthChartService.ayanamsa(chart);
+        long start = System.nanoTime();
+        ProgressionTimeline timeline = SwissEphPool.shared().execute(swissEph ->
+            ProgressionTimeline.generate(swissEph, chart.getJulianDay(), natal, years, pointsPerYear, ayanamsa));
+        logger.debug("Generated {} progression points for chart {} in {} ms",
+            timeline.getPointCount(), chartId, (System.nanoTime() - start) / 1_000_000);
+        timelines.put(key, timeline);
+        return timeline;
+    }
+
+    // Writes the timeline as newline-delimited JSON, one point per line
+    public void writeTimeline(ProgressionTimeline timeline, OutputStream out) throws IOException {
+        Planet[] planets = Planet.all();
+        for (int point = 0; point < timeline.getPointCount(); point++) {
+            Map<String, Double> progressed = new LinkedHashMap<>();
+            List<String> retrograde = new ArrayList<>();
+            for (Planet planet : planets) {
+                progressed.put(planet.name(), timeline.progressedLongitude(point, planet));
+                if (timeline.isProgressedRetrograde(point, planet)) {
+                    retrograde.add(planet.name());
+                }
+            }
+            Map<String, Double> directed = new LinkedHashMap<>();
+            for (int natalPoint = 0; natalPoint < DIRECTED_NAMES.length; natalPoint++) {
+                directed.put(DIRECTED_NAMES[natalPoint], timeline.directedLongitude(point, natalPoint));
+            }
+
+            double age = timeline.age(point);
+            long epochSeconds = TimeScale.epochSeconds(timeline.getNatalJulianDay() + age * TROPICAL_YEAR);
+            String date = Instant.ofEpochSecond(epochSeconds).atOffset(ZoneOffset.UTC).toLocalDate().toString();
+            ProgressionPoint row = new ProgressionPoint(age, date, timeline.progressedJulianDay(point),
+                timeline.solarArc(point), progressed, retrograde, directed);
+            out.write(objectMapper.writeValueAsBytes(row));
+            out.write('\n');
+        }
+        out.flush();
+    }
+}
@@ -0,0 +1,254 @@
+package com.astrology.api.service;
+
+import com.astrology.api.dto.LifeEvent;
+import com.astrology.api.dto.RectificationCandidate;
+import com.astrology.api.dto.RectificationRequest;
+import com.astrology.api.model.astrology.AspectType;
+import com.astrology.api.model.astrology.Planet;
+import com.astrology.api.model.astrology.ZodiacSign;
+import com.astrology.api.util.AspectCalculator;
+import com.astrology.api.util.RectificationSweep;
+import com.astrology.api.util.SwissEphPool;
+import com.astrology.api.util.TimeScale;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import swisseph.SweConst;
+import swisseph.SwissEph;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Birth-time rectification: every candidate time in a window at one place is
+ * scored against the client's life events with a {@link RectificationSweep},
+ * and the best candidates are returned. The ephemeris is consulted only once
+ * per event and once for the window; the candidates themselves cost a house
+ * angle calculation and two aspect sweeps each.
+ *
+ * The sweep runs on its own fork-join pool and reports to an SseEmitter:
+ * "progress" events with the candidates done so far, then one "result" event
+ * holding the ranked candidates.
+ */
+@Service
+public class RectificationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RectificationService.class);
+
+    private static final int MAX_CANDIDATES = 100_000;
+    private static final int MAX_EVENTS = 100;
+    private static final int MAX_LIMIT = 100;
+    private static final int PROGRESS_STEPS = 20;
+    private static final double TROPICAL_YEAR = 365.242190;
+    private static final int CALC_FLAGS = SweConst.SEFLG_SWIEPH | SweConst.SEFLG_SPEED;
+    private static final String[] SIGN_NAMES = new String[12];
+
+    // Slow enough that a transit over an angle stays within orb for days around the event
+    private static final Planet[] TRANSITING = {
+        Planet.SUN, Planet.MARS, Planet.JUPITER, Planet.SATURN, Planet.URANUS, Planet.NEPTUNE, Planet.PLUTO
+    };
+    private static final AspectCalculator TRANSIT_ASPECTS = new AspectCalculator(
+        new AspectType[]{AspectType.CONJUNCTION, AspectType.SEXTILE, AspectType.SQUARE, AspectType.TRINE,
+            AspectType.OPPOSITION},
+        new double[]{2.0, 1.5, 2.0, 1.5, 2.0});
+    // Solar arc directions are read at about a degree a year, so the orb is one year either side
+    private static final AspectCalculator DIRECTION_ASPECTS = new AspectCalculator(
+        new AspectType[]{AspectType.CONJUNCTION, AspectType.SQUARE, AspectType.OPPOSITION},
+        new double[]{1.0, 1.0, 1.0});
+
+    static {
+        for (ZodiacSign sign : ZodiacSign.values()) {
+            SIGN_NAMES[sign.ordinal()] = sign.name().charAt(0) + sign.name().substring(1).toLowerCase();
+        }
+    }
+
+    private final BirthChartService birthChartService;
+    private final ForkJoinPool sweepPool;
+
+    @Autowired
+    public RectificationService(BirthChartService birthChartService) {
+        this.birthChartService = birthChartService;
+        this.sweepPool = new ForkJoinPool(SwissEphPool.shared().getSize());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sweepPool.shutdownNow();
+    }
+
+    /**
+     * Validates the request and prepares the sweep on the calling thread, so
+     * bad input fails before anything is streamed, then scores the candidates
+     * in the background and completes {@code emitter}.
+     */
+    public void rectify(RectificationRequest request, SseEmitter emitter) {
+        ZoneId zone = zone(request.getTimezone());
+        double stepMinutes = request.getStepMinutes() == null ? 1.0 : request.getStepMinutes();
+        if (!(stepMinutes > 0)) {
+            throw new IllegalArgumentException("The step must be a positive number of minutes");
+        }
+        if (!request.getWindowEnd().isAfter(request.getWindowStart())) {
+            throw new IllegalArgumentException("The window end must be after its start");
+        }
+        double windowMinutes = ChronoUnit.SECONDS.between(request.getWindowStart(), request.getWindowEnd()) / 60.0;
+        long candidates = (long) Math.floor(windowMinutes / stepMinutes + 1e-9) + 1;
+        if (candidates > MAX_CANDIDATES) {
+            throw new IllegalArgumentException("The window holds " + candidates + " candidate times; at most "
+                + MAX_CANDIDATES + " are allowed, use a larger step or a shorter window");
+        }
+        List<LifeEvent> events = request.getEvents();
+        if (events == null || events.isEmpty() || events.size() > MAX_EVENTS) {
+            throw new IllegalArgumentException("Between 1 and " + MAX_EVENTS + " life events are required");
+        }
+        int limit = request.getLimit() == null ? 10 : Math.max(1, Math.min(request.getLimit(), MAX_LIMIT));
+
+        double[] place = birthChartService.resolveLocation(request.getLocation());
+        double startJd = TimeScale.julianDay(request.getWindowStart(), zone);
+        double stepDays = stepMinutes / (24 * 60);
+        double centerJd = startJd + (candidates - 1) * stepDays * 0.5;
+
+        double[] eventJds = new double[events.size()];
+        double[] eventWeights = new double[events.size()];
+        for (int e = 0; e < events.size(); e++) {
+            LifeEvent event = events.get(e);
+            if (event.getDate() == null) {
+                throw new IllegalArgumentException("Every life event needs a date");
+            }
+            // Noon keeps the Sun within half a degree of its position on any hour of the day
+            eventJds[e] = TimeScale.julianDayUtc(event.getDate().atTime(12, 0));
+            if (eventJds[e] <= centerJd) {
+                throw new IllegalArgumentException("Life event on " + event.getDate() + " is before the birth window");
+            }
+            eventWeights[e] = event.getWeight() == null ? 1.0 : event.getWeight();
+            if (!(eventWeights[e] > 0)) {
+                throw new IllegalArgumentException("Event weights must be positive");
+            }
+        }
+
+        RectificationSweep sweep = SwissEphPool.shared().execute(swissEph ->
+            prepare(swissEph, startJd, stepDays, (int) candidates, place, centerJd, eventJds, eventWeights));
+
+        AtomicInteger done = new AtomicInteger();
+        AtomicInteger reported = new AtomicInteger();
+        long start = System.nanoTime();
+        CompletableFuture.runAsync(() -> sweep.run(sweepPool, finished -> {
+            int total = done.addAndGet(finished);
+            int step = (int) ((long) total * PROGRESS_STEPS / sweep.getCount());
+            int previous = reported.get();
+            if (step > previous && reported.compareAndSet(previous, step)) {
+                send(emitter, "progress", Map.of("done", total, "total", sweep.getCount()));
+            }
+        }), sweepPool).whenComplete((ignored, failure) -> {
+            if (failure != null) {
+                logger.error("Rectification sweep failed", failure);
+                emitter.completeWithError(failure);
+                return;
+            }
+            logger.info("Scored {} rectification candidates for {} events in {} ms",
+                sweep.getCount(), events.size(), (System.nanoTime() - start) / 1_000_000);
+            send(emitter, "result", candidates(sweep, limit, startJd, stepDays, zone));
+            emitter.complete();
+        });
+    }
+
+    // Transit positions and solar arcs per event, natal planets at the window's centre, ARMC at its start
+    private static RectificationSweep prepare(SwissEph swissEph, double startJd, double stepDays, int candidates,
+                                              double[] place, double centerJd, double[] eventJds,
+                                              double[] eventWeights) {
+        double[] xx = new double[6];
+        StringBuffer serr = new StringBuffer();
+
+        serr.setLength(0);
+        if (swissEph.swe_calc_ut(centerJd, SweConst.SE_ECL_NUT, 0, xx, serr) < 0) {
+            throw new IllegalStateException("Error calculating obliquity: " + serr);
+        }
+        double obliquity = xx[0];
+        // Local apparent sidereal time at the first candidate; it then grows linearly with time
+        double armcStart = TimeScale.meanSiderealTime(startJd) + xx[2] * Math.cos(Math.toRadians(xx[0])) + place[1];
+
+        Planet[] planets = Planet.all();
+        double[] natal = new double[planets.length];
+        for (int p = 0; p < planets.length; p++) {
+            natal[p] = longitude(swissEph, centerJd, planets[p], xx, serr);
+        }
+        double natalSun = natal[Planet.SUN.ordinal()];
+
+        double[] transits = new double[eventJds.length * TRANSITING.length];
+        double[] transitWeights = new double[transits.length];
+        double[] arcs = new double[eventJds.length];
+        for (int e = 0; e < eventJds.length; e++) {
+            for (int t = 0; t < TRANSITING.length; t++) {
+                transits[e * TRANSITING.length + t] = longitude(swissEph, eventJds[e], TRANSITING[t], xx, serr);
+                transitWeights[e * TRANSITING.length + t] = eventWeights[e];
+            }
+            // Progressed Sun (a day per year of age) minus the natal Sun
+            double age = (eventJds[e] - centerJd) / TROPICAL_YEAR;
+            double arc = (longitude(swissEph, centerJd + age, Planet.SUN, xx, serr) - natalSun) % 360.0;
+            arcs[e] = arc < 0 ? arc + 360.0 : arc;
+        }
+
+        return new RectificationSweep(armcStart, stepDays * TimeScale.SIDEREAL_RATE, candidates, place[0], obliquity)
+            .transits(transits, transitWeights, TRANSIT_ASPECTS)
+            .directions(arcs, eventWeights, natal, DIRECTION_ASPECTS);
+    }
+
+    private static double longitude(SwissEph swissEph, double julianDay, Planet planet, double[] xx,
+                                    StringBuffer serr) {
+        serr.setLength(0);
+        if (swissEph.swe_calc_ut(julianDay, planet.getSweBody(), CALC_FLAGS, xx, serr) < 0) {
+            throw new IllegalStateException("Error calculating " + planet + ": " + serr);
+        }
+        return xx[0];
+    }
+
+    private static List<RectificationCandidate> candidates(RectificationSweep sweep, int limit, double startJd,
+                                                           double stepDays, ZoneId zone) {
+        List<RectificationCandidate> best = new ArrayList<>(limit);
+        for (int candidate : sweep.best(limit)) {
+            double julianDay = startJd + candidate * stepDays;
+            Instant instant = Instant.ofEpochSecond(TimeScale.epochSeconds(julianDay));
+            double ascendant = sweep.ascendant(candidate);
+            best.add(new RectificationCandidate(
+                instant.atZone(zone).toLocalDateTime().toString(),
+                instant.atOffset(ZoneOffset.UTC).toString(),
+                julianDay,
+                ascendant,
+                sweep.midheaven(candidate),
+                SIGN_NAMES[(int) (ascendant / 30.0) % 12],
+                sweep.score(candidate)));
+        }
+        return best;
+    }
+
+    // Events from several workers go out one at a time
+    private static void send(SseEmitter emitter, String name, Object data) {
+        synchronized (emitter) {
+            try {
+                emitter.send(SseEmitter.event().name(name).data(data));
+            } catch (IOException | IllegalStateException e) {
+                // The client went away; the sweep is short, so it simply finishes unheard
+                logger.debug("Could not send {} event: {}", name, e.getMessage());
+            }
+        }
+    }
+
+    private static ZoneId zone(String timezone) {
+        try {
+            return ZoneId.of(timezone);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Unknown timezone: " + timezone);
+        }
+    }
+}
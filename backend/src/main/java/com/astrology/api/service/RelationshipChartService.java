@@ -0,0 +1,173 @@
+package com.astrology.api.service;
+
+import com.astrology.api.model.BirthChart;
+import com.astrology.api.model.astrology.Ayanamsa;
+import com.astrology.api.model.astrology.BodySet;
+import com.astrology.api.model.astrology.HouseSystem;
+import com.astrology.api.model.astrology.Planet;
+import com.astrology.api.util.ChartResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Composite and Davison charts for a pair of stored charts. A composite takes
+ * the near midpoint of every persisted position and cusp, so no ephemeris work
+ * is done; a Davison chart is the chart of the midpoint moment and place.
+ * Both are symmetric in the pair and memoized per type and pair in an LRU cache;
+ * stored charts never change, so entries do not go stale. A pair saved with
+ * the same ayanamsa gets sidereal charts in it; any other pair is combined in
+ * the tropical zodiac.
+ */
+@Service
+public class RelationshipChartService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RelationshipChartService.class);
+
+    private static final int CACHE_SIZE = 2_000;
+
+    private final BirthChartService birthChartService;
+    private final Map<String, BirthChart> charts = Collections.synchronizedMap(
+        new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, BirthChart> eldest) {
+                return size() > CACHE_SIZE;
+            }
+        });
+
+    @Autowired
+    public RelationshipChartService(BirthChartService birthChartService) {
+        this.birthChartService = birthChartService;
+    }
+
+    public BirthChart compositeChart(Long chartId, Long partnerId) {
+        // Keyed and built in id order so both directions share one entry
+        long firstId = Math.min(chartId, partnerId);
+        long secondId = Math.max(chartId, partnerId);
+        String key = "composite:" + firstId + ":" + secondId;
+        BirthChart cached = charts.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        BirthChart first = birthChartService.getBirthChart(firstId);
+        BirthChart second = birthChartService.getBirthChart(secondId);
+        Ayanamsa ayanamsa = sharedAyanamsa(first, second);
+        // Degrees taking each chart's stored longitudes into the composite's zodiac
+        double shiftA = ayanamsa == null ? BirthChartService.tropicalOffset(first) : 0.0;
+        double shiftB = ayanamsa == null ? BirthChartService.tropicalOffset(second) : 0.0;
+
+        double[] bodies = new double[Planet.COUNT * ChartResult.BODY_STRIDE];
+        for (Planet planet : Planet.all()) {
+            double[] a = position(first, planet);
+            double[] b = position(second, planet);
+            int offset = planet.ordinal() * ChartResult.BODY_STRIDE;
+            bodies[offset] = midpoint(a[0] + shiftA, b[0] + shiftB);
+            // Latitude, distance and the speeds are plain averages
+            for (int i = 1; i < ChartResult.BODY_STRIDE; i++) {
+                bodies[offset + i] = (a[i] + b[i]) * 0.5;
+            }
+        }
+
+        double[] housesA = houses(first);
+        double[] housesB = houses(second);
+        double[] cusps = new double[ChartResult.CUSP_COUNT];
+        for (int house = 1; house < ChartResult.CUSP_COUNT; house++) {
+            cusps[house] = midpoint(housesA[house] + shiftA, housesB[house] + shiftB);
+        }
+
+        BirthChart composite = birthChartService.calculateBirthChart(bodies, cusps, houseSystem(first));
+        composite.setAyanamsa(ayanamsa == null ? null : ayanamsa.name());
+        composite.setName("Composite: " + first.getName() + " & " + second.getName());
+        return remember(key, composite);
+    }
+
+    public BirthChart davisonChart(Long chartId, Long partnerId) {
+        long firstId = Math.min(chartId, partnerId);
+        long secondId = Math.max(chartId, partnerId);
+        String key = "davison:" + firstId + ":" + secondId;
+        BirthChart cached = charts.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        BirthChart first = birthChartService.getBirthChart(firstId);
+        BirthChart second = birthChartService.getBirthChart(secondId);
+        requireMoment(first);
+        requireMoment(second);
+
+        // Midpoint in time, mean latitude and the near midpoint of the longitudes
+        double julianDay = (first.getJulianDay() + second.getJulianDay()) * 0.5;
+        double latitude = (first.getLatitude() + second.getLatitude()) * 0.5;
+        double longitude = midpoint(first.getLongitude(), second.getLongitude());
+        if (longitude > 180.0) {
+            longitude -= 360.0;
+        }
+        logger.debug("Davison chart for {} and {} at JD {}, {}, {}", firstId, secondId,
+            julianDay, latitude, longitude);
+
+        Ayanamsa ayanamsa = sharedAyanamsa(first, second);
+        BirthChart davison = birthChartService.calculateBirthChart(julianDay, latitude, longitude, houseSystem(first),
+            ayanamsa, EnumSet.noneOf(BodySet.class));
+        davison.setAyanamsa(ayanamsa == null ? null : ayanamsa.name());
+        davison.setName("Davison: " + first.getName() + " & " + second.getName());
+        davison.setJulianDay(julianDay);
+        davison.setLatitude(latitude);
+        davison.setLongitude(longitude);
+        davison.setHouseSystem(houseSystem(first).name());
+        return remember(key, davison);
+    }
+
+    private BirthChart remember(String key, BirthChart chart) {
+        // Concurrent first requests compute the same chart; keep whichever lands first
+        BirthChart existing = charts.putIfAbsent(key, chart);
+        return existing != null ? existing : chart;
+    }
+
+    // Midpoint on the shorter arc, in [0, 360); opposite points resolve to a + 90
+    static double midpoint(double a, double b) {
+        double difference = ((b - a) % 360.0 + 540.0) % 360.0 - 180.0;
+        if (difference == -180.0) {
+            difference = 180.0;
+        }
+        double midpoint = (a + difference * 0.5) % 360.0;
+        return midpoint < 0 ? midpoint + 360.0 : midpoint;
+    }
+
+    // The ayanamsa both charts were saved with, null (tropical) when they differ
+    private static Ayanamsa sharedAyanamsa(BirthChart first, BirthChart second) {
+        Ayanamsa ayanamsa = BirthChartService.ayanamsa(first);
+        return ayanamsa == BirthChartService.ayanamsa(second) ? ayanamsa : null;
+    }
+
+    private static double[] position(BirthChart chart, Planet planet) {
+        double[] position = chart.getPlanetPositions().get(planet.name());
+        if (position == null || position.length < ChartResult.BODY_STRIDE) {
+            throw new IllegalArgumentException("Chart " + chart.getId() + " has no stored position for " + planet);
+        }
+        return position;
+    }
+
+    private static double[] houses(BirthChart chart) {
+        double[] houses = chart.getHouses();
+        if (houses == null || houses.length < ChartResult.CUSP_COUNT) {
+            throw new IllegalArgumentException("Chart " + chart.getId() + " has no stored house cusps");
+        }
+        return houses;
+    }
+
+    private static void requireMoment(BirthChart chart) {
+        if (chart.getJulianDay() == null || chart.getLatitude() == null || chart.getLongitude() == null) {
+            throw new IllegalArgumentException("Chart " + chart.getId()
+                + " was saved without its birth moment and place; recreate it to build a Davison chart");
+        }
+    }
+
+    private static HouseSystem houseSystem(BirthChart chart) {
+        return HouseSystem.fromString(chart.getHouseSystem());
+    }
+}
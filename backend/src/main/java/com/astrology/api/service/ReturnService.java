@@ -0,0 +1,170 @@
+package com.astrology.api.service;
+
+import com.astrology.api.dto.ReturnChart;
+import com.astrology.api.model.BirthChart;
+import com.astrology.api.model.astrology.Ayanamsa;
+import com.astrology.api.model.astrology.BodySet;
+import com.astrology.api.model.astrology.HouseSystem;
+import com.astrology.api.model.astrology.Planet;
+import com.astrology.api.util.ReturnFinder;
+import com.astrology.api.util.SwissEphPool;
+import com.astrology.api.util.TimeScale;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Solar and lunar returns of stored charts: the exact moment the Sun or Moon
+ * comes back to its natal longitude ({@link ReturnFinder}), and the chart of
+ * that moment at the natal place or a chosen location. Years are searched in
+ * parallel, one task per year. A sidereal chart gets sidereal returns: the
+ * body comes back to its natal position among the stars, and the return
+ * chart uses the same ayanamsa.
+ */
+@Service
+public class ReturnService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReturnService.class);
+
+    private static final int MAX_YEARS = 100;
+    private static final double TROPICAL_YEAR = 365.242190;
+    // Start a solar return search a few days before the birthday
+    private static final double SOLAR_LEAD_DAYS = 3.0;
+    // Lunar returns are at least 27 days apart
+    private static final double LUNAR_GAP_DAYS = 20.0;
+
+    private final BirthChartService birthChartService;
+    private final ForkJoinPool searchPool;
+
+    @Autowired
+    public ReturnService(BirthChartService birthChartService) {
+        this.birthChartService = birthChartService;
+        this.searchPool = new ForkJoinPool(SwissEphPool.shared().getSize());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        searchPool.shutdown();
+    }
+
+    /** Solar return charts for each year from {@code fromYear} to {@code toYear} inclusive. */
+    public List<ReturnChart> solarReturns(Long chartId, int fromYear, int toYear, String location) {
+        if (toYear < fromYear || toYear - fromYear >= MAX_YEARS) {
+            throw new IllegalArgumentException("Years must be ascending and span at most " + MAX_YEARS);
+        }
+        BirthChart natal = birthChartService.getBirthChart(chartId);
+        double natalJulianDay = requireJulianDay(natal);
+        double natalSun = natalLongitude(natal, Planet.SUN);
+        Ayanamsa ayanamsa = BirthChartService.ayanamsa(natal);
+        double[] place = place(natal, location);
+        HouseSystem houseSystem = houseSystem(natal);
+        int birthYear = Instant.ofEpochSecond(TimeScale.epochSeconds(natalJulianDay)).atOffset(ZoneOffset.UTC).getYear();
+
+        long start = System.nanoTime();
+        List<ForkJoinTask<ReturnChart>> tasks = new ArrayList<>();
+        for (int year = fromYear; year <= toYear; year++) {
+            double after = natalJulianDay + (year - birthYear) * TROPICAL_YEAR - SOLAR_LEAD_DAYS;
+            tasks.add(searchPool.submit(() -> {
+                double julianDay = SwissEphPool.shared().execute(swissEph ->
+                    new ReturnFinder(swissEph, ayanamsa).next(Planet.SUN.getSweBody(), natalSun, after));
+                return returnChart("solar", julianDay, place, houseSystem, ayanamsa);
+            }));
+        }
+        List<ReturnChart> returns = new ArrayList<>(tasks.size());
+        for (ForkJoinTask<ReturnChart> task : tasks) {
+            returns.add(task.join());
+        }
+        logger.info("Computed {} solar returns for chart {} in {} ms",
+            returns.size(), chartId, (System.nanoTime() - start) / 1_000_000);
+        return returns;
+    }
+
+    /** Every lunar return within a calendar year (UTC), usually 13 or 14. */
+    public List<ReturnChart> lunarReturns(Long chartId, int year, String location) {
+        BirthChart natal = birthChartService.getBirthChart(chartId);
+        requireJulianDay(natal);
+        double natalMoon = natalLongitude(natal, Planet.MOON);
+        Ayanamsa ayanamsa = BirthChartService.ayanamsa(natal);
+        double[] place = place(natal, location);
+        HouseSystem houseSystem = houseSystem(natal);
+        double startJd = TimeScale.julianDayUtc(LocalDateTime.of(year, 1, 1, 0, 0));
+        double endJd = TimeScale.julianDayUtc(LocalDateTime.of(year + 1, 1, 1, 0, 0));
+
+        // The moments are found sequentially on one instance; the charts are built in parallel
+        List<Double> moments = SwissEphPool.shared().execute(swissEph -> {
+            ReturnFinder finder = new ReturnFinder(swissEph, ayanamsa);
+            List<Double> found = new ArrayList<>();
+            double julianDay = finder.next(Planet.MOON.getSweBody(), natalMoon, startJd);
+            while (julianDay < endJd) {
+                found.add(julianDay);
+                julianDay = finder.next(Planet.MOON.getSweBody(), natalMoon, julianDay + LUNAR_GAP_DAYS);
+            }
+            return found;
+        });
+        List<ForkJoinTask<ReturnChart>> tasks = new ArrayList<>();
+        for (double julianDay : moments) {
+            tasks.add(searchPool.submit(() -> returnChart("lunar", julianDay, place, houseSystem, ayanamsa)));
+        }
+        List<ReturnChart> returns = new ArrayList<>(tasks.size());
+        for (ForkJoinTask<ReturnChart> task : tasks) {
+            returns.add(task.join());
+        }
+        return returns;
+    }
+
+    // Builds the chart after the finder's instance is back in the pool; the kernel borrows its own
+    private ReturnChart returnChart(String type, double julianDay, double[] place, HouseSystem houseSystem,
+                                    Ayanamsa ayanamsa) {
+        BirthChart chart = birthChartService.calculateBirthChart(julianDay, place[0], place[1], houseSystem,
+            ayanamsa, EnumSet.noneOf(BodySet.class));
+        chart.setAyanamsa(ayanamsa == null ? null : ayanamsa.name());
+        chart.setJulianDay(julianDay);
+        chart.setLatitude(place[0]);
+        chart.setLongitude(place[1]);
+        chart.setHouseSystem(houseSystem.name());
+        String dateTime = Instant.ofEpochSecond(TimeScale.epochSeconds(julianDay)).atOffset(ZoneOffset.UTC).toString();
+        return new ReturnChart(type, dateTime, julianDay, place[0], place[1], chart);
+    }
+
+    // Natal coordinates unless a "City, Country" location is given
+    private double[] place(BirthChart natal, String location) {
+        if (location != null && !location.isBlank()) {
+            return birthChartService.resolveLocation(location);
+        }
+        if (natal.getLatitude() == null || natal.getLongitude() == null) {
+            throw new IllegalArgumentException("Chart " + natal.getId() + " has no stored place; pass a location");
+        }
+        return new double[]{natal.getLatitude(), natal.getLongitude()};
+    }
+
+    private static double requireJulianDay(BirthChart natal) {
+        if (natal.getJulianDay() == null) {
+            throw new IllegalArgumentException("Chart " + natal.getId()
+                + " was saved without its birth moment; recreate it to compute returns");
+        }
+        return natal.getJulianDay();
+    }
+
+    private static double natalLongitude(BirthChart natal, Planet planet) {
+        double[] position = natal.getPlanetPositions().get(planet.name());
+        if (position == null) {
+            throw new IllegalArgumentException("Chart " + natal.getId() + " has no stored position for " + planet);
+        }
+        return position[0];
+    }
+
+    private static HouseSystem houseSystem(BirthChart natal) {
+        return HouseSystem.fromString(natal.getHouseSystem());
+    }
+}
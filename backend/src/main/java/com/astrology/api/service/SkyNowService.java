@@ -0,0 +1,481 @@
+package com.astrology.api.service;
+
+import com.astrology.api.dto.SkyAngles;
+import com.astrology.api.dto.SkyFrame;
+import com.astrology.api.model.astrology.HouseSystem;
+import com.astrology.api.model.astrology.Planet;
+import com.astrology.api.model.astrology.PrecisionTier;
+import com.astrology.api.model.astrology.ZodiacSign;
+import com.astrology.api.util.ChartResult;
+import com.astrology.api.util.EphemerisRouter;
+import com.astrology.api.util.HouseCalculator;
+import com.astrology.api.util.TimeScale;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live "sky now" stream. A scheduled tick computes the current planets once,
+ * serializes them once and sends the same JSON to every subscriber as a "sky"
+ * event. Subscribers that gave a place also get an "angles" event, computed
+ * once per tick for each place (to 0.01 degrees) and house system however
+ * many clients share it. Nothing is computed while nobody listens.
+ *
+ * Each subscriber holds only its latest undelivered frame and is written to by
+ * a small sender pool, so a slow client never holds up the tick or the other
+ * clients: a frame it has not taken yet is replaced by the next one, and a
+ * client stuck on one write for {@link #MAX_LAG_TICKS} ticks is dropped and
+ * its stream completed once that write ends.
+ */
+@Service
+public class SkyNowService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SkyNowService.class);
+
+    private static final int MAX_LAG_TICKS = 3;
+    // Places are shared to 0.01 degrees, about a kilometre
+    private static final double PLACE_RESOLUTION = 100.0;
+    private static final String[] SIGN_NAMES = new String[12];
+
+    static {
+        for (ZodiacSign sign : ZodiacSign.values()) {
+            SIGN_NAMES[sign.ordinal()] = sign.name().charAt(0) + sign.name().substring(1).toLowerCase();
+        }
+    }
+
+    private final EphemerisRouter ephemerisRouter;
+    private final BirthChartService birthChartService;
+    private final ObjectMapper objectMapper;
+    private final long intervalMs;
+    private final int maxSubscribers;
+    private final ExecutorService senders;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    // Subscribers plus places reserved by subscribe calls in progress, checked against maxSubscribers
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final Map<String, Place> places = new ConcurrentHashMap<>();
+    // Reused by publish, which is synchronized
+    private final ChartResult result = new ChartResult();
+    private long nextTickId;
+    private volatile Tick latest;
+
+    private final AtomicInteger peakSubscribers = new AtomicInteger();
+    private final LongAdder tickCount = new LongAdder();
+    private final LongAdder frameNanos = new LongAdder();
+    private final AtomicLong maxFrameNanos = new AtomicLong();
+    private final LongAdder framesSent = new LongAdder();
+    private final LongAdder framesReplaced = new LongAdder();
+    private final LongAdder stalledCount = new LongAdder();
+    private volatile int frameBytes;
+
+    // One computed moment: the shared sky JSON and what the angles of a place need
+    private static final class Tick {
+        final long id;
+        final long computedAt;
+        final double julianDay;
+        // Apparent sidereal time at Greenwich in degrees
+        final double siderealTime;
+        final double obliquity;
+        final String sky;
+
+        Tick(long id, long computedAt, double julianDay, double siderealTime, double obliquity, String sky) {
+            this.id = id;
+            this.computedAt = computedAt;
+            this.julianDay = julianDay;
+            this.siderealTime = siderealTime;
+            this.obliquity = obliquity;
+            this.sky = sky;
+        }
+    }
+
+    private static final class Place {
+        final String key;
+        final double latitude;
+        final double longitude;
+        final HouseSystem houseSystem;
+        // Changed only inside places.compute
+        int subscribers;
+        // Angles JSON of the tick it was computed for
+        volatile String angles;
+        volatile long tickId = -1;
+
+        Place(String key, double latitude, double longitude, HouseSystem houseSystem) {
+            this.key = key;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.houseSystem = houseSystem;
+        }
+    }
+
+    private static final class Delivery {
+        final long tickId;
+        final String sky;
+        // Null when the subscriber gave no place
+        final String angles;
+
+        Delivery(long tickId, String sky, String angles) {
+            this.tickId = tickId;
+            this.sky = sky;
+            this.angles = angles;
+        }
+    }
+
+    private static final class Subscriber {
+        final SseEmitter emitter;
+        // Null when no place was given
+        final Place place;
+        // The latest frame not yet written; older ones are replaced, not queued
+        final AtomicReference<Delivery> pending = new AtomicReference<>();
+        final AtomicBoolean draining = new AtomicBoolean();
+        // System.nanoTime() when the write in progress started, 0 when idle
+        volatile long sendingSince;
+        volatile boolean dropped;
+
+        Subscriber(SseEmitter emitter, Place place) {
+            this.emitter = emitter;
+            this.place = place;
+        }
+    }
+
+    @Autowired
+    public SkyNowService(EphemerisRouter ephemerisRouter,
+                         BirthChartService birthChartService,
+                         ObjectMapper objectMapper,
+                         @Value("${sky.now.interval-ms:10000}") long intervalMs,
+                         @Value("${sky.now.max-subscribers:10000}") int maxSubscribers,
+                         @Value("${sky.now.sender-threads:4}") int senderThreads) {
+        this.ephemerisRouter = ephemerisRouter;
+        this.birthChartService = birthChartService;
+        this.objectMapper = objectMapper;
+        this.intervalMs = intervalMs;
+        this.maxSubscribers = maxSubscribers;
+        AtomicInteger threads = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(Math.max(1, senderThreads), runnable -> {
+            Thread thread = new Thread(runnable, "sky-now-sender-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdownNow();
+    }
+
+    /**
+     * Registers {@code emitter} for the stream, with the angles of a place when
+     * {@code location} ("City, Country") or both coordinates are given. The
+     * latest frame, or a fresh one when it is older than a tick, is sent
+     * straight away.
+     */
+    public void subscribe(SseEmitter emitter, String location, Double latitude, Double longitude,
+                          String houseSystem) {
+        int count = subscriberCount.incrementAndGet();
+        if (count > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new IllegalStateException("The sky stream is full (" + maxSubscribers + " subscribers)");
+        }
+        Place place;
+        try {
+            place = place(location, latitude, longitude, houseSystem);
+        } catch (RuntimeException e) {
+            subscriberCount.decrementAndGet();
+            throw e;
+        }
+        Subscriber subscriber = new Subscriber(emitter, place);
+        // Added before the callbacks, so an early completion still finds it to remove
+        subscribers.add(subscriber);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+        peakSubscribers.accumulateAndGet(count, Math::max);
+
+        // Under the tick's lock, so the newcomer cannot get this frame after a newer one
+        synchronized (this) {
+            Tick tick = latest;
+            if (tick == null || System.nanoTime() - tick.computedAt > intervalMs * 1_000_000L) {
+                // Everyone gets the new frame, the newcomer included
+                publish();
+            } else {
+                offer(subscriber, new Delivery(tick.id, tick.sky, place == null ? null : angles(place, tick)));
+            }
+        }
+    }
+
+    @Scheduled(fixedRateString = "${sky.now.interval-ms:10000}")
+    public void tick() {
+        if (!subscribers.isEmpty()) {
+            publish();
+        }
+    }
+
+    // Computes and serializes the frame and every place's angles once, then hands them to the senders
+    private synchronized void publish() {
+        long start = System.nanoTime();
+        long epochSecond = Instant.now().getEpochSecond();
+        double julianDay = TimeScale.julianDay(epochSecond);
+        // Longitude 0 gives the sidereal time at Greenwich; the cheapest houses, since none are used
+        ephemerisRouter.compute(PrecisionTier.STANDARD, julianDay, 0, 0, HouseSystem.PORPHYRY, null, result);
+        Map<String, double[]> positions = new LinkedHashMap<>();
+        Map<String, String> signs = new LinkedHashMap<>();
+        for (Planet planet : Planet.all()) {
+            positions.put(planet.name(), result.position(planet));
+            signs.put(planet.name(), SIGN_NAMES[result.sign(planet)] + (result.isRetrograde(planet) ? " (R)" : ""));
+        }
+        String sky = json(new SkyFrame(Instant.ofEpochSecond(epochSecond).toString(), julianDay, positions, signs));
+        Tick tick = new Tick(nextTickId++, start, julianDay, result.getSiderealTime(), result.getObliquity(), sky);
+        for (Place place : places.values()) {
+            angles(place, tick);
+        }
+        long elapsed = System.nanoTime() - start;
+        tickCount.increment();
+        frameNanos.add(elapsed);
+        maxFrameNanos.accumulateAndGet(elapsed, Math::max);
+        frameBytes = sky.length();
+        latest = tick;
+
+        long stalledNanos = MAX_LAG_TICKS * intervalMs * 1_000_000L;
+        for (Subscriber subscriber : subscribers) {
+            long since = subscriber.sendingSince;
+            if (since != 0 && start - since > stalledNanos) {
+                logger.info("Dropping a sky stream subscriber stuck on one write for {} ms",
+                    (start - since) / 1_000_000);
+                stalledCount.increment();
+                remove(subscriber);
+                // Completed here if its write has just finished, else by its sender once the write returns
+                completeIfIdle(subscriber);
+                continue;
+            }
+            Place place = subscriber.place;
+            offer(subscriber, new Delivery(tick.id, sky, place == null ? null : angles(place, tick)));
+        }
+    }
+
+    private String angles(Place place, Tick tick) {
+        String angles = place.angles;
+        if (place.tickId == tick.id && angles != null) {
+            return angles;
+        }
+        double[] cusps = new double[HouseCalculator.CUSP_COUNT];
+        double[] ascmc = new double[HouseCalculator.ASCMC_COUNT];
+        double armc = (tick.siderealTime + place.longitude) % 360.0;
+        HouseSystem used = HouseCalculator.calculateHousesFromSiderealTime(armc < 0 ? armc + 360.0 : armc,
+            place.latitude, tick.obliquity, place.houseSystem, cusps, ascmc);
+        angles = json(new SkyAngles(tick.julianDay, place.latitude, place.longitude, used.name(),
+            ascmc[0], ascmc[1], cusps));
+        place.angles = angles;
+        place.tickId = tick.id;
+        return angles;
+    }
+
+    private void offer(Subscriber subscriber, Delivery delivery) {
+        if (subscriber.pending.getAndSet(delivery) != null) {
+            framesReplaced.increment();
+        }
+        if (subscriber.draining.compareAndSet(false, true)) {
+            try {
+                senders.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                // Shutting down
+                subscriber.draining.set(false);
+            }
+        }
+    }
+
+    // Writes the subscriber's pending frames until none is left; one drain per subscriber at a time
+    private void drain(Subscriber subscriber) {
+        while (true) {
+            Delivery delivery = subscriber.pending.getAndSet(null);
+            if (delivery == null) {
+                subscriber.draining.set(false);
+                if (subscriber.dropped) {
+                    completeIfIdle(subscriber);
+                    return;
+                }
+                // A frame offered just before the reset would otherwise wait for the next tick
+                if (subscriber.pending.get() == null || !subscriber.draining.compareAndSet(false, true)) {
+                    return;
+                }
+                continue;
+            }
+            if (subscriber.dropped) {
+                subscriber.emitter.complete();
+                return;
+            }
+            String id = Long.toString(delivery.tickId);
+            subscriber.sendingSince = System.nanoTime();
+            try {
+                subscriber.emitter.send(SseEmitter.event().id(id).name("sky").data(delivery.sky));
+                if (delivery.angles != null) {
+                    subscriber.emitter.send(SseEmitter.event().id(id).name("angles").data(delivery.angles));
+                }
+                framesSent.increment();
+            } catch (IOException | IllegalStateException e) {
+                // The client went away
+                logger.debug("Could not send sky frame: {}", e.getMessage());
+                remove(subscriber);
+                return;
+            } finally {
+                subscriber.sendingSince = 0;
+            }
+            if (subscriber.dropped) {
+                subscriber.emitter.complete();
+                return;
+            }
+        }
+    }
+
+    // Whoever takes the draining flag of a dropped subscriber completes it, so no write is in progress
+    private static void completeIfIdle(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            subscriber.emitter.complete();
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (!subscribers.remove(subscriber)) {
+            return;
+        }
+        subscriberCount.decrementAndGet();
+        subscriber.dropped = true;
+        Place place = subscriber.place;
+        if (place != null) {
+            places.computeIfPresent(place.key, (key, existing) -> --existing.subscribers == 0 ? null : existing);
+        }
+    }
+
+    // The shared place for the request, counted as one more subscriber there; null when none was given
+    private Place place(String location, Double latitude, Double longitude, String houseSystem) {
+        if (location != null && !location.isBlank()) {
+            double[] coordinates = birthChartService.resolveLocation(location);
+            latitude = coordinates[0];
+            longitude = coordinates[1];
+        } else if (latitude == null && longitude == null) {
+            return null;
+        } else if (latitude == null || longitude == null) {
+            throw new IllegalArgumentException("Both latitude and longitude are required for angles");
+        }
+        if (!(Math.abs(latitude) <= 90) || !(Math.abs(longitude) <= 180)) {
+            throw new IllegalArgumentException("Latitude must be within ±90 and longitude within ±180 degrees");
+        }
+        HouseSystem system = HouseSystem.fromString(houseSystem);
+        long roundedLatitude = Math.round(latitude * PLACE_RESOLUTION);
+        long roundedLongitude = Math.round(longitude * PLACE_RESOLUTION);
+        String key = roundedLatitude + "," + roundedLongitude + "," + system.name();
+        return places.compute(key, (k, existing) -> {
+            Place place = existing != null ? existing : new Place(k, roundedLatitude / PLACE_RESOLUTION,
+                roundedLongitude / PLACE_RESOLUTION, system);
+            place.subscribers++;
+            return place;
+        });
+    }
+
+    private String json(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize the sky frame", e);
+        }
+    }
+
+    public StreamStats getStats() {
+        long ticks = tickCount.sum();
+        return new StreamStats(subscribers.size(), places.size(), peakSubscribers.get(), ticks,
+            ticks == 0 ? 0.0 : frameNanos.sum() / 1000.0 / ticks, maxFrameNanos.get() / 1000.0, frameBytes,
+            framesSent.sum(), framesReplaced.sum(), stalledCount.sum());
+    }
+
+    public static final class StreamStats {
+        private final int subscribers;
+        private final int places;
+        private final int peakSubscribers;
+        private final long ticks;
+        private final double meanFrameMicros;
+        private final double maxFrameMicros;
+        private final int frameBytes;
+        private final long framesSent;
+        private final long framesReplaced;
+        private final long stalledSubscribers;
+
+        StreamStats(int subscribers, int places, int peakSubscribers, long ticks, double meanFrameMicros,
+                    double maxFrameMicros, int frameBytes, long framesSent, long framesReplaced,
+                    long stalledSubscribers) {
+            this.subscribers = subscribers;
+            this.places = places;
+            this.peakSubscribers = peakSubscribers;
+            this.ticks = ticks;
+            this.meanFrameMicros = meanFrameMicros;
+            this.maxFrameMicros = maxFrameMicros;
+            this.frameBytes = frameBytes;
+            this.framesSent = framesSent;
+            this.framesReplaced = framesReplaced;
+            this.stalledSubscribers = stalledSubscribers;
+        }
+
+        public int getSubscribers() {
+            return subscribers;
+        }
+
+        // Distinct places and house systems with angles to compute each tick
+        public int getPlaces() {
+            return places;
+        }
+
+        public int getPeakSubscribers() {
+            return peakSubscribers;
+        }
+
+        public long getTicks() {
+            return ticks;
+        }
+
+        // Ephemeris, serialization and every place's angles, once per tick
+        public double getMeanFrameMicros() {
+            return meanFrameMicros;
+        }
+
+        public double getMaxFrameMicros() {
+            return maxFrameMicros;
+        }
+
+        // Sky JSON of the latest tick
+        public int getFrameBytes() {
+            return frameBytes;
+        }
+
+        public long getFramesSent() {
+            return framesSent;
+        }
+
+        // Frames a slow subscriber skipped because a newer one arrived first
+        public long getFramesReplaced() {
+            return framesReplaced;
+        }
+
+        public long getStalledSubscribers() {
+            return stalledSubscribers;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.astrology.api.service;
+
+import com.astrology.api.dto.SynastryAspect;
+import com.astrology.api.dto.SynastryResult;
+import com.astrology.api.model.BirthChart;
+import com.astrology.api.model.astrology.Ayanamsa;
+import com.astrology.api.model.astrology.Planet;
+import com.astrology.api.repository.BirthChartRepository;
+import com.astrology.api.util.AspectCalculator;
+import com.astrology.api.util.AspectTable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cross-aspect grids between stored charts. Positions come from the persisted
+ * planetPositions and houses, extracted once per chart into primitive arrays
+ * and kept in a small LRU cache, so bulk matchmaking calls only run the
+ * {@link AspectCalculator#calculateCross} kernel. Charts saved in the same
+ * zodiac are compared as stored; a pair in different zodiacs is compared in
+ * the tropical one.
+ */
+@Service
+public class SynastryService {
+
+    private static final int CACHE_SIZE = 10_000;
+    private static final int MAX_PARTNERS = 500;
+    private static final int POINT_COUNT = Planet.COUNT + 2;
+    private static final ThreadLocal<AspectTable> ASPECT_TABLES = ThreadLocal.withInitial(AspectTable::new);
+
+    private final BirthChartRepository birthChartRepository;
+    private final AspectCalculator aspectCalculator;
+    private final Map<Long, ChartPoints> points = Collections.synchronizedMap(
+        new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, ChartPoints> eldest) {
+                return size() > CACHE_SIZE;
+            }
+        });
+
+    // Longitudes, speeds and orb factors of one chart's planets, ASC and MC
+    private static final class ChartPoints {
+        final String[] names = new String[POINT_COUNT];
+        final double[] longitudes = new double[POINT_COUNT];
+        // The same longitudes in the tropical zodiac, for partners saved in another zodiac
+        final double[] tropical = new double[POINT_COUNT];
+        final double[] speeds = new double[POINT_COUNT];
+        final double[] orbFactors = new double[POINT_COUNT];
+        // Null for a tropical chart
+        final Ayanamsa ayanamsa;
+        int count;
+
+        ChartPoints(Ayanamsa ayanamsa) {
+            this.ayanamsa = ayanamsa;
+        }
+
+        void add(String name, double longitude, double speed, double orbFactor) {
+            names[count] = name;
+            longitudes[count] = longitude;
+            speeds[count] = speed;
+            orbFactors[count] = orbFactor;
+            count++;
+        }
+    }
+
+    @Autowired
+    public SynastryService(BirthChartRepository birthChartRepository, AspectCalculator aspectCalculator) {
+        this.birthChartRepository = birthChartRepository;
+        this.aspectCalculator = aspectCalculator;
+    }
+
+    /** Cross aspects between one chart and each partner chart, in the order given. */
+    @Transactional(readOnly = true)
+    public List<SynastryResult> synastry(Long chartId, List<Long> partnerIds) {
+        if (partnerIds == null || partnerIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one partner chart is required");
+        }
+        if (partnerIds.size() > MAX_PARTNERS) {
+            throw new IllegalArgumentException("At most " + MAX_PARTNERS + " partner charts per request");
+        }
+        Map<Long, ChartPoints> charts = resolve(chartId, partnerIds);
+
+        ChartPoints chart = charts.get(chartId);
+        AspectTable table = ASPECT_TABLES.get();
+        List<SynastryResult> results = new ArrayList<>(partnerIds.size());
+        for (Long partnerId : partnerIds) {
+            ChartPoints partner = charts.get(partnerId);
+            boolean sameZodiac = chart.ayanamsa == partner.ayanamsa;
+            aspectCalculator.calculateCross(sameZodiac ? chart.longitudes : chart.tropical, chart.speeds,
+                chart.orbFactors, chart.count, sameZodiac ? partner.longitudes : partner.tropical, partner.speeds,
+                partner.orbFactors, partner.count, table);
+            List<SynastryAspect> aspects = new ArrayList<>(table.size());
+            for (int row = 0; row < table.size(); row++) {
+                byte applying = table.applying(row);
+                aspects.add(new SynastryAspect(
+                    chart.names[table.first(row)],
+                    partner.names[table.second(row)],
+                    aspectCalculator.getAspect(table.aspect(row)).getDisplayName().toLowerCase(),
+                    table.separation(row),
+                    table.orb(row),
+                    applying == 0 ? null : applying > 0 ? "applying" : "separating"));
+            }
+            results.add(new SynastryResult(chartId, partnerId, aspects));
+        }
+        return results;
+    }
+
+    // Points of every requested chart, loading the uncached ones in a single query
+    private Map<Long, ChartPoints> resolve(Long chartId, List<Long> partnerIds) {
+        Map<Long, ChartPoints> charts = new HashMap<>();
+        Set<Long> missing = new HashSet<>();
+        for (Long id : partnerIds) {
+            collect(id, charts, missing);
+        }
+        collect(chartId, charts, missing);
+        if (!missing.isEmpty()) {
+            for (BirthChart chart : birthChartRepository.findAllById(missing)) {
+                ChartPoints chartPoints = extract(chart);
+                points.put(chart.getId(), chartPoints);
+                charts.put(chart.getId(), chartPoints);
+            }
+            for (Long id : missing) {
+                if (!charts.containsKey(id)) {
+                    throw new RuntimeException("Birth chart not found: " + id);
+                }
+            }
+        }
+        return charts;
+    }
+
+    private void collect(Long id, Map<Long, ChartPoints> charts, Set<Long> missing) {
+        if (id == null) {
+            throw new IllegalArgumentException("Chart ids must not be null");
+        }
+        if (charts.containsKey(id) || missing.contains(id)) {
+            return;
+        }
+        ChartPoints cached = points.get(id);
+        if (cached != null) {
+            charts.put(id, cached);
+        } else {
+            missing.add(id);
+        }
+    }
+
+    private static ChartPoints extract(BirthChart chart) {
+        ChartPoints chartPoints = new ChartPoints(BirthChartService.ayanamsa(chart));
+        Map<String, double[]> positions = chart.getPlanetPositions();
+        Map<String, Double> speeds = chart.getPlanetSpeeds();
+        for (Planet planet : Planet.all()) {
+            double[] position = positions.get(planet.name());
+            if (position != null) {
+                Double speed = speeds.get(planet.name());
+                chartPoints.add(planet.name(), position[0], speed != null ? speed : Double.NaN, planet.getOrbFactor());
+            }
+        }
+        // Natal angles do not move
+        double[] houses = chart.getHouses();
+        if (houses != null && houses.length > 10) {
+            chartPoints.add("ASC", houses[1], 0.0, 1.0);
+            chartPoints.add("MC", houses[10], 0.0, 1.0);
+        }
+        double offset = BirthChartService.tropicalOffset(chart);
+        for (int point = 0; point < chartPoints.count; point++) {
+            chartPoints.tropical[point] = (chartPoints.longitudes[point] + offset) % 360.0;
+        }
+        return chartPoints;
+    }
+}
@@ -0,0 +1,169 @@
+package com.astrology.api.service;
+
+import com.astrology.api.dto.TransitHit;
+import com.astrology.api.model.BirthChart;
+import com.astrology.api.model.astrology.AspectType;
+import com.astrology.api.model.astrology.Ayanamsa;
+import com.astrology.api.model.astrology.Planet;
+import com.astrology.api.util.SwissEphPool;
+import com.astrology.api.util.TimeScale;
+import com.astrology.api.util.TransitSearch;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import swisseph.SwissEph;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+@Service
+public class TransitService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransitService.class);
+
+    private static final int MAX_YEARS = 100;
+
+    private final BirthChartService birthChartService;
+    // One search task per transiting body, at most one per pooled SwissEph instance
+    private final ForkJoinPool searchPool;
+
+    @Autowired
+    public TransitService(BirthChartService birthChartService) {
+        this.birthChartService = birthChartService;
+        this.searchPool = new ForkJoinPool(SwissEphPool.shared().getSize());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        searchPool.shutdown();
+    }
+
+    /**
+     * Every exact aspect from the transiting bodies to the chart's natal
+     * planets, Ascendant and MC between two dates (UTC midnight), in time order.
+     * Bodies default to all planets except the Moon.
+     */
+    public List<TransitHit> findTransits(Long chartId, LocalDate from, LocalDate to,
+                                         List<String> bodies, boolean includeMinor) {
+        if (!to.isAfter(from)) {
+            throw new IllegalArgumentException("The end date must be after the start date");
+        }
+        if (from.plusYears(MAX_YEARS).isBefore(to)) {
+            throw new IllegalArgumentException("Transit searches are limited to " + MAX_YEARS + " years");
+        }
+
+        BirthChart chart = birthChartService.getBirthChart(chartId);
+        // Stored points are in the chart's zodiac, so the transiting bodies are measured in it too
+        Ayanamsa ayanamsa = BirthChartService.ayanamsa(chart);
+        List<String> natalNames = new ArrayList<>();
+        List<Double> natalLongitudes = new ArrayList<>();
+        for (Planet planet : Planet.all()) {
+            double[] position = chart.getPlanetPositions().get(planet.name());
+            if (position != null) {
+                natalNames.add(planet.name());
+                natalLongitudes.add(position[0]);
+            }
+        }
+        double[] houses = chart.getHouses();
+        if (houses != null && houses.length > 10) {
+            natalNames.add("ASC");
+            natalLongitudes.add(houses[1]);
+            natalNames.add("MC");
+            natalLongitudes.add(houses[10]);
+        }
+
+        // Target longitudes: natal point plus and minus each aspect angle
+        AspectType[] aspects = includeMinor ? AspectType.values() : AspectType.majors();
+        int capacity = natalNames.size() * aspects.length * 2;
+        double[] targets = new double[capacity];
+        int[] targetNatal = new int[capacity];
+        AspectType[] targetAspect = new AspectType[capacity];
+        int targetCount = 0;
+        for (int n = 0; n < natalNames.size(); n++) {
+            for (AspectType aspect : aspects) {
+                double angle = aspect.getAngle();
+                for (int side = 0; side < (angle == 0 || angle == 180 ? 1 : 2); side++) {
+                    targets[targetCount] = (natalLongitudes.get(n) + (side == 0 ? angle : -angle) + 360.0) % 360.0;
+                    targetNatal[targetCount] = n;
+                    targetAspect[targetCount] = aspect;
+                    targetCount++;
+                }
+            }
+        }
+
+        double startJd = TimeScale.julianDayUtc(from.atStartOfDay());
+        double endJd = TimeScale.julianDayUtc(to.atStartOfDay());
+        List<Planet> transiting = resolveBodies(bodies);
+        int finalTargetCount = targetCount;
+
+        long start = System.nanoTime();
+        List<ForkJoinTask<TransitSearch.Hits>> tasks = new ArrayList<>();
+        for (Planet planet : transiting) {
+            tasks.add(searchPool.submit(() -> search(planet, ayanamsa, startJd, endJd, targets, finalTargetCount)));
+        }
+
+        List<TransitHit> result = new ArrayList<>();
+        for (int b = 0; b < transiting.size(); b++) {
+            Planet planet = transiting.get(b);
+            TransitSearch.Hits hits = tasks.get(b).join();
+            for (int row = 0; row < hits.size(); row++) {
+                int target = hits.target(row);
+                double julianDay = hits.julianDay(row);
+                result.add(new TransitHit(
+                    Instant.ofEpochSecond(TimeScale.epochSeconds(julianDay)).atOffset(ZoneOffset.UTC).toString(),
+                    julianDay,
+                    planet.name(),
+                    targetAspect[target].getDisplayName().toLowerCase(),
+                    natalNames.get(targetNatal[target]),
+                    targets[target],
+                    hits.speed(row) < 0));
+            }
+        }
+        result.sort(Comparator.comparingDouble(TransitHit::getJulianDay));
+        logger.info("Found {} transits for chart {} from {} to {} in {} ms",
+            result.size(), chartId, from, to, (System.nanoTime() - start) / 1_000_000);
+        return result;
+    }
+
+    private TransitSearch.Hits search(Planet planet, Ayanamsa ayanamsa, double startJd, double endJd,
+                                      double[] targets, int targetCount) {
+        TransitSearch.Hits hits = new TransitSearch.Hits();
+        SwissEphPool swissEphPool = SwissEphPool.shared();
+        SwissEph swissEph = swissEphPool.borrow();
+        try {
+            new TransitSearch(swissEph, ayanamsa).search(planet.getSweBody(), startJd, endJd,
+                TransitSearch.defaultStep(planet.getSweBody()), targets, targetCount, hits);
+        } finally {
+            swissEphPool.release(swissEph);
+        }
+        return hits;
+    }
+
+    private List<Planet> resolveBodies(List<String> bodies) {
+        List<Planet> planets = new ArrayList<>();
+        if (bodies == null || bodies.isEmpty()) {
+            for (Planet planet : Planet.all()) {
+                if (planet != Planet.MOON) {
+                    planets.add(planet);
+                }
+            }
+            return planets;
+        }
+        for (String body : bodies) {
+            try {
+                planets.add(Planet.valueOf(body.trim().toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown transiting body: " + body);
+            }
+        }
+        return planets;
+    }
+}
@@ -0,0 +1,158 @@
+package com.astrology.api.service;
+
+import com.astrology.api.dto.DashaPeriod;
+import com.astrology.api.dto.NakshatraPlacement;
+import com.astrology.api.model.BirthChart;
+import com.astrology.api.model.astrology.Ayanamsa;
+import com.astrology.api.model.astrology.BodySet;
+import com.astrology.api.model.astrology.CatalogueBody;
+import com.astrology.api.model.astrology.HouseSystem;
+import com.astrology.api.model.astrology.Nakshatra;
+import com.astrology.api.model.astrology.Planet;
+import com.astrology.api.util.TimeScale;
+import com.astrology.api.util.VimshottariDasha;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Nakshatra placements and Vimshottari dasha timelines for stored charts.
+ * Both use sidereal positions: the chart's own ayanamsa when it was saved
+ * sidereal, otherwise the requested one (Lahiri by default). A timeline is
+ * only its starting point, so it is cached per chart and settings, and each
+ * page is generated while it is written.
+ */
+@Service
+public class VedicService {
+
+    private static final int MAX_YEARS = 120;
+    private static final int MAX_PAGE_SIZE = 10_000;
+    private static final int CACHE_SIZE = 200;
+
+    private final BirthChartService birthChartService;
+    private final ObjectMapper objectMapper;
+    private final Map<String, VimshottariDasha> timelines = Collections.synchronizedMap(
+        new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, VimshottariDasha> eldest) {
+                return size() > CACHE_SIZE;
+            }
+        });
+
+    @Autowired
+    public VedicService(BirthChartService birthChartService, ObjectMapper objectMapper) {
+        this.birthChartService = birthChartService;
+        this.objectMapper = objectMapper;
+    }
+
+    /** Nakshatra and pada of every planet, the mean nodes (Rahu, Ketu) and the Ascendant. */
+    public List<NakshatraPlacement> nakshatras(Long chartId, String ayanamsa) {
+        BirthChart chart = birthChartService.getBirthChart(chartId);
+        BirthChart sidereal = siderealChart(chart, ayanamsa(chart, ayanamsa));
+        Map<String, double[]> positions = sidereal.getPlanetPositions();
+        List<NakshatraPlacement> placements = new ArrayList<>(Planet.COUNT + 3);
+        for (Planet planet : Planet.all()) {
+            placements.add(placement(planet.name(), positions.get(planet.name())[0]));
+        }
+        double rahu = positions.get(CatalogueBody.MEAN_NODE.name())[0];
+        placements.add(placement("RAHU", rahu));
+        placements.add(placement("KETU", (rahu + 180.0) % 360.0));
+        placements.add(placement("ASC", sidereal.getHouses()[1]));
+        return placements;
+    }
+
+    /**
+     * Dasha timeline from birth over {@code years}, down to {@code depth}
+     * levels (1 mahadasha to 5 prana).
+     */
+    public VimshottariDasha getDasha(Long chartId, String ayanamsa, int depth, int years) {
+        if (years < 1 || years > MAX_YEARS) {
+            throw new IllegalArgumentException("Years must be between 1 and " + MAX_YEARS);
+        }
+        if (depth < 1 || depth > VimshottariDasha.MAX_DEPTH) {
+            throw new IllegalArgumentException("Depth must be between 1 and " + VimshottariDasha.MAX_DEPTH);
+        }
+        BirthChart chart = birthChartService.getBirthChart(chartId);
+        Ayanamsa resolved = ayanamsa(chart, ayanamsa);
+        String key = chartId + ":" + resolved + ":" + depth + ":" + years;
+        VimshottariDasha cached = timelines.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        double moon = siderealChart(chart, resolved).getPlanetPositions().get(Planet.MOON.name())[0];
+        VimshottariDasha dasha = new VimshottariDasha(chart.getJulianDay(), moon, depth, years);
+        timelines.put(key, dasha);
+        return dasha;
+    }
+
+    // Checks a page before anything is written, so a bad page still maps to 400
+    public void checkPage(VimshottariDasha dasha, int page, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (page < 0 || (page > 0 && (long) page * size >= dasha.size())) {
+            throw new IllegalArgumentException("Page " + page + " is beyond the " + dasha.size() + " periods");
+        }
+    }
+
+    // Writes one page of periods as newline-delimited JSON, one period per line
+    public void writePage(VimshottariDasha dasha, int page, int size, OutputStream out) throws IOException {
+        long from = (long) page * size;
+        long to = Math.min(from + size, dasha.size());
+        int depth = dasha.getDepth();
+        double start = dasha.start(from);
+        for (long period = from; period < to; period++) {
+            double end = dasha.end(period);
+            List<String> lords = new ArrayList<>(depth);
+            for (int level = 0; level < depth; level++) {
+                lords.add(dasha.lord(period, level).getDisplayName());
+            }
+            DashaPeriod row = new DashaPeriod(period, lords, format(start), format(end), start, end);
+            out.write(objectMapper.writeValueAsBytes(row));
+            out.write('\n');
+            start = end;
+        }
+        out.flush();
+    }
+
+    private BirthChart siderealChart(BirthChart chart, Ayanamsa ayanamsa) {
+        if (chart.getJulianDay() == null || chart.getLatitude() == null || chart.getLongitude() == null) {
+            throw new IllegalArgumentException("Chart " + chart.getId()
+                + " was saved without its birth moment; recreate it to use Vedic calculations");
+        }
+        return birthChartService.calculateBirthChart(chart.getJulianDay(), chart.getLatitude(), chart.getLongitude(),
+            HouseSystem.fromString(chart.getHouseSystem()), ayanamsa, EnumSet.of(BodySet.NODES));
+    }
+
+    // The requested ayanamsa, else the one the chart was saved with, else Lahiri
+    private static Ayanamsa ayanamsa(BirthChart chart, String requested) {
+        if (requested != null && !requested.isBlank()) {
+            return Ayanamsa.fromString(requested);
+        }
+        Ayanamsa saved = BirthChartService.ayanamsa(chart);
+        return saved != null ? saved : Ayanamsa.LAHIRI;
+    }
+
+    private static NakshatraPlacement placement(String body, double longitude) {
+        Nakshatra nakshatra = Nakshatra.of(longitude);
+        return new NakshatraPlacement(body, longitude, nakshatra.getDisplayName(), Nakshatra.pada(longitude),
+            nakshatra.getLord().getDisplayName());
+    }
+
+    private static String format(double julianDay) {
+        return Instant.ofEpochSecond(TimeScale.epochSeconds(julianDay)).atOffset(ZoneOffset.UTC)
+            .toLocalDateTime().truncatedTo(ChronoUnit.MINUTES).toString();
+    }
+}
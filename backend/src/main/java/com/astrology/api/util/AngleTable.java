@@ -0,0 +1,197 @@
+package com.astrology.api.util;
+
+import com.astrology.api.model.astrology.HouseSystem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * Precomputed Ascendant, MC, equatorial Ascendant and, for Placidus, Koch,
+ * Regiomontanus and Campanus, the intermediate cusps 11, 12, 2 and 3, over
+ * local sidereal time (ARMC) x geographic latitude, for the fast-angles mode of
+ * {@link HouseCalculator#calculateHousesFast}. The grid is 0.5 degrees of
+ * ARMC by 240 steps of tan(latitude) up to {@link #MAX_LATITUDE}, which keeps
+ * the nodes dense where the angles turn fastest. Each node also stores the
+ * derivative by obliquity, so one table serves every obliquity within
+ * {@link #OBLIQUITY_RANGE} of {@link #REFERENCE_OBLIQUITY} (about the years
+ * 1790-2210). The MC and equatorial Ascendant do not depend on latitude and
+ * have their own column. The Vertex is left out: inside the tropics it
+ * jumps by 180 degrees when it crosses the MC.
+ *
+ * A lookup is a bilinear interpolation of four nodes; with the Vertex a fast
+ * house calculation takes about 0.5 us against 0.7-12 us for the exact one
+ * (Placidus being the slowest). Measured against the exact formulas the error
+ * stays below 3.5 arcseconds up to 45 degrees of latitude and below 20
+ * arcseconds up to 60 (Koch 30); outside the table callers compute exactly.
+ *
+ * Tables are built on first use, one per house system, in parallel over the
+ * latitude rows (about 4 s of CPU for Placidus, well under one for the
+ * others), and shared read-only afterwards.
+ */
+public final class AngleTable {
+    private static final Logger logger = LoggerFactory.getLogger(AngleTable.class);
+
+    public static final double MAX_LATITUDE = 60.0;
+    public static final double REFERENCE_OBLIQUITY = 23.439;
+    public static final double OBLIQUITY_RANGE = 0.03;
+
+    private static final double ARMC_STEP = 0.5;
+    private static final int COLUMNS = (int) (360.0 / ARMC_STEP) + 1;
+    private static final int ROWS = 241;
+    private static final double MAX_TAN = Math.tan(Math.toRadians(MAX_LATITUDE));
+    private static final double TAN_STEP = 2 * MAX_TAN / (ROWS - 1);
+    // Half the spacing of the two obliquities each node is computed at
+    private static final double OBLIQUITY_STEP = 0.01;
+    // Cusps stored per node after the Ascendant, in this order
+    private static final int[] INTERMEDIATE = {11, 12, 2, 3};
+
+    private static final Map<HouseSystem, AngleTable> TABLES = new ConcurrentHashMap<>();
+
+    private final HouseSystem system;
+    // Values per node: the Ascendant, then the intermediate cusps when the system has them
+    private final int quantities;
+    // Per node and quantity: value at the reference obliquity, then its derivative by obliquity
+    private final float[] values;
+    // Per column: the MC and the equatorial Ascendant, each with its derivative
+    private final float[] columns = new float[COLUMNS * 4];
+
+    private AngleTable(HouseSystem system) {
+        this.system = system;
+        this.quantities = hasIntermediateCusps(system) ? 1 + INTERMEDIATE.length : 1;
+        this.values = new float[ROWS * COLUMNS * quantities * 2];
+        long start = System.nanoTime();
+        IntStream.range(0, ROWS).parallel().forEach(this::fillRow);
+        logger.info("Built the {} angle table ({} nodes) in {} ms", system, ROWS * COLUMNS,
+            (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /** The table for a house system, built on first use. */
+    public static AngleTable of(HouseSystem system) {
+        AngleTable table = TABLES.get(system);
+        return table != null ? table : TABLES.computeIfAbsent(system, AngleTable::new);
+    }
+
+    // Porphyry, Equal and Whole Sign follow from the Ascendant and MC alone
+    static boolean hasIntermediateCusps(HouseSystem system) {
+        return system == HouseSystem.PLACIDUS || system == HouseSystem.KOCH
+            || system == HouseSystem.REGIOMONTANUS || system == HouseSystem.CAMPANUS;
+    }
+
+    public HouseSystem getSystem() {
+        return system;
+    }
+
+    public boolean covers(double latitude, double obliquity) {
+        return Math.abs(latitude) <= MAX_LATITUDE && Math.abs(obliquity - REFERENCE_OBLIQUITY) <= OBLIQUITY_RANGE;
+    }
+
+    /**
+     * Puts the Ascendant in {@code cusps[1]}, the MC in {@code cusps[10]} and,
+     * when the system has them, the intermediate cusps in 11, 12, 2 and 3, and
+     * fills {@code ascmc} as {@link HouseCalculator} does except for the
+     * Vertex. Returns false, leaving both untouched, outside the table.
+     */
+    public boolean lookup(double armc, double latitude, double obliquity, double[] cusps, double[] ascmc) {
+        if (!covers(latitude, obliquity)) {
+            return false;
+        }
+        double shift = obliquity - REFERENCE_OBLIQUITY;
+        armc = normalize(armc);
+        double x = armc / ARMC_STEP;
+        int column = Math.min((int) x, COLUMNS - 2);
+        double fx = x - column;
+        double y = (Math.tan(Math.toRadians(latitude)) + MAX_TAN) / TAN_STEP;
+        int row = Math.min((int) y, ROWS - 2);
+        double fy = y - row;
+
+        int left = column * 4;
+        double mc = linear(value(columns, left, shift), value(columns, left + 4, shift), fx);
+        cusps[10] = mc;
+        ascmc[1] = mc;
+        ascmc[2] = armc;
+        ascmc[4] = linear(value(columns, left + 2, shift), value(columns, left + 6, shift), fx);
+
+        int stride = quantities * 2;
+        int node00 = (row * COLUMNS + column) * stride;
+        int node10 = node00 + stride;
+        int node01 = node00 + COLUMNS * stride;
+        int node11 = node01 + stride;
+        for (int q = 0; q < quantities; q++) {
+            int offset = q * 2;
+            double v00 = value(values, node00 + offset, shift);
+            double d10 = difference(value(values, node10 + offset, shift), v00);
+            double d01 = difference(value(values, node01 + offset, shift), v00);
+            double d11 = difference(value(values, node11 + offset, shift), v00);
+            double angle = wrap(v00 + fx * d10 + fy * d01 + fx * fy * (d11 - d10 - d01));
+            if (q == 0) {
+                cusps[1] = angle;
+                ascmc[0] = angle;
+            } else {
+                cusps[INTERMEDIATE[q - 1]] = angle;
+            }
+        }
+        return true;
+    }
+
+    private static double value(float[] table, int index, double shift) {
+        return table[index] + table[index + 1] * shift;
+    }
+
+    private static double linear(double a, double b, double fraction) {
+        return wrap(a + fraction * difference(b, a));
+    }
+
+    // Each node from the exact cusps at the reference obliquity plus and minus OBLIQUITY_STEP
+    private void fillRow(int row) {
+        double latitude = Math.toDegrees(Math.atan(-MAX_TAN + row * TAN_STEP));
+        // The others only need the angles, which Porphyry gives cheapest
+        HouseSystem exact = quantities > 1 ? system : HouseSystem.PORPHYRY;
+        double[] below = new double[HouseCalculator.CUSP_COUNT];
+        double[] above = new double[HouseCalculator.CUSP_COUNT];
+        double[] belowAscmc = new double[HouseCalculator.ASCMC_COUNT];
+        double[] aboveAscmc = new double[HouseCalculator.ASCMC_COUNT];
+        int stride = quantities * 2;
+        for (int column = 0; column < COLUMNS; column++) {
+            double armc = column * ARMC_STEP;
+            HouseCalculator.calculateHousesFromSiderealTime(armc, latitude,
+                REFERENCE_OBLIQUITY - OBLIQUITY_STEP, exact, below, belowAscmc);
+            HouseCalculator.calculateHousesFromSiderealTime(armc, latitude,
+                REFERENCE_OBLIQUITY + OBLIQUITY_STEP, exact, above, aboveAscmc);
+            int node = (row * COLUMNS + column) * stride;
+            store(values, node, belowAscmc[0], aboveAscmc[0]);
+            for (int q = 1; q < quantities; q++) {
+                int house = INTERMEDIATE[q - 1];
+                store(values, node + q * 2, below[house], above[house]);
+            }
+            if (row == 0) {
+                store(columns, column * 4, belowAscmc[1], aboveAscmc[1]);
+                store(columns, column * 4 + 2, belowAscmc[4], aboveAscmc[4]);
+            }
+        }
+    }
+
+    private static void store(float[] table, int index, double below, double above) {
+        double change = difference(above, below);
+        table[index] = (float) normalize(below + change * 0.5);
+        table[index + 1] = (float) (change / (2 * OBLIQUITY_STEP));
+    }
+
+    // Signed difference a - b in [-180, 180]
+    private static double difference(double a, double b) {
+        double d = a - b;
+        return d - 360.0 * Math.rint(d / 360.0);
+    }
+
+    // Into [0, 360) for values at most one turn out
+    private static double wrap(double angle) {
+        return angle < 0 ? angle + 360.0 : angle >= 360.0 ? angle - 360.0 : angle;
+    }
+
+    private static double normalize(double angle) {
+        double value = angle % 360.0;
+        return value < 0 ? value + 360.0 : value;
+    }
+}
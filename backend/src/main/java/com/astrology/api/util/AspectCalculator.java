@@ -0,0 +1,215 @@
+package com.astrology.api.util;
+
+import com.astrology.api.model.astrology.AspectType;
+
+import java.util.Arrays;
+
+/**
+ * Finds aspects between any number of bodies by sorting them by longitude
+ * and sweeping one window per aspect type over the circle unrolled to 720
+ * degrees, so the cost is O(n log n + hits) instead of O(n^2) pair checks.
+ *
+ * The allowed orb of a pair is the aspect orb times the mean of the two
+ * bodies' orb factors. Instances are immutable and thread-safe; results and
+ * scratch space live in the caller's {@link AspectTable}.
+ */
+public class AspectCalculator {
+    private static final int BODY_BITS = 16;
+    private static final long BODY_MASK = (1L << BODY_BITS) - 1;
+    private static final double KEY_SCALE = 1e7;
+    // Rounding slack for a pair near 180 degrees measured across the unrolled copy
+    private static final double OPPOSITION_SLACK = 1e-9;
+
+    private final AspectType[] aspects;
+    private final double[] angles;
+    private final double[] orbs;
+
+    public AspectCalculator(AspectType[] aspects) {
+        this(aspects, 1.0);
+    }
+
+    // Default orbs of each aspect type multiplied by orbScale
+    public AspectCalculator(AspectType[] aspects, double orbScale) {
+        this(aspects, defaultOrbs(aspects, orbScale));
+    }
+
+    public AspectCalculator(AspectType[] aspects, double[] orbs) {
+        if (aspects.length != orbs.length) {
+            throw new IllegalArgumentException("Expected one orb per aspect type");
+        }
+        this.aspects = aspects.clone();
+        this.orbs = orbs.clone();
+        this.angles = new double[aspects.length];
+        for (int a = 0; a < aspects.length; a++) {
+            angles[a] = aspects[a].getAngle();
+        }
+    }
+
+    private static double[] defaultOrbs(AspectType[] aspects, double orbScale) {
+        double[] orbs = new double[aspects.length];
+        for (int a = 0; a < aspects.length; a++) {
+            orbs[a] = aspects[a].getDefaultOrb() * orbScale;
+        }
+        return orbs;
+    }
+
+    public AspectType getAspect(int index) {
+        return aspects[index];
+    }
+
+    // Allowed orb of an aspect type before orb factors
+    public double getOrb(int index) {
+        return orbs[index];
+    }
+
+    public int getAspectCount() {
+        return aspects.length;
+    }
+
+    /**
+     * Writes every aspect among the first {@code count} bodies into
+     * {@code out}, replacing its contents. Speeds (degrees/day) mark rows as
+     * applying or separating and may be null, as may orbFactors (all 1).
+     */
+    public AspectTable calculate(double[] longitudes, double[] speeds, double[] orbFactors, int count,
+                                 AspectTable out) {
+        out.clear();
+        if (count < 2) {
+            return out;
+        }
+        if (count > BODY_MASK) {
+            throw new IllegalArgumentException("Too many bodies for one aspect sweep: " + count);
+        }
+        out.ensureBodies(count);
+        long[] keys = out.sortKeys;
+        double[] unrolled = out.unrolled;
+        int[] unrolledBodies = out.unrolledBodies;
+
+        for (int i = 0; i < count; i++) {
+            keys[i] = ((long) (normalize(longitudes[i]) * KEY_SCALE) << BODY_BITS) | i;
+        }
+        Arrays.sort(keys, 0, count);
+        double maxFactor = 1.0;
+        for (int k = 0; k < count; k++) {
+            int body = (int) (keys[k] & BODY_MASK);
+            unrolledBodies[k] = body;
+            unrolledBodies[k + count] = body;
+            unrolled[k] = normalize(longitudes[body]);
+            unrolled[k + count] = unrolled[k] + 360.0;
+            if (orbFactors != null) {
+                maxFactor = k == 0 ? orbFactors[body] : Math.max(maxFactor, orbFactors[body]);
+            }
+        }
+
+        for (int a = 0; a < angles.length; a++) {
+            double angle = angles[a];
+            double low = angle - orbs[a] * maxFactor;
+            double high = Math.min(angle + orbs[a] * maxFactor, 180.0 + OPPOSITION_SLACK);
+            int start = 0;
+            for (int i = 0; i < count; i++) {
+                double base = unrolled[i];
+                int end = i + count;
+                start = Math.max(start, i + 1);
+                while (start < end && unrolled[start] - base < low) {
+                    start++;
+                }
+                int first = unrolledBodies[i];
+                for (int q = start; q < end; q++) {
+                    double separation = unrolled[q] - base;
+                    if (separation > high) {
+                        break;
+                    }
+                    // Each pair is met once directly and once across the copy; keep the one that is at
+                    // most 180 degrees, judged on the direct difference so both ends agree
+                    if (q < count ? separation > 180.0 : base - unrolled[q - count] <= 180.0) {
+                        continue;
+                    }
+                    separation = Math.min(separation, 180.0);
+                    int second = unrolledBodies[q];
+                    double orb = Math.abs(separation - angle);
+                    double factor = orbFactors == null ? 1.0 : (orbFactors[first] + orbFactors[second]) * 0.5;
+                    if (orb <= orbs[a] * factor) {
+                        out.add(first, second, a, separation, orb,
+                                applying(separation - angle, speeds, first, second));
+                    }
+                }
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Writes every aspect between a body of set A and a body of set B into
+     * {@code out}, replacing its contents; rows hold first = index into A and
+     * second = index into B. Longitudes must be in [0, 360). The angular
+     * distances of all pairs are computed first in one flat branch-free pass
+     * that the JIT can vectorize, then matched against each aspect. Speeds and
+     * orb factors may be null.
+     */
+    public AspectTable calculateCross(double[] longitudesA, double[] speedsA, double[] orbFactorsA, int countA,
+                                      double[] longitudesB, double[] speedsB, double[] orbFactorsB, int countB,
+                                      AspectTable out) {
+        out.clear();
+        int cells = countA * countB;
+        out.ensureCells(cells);
+        double[] separations = out.crossSeparations;
+        for (int i = 0; i < countA; i++) {
+            double a = longitudesA[i];
+            int row = i * countB;
+            for (int j = 0; j < countB; j++) {
+                double d = Math.abs(longitudesB[j] - a);
+                separations[row + j] = Math.min(d, 360.0 - d);
+            }
+        }
+
+        for (int first = 0; first < countA; first++) {
+            double factorA = orbFactorsA == null ? 1.0 : orbFactorsA[first];
+            int row = first * countB;
+            for (int second = 0; second < countB; second++) {
+                double separation = separations[row + second];
+                double factor = (factorA + (orbFactorsB == null ? 1.0 : orbFactorsB[second])) * 0.5;
+                for (int a = 0; a < angles.length; a++) {
+                    double orb = Math.abs(separation - angles[a]);
+                    if (orb <= orbs[a] * factor) {
+                        out.addCross(first, second, a, separation, orb,
+                                crossApplying(separation - angles[a], longitudesA[first], longitudesB[second],
+                                        speedsA == null ? Double.NaN : speedsA[first],
+                                        speedsB == null ? Double.NaN : speedsB[second]));
+                    }
+                }
+            }
+        }
+        return out;
+    }
+
+    // Separation grows at (vb - va) when B is ahead of A within 180 degrees, else at (va - vb)
+    private static byte crossApplying(double deviation, double longitudeA, double longitudeB,
+                                      double speedA, double speedB) {
+        if (Double.isNaN(speedA) || Double.isNaN(speedB)) {
+            return 0;
+        }
+        double ahead = ((longitudeB - longitudeA) % 360.0 + 360.0) % 360.0;
+        double rate = ahead <= 180.0 ? speedB - speedA : speedA - speedB;
+        if (rate == 0) {
+            return 0;
+        }
+        return deviation * rate < 0 ? (byte) 1 : (byte) -1;
+    }
+
+    // The sweep measures from the first body forward, so the separation moves at second - first
+    private static byte applying(double deviation, double[] speeds, int first, int second) {
+        if (speeds == null) {
+            return 0;
+        }
+        double rate = speeds[second] - speeds[first];
+        if (rate == 0) {
+            return 0;
+        }
+        return deviation * rate < 0 ? (byte) 1 : (byte) -1;
+    }
+
+    private static double normalize(double longitude) {
+        double value = longitude % 360.0;
+        return value < 0 ? value + 360.0 : value;
+    }
+}
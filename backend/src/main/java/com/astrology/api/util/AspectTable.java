@@ -0,0 +1,115 @@
+package com.astrology.api.util;
+
+import java.util.Arrays;
+
+/**
+ * Primitive result table for {@link AspectCalculator}. Row k holds one aspect
+ * between the caller's bodies {@code first(k)} and {@code second(k)} (indices
+ * into the arrays passed to the calculator, first &lt; second; for cross
+ * aspects an index into set A and one into set B). The table and
+ * its sweep scratch space grow on demand and are meant to be reused by one
+ * thread.
+ */
+public class AspectTable {
+    private int[] firstBodies;
+    private int[] secondBodies;
+    private int[] aspectIndices;
+    private double[] separations;
+    private double[] orbs;
+    private byte[] applying;
+    private int size;
+
+    // Sweep scratch: packed (longitude, body) sort keys and the unrolled circle
+    long[] sortKeys = new long[0];
+    double[] unrolled = new double[0];
+    int[] unrolledBodies = new int[0];
+    // Cross-aspect scratch: one angular distance per (A, B) pair
+    double[] crossSeparations = new double[0];
+
+    public AspectTable() {
+        this(16);
+    }
+
+    public AspectTable(int capacity) {
+        firstBodies = new int[capacity];
+        secondBodies = new int[capacity];
+        aspectIndices = new int[capacity];
+        separations = new double[capacity];
+        orbs = new double[capacity];
+        applying = new byte[capacity];
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    void ensureBodies(int bodies) {
+        if (sortKeys.length < bodies) {
+            sortKeys = new long[bodies];
+            unrolled = new double[bodies * 2];
+            unrolledBodies = new int[bodies * 2];
+        }
+    }
+
+    void ensureCells(int cells) {
+        if (crossSeparations.length < cells) {
+            crossSeparations = new double[cells];
+        }
+    }
+
+    void add(int first, int second, int aspect, double separation, double orb, byte applyingFlag) {
+        addCross(Math.min(first, second), Math.max(first, second), aspect, separation, orb, applyingFlag);
+    }
+
+    // Keeps first and second as given: indices into two different body sets
+    void addCross(int first, int second, int aspect, double separation, double orb, byte applyingFlag) {
+        if (size == firstBodies.length) {
+            int capacity = Math.max(16, size * 2);
+            firstBodies = Arrays.copyOf(firstBodies, capacity);
+            secondBodies = Arrays.copyOf(secondBodies, capacity);
+            aspectIndices = Arrays.copyOf(aspectIndices, capacity);
+            separations = Arrays.copyOf(separations, capacity);
+            orbs = Arrays.copyOf(orbs, capacity);
+            applying = Arrays.copyOf(applying, capacity);
+        }
+        firstBodies[size] = first;
+        secondBodies[size] = second;
+        aspectIndices[size] = aspect;
+        separations[size] = separation;
+        orbs[size] = orb;
+        applying[size] = applyingFlag;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int first(int row) {
+        return firstBodies[row];
+    }
+
+    public int second(int row) {
+        return secondBodies[row];
+    }
+
+    // Index into the aspect types the calculator was built with
+    public int aspect(int row) {
+        return aspectIndices[row];
+    }
+
+    // Shortest angular distance between the two bodies, 0-180 degrees
+    public double separation(int row) {
+        return separations[row];
+    }
+
+    // Absolute distance from the exact aspect angle
+    public double orb(int row) {
+        return orbs[row];
+    }
+
+    // 1 applying, -1 separating, 0 unknown (no speeds given, or equal speeds)
+    public byte applying(int row) {
+        return applying[row];
+    }
+}
@@ -1,5 +1,6 @@
 package com.astrology.api.util;
 
+import com.astrology.api.model.astrology.AspectType;
 import org.springframework.stereotype.Component;
 import java.time.*;
 import java.util.*;
@@ -18,6 +19,13 @@ public class AstrologyCalculator {
         "Jupiter", "Saturn", "Uranus", "Neptune", "Pluto"
     };
 
+    // Major aspects with orbs of 10, 6, 8, 8 and 10 degrees
+    private static final AspectCalculator ASPECT_CALCULATOR =
+        new AspectCalculator(AspectType.majors(), new double[]{10, 6, 8, 8, 10});
+
+    // Batch analytic mode; each thread reuses its own scratch arrays
+    private static final ThreadLocal<KeplerBatch> KEPLER_BATCH = ThreadLocal.withInitial(KeplerBatch::new);
+
     // Orbital elements for planets (simplified)
     private static final double[] MEAN_MOTIONS = {
         0.985647324828,  // Sun
@@ -121,6 +129,19 @@ public class AstrologyCalculator {
         return chartData;
     }
 
+    /**
+     * Approximate geocentric positions of the ten planets at many instants,
+     * solved together by {@link KeplerBatch} (SIMD where available). Meant for
+     * previews and bulk scans; charts use the Swiss Ephemeris.
+     */
+    public void calculatePositions(double[] julianDays, int count, EphemerisBuffer out) {
+        KEPLER_BATCH.get().calculate(julianDays, count, out);
+    }
+
+    public String getBatchKernelName() {
+        return KEPLER_BATCH.get().getKernelName();
+    }
+
     private String getElementForSign(String sign) {
         return switch (sign) {
             case "Aries", "Leo", "Sagittarius" -> "Fire";
@@ -285,39 +306,24 @@ public class AstrologyCalculator {
 
     private List<Map<String, Object>> calculateAspects(Map<String, Map<String, Object>> planets) {
         List<Map<String, Object>> aspects = new ArrayList<>();
-        
-        // Define major aspects and their orbs
-        double[][] majorAspects = {
-            {0, 10},    // Conjunction
-            {60, 6},    // Sextile
-            {90, 8},    // Square
-            {120, 8},   // Trine
-            {180, 10}   // Opposition
-        };
 
         String[] planetNames = planets.keySet().toArray(new String[0]);
+        double[] longitudes = new double[planetNames.length];
         for (int i = 0; i < planetNames.length; i++) {
-            for (int j = i + 1; j < planetNames.length; j++) {
-                double long1 = (double) planets.get(planetNames[i]).get("longitude");
-                double long2 = (double) planets.get(planetNames[j]).get("longitude");
-                
-                double distance = Math.abs(long1 - long2);
-                if (distance > 180) distance = 360 - distance;
-                
-                for (double[] aspect : majorAspects) {
-                    if (Math.abs(distance - aspect[0]) <= aspect[1]) {
-                        Map<String, Object> aspectData = new HashMap<>();
-                        aspectData.put("planet1", planetNames[i]);
-                        aspectData.put("planet2", planetNames[j]);
-                        aspectData.put("aspect", getAspectName(aspect[0]));
-                        aspectData.put("orb", Math.abs(distance - aspect[0]));
-                        aspectData.put("exact", Math.abs(distance - aspect[0]) < 1);
-                        aspects.add(aspectData);
-                    }
-                }
-            }
+            longitudes[i] = (double) planets.get(planetNames[i]).get("longitude");
         }
-        
+
+        AspectTable table = ASPECT_CALCULATOR.calculate(longitudes, null, null, planetNames.length, new AspectTable());
+        for (int row = 0; row < table.size(); row++) {
+            Map<String, Object> aspectData = new HashMap<>();
+            aspectData.put("planet1", planetNames[table.first(row)]);
+            aspectData.put("planet2", planetNames[table.second(row)]);
+            aspectData.put("aspect", ASPECT_CALCULATOR.getAspect(table.aspect(row)).getDisplayName());
+            aspectData.put("orb", table.orb(row));
+            aspectData.put("exact", table.orb(row) < 1);
+            aspects.add(aspectData);
+        }
+
         return aspects;
     }
 
@@ -355,38 +361,9 @@ public class AstrologyCalculator {
         return ZODIAC_SIGNS[signIndex];
     }
 
-    private String getAspectName(double angle) {
-        if (angle == 0) return "Conjunction";
-        if (angle == 60) return "Sextile";
-        if (angle == 90) return "Square";
-        if (angle == 120) return "Trine";
-        if (angle == 180) return "Opposition";
-        return "Unknown";
-    }
-
     protected double calculateJulianDay(LocalDateTime dateTime) {
-        // Convert to UTC
-        ZonedDateTime utcDateTime = dateTime.atZone(ZoneId.systemDefault())
-                                          .withZoneSameInstant(ZoneOffset.UTC);
-        
-        int year = utcDateTime.getYear();
-        int month = utcDateTime.getMonthValue();
-        int day = utcDateTime.getDayOfMonth();
-        double hour = utcDateTime.getHour() + 
-                     utcDateTime.getMinute() / 60.0 + 
-                     utcDateTime.getSecond() / 3600.0;
-
-        if (month <= 2) {
-            year--;
-            month += 12;
-        }
-
-        int a = year / 100;
-        int b = 2 - a + (a / 4);
-
-        return (int)(365.25 * (year + 4716)) + 
-               (int)(30.6001 * (month + 1)) + 
-               day + hour/24.0 + b - 1524.5;
+        // Local date-time in the server's zone
+        return TimeScale.julianDay(dateTime, ZoneId.systemDefault());
     }
 
     private double calculateAscendant(LocalDateTime birthDateTime, double latitude, double longitude) {
@@ -0,0 +1,70 @@
+package com.astrology.api.util;
+
+import com.astrology.api.model.astrology.Ayanamsa;
+import swisseph.SwissEph;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Ayanamsa values cached per day and mode. The ayanamsa grows by about
+ * 0.14 arcseconds a day at an almost constant rate, so a value is linearly
+ * interpolated between the two day boundaries; a chart then costs one map
+ * lookup instead of an ephemeris call per body.
+ */
+public final class AyanamsaCache {
+    private static final int CACHE_SIZE = 4096;
+    private static final int MODES = Ayanamsa.values().length;
+
+    // Day number * MODES + ayanamsa ordinal -> mean ayanamsa at the start and end of that day
+    private static final Map<Long, double[]> DAYS = Collections.synchronizedMap(
+        new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, double[]> eldest) {
+                return size() > CACHE_SIZE;
+            }
+        });
+
+    private AyanamsaCache() {
+    }
+
+    /**
+     * Mean ayanamsa (without nutation) in degrees at a Julian day (UT).
+     * {@code swissEph} is an instance the caller already holds, used on a
+     * cache miss; its sidereal mode is changed.
+     */
+    public static double value(SwissEph swissEph, Ayanamsa ayanamsa, double julianDayUt) {
+        double day = Math.floor(julianDayUt);
+        long key = (long) day * MODES + ayanamsa.ordinal();
+        double[] bounds = DAYS.get(key);
+        if (bounds == null) {
+            swissEph.swe_set_sid_mode(ayanamsa.getSweMode(), 0, 0);
+            bounds = new double[]{swissEph.swe_get_ayanamsa_ut(day), swissEph.swe_get_ayanamsa_ut(day + 1)};
+            DAYS.put(key, bounds);
+        }
+        return bounds[0] + (bounds[1] - bounds[0]) * (julianDayUt - day);
+    }
+
+    /**
+     * The cached mean ayanamsa at a Julian day (UT), or NaN when its day has
+     * not been computed yet, for callers that only borrow an instance on a miss.
+     */
+    public static double cached(Ayanamsa ayanamsa, double julianDayUt) {
+        double day = Math.floor(julianDayUt);
+        double[] bounds = DAYS.get((long) day * MODES + ayanamsa.ordinal());
+        return bounds == null ? Double.NaN : bounds[0] + (bounds[1] - bounds[0]) * (julianDayUt - day);
+    }
+
+    /**
+     * Degrees between tropical apparent and sidereal longitudes at a Julian
+     * day (UT): the mean ayanamsa plus the nutation in longitude, or 0 when
+     * {@code ayanamsa} is null (tropical). Subtracted from a tropical
+     * longitude it gives the sidereal one; added to a stored sidereal
+     * longitude it gives the tropical one.
+     */
+    public static double offset(SwissEph swissEph, Ayanamsa ayanamsa, double julianDayUt) {
+        return ayanamsa == null ? 0.0
+            : value(swissEph, ayanamsa, julianDayUt) + HouseCalculator.nutationLongitude(julianDayUt);
+    }
+}
@@ -0,0 +1,125 @@
+package com.astrology.api.util;
+
+import com.astrology.api.model.astrology.BodySet;
+import com.astrology.api.model.astrology.CatalogueBody;
+import com.astrology.api.model.astrology.Planet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import swisseph.SweConst;
+import swisseph.SwissEph;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Adds the selected {@link BodySet}s to a computed chart. Ephemeris bodies
+ * (nodes, Lilith, asteroids) share one pooled SwissEph instance; points are
+ * derived from the chart's angles and luminaries; stars come from a
+ * {@link FixedStarCatalogue} precessed to the chart's day, plus nutation.
+ * Sidereal charts get the chart's ayanamsa offset on every longitude.
+ */
+public class BodyCatalogue {
+    private static final Logger logger = LoggerFactory.getLogger(BodyCatalogue.class);
+
+    private static final int CALC_FLAGS = SweConst.SEFLG_SWIEPH | SweConst.SEFLG_SPEED;
+    private static final CatalogueBody[] BODIES = CatalogueBody.all();
+
+    // Bodies already reported as unavailable, so a missing file is logged once
+    private final Set<CatalogueBody> unavailable = ConcurrentHashMap.newKeySet();
+    private final FixedStarCatalogue stars;
+
+    public BodyCatalogue(FixedStarCatalogue stars) {
+        this.stars = stars;
+    }
+
+    /**
+     * Puts the swe_calc_ut values ({@link ChartResult#BODY_STRIDE} per body)
+     * of every selected catalogue body into {@code positions}, keyed by
+     * {@link CatalogueBody} name, and the ecliptic longitude, latitude and
+     * magnitude of every star into {@code starPositions} when STARS is selected.
+     * Bodies the ephemeris cannot compute are left out. Derived charts without
+     * a time only get the points.
+     */
+    public void compute(ChartResult result, Set<BodySet> sets, Map<String, double[]> positions,
+                        Map<String, double[]> starPositions) {
+        if (sets.isEmpty()) {
+            return;
+        }
+        boolean timed = !Double.isNaN(result.julianDay);
+        if (timed && needsEphemeris(sets)) {
+            SwissEphPool.shared().execute(swissEph -> {
+                calculate(swissEph, result.julianDay, result.ayanamsaOffset, sets, positions);
+                return null;
+            });
+        }
+        if (sets.contains(BodySet.NODES) && positions.containsKey(CatalogueBody.TRUE_NODE.name())) {
+            double[] south = positions.get(CatalogueBody.TRUE_NODE.name()).clone();
+            south[0] = normalize(south[0] + 180.0);
+            south[1] = -south[1];
+            positions.put(CatalogueBody.SOUTH_NODE.name(), south);
+        }
+        if (sets.contains(BodySet.POINTS)) {
+            points(result, positions);
+        }
+        if (timed && sets.contains(BodySet.STARS)) {
+            double[] mean = stars.positions(result.julianDay);
+            double shift = result.nutationLongitude - result.ayanamsaOffset;
+            for (int star = 0; star < stars.size(); star++) {
+                starPositions.put(stars.name(star), new double[]{
+                    normalize(mean[star * 2] + shift), mean[star * 2 + 1], stars.magnitude(star)});
+            }
+        }
+    }
+
+    private static boolean needsEphemeris(Set<BodySet> sets) {
+        return sets.contains(BodySet.NODES) || sets.contains(BodySet.LILITH) || sets.contains(BodySet.ASTEROIDS);
+    }
+
+    private void calculate(SwissEph swissEph, double julianDay, double offset, Set<BodySet> sets,
+                           Map<String, double[]> positions) {
+        StringBuffer serr = new StringBuffer();
+        for (CatalogueBody body : BODIES) {
+            if (body.isDerived() || !sets.contains(body.getSet())) {
+                continue;
+            }
+            double[] xx = new double[ChartResult.BODY_STRIDE];
+            serr.setLength(0);
+            if (swissEph.swe_calc_ut(julianDay, body.getSweBody(), CALC_FLAGS, xx, serr) < 0) {
+                if (unavailable.add(body)) {
+                    logger.warn("{} is unavailable and will be left out of charts: {}", body.getDisplayName(), serr);
+                }
+                continue;
+            }
+            xx[0] = normalize(xx[0] - offset);
+            positions.put(body.name(), xx);
+        }
+    }
+
+    // Vertex from the houses; the lots of Fortune and Spirit reverse at night
+    private static void points(ChartResult result, Map<String, double[]> positions) {
+        double ascendant = result.getAscendant();
+        double sun = result.longitude(Planet.SUN);
+        double moon = result.longitude(Planet.MOON);
+        // The Sun is above the horizon when it lies within 180 degrees before the Ascendant
+        boolean day = normalize(ascendant - sun) < 180.0;
+        double fortune = day ? ascendant + moon - sun : ascendant + sun - moon;
+        double spirit = day ? ascendant + sun - moon : ascendant + moon - sun;
+        if (!Double.isNaN(result.julianDay)) {
+            positions.put(CatalogueBody.VERTEX.name(), point(result.ascmc[3]));
+        }
+        positions.put(CatalogueBody.FORTUNE.name(), point(fortune));
+        positions.put(CatalogueBody.SPIRIT.name(), point(spirit));
+    }
+
+    private static double[] point(double longitude) {
+        double[] position = new double[ChartResult.BODY_STRIDE];
+        position[0] = normalize(longitude);
+        return position;
+    }
+
+    private static double normalize(double longitude) {
+        double value = longitude % 360.0;
+        return value < 0 ? value + 360.0 : value;
+    }
+}
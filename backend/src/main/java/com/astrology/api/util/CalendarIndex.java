@@ -0,0 +1,148 @@
+package com.astrology.api.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Memory-mapped index of sign ingresses, stations and lunar phases written by
+ * {@link CalendarIndexBuilder}. Every (kind, body) pair is a section of event
+ * times sorted ascending with one code byte per event, so "next" and
+ * "previous" queries are a binary search over the mapped doubles.
+ *
+ * Codes: ingresses hold the sign entered (0 = Aries), plus
+ * {@link #INGRESS_RETROGRADE} when the body backs into it; stations hold
+ * {@link TransitSearch#STATION_RETROGRADE} or {@link TransitSearch#STATION_DIRECT};
+ * lunar phases hold 0 new, 1 first quarter, 2 full, 3 last quarter.
+ *
+ * File layout (little-endian):
+ * <pre>
+ * int    magic 'AVCI', int version
+ * double startJd, double endJd (UT)
+ * int    sectionCount
+ * per section: int kind, int sweBody (-1 for lunar phases), int count, long dataOffset
+ * data: per section count doubles (Julian days), then count code bytes
+ * </pre>
+ */
+public class CalendarIndex {
+    private static final Logger logger = LoggerFactory.getLogger(CalendarIndex.class);
+
+    static final int MAGIC = 0x41564349; // "AVCI"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 28;
+    static final int ENTRY_SIZE = 20;
+    static final int MAX_BODY = 32;
+
+    public static final int INGRESS_RETROGRADE = 0x10;
+    public static final int LUNAR_PHASE_BODY = -1;
+
+    public enum Kind {
+        INGRESS, STATION, LUNAR_PHASE;
+
+        public static Kind fromString(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase().replace(' ', '_').replace('-', '_'));
+            } catch (IllegalArgumentException | NullPointerException e) {
+                throw new IllegalArgumentException("Unknown calendar event type: " + value);
+            }
+        }
+    }
+
+    private final MappedByteBuffer data;
+    private final double startJd;
+    private final double endJd;
+    // Section per kind and body (lunar phases use slot 0)
+    private final int[][] sectionIndex = new int[Kind.values().length][MAX_BODY];
+    private final int[] counts;
+    private final long[] dataOffsets;
+
+    private CalendarIndex(MappedByteBuffer data) {
+        this.data = data;
+        if (data.getInt(0) != MAGIC || data.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Not a calendar index file (version " + VERSION + ")");
+        }
+        startJd = data.getDouble(8);
+        endJd = data.getDouble(16);
+        int sections = data.getInt(24);
+        counts = new int[sections];
+        dataOffsets = new long[sections];
+        for (int[] row : sectionIndex) {
+            Arrays.fill(row, -1);
+        }
+
+        int position = HEADER_SIZE;
+        for (int i = 0; i < sections; i++) {
+            int kind = data.getInt(position);
+            int body = data.getInt(position + 4);
+            counts[i] = data.getInt(position + 8);
+            dataOffsets[i] = data.getLong(position + 12);
+            sectionIndex[kind][Math.max(body, 0)] = i;
+            position += ENTRY_SIZE;
+        }
+    }
+
+    public static CalendarIndex open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            CalendarIndex index = new CalendarIndex(buffer);
+            logger.info("Mapped calendar index {} covering JD {} to {} with {} sections",
+                    file, index.startJd, index.endJd, index.counts.length);
+            return index;
+        }
+    }
+
+    public double getStartJd() {
+        return startJd;
+    }
+
+    public double getEndJd() {
+        return endJd;
+    }
+
+    public boolean covers(double julianDayUt) {
+        return julianDayUt >= startJd && julianDayUt <= endJd;
+    }
+
+    /** Section holding the events of one kind for one body, or -1 if none were indexed. */
+    public int section(Kind kind, int sweBody) {
+        if (kind == Kind.LUNAR_PHASE) {
+            return sectionIndex[kind.ordinal()][0];
+        }
+        return sweBody >= 0 && sweBody < MAX_BODY ? sectionIndex[kind.ordinal()][sweBody] : -1;
+    }
+
+    public int count(int section) {
+        return counts[section];
+    }
+
+    public double julianDay(int section, int event) {
+        return data.getDouble((int) (dataOffsets[section] + (long) event * 8));
+    }
+
+    public int code(int section, int event) {
+        return data.get((int) (dataOffsets[section] + (long) counts[section] * 8 + event)) & 0xFF;
+    }
+
+    /** Index of the first event strictly after the given time; count(section) if none. */
+    public int firstAfter(int section, double julianDayUt) {
+        int low = 0;
+        int high = counts[section];
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (julianDay(section, mid) <= julianDayUt) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,206 @@
+package com.astrology.api.util;
+
+import com.astrology.api.model.astrology.Planet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import swisseph.SweConst;
+import swisseph.SweDate;
+import swisseph.SwissEph;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes {@link CalendarIndex} files. Ingresses and stations of every
+ * {@link Planet} come from {@link TransitSearch} with the sign boundaries as
+ * targets; lunar phases are the times the Moon-Sun elongation crosses a
+ * multiple of 90 degrees, refined with Newton on the elongation and its rate.
+ * The file is written next to the output and moved into place when complete.
+ *
+ * <pre>
+ * java -cp target/classes:lib/swisseph.jar:... \
+ *     com.astrology.api.util.CalendarIndexBuilder calendar-index.bin 1950 2050
+ * </pre>
+ */
+public class CalendarIndexBuilder {
+    private static final Logger logger = LoggerFactory.getLogger(CalendarIndexBuilder.class);
+
+    private static final int CALC_FLAGS = SweConst.SEFLG_SWIEPH | SweConst.SEFLG_SPEED;
+    // The elongation moves 11-15 degrees a day, so a day never spans two phases
+    private static final double PHASE_STEP = 1.0;
+    private static final double TIME_TOLERANCE = 1e-6;
+    private static final int MAX_ITERATIONS = 60;
+
+    private static final double[] SIGN_BOUNDARIES = new double[12];
+
+    static {
+        for (int sign = 0; sign < 12; sign++) {
+            SIGN_BOUNDARIES[sign] = sign * 30.0;
+        }
+    }
+
+    private final SwissEph swissEph;
+    private final double[] xx = new double[6];
+    private final double[] rate = new double[1];
+    private final StringBuffer serr = new StringBuffer();
+
+    // One section of the file under construction
+    private static class Section {
+        final int kind;
+        final int body;
+        final TransitSearch.Hits events;
+        final byte[] codes;
+
+        Section(CalendarIndex.Kind kind, int body, TransitSearch.Hits events, byte[] codes) {
+            this.kind = kind.ordinal();
+            this.body = body;
+            this.events = events;
+            this.codes = codes;
+        }
+    }
+
+    public CalendarIndexBuilder(SwissEph swissEph) {
+        this.swissEph = swissEph;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3) {
+            System.err.println("Usage: CalendarIndexBuilder <output file> <start year> <end year>");
+            System.exit(1);
+        }
+        double startJd = SweDate.getJulDay(Integer.parseInt(args[1]), 1, 1, 0.0);
+        double endJd = SweDate.getJulDay(Integer.parseInt(args[2]), 1, 1, 0.0);
+        new CalendarIndexBuilder(new SwissEph()).build(Path.of(args[0]), startJd, endJd);
+    }
+
+    public void build(Path output, double startJd, double endJd) throws IOException {
+        long start = System.nanoTime();
+        List<Section> sections = new ArrayList<>();
+        TransitSearch search = new TransitSearch(swissEph);
+        for (Planet planet : Planet.all()) {
+            TransitSearch.Hits ingresses = new TransitSearch.Hits();
+            TransitSearch.Hits stations = new TransitSearch.Hits();
+            search.search(planet.getSweBody(), startJd, endJd, TransitSearch.defaultStep(planet.getSweBody()),
+                    SIGN_BOUNDARIES, SIGN_BOUNDARIES.length, ingresses, stations);
+
+            byte[] ingressCodes = new byte[ingresses.size()];
+            for (int i = 0; i < ingresses.size(); i++) {
+                // Moving backwards over a boundary enters the sign below it
+                int boundary = ingresses.target(i);
+                ingressCodes[i] = (byte) (ingresses.speed(i) >= 0
+                        ? boundary
+                        : ((boundary + 11) % 12) | CalendarIndex.INGRESS_RETROGRADE);
+            }
+            byte[] stationCodes = new byte[stations.size()];
+            for (int i = 0; i < stations.size(); i++) {
+                stationCodes[i] = (byte) stations.target(i);
+            }
+            sections.add(new Section(CalendarIndex.Kind.INGRESS, planet.getSweBody(), ingresses, ingressCodes));
+            sections.add(new Section(CalendarIndex.Kind.STATION, planet.getSweBody(), stations, stationCodes));
+            logger.debug("{}: {} ingresses, {} stations", planet, ingresses.size(), stations.size());
+        }
+
+        TransitSearch.Hits phases = lunarPhases(startJd, endJd);
+        byte[] phaseCodes = new byte[phases.size()];
+        for (int i = 0; i < phases.size(); i++) {
+            phaseCodes[i] = (byte) phases.target(i);
+        }
+        sections.add(new Section(CalendarIndex.Kind.LUNAR_PHASE, CalendarIndex.LUNAR_PHASE_BODY, phases, phaseCodes));
+
+        long size = write(output, startJd, endJd, sections);
+        logger.info("Wrote calendar index {} ({} bytes) in {} ms",
+                output, size, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private TransitSearch.Hits lunarPhases(double startJd, double endJd) {
+        TransitSearch.Hits phases = new TransitSearch.Hits();
+        double t0 = startJd;
+        double e0 = elongation(t0, rate);
+        while (t0 < endJd) {
+            double t1 = Math.min(t0 + PHASE_STEP, endJd);
+            double e1 = e0 + TransitSearch.signedDifference(elongation(t1, rate), e0);
+            // First multiple of 90 degrees above e0
+            double target = 90.0 * (Math.floor(e0 / 90.0) + 1);
+            if (target <= e1) {
+                double wrapped = target % 360.0;
+                double root = RootFinder.newton(
+                        (t, derivative) -> TransitSearch.signedDifference(elongation(t, derivative), wrapped),
+                        t0, t1, e0 - target, e1 - target, TIME_TOLERANCE, MAX_ITERATIONS, rate);
+                phases.add(root, (int) (wrapped / 90.0) % 4, rate[0]);
+            }
+            t0 = t1;
+            e0 = e1 % 360.0;
+        }
+        return phases;
+    }
+
+    // Moon minus Sun in [0, 360); writes the rate of change into derivative[0]
+    private double elongation(double julianDay, double[] derivative) {
+        calculate(SweConst.SE_MOON, julianDay);
+        double moon = xx[0];
+        double moonSpeed = xx[3];
+        calculate(SweConst.SE_SUN, julianDay);
+        derivative[0] = moonSpeed - xx[3];
+        double elongation = (moon - xx[0]) % 360.0;
+        return elongation < 0 ? elongation + 360.0 : elongation;
+    }
+
+    private void calculate(int body, double julianDay) {
+        serr.setLength(0);
+        if (swissEph.swe_calc_ut(julianDay, body, CALC_FLAGS, xx, serr) < 0) {
+            throw new IllegalStateException("Error calculating body " + body + ": " + serr);
+        }
+    }
+
+    private static long write(Path output, double startJd, double endJd, List<Section> sections) throws IOException {
+        long[] offsets = new long[sections.size()];
+        long offset = CalendarIndex.HEADER_SIZE + (long) sections.size() * CalendarIndex.ENTRY_SIZE;
+        for (int s = 0; s < sections.size(); s++) {
+            // Keep every double array 8-byte aligned
+            offset = (offset + 7) & ~7L;
+            offsets[s] = offset;
+            offset += sections.get(s).events.size() * 9L;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate((int) offset).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(CalendarIndex.MAGIC)
+              .putInt(CalendarIndex.VERSION)
+              .putDouble(startJd)
+              .putDouble(endJd)
+              .putInt(sections.size());
+        for (int s = 0; s < sections.size(); s++) {
+            Section section = sections.get(s);
+            buffer.putInt(section.kind)
+                  .putInt(section.body)
+                  .putInt(section.events.size())
+                  .putLong(offsets[s]);
+        }
+        for (int s = 0; s < sections.size(); s++) {
+            Section section = sections.get(s);
+            buffer.position((int) offsets[s]);
+            for (int i = 0; i < section.events.size(); i++) {
+                buffer.putDouble(section.events.julianDay(i));
+            }
+            buffer.put(section.codes);
+        }
+        buffer.flip();
+
+        Path temporary = output.resolveSibling(output.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        Files.move(temporary, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return offset;
+    }
+}
@@ -0,0 +1,138 @@
+package com.astrology.api.util;
+
+import com.astrology.api.model.astrology.Ayanamsa;
+import com.astrology.api.model.astrology.HouseSystem;
+import com.astrology.api.model.astrology.Planet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import swisseph.SweConst;
+import swisseph.SwissEph;
+
+/**
+ * Moves a computed chart to a nearby moment for time sliders, touching the
+ * ephemeris only where it must. Each planet is carried along a straight line
+ * by its stored speeds; the line can be off by at most half the planet's
+ * {@link Planet#getMaxAcceleration} times the offset squared, and a planet
+ * whose bound exceeds the tolerance is recomputed with swe_calc_ut instead.
+ * With a tolerance of a minute of arc the Moon stays on its line for about
+ * six hours and the Sun for several days. Angles and cusps come from the
+ * fast-angles mode of {@link HouseCalculator}, obliquity and nutation from its
+ * closed-form series; sidereal charts also borrow a SwissEph instance for the
+ * cached ayanamsa at the base and the new moment.
+ */
+public class ChartExtrapolator {
+    private static final Logger logger = LoggerFactory.getLogger(ChartExtrapolator.class);
+
+    private static final int CALC_FLAGS = SweConst.SEFLG_SWIEPH | SweConst.SEFLG_SPEED;
+    private static final Planet[] PLANETS = Planet.all();
+
+    // Degrees
+    private final double tolerance;
+
+    public ChartExtrapolator(double toleranceArcsec) {
+        if (!(toleranceArcsec > 0)) {
+            throw new IllegalArgumentException("The extrapolation tolerance must be positive");
+        }
+        this.tolerance = toleranceArcsec / 3600.0;
+    }
+
+    /** Whether a planet's straight line over {@code days} may miss by more than the tolerance. */
+    public boolean needsRefinement(Planet planet, double days) {
+        return 0.5 * planet.getMaxAcceleration() * days * days > tolerance;
+    }
+
+    /**
+     * Fills {@code result} for {@code baseJulianDay + days} (UT) from a chart's
+     * body values at {@code baseJulianDay}: swe_calc_ut layout,
+     * {@link ChartResult#BODY_STRIDE} per Planet, longitudes in the zodiac of
+     * {@code ayanamsa} (tropical when null). Returns the number of planets
+     * recomputed from the ephemeris.
+     */
+    public int extrapolate(double[] baseBodies, double baseJulianDay, double days, double latitude,
+                           double longitude, HouseSystem houseSystem, Ayanamsa ayanamsa, ChartResult result) {
+        double julianDay = baseJulianDay + days;
+        int wanted = 0;
+        for (int p = 0; p < PLANETS.length; p++) {
+            if (needsRefinement(PLANETS[p], days)) {
+                wanted |= 1 << p;
+            }
+        }
+        result.julianDay = julianDay;
+        result.failures = 0;
+        result.ayanamsa = ayanamsa;
+        result.ayanamsaOffset = 0;
+        HouseCalculator.obliquityAndNutation(julianDay, result.scratch);
+        result.obliquity = result.scratch[0];
+        result.nutationLongitude = result.scratch[1];
+
+        // Offset of the base moment, which the stored sidereal longitudes were shifted by
+        double baseOffset = 0;
+        int refined = 0;
+        if (wanted != 0 || ayanamsa != null) {
+            SwissEphPool swissEphPool = SwissEphPool.shared();
+            SwissEph swissEph = swissEphPool.borrow();
+            try {
+                if (ayanamsa != null) {
+                    baseOffset = AyanamsaCache.offset(swissEph, ayanamsa, baseJulianDay);
+                    result.ayanamsaOffset = AyanamsaCache.offset(swissEph, ayanamsa, julianDay);
+                }
+                refined = refine(swissEph, julianDay, wanted, result);
+            } finally {
+                swissEphPool.release(swissEph);
+            }
+        }
+        // Work in the tropical zodiac until the end, as the chart kernel does
+        double[] bodies = result.bodies;
+        for (int p = 0; p < PLANETS.length; p++) {
+            int offset = p * ChartResult.BODY_STRIDE;
+            if ((refined & 1 << p) == 0) {
+                bodies[offset] = normalize(baseBodies[offset] + baseBodies[offset + 3] * days + baseOffset);
+                bodies[offset + 1] = baseBodies[offset + 1] + baseBodies[offset + 4] * days;
+                bodies[offset + 2] = baseBodies[offset + 2] + baseBodies[offset + 5] * days;
+                bodies[offset + 3] = baseBodies[offset + 3];
+                bodies[offset + 4] = baseBodies[offset + 4];
+                bodies[offset + 5] = baseBodies[offset + 5];
+            }
+            result.longitudes[p] = bodies[offset];
+            result.speeds[p] = bodies[offset + 3];
+        }
+
+        double armc = (TimeScale.meanSiderealTime(julianDay)
+                + result.nutationLongitude * Math.cos(Math.toRadians(result.obliquity)) + longitude) % 360.0;
+        result.siderealTime = armc < 0 ? armc + 360.0 : armc;
+        result.houseSystem = HouseCalculator.calculateHousesFast(result.siderealTime, latitude, result.obliquity,
+                houseSystem, result.cusps, result.ascmc);
+        if (ayanamsa != null) {
+            ChartKernel.toSidereal(result);
+        }
+        ChartKernel.classify(result);
+        return Integer.bitCount(refined);
+    }
+
+    // The planets in the mask, tropical; returns those computed
+    private static int refine(SwissEph swissEph, double julianDay, int mask, ChartResult result) {
+        double[] xx = result.scratch;
+        StringBuffer serr = result.error;
+        int refined = 0;
+        for (int p = 0; p < PLANETS.length; p++) {
+            if ((mask & 1 << p) == 0) {
+                continue;
+            }
+            serr.setLength(0);
+            if (swissEph.swe_calc_ut(julianDay, PLANETS[p].getSweBody(), CALC_FLAGS, xx, serr) < 0) {
+                // Left to its line
+                logger.error("Error calculating planet position: {}", serr);
+                result.failures++;
+                continue;
+            }
+            System.arraycopy(xx, 0, result.bodies, p * ChartResult.BODY_STRIDE, ChartResult.BODY_STRIDE);
+            refined |= 1 << p;
+        }
+        return refined;
+    }
+
+    private static double normalize(double longitude) {
+        double value = longitude % 360.0;
+        return value < 0 ? value + 360.0 : value;
+    }
+}
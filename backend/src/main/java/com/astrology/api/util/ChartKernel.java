@@ -0,0 +1,240 @@
+package com.astrology.api.util;
+
+import com.astrology.api.model.astrology.Ayanamsa;
+import com.astrology.api.model.astrology.HouseSystem;
+import com.astrology.api.model.astrology.Planet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import swisseph.SweConst;
+import swisseph.SwissEph;
+
+import java.util.Arrays;
+
+/**
+ * Computes a whole natal chart in one pass into a caller-owned
+ * {@link ChartResult}: obliquity, nutation and sidereal time once, then every
+ * body, the house cusps and the sign, element and modality tallies.
+ *
+ * When the given {@link EphemerisEngine} covers the date it supplies the
+ * bodies, and obliquity and nutation come from the closed-form series of
+ * {@link HouseCalculator#obliquityAndNutation}; a SwissEph instance is
+ * borrowed from the pool only when a sidereal chart misses the
+ * {@link AyanamsaCache}. Otherwise one borrowed instance gives the nutation,
+ * the ayanamsa and the bodies, Jupiter to Pluto through the
+ * {@link SlowPlanetCache}. The cusps are pure Java outside the pool, read from
+ * the {@link AngleTable} by a fast-angles kernel. Sidereal charts subtract one
+ * ayanamsa offset, nutation included, from every ecliptic longitude before
+ * classifying, so signs, houses and aspects all follow the chosen zodiac.
+ */
+public class ChartKernel {
+    private static final Logger logger = LoggerFactory.getLogger(ChartKernel.class);
+
+    private static final int CALC_FLAGS = SweConst.SEFLG_SWIEPH | SweConst.SEFLG_SPEED;
+    private static final Planet[] PLANETS = Planet.all();
+
+    // Null for the Swiss Ephemeris alone
+    private final EphemerisEngine engine;
+    // Angles and cusps from the AngleTable instead of the exact formulas
+    private final boolean fastAngles;
+
+    public ChartKernel() {
+        this((EphemerisEngine) null);
+    }
+
+    public ChartKernel(ChebyshevEphemeris chebyshevEphemeris) {
+        this(new ChebyshevEngine(chebyshevEphemeris));
+    }
+
+    public ChartKernel(EphemerisEngine engine) {
+        this(engine, false);
+    }
+
+    public ChartKernel(EphemerisEngine engine, boolean fastAngles) {
+        this.engine = engine;
+        this.fastAngles = fastAngles;
+    }
+
+    public ChartResult compute(double julianDay, double latitude, double longitude, ChartResult result) {
+        return compute(julianDay, latitude, longitude, HouseSystem.PLACIDUS, result);
+    }
+
+    /**
+     * Fills {@code result} for a Julian day (UT), a geographic position and a
+     * house system. Returns the same result for chaining.
+     */
+    public ChartResult compute(double julianDay, double latitude, double longitude,
+                               HouseSystem houseSystem, ChartResult result) {
+        return compute(julianDay, latitude, longitude, houseSystem, null, result);
+    }
+
+    /**
+     * As above, in the sidereal zodiac of {@code ayanamsa}, or the tropical
+     * zodiac when it is null.
+     */
+    public ChartResult compute(double julianDay, double latitude, double longitude,
+                               HouseSystem houseSystem, Ayanamsa ayanamsa, ChartResult result) {
+        SwissEphPool swissEphPool = SwissEphPool.shared();
+        double[] xx = result.scratch;
+        result.julianDay = julianDay;
+        result.failures = 0;
+        result.ayanamsa = ayanamsa;
+        result.ayanamsaOffset = 0;
+
+        if (engine != null && engine.covers(julianDay)) {
+            // The engine has the bodies, so only a missing ayanamsa day needs a pooled instance
+            HouseCalculator.obliquityAndNutation(julianDay, xx);
+            result.obliquity = xx[0];
+            result.nutationLongitude = xx[1];
+            if (ayanamsa != null) {
+                double value = AyanamsaCache.cached(ayanamsa, julianDay);
+                if (Double.isNaN(value)) {
+                    value = swissEphPool.execute(swissEph -> AyanamsaCache.value(swissEph, ayanamsa, julianDay));
+                }
+                result.ayanamsaOffset = value + result.nutationLongitude;
+            }
+            result.failures = engine.calculate(julianDay, result.bodies);
+        } else {
+            SwissEph swissEph = swissEphPool.borrow();
+            try {
+                calculateOnSwissEph(swissEph, julianDay, ayanamsa, result);
+            } finally {
+                swissEphPool.release(swissEph);
+            }
+        }
+
+        // Local apparent sidereal time = GMST + equation of the equinoxes + longitude
+        double armc = TimeScale.meanSiderealTime(julianDay)
+                + result.nutationLongitude * Math.cos(Math.toRadians(result.obliquity)) + longitude;
+        armc %= 360.0;
+        result.siderealTime = armc < 0 ? armc + 360.0 : armc;
+
+        for (int p = 0; p < PLANETS.length; p++) {
+            result.longitudes[p] = result.bodies[p * ChartResult.BODY_STRIDE];
+            result.speeds[p] = result.bodies[p * ChartResult.BODY_STRIDE + 3];
+        }
+
+        result.houseSystem = fastAngles
+                ? HouseCalculator.calculateHousesFast(result.siderealTime, latitude,
+                        result.obliquity, houseSystem, result.cusps, result.ascmc)
+                : HouseCalculator.calculateHousesFromSiderealTime(result.siderealTime, latitude,
+                        result.obliquity, houseSystem, result.cusps, result.ascmc);
+        if (ayanamsa != null) {
+            toSidereal(result);
+        }
+        classify(result);
+        return result;
+    }
+
+    // Obliquity, nutation, the ayanamsa offset and every body from one borrowed instance
+    private static void calculateOnSwissEph(SwissEph swissEph, double julianDay, Ayanamsa ayanamsa,
+                                            ChartResult result) {
+        double[] xx = result.scratch;
+        StringBuffer serr = result.error;
+        serr.setLength(0);
+        if (swissEph.swe_calc_ut(julianDay, SweConst.SE_ECL_NUT, 0, xx, serr) < 0) {
+            throw new IllegalStateException("Error calculating obliquity: " + serr);
+        }
+        result.obliquity = xx[0];
+        result.nutationLongitude = xx[2];
+        if (ayanamsa != null) {
+            // Sidereal longitudes are tropical apparent ones less the ayanamsa and the nutation
+            result.ayanamsaOffset = AyanamsaCache.value(swissEph, ayanamsa, julianDay) + xx[2];
+        }
+
+        double[] bodies = result.bodies;
+        boolean slowCached = SlowPlanetCache.calculate(swissEph, julianDay, bodies);
+        for (int p = 0; p < PLANETS.length; p++) {
+            if (slowCached && SlowPlanetCache.isCached(PLANETS[p])) {
+                continue;
+            }
+            serr.setLength(0);
+            if (swissEph.swe_calc_ut(julianDay, PLANETS[p].getSweBody(), CALC_FLAGS, xx, serr) < 0) {
+                logger.error("Error calculating planet position: {}", serr);
+                result.failures++;
+                Arrays.fill(xx, 0);
+            }
+            System.arraycopy(xx, 0, bodies, p * ChartResult.BODY_STRIDE, ChartResult.BODY_STRIDE);
+        }
+    }
+
+    // One offset over the flat arrays; ascmc[2] is the ARMC, an equatorial angle, and stays
+    static void toSidereal(ChartResult result) {
+        double offset = result.ayanamsaOffset;
+        double[] bodies = result.bodies;
+        for (int p = 0; p < PLANETS.length; p++) {
+            double value = normalize(bodies[p * ChartResult.BODY_STRIDE] - offset);
+            bodies[p * ChartResult.BODY_STRIDE] = value;
+            result.longitudes[p] = value;
+        }
+        double[] cusps = result.cusps;
+        for (int house = 1; house < ChartResult.CUSP_COUNT; house++) {
+            cusps[house] = normalize(cusps[house] - offset);
+        }
+        double[] ascmc = result.ascmc;
+        ascmc[0] = normalize(ascmc[0] - offset);
+        ascmc[1] = normalize(ascmc[1] - offset);
+        ascmc[3] = normalize(ascmc[3] - offset);
+        ascmc[4] = normalize(ascmc[4] - offset);
+        if (result.houseSystem == HouseSystem.WHOLE_SIGN) {
+            // Whole signs start at the sidereal Ascendant's sign, not at the shifted tropical one
+            double first = Math.floor(ascmc[0] / 30.0) * 30.0;
+            for (int house = 1; house < ChartResult.CUSP_COUNT; house++) {
+                cusps[house] = normalize(first + (house - 1) * 30.0);
+            }
+        }
+    }
+
+    private static double normalize(double longitude) {
+        double value = longitude % 360.0;
+        return value < 0 ? value + 360.0 : value;
+    }
+
+    /**
+     * Fills {@code result} from body values already known (swe_calc_ut layout,
+     * {@link ChartResult#BODY_STRIDE} per Planet) and cusps 1-12, without the
+     * ephemeris: the path for derived charts such as composites. The Ascendant
+     * and MC are taken from cusps 1 and 10; the time fields are left at NaN.
+     */
+    public static ChartResult compose(double[] bodies, double[] cusps, HouseSystem houseSystem, ChartResult result) {
+        result.julianDay = Double.NaN;
+        result.siderealTime = Double.NaN;
+        result.obliquity = Double.NaN;
+        result.nutationLongitude = Double.NaN;
+        result.failures = 0;
+        result.houseSystem = houseSystem;
+        result.ayanamsa = null;
+        result.ayanamsaOffset = 0;
+        System.arraycopy(bodies, 0, result.bodies, 0, result.bodies.length);
+        for (int p = 0; p < PLANETS.length; p++) {
+            result.longitudes[p] = bodies[p * ChartResult.BODY_STRIDE];
+            result.speeds[p] = bodies[p * ChartResult.BODY_STRIDE + 3];
+        }
+        System.arraycopy(cusps, 0, result.cusps, 0, ChartResult.CUSP_COUNT);
+        Arrays.fill(result.ascmc, 0);
+        result.ascmc[0] = cusps[1];
+        result.ascmc[1] = cusps[10];
+        classify(result);
+        return result;
+    }
+
+    // Signs of bodies and cusps plus the element and modality tallies
+    static void classify(ChartResult result) {
+        Arrays.fill(result.elementCounts, 0);
+        Arrays.fill(result.modalityCounts, 0);
+        for (int p = 0; p < PLANETS.length; p++) {
+            int sign = signIndex(result.bodies[p * ChartResult.BODY_STRIDE]);
+            result.planetSigns[p] = sign;
+            // Signs cycle Fire/Earth/Air/Water and Cardinal/Fixed/Mutable from Aries
+            result.elementCounts[sign % ChartResult.ELEMENT_COUNT]++;
+            result.modalityCounts[sign % ChartResult.MODALITY_COUNT]++;
+        }
+        for (int house = 1; house < ChartResult.CUSP_COUNT; house++) {
+            result.cuspSigns[house] = signIndex(result.cusps[house]);
+        }
+    }
+
+    public static int signIndex(double longitude) {
+        int sign = (int) Math.floor(longitude / 30.0) % 12;
+        return sign < 0 ? sign + 12 : sign;
+    }
+}
@@ -0,0 +1,148 @@
+package com.astrology.api.util;
+
+import com.astrology.api.model.astrology.Ayanamsa;
+import com.astrology.api.model.astrology.HouseSystem;
+import com.astrology.api.model.astrology.Planet;
+
+/**
+ * Flat output of {@link ChartKernel}. Body values use the swe_calc_ut layout
+ * (longitude, latitude, distance and their speeds) at
+ * {@code planet.ordinal() * BODY_STRIDE}; cusps follow swe_houses with index 0
+ * unused. Signs are indices into {@code ZodiacSign.values()}. Longitudes,
+ * cusps and angles are sidereal when the chart has an ayanamsa. A result is
+ * meant to be reused by one thread across charts.
+ */
+public class ChartResult {
+    public static final int BODY_STRIDE = 6;
+    public static final int CUSP_COUNT = 13;
+    public static final int ELEMENT_COUNT = 4;  // Fire, Earth, Air, Water
+    public static final int MODALITY_COUNT = 3; // Cardinal, Fixed, Mutable
+
+    final double[] bodies = new double[Planet.COUNT * BODY_STRIDE];
+    final double[] longitudes = new double[Planet.COUNT];
+    final double[] speeds = new double[Planet.COUNT];
+    final int[] planetSigns = new int[Planet.COUNT];
+    final double[] cusps = new double[CUSP_COUNT];
+    final double[] ascmc = new double[10];
+    final int[] cuspSigns = new int[CUSP_COUNT];
+    final int[] elementCounts = new int[ELEMENT_COUNT];
+    final int[] modalityCounts = new int[MODALITY_COUNT];
+
+    // Scratch space for the kernel so a pass does not allocate
+    final double[] scratch = new double[6];
+    final StringBuffer error = new StringBuffer();
+
+    double julianDay;
+    double siderealTime;
+    double obliquity;
+    double nutationLongitude;
+    int failures;
+    HouseSystem houseSystem;
+    Ayanamsa ayanamsa;
+    double ayanamsaOffset;
+
+    public double longitude(Planet planet) {
+        return bodies[planet.ordinal() * BODY_STRIDE];
+    }
+
+    public double latitude(Planet planet) {
+        return bodies[planet.ordinal() * BODY_STRIDE + 1];
+    }
+
+    public double speed(Planet planet) {
+        return bodies[planet.ordinal() * BODY_STRIDE + 3];
+    }
+
+    public boolean isRetrograde(Planet planet) {
+        return speed(planet) < 0;
+    }
+
+    public int sign(Planet planet) {
+        return planetSigns[planet.ordinal()];
+    }
+
+    // Copies the six swe_calc_ut values of a body into a new array
+    public double[] position(Planet planet) {
+        double[] position = new double[BODY_STRIDE];
+        System.arraycopy(bodies, planet.ordinal() * BODY_STRIDE, position, 0, BODY_STRIDE);
+        return position;
+    }
+
+    public double cusp(int house) {
+        return cusps[house];
+    }
+
+    public int cuspSign(int house) {
+        return cuspSigns[house];
+    }
+
+    public double getAscendant() {
+        return ascmc[0];
+    }
+
+    public double getMidheaven() {
+        return ascmc[1];
+    }
+
+    public double[] getBodies() {
+        return bodies;
+    }
+
+    // Longitudes and speeds by Planet ordinal, the input layout of AspectCalculator
+    public double[] getLongitudes() {
+        return longitudes;
+    }
+
+    public double[] getSpeeds() {
+        return speeds;
+    }
+
+    public double[] getCusps() {
+        return cusps;
+    }
+
+    public int[] getElementCounts() {
+        return elementCounts;
+    }
+
+    public int[] getModalityCounts() {
+        return modalityCounts;
+    }
+
+    public double getJulianDay() {
+        return julianDay;
+    }
+
+    // Local apparent sidereal time (ARMC) in degrees
+    public double getSiderealTime() {
+        return siderealTime;
+    }
+
+    // True obliquity of the ecliptic in degrees
+    public double getObliquity() {
+        return obliquity;
+    }
+
+    public double getNutationLongitude() {
+        return nutationLongitude;
+    }
+
+    // House system actually used, Porphyry when Placidus or Koch fail near the poles
+    public HouseSystem getHouseSystem() {
+        return houseSystem;
+    }
+
+    // Null for a tropical chart
+    public Ayanamsa getAyanamsa() {
+        return ayanamsa;
+    }
+
+    // Degrees subtracted from tropical apparent longitudes: ayanamsa plus nutation, 0 when tropical
+    public double getAyanamsaOffset() {
+        return ayanamsaOffset;
+    }
+
+    public int getFailures() {
+        return failures;
+    }
+}
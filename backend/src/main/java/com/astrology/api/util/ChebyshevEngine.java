@@ -0,0 +1,85 @@
+package com.astrology.api.util;
+
+import com.astrology.api.model.astrology.Planet;
+
+/**
+ * The precomputed {@link ChebyshevEphemeris}, fitted to the Swiss Ephemeris,
+ * which fills in bodies the file lacks and dates outside its span.
+ */
+public class ChebyshevEngine implements EphemerisEngine {
+    private static final Planet[] PLANETS = Planet.all();
+
+    private final ChebyshevEphemeris ephemeris;
+    private final SwissEphemerisEngine fallback = new SwissEphemerisEngine();
+    private final boolean complete;
+    private final double maxErrorArcsec;
+
+    public ChebyshevEngine(ChebyshevEphemeris ephemeris) {
+        this.ephemeris = ephemeris;
+        boolean all = true;
+        double worst = 0;
+        for (Planet planet : PLANETS) {
+            if (ephemeris.supports(planet.getSweBody())) {
+                worst = Math.max(worst, ephemeris.getMaxErrorArcsec(planet.getSweBody()));
+            } else {
+                all = false;
+            }
+        }
+        this.complete = all;
+        // The fit error comes on top of the source it was fitted to
+        this.maxErrorArcsec = worst + fallback.getMaxErrorArcsec();
+    }
+
+    @Override
+    public String getName() {
+        return "chebyshev";
+    }
+
+    @Override
+    public double getMaxErrorArcsec() {
+        return maxErrorArcsec;
+    }
+
+    @Override
+    public boolean covers(double julianDayUt) {
+        return true;
+    }
+
+    @Override
+    public int calculate(double julianDayUt, double[] bodies) {
+        if (!ephemeris.covers(julianDayUt)) {
+            return fallback.calculate(julianDayUt, bodies);
+        }
+        int failures = complete ? 0 : fallback.calculate(julianDayUt, bodies);
+        double[] xx = new double[ChartResult.BODY_STRIDE];
+        for (int p = 0; p < PLANETS.length; p++) {
+            int body = PLANETS[p].getSweBody();
+            if (ephemeris.supports(body)) {
+                ephemeris.calculate(body, julianDayUt, xx);
+                System.arraycopy(xx, 0, bodies, p * ChartResult.BODY_STRIDE, ChartResult.BODY_STRIDE);
+            }
+        }
+        return failures;
+    }
+
+    @Override
+    public int calculate(double[] julianDays, int count, EphemerisBuffer out) {
+        out.resize(count, PLANETS.length);
+        double[] bodies = new double[PLANETS.length * ChartResult.BODY_STRIDE];
+        int failures = 0;
+        for (int i = 0; i < count; i++) {
+            failures += calculate(julianDays[i], bodies);
+            for (int p = 0; p < PLANETS.length; p++) {
+                int index = out.index(i, p);
+                int offset = p * ChartResult.BODY_STRIDE;
+                out.getLongitudes()[index] = bodies[offset];
+                out.getLatitudes()[index] = bodies[offset + 1];
+                out.getDistances()[index] = bodies[offset + 2];
+                out.getLongitudeSpeeds()[index] = bodies[offset + 3];
+                out.getLatitudeSpeeds()[index] = bodies[offset + 4];
+                out.getDistanceSpeeds()[index] = bodies[offset + 5];
+            }
+        }
+        return failures;
+    }
+}
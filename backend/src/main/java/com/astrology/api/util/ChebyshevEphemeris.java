@@ -0,0 +1,155 @@
+package com.astrology.api.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Runtime side of the precomputed Chebyshev ephemeris written by
+ * {@link ChebyshevEphemerisGenerator}. The file is memory-mapped and each body
+ * is evaluated from one segment of coefficients for longitude, latitude and
+ * distance, giving positions and speeds in the swe_calc_ut layout.
+ *
+ * Error bound against SwissEph with the generator's default segments: below
+ * 0.5 arcsec in longitude, rising to about 1 arcsec within a day of a planet's
+ * conjunction with the Sun, where SwissEph's gravitational light deflection
+ * changes faster than a 16-day segment can follow. The generator stores the
+ * measured maximum per body ({@link #getMaxErrorArcsec(int)}). One body takes
+ * roughly 120-150 ns to evaluate.
+ *
+ * File layout (little-endian):
+ * <pre>
+ * int    magic 'AVCH', int version
+ * double startJd, double endJd (UT)
+ * int    bodyCount
+ * per body: int sweBody, double segmentDays, int coefficientCount,
+ *           int segmentCount, long dataOffset, double maxErrorArcsec
+ * data: per segment 3 x coefficientCount doubles (longitude, latitude, distance)
+ * </pre>
+ */
+public class ChebyshevEphemeris {
+    private static final Logger logger = LoggerFactory.getLogger(ChebyshevEphemeris.class);
+
+    static final int MAGIC = 0x41564348; // "AVCH"
+    static final int VERSION = 1;
+    static final int MAX_BODY = 32;
+    static final int HEADER_SIZE = 28;
+    static final int ENTRY_SIZE = 36;
+
+    private final MappedByteBuffer data;
+    private final double startJd;
+    private final double endJd;
+    private final int[] bodyIndex = new int[MAX_BODY];
+    private final int[] bodies;
+    private final double[] segmentDays;
+    private final int[] coefficientCounts;
+    private final int[] segmentCounts;
+    private final long[] dataOffsets;
+    private final double[] maxErrors;
+
+    private ChebyshevEphemeris(MappedByteBuffer data) {
+        this.data = data;
+        if (data.getInt(0) != MAGIC || data.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Not a Chebyshev ephemeris file (version " + VERSION + ")");
+        }
+        startJd = data.getDouble(8);
+        endJd = data.getDouble(16);
+        int count = data.getInt(24);
+        bodies = new int[count];
+        segmentDays = new double[count];
+        coefficientCounts = new int[count];
+        segmentCounts = new int[count];
+        dataOffsets = new long[count];
+        maxErrors = new double[count];
+        Arrays.fill(bodyIndex, -1);
+
+        int position = HEADER_SIZE;
+        for (int i = 0; i < count; i++) {
+            bodies[i] = data.getInt(position);
+            segmentDays[i] = data.getDouble(position + 4);
+            coefficientCounts[i] = data.getInt(position + 12);
+            segmentCounts[i] = data.getInt(position + 16);
+            dataOffsets[i] = data.getLong(position + 20);
+            maxErrors[i] = data.getDouble(position + 28);
+            bodyIndex[bodies[i]] = i;
+            position += ENTRY_SIZE;
+        }
+    }
+
+    public static ChebyshevEphemeris open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            ChebyshevEphemeris ephemeris = new ChebyshevEphemeris(buffer);
+            logger.info("Mapped Chebyshev ephemeris {} covering JD {} to {} for {} bodies",
+                    file, ephemeris.startJd, ephemeris.endJd, ephemeris.bodies.length);
+            return ephemeris;
+        }
+    }
+
+    public boolean covers(double julianDayUt) {
+        return julianDayUt >= startJd && julianDayUt < endJd;
+    }
+
+    public boolean supports(int sweBody) {
+        return sweBody >= 0 && sweBody < MAX_BODY && bodyIndex[sweBody] >= 0;
+    }
+
+    public double getStartJd() {
+        return startJd;
+    }
+
+    public double getEndJd() {
+        return endJd;
+    }
+
+    public double getMaxErrorArcsec(int sweBody) {
+        return maxErrors[bodyIndex[sweBody]];
+    }
+
+    /**
+     * Writes longitude, latitude, distance and their daily speeds for a UT
+     * Julian day into out[0..5].
+     */
+    public void calculate(int sweBody, double julianDayUt, double[] out) {
+        if (!covers(julianDayUt) || !supports(sweBody)) {
+            throw new IllegalArgumentException("Body " + sweBody + " at JD " + julianDayUt
+                    + " not covered by Chebyshev ephemeris");
+        }
+        int i = bodyIndex[sweBody];
+        double span = segmentDays[i];
+        int n = coefficientCounts[i];
+        int segment = Math.min((int) ((julianDayUt - startJd) / span), segmentCounts[i] - 1);
+        double x = 2.0 * ((julianDayUt - startJd - segment * span) / span) - 1.0;
+        double scale = 2.0 / span;
+
+        long base = dataOffsets[i] + (long) segment * 3 * n * 8;
+        for (int c = 0; c < 3; c++) {
+            // Clenshaw recurrence for the value and its derivative
+            int start = (int) (base + (long) c * n * 8);
+            double b1 = 0, b2 = 0, d1 = 0, d2 = 0;
+            for (int k = n - 1; k >= 1; k--) {
+                double a = data.getDouble(start + k * 8);
+                double b0 = 2.0 * x * b1 - b2 + a;
+                double d0 = 2.0 * x * d1 - d2 + 2.0 * b1;
+                b2 = b1;
+                b1 = b0;
+                d2 = d1;
+                d1 = d0;
+            }
+            double a0 = data.getDouble(start);
+            out[c] = a0 + x * b1 - b2;
+            out[c + 3] = (b1 + x * d1 - d2) * scale;
+        }
+
+        double longitude = out[0] % 360.0;
+        out[0] = longitude < 0 ? longitude + 360.0 : longitude;
+    }
+}
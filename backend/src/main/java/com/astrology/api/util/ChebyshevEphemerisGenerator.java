@@ -0,0 +1,191 @@
+package com.astrology.api.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import swisseph.SweConst;
+import swisseph.SweDate;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Offline generator for {@link ChebyshevEphemeris} files. Samples
+ * {@link SwissEphemerisCalculator} at Chebyshev nodes of fixed-length segments
+ * per body, fits longitude, latitude and distance, and measures the fit
+ * against SwissEph between the nodes. The measured maximum longitude error is
+ * stored per body in the file header.
+ *
+ * <pre>
+ * java -cp target/classes:lib/swisseph.jar:... \
+ *     com.astrology.api.util.ChebyshevEphemerisGenerator chebyshev.bin 1900 2100
+ * </pre>
+ */
+public class ChebyshevEphemerisGenerator {
+    private static final Logger logger = LoggerFactory.getLogger(ChebyshevEphemerisGenerator.class);
+
+    // Segment length (days) and coefficient count per body. Geocentric motion of
+    // every planet carries the Earth's annual wobble, so outer planets need the
+    // same segment length as the Sun to stay well below 0.01 arcsec
+    private static final int[] BODIES = {
+        SweConst.SE_SUN, SweConst.SE_MOON, SweConst.SE_MERCURY, SweConst.SE_VENUS, SweConst.SE_MARS,
+        SweConst.SE_JUPITER, SweConst.SE_SATURN, SweConst.SE_URANUS, SweConst.SE_NEPTUNE, SweConst.SE_PLUTO
+    };
+    private static final double[] SEGMENT_DAYS = {16, 4, 8, 16, 16, 16, 16, 16, 16, 16};
+    private static final int[] COEFFICIENTS = {12, 14, 14, 12, 12, 12, 12, 12, 12, 12};
+
+    // Points between the nodes used to measure the fit
+    private static final double[] CHECK_FRACTIONS = {0.0, 0.13, 0.37, 0.5, 0.61, 0.89, 0.999};
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3) {
+            System.err.println("Usage: ChebyshevEphemerisGenerator <output file> <start year> <end year>");
+            System.exit(1);
+        }
+        double startJd = SweDate.getJulDay(Integer.parseInt(args[1]), 1, 1, 0.0);
+        double endJd = SweDate.getJulDay(Integer.parseInt(args[2]), 1, 1, 0.0);
+        generate(Path.of(args[0]), startJd, endJd);
+    }
+
+    public static void generate(Path output, double startJd, double endJd) throws IOException {
+        int bodyCount = BODIES.length;
+        int[] segmentCounts = new int[bodyCount];
+        long[] offsets = new long[bodyCount];
+        long offset = ChebyshevEphemeris.HEADER_SIZE + (long) bodyCount * ChebyshevEphemeris.ENTRY_SIZE;
+        for (int b = 0; b < bodyCount; b++) {
+            segmentCounts[b] = (int) Math.ceil((endJd - startJd) / SEGMENT_DAYS[b]);
+            offsets[b] = offset;
+            offset += (long) segmentCounts[b] * 3 * COEFFICIENTS[b] * 8;
+        }
+
+        try (FileChannel channel = FileChannel.open(output, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            double[] maxErrors = new double[bodyCount];
+            for (int b = 0; b < bodyCount; b++) {
+                channel.position(offsets[b]);
+                maxErrors[b] = fitBody(channel, BODIES[b], startJd, SEGMENT_DAYS[b], COEFFICIENTS[b], segmentCounts[b]);
+                logger.info("Body {}: {} segments of {} days, max longitude error {}\"",
+                        BODIES[b], segmentCounts[b], SEGMENT_DAYS[b], String.format("%.4f", maxErrors[b]));
+            }
+
+            ByteBuffer header = ByteBuffer.allocate((int) offsets[0]).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(ChebyshevEphemeris.MAGIC)
+                  .putInt(ChebyshevEphemeris.VERSION)
+                  .putDouble(startJd)
+                  .putDouble(endJd)
+                  .putInt(bodyCount);
+            for (int b = 0; b < bodyCount; b++) {
+                header.putInt(BODIES[b])
+                      .putDouble(SEGMENT_DAYS[b])
+                      .putInt(COEFFICIENTS[b])
+                      .putInt(segmentCounts[b])
+                      .putLong(offsets[b])
+                      .putDouble(maxErrors[b]);
+            }
+            header.flip();
+            channel.write(header, 0);
+        }
+        logger.info("Wrote Chebyshev ephemeris {} ({} bytes)", output, offset);
+    }
+
+    private static double fitBody(FileChannel channel, int body, double startJd, double span,
+                                  int n, int segments) throws IOException {
+        int[] bodies = {body};
+        double[] nodes = new double[n];
+        for (int k = 0; k < n; k++) {
+            nodes[k] = Math.cos(Math.PI * (k + 0.5) / n);
+        }
+
+        // Sample all nodes of all segments in one batch
+        double[] julianDays = new double[segments * n];
+        for (int s = 0; s < segments; s++) {
+            for (int k = 0; k < n; k++) {
+                julianDays[s * n + k] = startJd + s * span + (nodes[k] + 1.0) * 0.5 * span;
+            }
+        }
+        EphemerisBuffer samples = new EphemerisBuffer();
+        SwissEphemerisCalculator.calculatePositions(julianDays, bodies, samples);
+
+        double[] checkDays = new double[segments * CHECK_FRACTIONS.length];
+        for (int s = 0; s < segments; s++) {
+            for (int c = 0; c < CHECK_FRACTIONS.length; c++) {
+                checkDays[s * CHECK_FRACTIONS.length + c] = startJd + (s + CHECK_FRACTIONS[c]) * span;
+            }
+        }
+        EphemerisBuffer checks = new EphemerisBuffer();
+        SwissEphemerisCalculator.calculatePositions(checkDays, bodies, checks);
+
+        double[] values = new double[n];
+        double[][] coefficients = new double[3][n];
+        ByteBuffer out = ByteBuffer.allocate(3 * n * 8).order(ByteOrder.LITTLE_ENDIAN);
+        double maxError = 0;
+        for (int s = 0; s < segments; s++) {
+            int first = s * n;
+
+            // Unwrap longitudes around the segment's first node so the fit is continuous
+            double reference = samples.getLongitudes()[first];
+            for (int k = 0; k < n; k++) {
+                double longitude = samples.getLongitudes()[first + k];
+                values[k] = reference + normalize180(longitude - reference);
+            }
+            fit(values, coefficients[0]);
+            System.arraycopy(samples.getLatitudes(), first, values, 0, n);
+            fit(values, coefficients[1]);
+            System.arraycopy(samples.getDistances(), first, values, 0, n);
+            fit(values, coefficients[2]);
+
+            for (int c = 0; c < CHECK_FRACTIONS.length; c++) {
+                int check = s * CHECK_FRACTIONS.length + c;
+                double fitted = evaluate(coefficients[0], 2.0 * CHECK_FRACTIONS[c] - 1.0);
+                double error = Math.abs(normalize180(fitted - checks.getLongitudes()[check])) * 3600.0;
+                maxError = Math.max(maxError, error);
+            }
+
+            out.clear();
+            for (double[] component : coefficients) {
+                for (double coefficient : component) {
+                    out.putDouble(coefficient);
+                }
+            }
+            out.flip();
+            while (out.hasRemaining()) {
+                channel.write(out);
+            }
+        }
+        return maxError;
+    }
+
+    private static void fit(double[] values, double[] coefficients) {
+        int n = values.length;
+        for (int j = 0; j < n; j++) {
+            double sum = 0;
+            for (int k = 0; k < n; k++) {
+                sum += values[k] * Math.cos(Math.PI * j * (k + 0.5) / n);
+            }
+            coefficients[j] = (j == 0 ? 1.0 : 2.0) * sum / n;
+        }
+    }
+
+    private static double evaluate(double[] coefficients, double x) {
+        double b1 = 0, b2 = 0;
+        for (int k = coefficients.length - 1; k >= 1; k--) {
+            double b0 = 2.0 * x * b1 - b2 + coefficients[k];
+            b2 = b1;
+            b1 = b0;
+        }
+        return coefficients[0] + x * b1 - b2;
+    }
+
+    private static double normalize180(double angle) {
+        angle = angle % 360.0;
+        if (angle > 180.0) {
+            angle -= 360.0;
+        } else if (angle < -180.0) {
+            angle += 360.0;
+        }
+        return angle;
+    }
+}
@@ -0,0 +1,356 @@
+package com.astrology.api.util;
+
+import com.astrology.api.model.astrology.AspectType;
+import com.astrology.api.model.astrology.Planet;
+import com.astrology.api.model.astrology.ZodiacSign;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One clause of an electional query, such as "Moon not void", "Venus
+ * angular" or "no Mars-Saturn hard aspect". Clauses are parsed from text by
+ * {@link #parseAll} and evaluated on primitive arrays indexed by Planet
+ * ordinal (longitudes, daily speeds) plus house cusps.
+ *
+ * Besides its truth value every clause gives a horizon: a lower bound in
+ * days on how long that value must stay as it is, from the distance to the
+ * nearest boundary and the fastest the bodies involved (and the cusps) can
+ * move. {@link ElectionalSearch} steps by these horizons.
+ *
+ * Supported clauses, optionally negated with a leading "no" or a "not" after
+ * the body: "Moon void" (of course), "Moon waxing" / "waning", "Mars
+ * retrograde" / "direct", "Venus angular", "Jupiter in house 10", "Sun in
+ * Leo", "Venus trine Jupiter" (any aspect name) and "Mars Saturn [hard |
+ * soft | major] aspect".
+ */
+public class ElectionalCondition {
+
+    public enum Kind { VOID_OF_COURSE, WAXING, RETROGRADE, ANGULAR, IN_HOUSE, IN_SIGN, ASPECT }
+
+    // The Moon is void of course when it makes no Ptolemaic aspect to these before leaving its sign
+    private static final Planet[] VOID_PLANETS = {
+        Planet.SUN, Planet.MERCURY, Planet.VENUS, Planet.MARS, Planet.JUPITER, Planet.SATURN
+    };
+    private static final double[] PTOLEMAIC_TARGETS = {0, 60, 90, 120, 180, 240, 270, 300};
+    private static final AspectType[] HARD = {AspectType.CONJUNCTION, AspectType.SQUARE, AspectType.OPPOSITION};
+    private static final AspectType[] SOFT = {AspectType.SEXTILE, AspectType.TRINE};
+    // Cusps bounding the angular houses 1, 4, 7 and 10
+    private static final int[] ANGULAR_BOUNDARIES = {1, 2, 4, 5, 7, 8, 10, 11};
+
+    private final String text;
+    private final Kind kind;
+    private final boolean negated;
+    private final Planet body;
+    private final Planet other;
+    // Sign index for IN_SIGN, house number for IN_HOUSE
+    private final int value;
+    private final AspectType[] aspects;
+
+    private ElectionalCondition(String text, Kind kind, boolean negated, Planet body, Planet other, int value,
+                                AspectType[] aspects) {
+        this.text = text;
+        this.kind = kind;
+        this.negated = negated;
+        this.body = body;
+        this.other = other;
+        this.value = value;
+        this.aspects = aspects;
+    }
+
+    /** Parses clauses separated by commas, semicolons or "and"; all must hold. */
+    public static List<ElectionalCondition> parseAll(String query) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("At least one condition is required");
+        }
+        List<ElectionalCondition> conditions = new ArrayList<>();
+        for (String clause : query.split("[,;]|\\s+and\\s+")) {
+            if (!clause.isBlank()) {
+                conditions.add(parse(clause.trim()));
+            }
+        }
+        if (conditions.isEmpty()) {
+            throw new IllegalArgumentException("At least one condition is required");
+        }
+        return conditions;
+    }
+
+    public static ElectionalCondition parse(String clause) {
+        // "Mars–Saturn" and "semi-square" become separate words
+        String normalized = clause.toLowerCase().replaceAll("[\\u2013\\u2014-]", " ").trim().replaceAll("\\s+", " ");
+        boolean negated = false;
+        if (normalized.startsWith("no ")) {
+            negated = true;
+            normalized = normalized.substring(3);
+        }
+        int space = normalized.indexOf(' ');
+        if (space < 0) {
+            throw unrecognised(clause);
+        }
+        Planet body = planet(normalized.substring(0, space), clause);
+        String rest = normalized.substring(space + 1);
+        if (rest.startsWith("not ")) {
+            negated = !negated;
+            rest = rest.substring(4);
+        }
+
+        switch (rest) {
+            case "void", "void of course", "voc" -> {
+                requireMoon(body, clause);
+                return new ElectionalCondition(clause, Kind.VOID_OF_COURSE, negated, body, null, 0, null);
+            }
+            case "waxing", "waning" -> {
+                requireMoon(body, clause);
+                return new ElectionalCondition(clause, Kind.WAXING, negated ^ rest.equals("waning"),
+                    body, Planet.SUN, 0, null);
+            }
+            case "retrograde", "rx", "direct" -> {
+                return new ElectionalCondition(clause, Kind.RETROGRADE, negated ^ rest.equals("direct"),
+                    body, null, 0, null);
+            }
+            case "angular" -> {
+                return new ElectionalCondition(clause, Kind.ANGULAR, negated, body, null, 0, null);
+            }
+            default -> {
+                // Handled below
+            }
+        }
+
+        if (rest.startsWith("in house ")) {
+            int house;
+            try {
+                house = Integer.parseInt(rest.substring(9).trim());
+            } catch (NumberFormatException e) {
+                throw unrecognised(clause);
+            }
+            if (house < 1 || house > 12) {
+                throw new IllegalArgumentException("Houses are numbered 1 to 12: " + clause);
+            }
+            return new ElectionalCondition(clause, Kind.IN_HOUSE, negated, body, null, house, null);
+        }
+        if (rest.startsWith("in ")) {
+            String sign = rest.substring(3).trim().toUpperCase();
+            for (ZodiacSign zodiacSign : ZodiacSign.values()) {
+                if (zodiacSign.name().equals(sign)) {
+                    return new ElectionalCondition(clause, Kind.IN_SIGN, negated, body, null,
+                        zodiacSign.ordinal(), null);
+                }
+            }
+            throw unrecognised(clause);
+        }
+
+        // "<aspect> <body>", the aspect possibly two words ("semi square")
+        int last = rest.lastIndexOf(' ');
+        if (last > 0) {
+            String aspectName = rest.substring(0, last);
+            for (AspectType type : AspectType.values()) {
+                if (type.name().replace('_', ' ').equalsIgnoreCase(aspectName)
+                        || type.getDisplayName().replace('-', ' ').equalsIgnoreCase(aspectName)) {
+                    Planet other = planet(rest.substring(last + 1), clause);
+                    return aspect(clause, negated, body, other, new AspectType[]{type});
+                }
+            }
+        }
+        // "<body> [hard | soft | major] aspect"
+        String[] words = rest.split(" ");
+        if (words[words.length - 1].equals("aspect") || words[words.length - 1].equals("aspects")) {
+            Planet other = planet(words[0], clause);
+            AspectType[] set = switch (words.length) {
+                case 2 -> AspectType.majors();
+                case 3 -> switch (words[1]) {
+                    case "hard" -> HARD;
+                    case "soft" -> SOFT;
+                    case "major", "any" -> AspectType.majors();
+                    default -> throw unrecognised(clause);
+                };
+                default -> throw unrecognised(clause);
+            };
+            return aspect(clause, negated, body, other, set);
+        }
+        throw unrecognised(clause);
+    }
+
+    private static ElectionalCondition aspect(String clause, boolean negated, Planet body, Planet other,
+                                              AspectType[] aspects) {
+        if (body == other) {
+            throw new IllegalArgumentException("An aspect needs two different bodies: " + clause);
+        }
+        return new ElectionalCondition(clause, Kind.ASPECT, negated, body, other, 0, aspects);
+    }
+
+    private static Planet planet(String name, String clause) {
+        for (Planet planet : Planet.all()) {
+            if (planet.name().equalsIgnoreCase(name)) {
+                return planet;
+            }
+        }
+        throw new IllegalArgumentException("Unknown body '" + name + "' in condition: " + clause);
+    }
+
+    private static void requireMoon(Planet body, String clause) {
+        if (body != Planet.MOON) {
+            throw new IllegalArgumentException("Only the Moon can be void of course or wax and wane: " + clause);
+        }
+    }
+
+    private static IllegalArgumentException unrecognised(String clause) {
+        return new IllegalArgumentException("Unrecognised condition: " + clause);
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public boolean isNegated() {
+        return negated;
+    }
+
+    // Marks the bodies whose positions the clause reads
+    void requireBodies(boolean[] needed) {
+        needed[body.ordinal()] = true;
+        if (other != null) {
+            needed[other.ordinal()] = true;
+        }
+        if (kind == Kind.VOID_OF_COURSE) {
+            for (Planet planet : VOID_PLANETS) {
+                needed[planet.ordinal()] = true;
+            }
+        }
+    }
+
+    boolean needsHouses() {
+        return kind == Kind.ANGULAR || kind == Kind.IN_HOUSE;
+    }
+
+    boolean holds(double[] longitudes, double[] speeds, double[] cusps) {
+        return negated != test(longitudes, speeds, cusps);
+    }
+
+    private boolean test(double[] longitudes, double[] speeds, double[] cusps) {
+        double longitude = longitudes[body.ordinal()];
+        return switch (kind) {
+            case VOID_OF_COURSE -> isVoid(longitudes, speeds);
+            case WAXING -> normalize(longitude - longitudes[Planet.SUN.ordinal()]) < 180.0;
+            case RETROGRADE -> speeds[body.ordinal()] < 0;
+            case ANGULAR -> {
+                int house = house(longitude, cusps);
+                yield house == 1 || house == 4 || house == 7 || house == 10;
+            }
+            case IN_HOUSE -> house(longitude, cusps) == value;
+            case IN_SIGN -> (int) (longitude / 30.0) % 12 == value;
+            case ASPECT -> {
+                double separation = Math.abs(TransitSearch.signedDifference(longitude, longitudes[other.ordinal()]));
+                for (AspectType aspect : aspects) {
+                    if (Math.abs(separation - aspect.getAngle()) <= aspect.getDefaultOrb()) {
+                        yield true;
+                    }
+                }
+                yield false;
+            }
+        };
+    }
+
+    /**
+     * Days for which the truth value cannot change, given how fast the bodies
+     * can move and, for house clauses, {@code cuspRate}: the fastest any cusp
+     * moves at the place (degrees/day).
+     */
+    double horizon(double[] longitudes, double[] speeds, double[] cusps, double cuspRate) {
+        double longitude = longitudes[body.ordinal()];
+        return switch (kind) {
+            case VOID_OF_COURSE -> voidHorizon(longitudes);
+            case WAXING -> {
+                double elongation = normalize(longitude - longitudes[Planet.SUN.ordinal()]) % 180.0;
+                yield Math.min(elongation, 180.0 - elongation) / relativeSpeed(body, other);
+            }
+            case RETROGRADE -> Math.abs(speeds[body.ordinal()]) / body.getMaxAcceleration();
+            case ANGULAR -> {
+                double distance = Double.MAX_VALUE;
+                for (int cusp : ANGULAR_BOUNDARIES) {
+                    distance = Math.min(distance, Math.abs(TransitSearch.signedDifference(longitude, cusps[cusp])));
+                }
+                yield distance / (cuspRate + body.getMaxSpeed());
+            }
+            case IN_HOUSE -> {
+                double distance = Math.min(
+                    Math.abs(TransitSearch.signedDifference(longitude, cusps[value])),
+                    Math.abs(TransitSearch.signedDifference(longitude, cusps[value % 12 + 1])));
+                yield distance / (cuspRate + body.getMaxSpeed());
+            }
+            case IN_SIGN -> {
+                double inSign = longitude % 30.0;
+                yield Math.min(inSign, 30.0 - inSign) / body.getMaxSpeed();
+            }
+            case ASPECT -> {
+                double separation = Math.abs(TransitSearch.signedDifference(longitude, longitudes[other.ordinal()]));
+                double distance = Double.MAX_VALUE;
+                for (AspectType aspect : aspects) {
+                    distance = Math.min(distance,
+                        Math.abs(Math.abs(separation - aspect.getAngle()) - aspect.getDefaultOrb()));
+                }
+                yield distance / relativeSpeed(body, other);
+            }
+        };
+    }
+
+    // Void when no Ptolemaic aspect perfects before the Moon leaves its sign, at current speeds
+    private static boolean isVoid(double[] longitudes, double[] speeds) {
+        double moon = longitudes[Planet.MOON.ordinal()];
+        double moonSpeed = speeds[Planet.MOON.ordinal()];
+        double toSignEnd = (30.0 - moon % 30.0) / moonSpeed;
+        for (Planet planet : VOID_PLANETS) {
+            double relative = moonSpeed - speeds[planet.ordinal()];
+            double elongation = normalize(moon - longitudes[planet.ordinal()]);
+            for (double target : PTOLEMAIC_TARGETS) {
+                double gap = normalize(target - elongation);
+                if (gap / relative < toSignEnd) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    // The state changes only when an aspect perfects or the Moon changes sign
+    private static double voidHorizon(double[] longitudes) {
+        double moon = longitudes[Planet.MOON.ordinal()];
+        double horizon = (30.0 - moon % 30.0) / Planet.MOON.getMaxSpeed();
+        for (Planet planet : VOID_PLANETS) {
+            double elongation = normalize(moon - longitudes[planet.ordinal()]);
+            for (double target : PTOLEMAIC_TARGETS) {
+                horizon = Math.min(horizon, normalize(target - elongation) / relativeSpeed(Planet.MOON, planet));
+            }
+        }
+        return horizon;
+    }
+
+    private static double relativeSpeed(Planet a, Planet b) {
+        return a.getMaxSpeed() + b.getMaxSpeed();
+    }
+
+    // House (1-12) containing a longitude, from cusps[1..12]
+    private static int house(double longitude, double[] cusps) {
+        for (int house = 1; house <= 12; house++) {
+            double start = cusps[house];
+            double width = normalize(cusps[house % 12 + 1] - start);
+            if (normalize(longitude - start) < width) {
+                return house;
+            }
+        }
+        return 12;
+    }
+
+    private static double normalize(double degrees) {
+        double value = degrees % 360.0;
+        return value < 0 ? value + 360.0 : value;
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+}
@@ -0,0 +1,276 @@
+package com.astrology.api.util;
+
+import com.astrology.api.model.astrology.HouseSystem;
+import com.astrology.api.model.astrology.Planet;
+import swisseph.SweConst;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Finds the windows in a time range during which every
+ * {@link ElectionalCondition} holds at one place.
+ *
+ * Positions come from batched {@link SwissEphemerisCalculator} calls at
+ * nodes one day apart for the Moon and up to four days for slower bodies; in
+ * between they are cubic Hermite interpolations from the node longitudes and
+ * speeds, so a sample costs no ephemeris work; window edges still land within
+ * a minute of the exact ingresses and stations, Moon included. The scan
+ * steps by the conditions' horizons: while all hold, the smallest horizon;
+ * while some fail, the largest horizon among the failing ones, since the
+ * conjunction stays false until each of them has changed. Steps are at
+ * least {@link #MIN_STEP}, and a change of the overall value between two
+ * samples is bisected down to {@link #TIME_TOLERANCE}.
+ */
+public class ElectionalSearch {
+    // Node spacing in days for the Moon, for Mercury and for the other bodies
+    private static final double[] NODE_STEPS = {1.0, 2.0, 4.0};
+    // Ten minutes; also the shortest window that is reliably seen
+    private static final double MIN_STEP = 10.0 / 1440;
+    private static final double MAX_STEP = 10.0;
+    // 30 seconds
+    private static final double TIME_TOLERANCE = 30.0 / 86400;
+    // Headroom on the cusp speed sampled at one-degree steps of sidereal time
+    private static final double CUSP_RATE_MARGIN = 1.25;
+
+    private final List<ElectionalCondition> conditions;
+    private final double latitude;
+    private final double longitude;
+    private final HouseSystem houseSystem;
+    private final boolean houses;
+    // Needed bodies by node spacing
+    private final Planet[][] planets = new Planet[NODE_STEPS.length][];
+    private final int[][] bodies = new int[NODE_STEPS.length][];
+
+    private final EphemerisBuffer[] nodes = new EphemerisBuffer[NODE_STEPS.length];
+    private final int[] nodeCounts = new int[NODE_STEPS.length];
+    private double nodeStart;
+    private double obliquity;
+    // Equation of the equinoxes, constant enough over a search
+    private double equinoxCorrection;
+    private double cuspRate;
+
+    private final double[] longitudes = new double[Planet.COUNT];
+    private final double[] speeds = new double[Planet.COUNT];
+    private final double[] cusps = new double[HouseCalculator.CUSP_COUNT];
+    private final double[] ascmc = new double[HouseCalculator.ASCMC_COUNT];
+    private double horizon;
+    private int evaluations;
+
+    /** Growable list of [start, end) windows as Julian days (UT). */
+    public static class Windows {
+        private double[] bounds = new double[32];
+        private int size;
+
+        void add(double start, double end) {
+            if (size * 2 == bounds.length) {
+                bounds = Arrays.copyOf(bounds, bounds.length * 2);
+            }
+            bounds[size * 2] = start;
+            bounds[size * 2 + 1] = end;
+            size++;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public double start(int window) {
+            return bounds[window * 2];
+        }
+
+        public double end(int window) {
+            return bounds[window * 2 + 1];
+        }
+    }
+
+    // The instance keeps per-search state and is used by one thread at a time
+    public ElectionalSearch(List<ElectionalCondition> conditions, double latitude, double longitude,
+                            HouseSystem houseSystem) {
+        this.conditions = conditions;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.houseSystem = houseSystem;
+        boolean[] needed = new boolean[Planet.COUNT];
+        boolean anyHouses = false;
+        for (ElectionalCondition condition : conditions) {
+            condition.requireBodies(needed);
+            anyHouses |= condition.needsHouses();
+        }
+        this.houses = anyHouses;
+        for (int group = 0; group < NODE_STEPS.length; group++) {
+            List<Planet> members = new ArrayList<>();
+            for (Planet planet : Planet.all()) {
+                if (needed[planet.ordinal()] && nodeGroup(planet) == group) {
+                    members.add(planet);
+                }
+            }
+            planets[group] = members.toArray(new Planet[0]);
+            bodies[group] = new int[members.size()];
+            for (int b = 0; b < members.size(); b++) {
+                bodies[group][b] = members.get(b).getSweBody();
+            }
+            nodes[group] = new EphemerisBuffer();
+        }
+    }
+
+    private static int nodeGroup(Planet planet) {
+        return switch (planet) {
+            case MOON -> 0;
+            case MERCURY -> 1;
+            default -> 2;
+        };
+    }
+
+    public Windows search(double startJd, double endJd) {
+        if (!(endJd > startJd)) {
+            throw new IllegalArgumentException("The end must be after the start");
+        }
+        prepare(startJd, endJd);
+        Windows windows = new Windows();
+        double t = startJd;
+        boolean holds = evaluate(t);
+        double windowStart = startJd;
+        while (t < endJd) {
+            double next = Math.min(t + Math.max(MIN_STEP, Math.min(horizon, MAX_STEP)), endJd);
+            boolean nextHolds = evaluate(next);
+            if (nextHolds != holds) {
+                double boundary = bisect(t, next, holds);
+                if (nextHolds) {
+                    windowStart = boundary;
+                } else {
+                    windows.add(windowStart, boundary);
+                }
+                // Bisection left the buffers at another time
+                evaluate(next);
+            }
+            t = next;
+            holds = nextHolds;
+        }
+        if (holds) {
+            windows.add(windowStart, endJd);
+        }
+        return windows;
+    }
+
+    public int getEvaluations() {
+        return evaluations;
+    }
+
+    private void prepare(double startJd, double endJd) {
+        nodeStart = startJd;
+        for (int group = 0; group < NODE_STEPS.length; group++) {
+            if (bodies[group].length == 0) {
+                continue;
+            }
+            nodeCounts[group] = Math.max(2, (int) Math.ceil((endJd - startJd) / NODE_STEPS[group]) + 1);
+            double[] julianDays = new double[nodeCounts[group]];
+            for (int i = 0; i < julianDays.length; i++) {
+                julianDays[i] = startJd + i * NODE_STEPS[group];
+            }
+            if (SwissEphemerisCalculator.calculatePositions(julianDays, bodies[group], nodes[group]) > 0) {
+                throw new IllegalStateException("Ephemeris calculation failed during the electional search");
+            }
+        }
+        evaluations = 0;
+        if (!houses) {
+            return;
+        }
+
+        double[] xx = SwissEphPool.shared().execute(swissEph -> {
+            double[] values = new double[6];
+            StringBuffer serr = new StringBuffer();
+            if (swissEph.swe_calc_ut((startJd + endJd) * 0.5, SweConst.SE_ECL_NUT, 0, values, serr) < 0) {
+                throw new IllegalStateException("Error calculating obliquity: " + serr);
+            }
+            return values;
+        });
+        obliquity = xx[0];
+        equinoxCorrection = xx[2] * Math.cos(Math.toRadians(xx[0]));
+
+        // Fastest cusp motion at this latitude over a full turn of sidereal time
+        double[] previous = new double[HouseCalculator.CUSP_COUNT];
+        HouseCalculator.calculateHousesFromSiderealTime(0, latitude, obliquity, houseSystem, previous, ascmc);
+        double fastest = 0;
+        for (int degree = 1; degree <= 360; degree++) {
+            HouseCalculator.calculateHousesFromSiderealTime(degree, latitude, obliquity, houseSystem, cusps, ascmc);
+            for (int house = 1; house <= 12; house++) {
+                fastest = Math.max(fastest, Math.abs(TransitSearch.signedDifference(cusps[house], previous[house])));
+                previous[house] = cusps[house];
+            }
+        }
+        cuspRate = fastest * TimeScale.SIDEREAL_RATE * CUSP_RATE_MARGIN;
+    }
+
+    // Fills the position arrays and cusps for t; returns whether all conditions hold and sets the horizon
+    private boolean evaluate(double julianDay) {
+        evaluations++;
+        interpolate(julianDay);
+        if (houses) {
+            double armc = TimeScale.meanSiderealTime(julianDay) + equinoxCorrection + longitude;
+            armc %= 360.0;
+            HouseCalculator.calculateHousesFromSiderealTime(armc < 0 ? armc + 360.0 : armc,
+                latitude, obliquity, houseSystem, cusps, ascmc);
+        }
+        boolean all = true;
+        double whileTrue = Double.MAX_VALUE;
+        double whileFalse = 0;
+        for (ElectionalCondition condition : conditions) {
+            double conditionHorizon = condition.horizon(longitudes, speeds, cusps, cuspRate);
+            if (condition.holds(longitudes, speeds, cusps)) {
+                whileTrue = Math.min(whileTrue, conditionHorizon);
+            } else {
+                all = false;
+                whileFalse = Math.max(whileFalse, conditionHorizon);
+            }
+        }
+        horizon = all ? whileTrue : whileFalse;
+        return all;
+    }
+
+    // First time in (from, to] at which the overall value is no longer {@code before}
+    private double bisect(double from, double to, boolean before) {
+        while (to - from > TIME_TOLERANCE) {
+            double mid = (from + to) * 0.5;
+            if (evaluate(mid) == before) {
+                from = mid;
+            } else {
+                to = mid;
+            }
+        }
+        return to;
+    }
+
+    // Cubic Hermite between the two nodes around t, longitudes and speeds (degrees/day)
+    private void interpolate(double julianDay) {
+        for (int group = 0; group < NODE_STEPS.length; group++) {
+            if (bodies[group].length == 0) {
+                continue;
+            }
+            double step = NODE_STEPS[group];
+            int node = Math.min((int) ((julianDay - nodeStart) / step), nodeCounts[group] - 2);
+            double f = (julianDay - nodeStart - node * step) / step;
+            double f2 = f * f;
+            double f3 = f2 * f;
+            double h00 = 2 * f3 - 3 * f2 + 1;
+            double h10 = f3 - 2 * f2 + f;
+            double h01 = -2 * f3 + 3 * f2;
+            double h11 = f3 - f2;
+            double d00 = 6 * f2 - 6 * f;
+            double d10 = 3 * f2 - 4 * f + 1;
+            double d11 = 3 * f2 - 2 * f;
+            EphemerisBuffer buffer = nodes[group];
+            for (int b = 0; b < bodies[group].length; b++) {
+                double lon0 = buffer.longitude(node, b);
+                double end = lon0 + TransitSearch.signedDifference(buffer.longitude(node + 1, b), lon0);
+                double slope0 = buffer.speed(node, b) * step;
+                double slope1 = buffer.speed(node + 1, b) * step;
+                double value = (h00 * lon0 + h10 * slope0 + h01 * end + h11 * slope1) % 360.0;
+                int p = planets[group][b].ordinal();
+                longitudes[p] = value < 0 ? value + 360.0 : value;
+                speeds[p] = (d00 * lon0 + d10 * slope0 - d00 * end + d11 * slope1) / step;
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.astrology.api.util;
+
+/**
+ * Structure-of-arrays output buffer for batch ephemeris calculations.
+ * Values are laid out instant-major: the entry for instant i and body b lives
+ * at {@code i * bodyCount + b}. A buffer is meant to be reused across batches
+ * and only grows when a batch does not fit.
+ */
+public class EphemerisBuffer {
+    private double[] longitudes;
+    private double[] latitudes;
+    private double[] distances;
+    private double[] longitudeSpeeds;
+    private double[] latitudeSpeeds;
+    private double[] distanceSpeeds;
+    private int instantCount;
+    private int bodyCount;
+
+    public EphemerisBuffer() {
+        this(0);
+    }
+
+    public EphemerisBuffer(int capacity) {
+        allocate(capacity);
+    }
+
+    public void resize(int instants, int bodies) {
+        int required = instants * bodies;
+        if (required > longitudes.length) {
+            allocate(required);
+        }
+        this.instantCount = instants;
+        this.bodyCount = bodies;
+    }
+
+    private void allocate(int capacity) {
+        longitudes = new double[capacity];
+        latitudes = new double[capacity];
+        distances = new double[capacity];
+        longitudeSpeeds = new double[capacity];
+        latitudeSpeeds = new double[capacity];
+        distanceSpeeds = new double[capacity];
+    }
+
+    public int index(int instant, int body) {
+        return instant * bodyCount + body;
+    }
+
+    public double longitude(int instant, int body) {
+        return longitudes[index(instant, body)];
+    }
+
+    public double speed(int instant, int body) {
+        return longitudeSpeeds[index(instant, body)];
+    }
+
+    public int getCapacity() {
+        return longitudes.length;
+    }
+
+    public int getInstantCount() {
+        return instantCount;
+    }
+
+    public int getBodyCount() {
+        return bodyCount;
+    }
+
+    public double[] getLongitudes() {
+        return longitudes;
+    }
+
+    public double[] getLatitudes() {
+        return latitudes;
+    }
+
+    public double[] getDistances() {
+        return distances;
+    }
+
+    public double[] getLongitudeSpeeds() {
+        return longitudeSpeeds;
+    }
+
+    public double[] getLatitudeSpeeds() {
+        return latitudeSpeeds;
+    }
+
+    public double[] getDistanceSpeeds() {
+        return distanceSpeeds;
+    }
+}
@@ -0,0 +1,31 @@
+package com.astrology.api.util;
+
+/**
+ * Geocentric positions of the ten planets, in the swe_calc_ut layout with
+ * speeds, from one of the position sources. Engines differ in cost and
+ * accuracy by orders of magnitude; {@link EphemerisRouter} picks one per
+ * {@link com.astrology.api.model.astrology.PrecisionTier}. Implementations
+ * are thread-safe.
+ */
+public interface EphemerisEngine {
+
+    String getName();
+
+    /** Worst longitude error over the covered dates, in arcseconds. */
+    double getMaxErrorArcsec();
+
+    boolean covers(double julianDayUt);
+
+    /**
+     * Fills {@code bodies} with {@link ChartResult#BODY_STRIDE} values per
+     * Planet, in ordinal order, for a Julian day (UT). Returns the number of
+     * bodies that could not be computed; those are left at zero.
+     */
+    int calculate(double julianDayUt, double[] bodies);
+
+    /**
+     * Every Planet at the first {@code count} Julian days, instant-major in
+     * ordinal order. Returns the number of failed calculations.
+     */
+    int calculate(double[] julianDays, int count, EphemerisBuffer out);
+}
@@ -0,0 +1,167 @@
+package com.astrology.api.util;
+
+import com.astrology.api.model.astrology.Ayanamsa;
+import com.astrology.api.model.astrology.HouseSystem;
+import com.astrology.api.model.astrology.Planet;
+import com.astrology.api.model.astrology.PrecisionTier;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Picks the {@link EphemerisEngine} for a {@link PrecisionTier}: preview
+ * requests get the fast analytic engine and the tabulated angles of
+ * {@link HouseCalculator#calculateHousesFast}, standard ones the configured
+ * production engine, research ones the JPL file when there is one. A date the
+ * tier's engine does not cover is served by the standard engine, which covers
+ * every date. Chart and batch latencies are recorded per requested tier.
+ */
+public class EphemerisRouter {
+    private static final PrecisionTier[] TIERS = PrecisionTier.values();
+
+    private final EphemerisEngine[] engines = new EphemerisEngine[TIERS.length];
+    private final ChartKernel[] kernels = new ChartKernel[TIERS.length];
+    private final LongAdder[] chartCounts = new LongAdder[TIERS.length];
+    private final LongAdder[] chartNanos = new LongAdder[TIERS.length];
+    private final AtomicLong[] maxChartNanos = new AtomicLong[TIERS.length];
+    private final LongAdder[] batchInstants = new LongAdder[TIERS.length];
+    private final LongAdder[] batchNanos = new LongAdder[TIERS.length];
+
+    /**
+     * {@code standard} must cover every date; a null {@code research} engine
+     * falls back to it. A {@link SwissEphemerisEngine} standard engine runs
+     * inside the chart kernel's own SwissEph borrow.
+     */
+    public EphemerisRouter(EphemerisEngine preview, EphemerisEngine standard, EphemerisEngine research) {
+        engines[PrecisionTier.PREVIEW.ordinal()] = preview;
+        engines[PrecisionTier.STANDARD.ordinal()] = standard;
+        engines[PrecisionTier.RESEARCH.ordinal()] = research != null ? research : standard;
+        ChartKernel standardKernel = standard instanceof SwissEphemerisEngine ? new ChartKernel() : new ChartKernel(standard);
+        for (PrecisionTier tier : TIERS) {
+            int t = tier.ordinal();
+            kernels[t] = engines[t] == standard ? standardKernel
+                : new ChartKernel(engines[t], tier == PrecisionTier.PREVIEW);
+            chartCounts[t] = new LongAdder();
+            chartNanos[t] = new LongAdder();
+            maxChartNanos[t] = new AtomicLong();
+            batchInstants[t] = new LongAdder();
+            batchNanos[t] = new LongAdder();
+        }
+    }
+
+    /** The engine that serves a tier at a Julian day (UT). */
+    public EphemerisEngine engine(PrecisionTier tier, double julianDayUt) {
+        EphemerisEngine engine = engines[tier.ordinal()];
+        return engine.covers(julianDayUt) ? engine : engines[PrecisionTier.STANDARD.ordinal()];
+    }
+
+    /** {@link ChartKernel#compute} with the tier's engine. */
+    public ChartResult compute(PrecisionTier tier, double julianDay, double latitude, double longitude,
+                               HouseSystem houseSystem, Ayanamsa ayanamsa, ChartResult result) {
+        int t = tier.ordinal();
+        ChartKernel kernel = engines[t].covers(julianDay) ? kernels[t] : kernels[PrecisionTier.STANDARD.ordinal()];
+        long start = System.nanoTime();
+        kernel.compute(julianDay, latitude, longitude, houseSystem, ayanamsa, result);
+        long elapsed = System.nanoTime() - start;
+        chartCounts[t].increment();
+        chartNanos[t].add(elapsed);
+        maxChartNanos[t].accumulateAndGet(elapsed, Math::max);
+        return result;
+    }
+
+    /**
+     * Every Planet at the first {@code count} Julian days (UT) into
+     * {@code out}, instant-major in ordinal order. The engine is chosen by the
+     * whole batch: if the tier's engine misses either end, the standard one
+     * runs. Returns the number of failed calculations.
+     */
+    public int calculate(PrecisionTier tier, double[] julianDays, int count, EphemerisBuffer out) {
+        if (count == 0) {
+            out.resize(0, Planet.COUNT);
+            return 0;
+        }
+        int t = tier.ordinal();
+        EphemerisEngine engine = engine(tier, julianDays[0]);
+        if (engine != engine(tier, julianDays[count - 1])) {
+            engine = engines[PrecisionTier.STANDARD.ordinal()];
+        }
+        long start = System.nanoTime();
+        int failures = engine.calculate(julianDays, count, out);
+        batchNanos[t].add(System.nanoTime() - start);
+        batchInstants[t].add(count);
+        return failures;
+    }
+
+    public List<TierProfile> getProfiles() {
+        List<TierProfile> profiles = new ArrayList<>(TIERS.length);
+        for (PrecisionTier tier : TIERS) {
+            int t = tier.ordinal();
+            long charts = chartCounts[t].sum();
+            long instants = batchInstants[t].sum();
+            profiles.add(new TierProfile(tier.name().toLowerCase(), engines[t].getName(),
+                engines[t].getMaxErrorArcsec(), charts,
+                charts == 0 ? 0.0 : chartNanos[t].sum() / 1000.0 / charts,
+                maxChartNanos[t].get() / 1000.0, instants,
+                instants == 0 ? 0.0 : batchNanos[t].sum() / 1000.0 / instants));
+        }
+        return profiles;
+    }
+
+    public static final class TierProfile {
+        private final String tier;
+        private final String engine;
+        private final double maxErrorArcsec;
+        private final long charts;
+        private final double meanChartMicros;
+        private final double maxChartMicros;
+        private final long batchInstants;
+        private final double meanInstantMicros;
+
+        TierProfile(String tier, String engine, double maxErrorArcsec, long charts, double meanChartMicros,
+                    double maxChartMicros, long batchInstants, double meanInstantMicros) {
+            this.tier = tier;
+            this.engine = engine;
+            this.maxErrorArcsec = maxErrorArcsec;
+            this.charts = charts;
+            this.meanChartMicros = meanChartMicros;
+            this.maxChartMicros = maxChartMicros;
+            this.batchInstants = batchInstants;
+            this.meanInstantMicros = meanInstantMicros;
+        }
+
+        public String getTier() {
+            return tier;
+        }
+
+        // Engine configured for the tier; dates it does not cover go to the standard one
+        public String getEngine() {
+            return engine;
+        }
+
+        public double getMaxErrorArcsec() {
+            return maxErrorArcsec;
+        }
+
+        public long getCharts() {
+            return charts;
+        }
+
+        public double getMeanChartMicros() {
+            return meanChartMicros;
+        }
+
+        public double getMaxChartMicros() {
+            return maxChartMicros;
+        }
+
+        public long getBatchInstants() {
+            return batchInstants;
+        }
+
+        public double getMeanInstantMicros() {
+            return meanInstantMicros;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.astrology.api.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fixed stars from a CSV catalogue of J2000 equatorial coordinates, proper
+ * motions and magnitudes (the bundled {@code fixed-stars.csv} unless another
+ * file is given). Ecliptic positions of date apply proper motion, IAU 1976
+ * precession (Lieske) and the mean obliquity of date; the caller adds the
+ * nutation in longitude for apparent positions. Annual aberration (up to
+ * 20 arcseconds) is left out.
+ *
+ * Positions for every star are computed together and cached per day: a day
+ * of precession moves a star by 0.14 arcseconds. Instances are thread-safe.
+ */
+public class FixedStarCatalogue {
+    private static final String RESOURCE = "/fixed-stars.csv";
+    private static final int CACHE_SIZE = 256;
+    private static final double ARCSEC = Math.PI / (180.0 * 3600.0);
+    private static final double MAS_TO_DEGREES = 1.0 / 3_600_000.0;
+
+    private static volatile FixedStarCatalogue bundled;
+
+    private final String[] names;
+    private final double[] rightAscensions;
+    private final double[] declinations;
+    private final double[] properMotionRa;
+    private final double[] properMotionDec;
+    private final double[] magnitudes;
+    // Day number -> interleaved ecliptic longitude and latitude of every star (degrees)
+    private final Map<Long, double[]> epochs = Collections.synchronizedMap(
+        new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, double[]> eldest) {
+                return size() > CACHE_SIZE;
+            }
+        });
+
+    private FixedStarCatalogue(List<String[]> rows) {
+        int count = rows.size();
+        names = new String[count];
+        rightAscensions = new double[count];
+        declinations = new double[count];
+        properMotionRa = new double[count];
+        properMotionDec = new double[count];
+        magnitudes = new double[count];
+        for (int i = 0; i < count; i++) {
+            String[] row = rows.get(i);
+            names[i] = row[0].trim();
+            rightAscensions[i] = Double.parseDouble(row[1].trim());
+            declinations[i] = Double.parseDouble(row[2].trim());
+            properMotionRa[i] = Double.parseDouble(row[3].trim());
+            properMotionDec[i] = Double.parseDouble(row[4].trim());
+            magnitudes[i] = Double.parseDouble(row[5].trim());
+        }
+    }
+
+    /** The catalogue bundled with the application, loaded once. */
+    public static FixedStarCatalogue bundled() {
+        FixedStarCatalogue catalogue = bundled;
+        if (catalogue == null) {
+            synchronized (FixedStarCatalogue.class) {
+                catalogue = bundled;
+                if (catalogue == null) {
+                    try (InputStream in = FixedStarCatalogue.class.getResourceAsStream(RESOURCE)) {
+                        if (in == null) {
+                            throw new IllegalStateException("Fixed star catalogue " + RESOURCE + " is missing");
+                        }
+                        catalogue = read(in);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    bundled = catalogue;
+                }
+            }
+        }
+        return catalogue;
+    }
+
+    public static FixedStarCatalogue open(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return read(in);
+        }
+    }
+
+    private static FixedStarCatalogue read(InputStream in) throws IOException {
+        List<String[]> rows = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        int number = 0;
+        while ((line = reader.readLine()) != null) {
+            number++;
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            String[] row = line.split(",");
+            if (row.length < 6) {
+                throw new IOException("Fixed star catalogue line " + number + " has " + row.length + " fields");
+            }
+            rows.add(row);
+        }
+        return new FixedStarCatalogue(rows);
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    public String name(int star) {
+        return names[star];
+    }
+
+    public double magnitude(int star) {
+        return magnitudes[star];
+    }
+
+    /**
+     * Mean ecliptic longitude and latitude of date of every star, interleaved
+     * ({@code [2 * star]} and {@code [2 * star + 1]}, degrees), for the day
+     * containing {@code julianDayUt}. The array is shared and must not be
+     * modified.
+     */
+    public double[] positions(double julianDayUt) {
+        long day = Math.round(julianDayUt);
+        double[] cached = epochs.get(day);
+        if (cached != null) {
+            return cached;
+        }
+        double[] computed = compute(day);
+        double[] existing = epochs.putIfAbsent(day, computed);
+        return existing != null ? existing : computed;
+    }
+
+    private double[] compute(double julianDayUt) {
+        double t = TimeScale.centuries(TimeScale.julianDayTt(julianDayUt));
+        double years = t * 100.0;
+
+        // Equatorial precession from J2000 to the epoch: R3(-z) R2(theta) R3(-zeta)
+        double zeta = (2306.2181 * t + 0.30188 * t * t + 0.017998 * t * t * t) * ARCSEC;
+        double z = (2306.2181 * t + 1.09468 * t * t + 0.018203 * t * t * t) * ARCSEC;
+        double theta = (2004.3109 * t - 0.42665 * t * t - 0.041833 * t * t * t) * ARCSEC;
+        double cosZeta = Math.cos(zeta);
+        double sinZeta = Math.sin(zeta);
+        double cosZ = Math.cos(z);
+        double sinZ = Math.sin(z);
+        double cosTheta = Math.cos(theta);
+        double sinTheta = Math.sin(theta);
+        double xx = cosZ * cosTheta * cosZeta - sinZ * sinZeta;
+        double xy = -cosZ * cosTheta * sinZeta - sinZ * cosZeta;
+        double xz = -cosZ * sinTheta;
+        double yx = sinZ * cosTheta * cosZeta + cosZ * sinZeta;
+        double yy = -sinZ * cosTheta * sinZeta + cosZ * cosZeta;
+        double yz = -sinZ * sinTheta;
+        double zx = sinTheta * cosZeta;
+        double zy = -sinTheta * sinZeta;
+        double zz = cosTheta;
+
+        // Mean obliquity of date (IAU 1976)
+        double epsilon = (84381.448 - 46.8150 * t - 0.00059 * t * t + 0.001813 * t * t * t) * ARCSEC;
+        double cosEpsilon = Math.cos(epsilon);
+        double sinEpsilon = Math.sin(epsilon);
+
+        double[] positions = new double[names.length * 2];
+        for (int star = 0; star < names.length; star++) {
+            double dec0 = declinations[star];
+            double ra = Math.toRadians(rightAscensions[star]
+                + properMotionRa[star] * MAS_TO_DEGREES * years / Math.cos(Math.toRadians(dec0)));
+            double dec = Math.toRadians(dec0 + properMotionDec[star] * MAS_TO_DEGREES * years);
+            double x0 = Math.cos(dec) * Math.cos(ra);
+            double y0 = Math.cos(dec) * Math.sin(ra);
+            double z0 = Math.sin(dec);
+
+            double x = xx * x0 + xy * y0 + xz * z0;
+            double y = yx * x0 + yy * y0 + yz * z0;
+            double zValue = zx * x0 + zy * y0 + zz * z0;
+
+            // Equator of date to ecliptic of date
+            double eclipticY = y * cosEpsilon + zValue * sinEpsilon;
+            double eclipticZ = -y * sinEpsilon + zValue * cosEpsilon;
+            double longitude = Math.toDegrees(Math.atan2(eclipticY, x));
+            positions[star * 2] = longitude < 0 ? longitude + 360.0 : longitude;
+            positions[star * 2 + 1] = Math.toDegrees(Math.asin(Math.max(-1.0, Math.min(1.0, eclipticZ))));
+        }
+        return positions;
+    }
+}
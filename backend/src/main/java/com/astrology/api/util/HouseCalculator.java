@@ -1,20 +1,29 @@
 package com.astrology.api.util;
 
+import com.astrology.api.model.astrology.HouseSystem;
+
 import java.time.LocalDateTime;
-import java.time.ZoneId;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class HouseCalculator {
     private static final Logger logger = LoggerFactory.getLogger(HouseCalculator.class);
 
+    public static final int CUSP_COUNT = 13;
+    public static final int ASCMC_COUNT = 10;
+
+    private static final double SQRT3_2 = Math.sqrt(3.0) / 2;
+    private static final double VERY_SMALL = 1e-10;
+    private static final double PLACIDUS_TOLERANCE = 1e-8;
+    private static final int PLACIDUS_MAX_ITERATIONS = 100;
+
     private static final double DEGREES_PER_HOUR = 15.0;
     private static final double DEGREES_PER_MINUTE = 0.25;
     private static final double DEGREES_PER_SECOND = 0.004166666666666667;
     
     public static double calculateAscendant(LocalDateTime birthDateTime, double latitude, double longitude) {
         // Convert birth time to Julian Day
-        double julianDay = calculateJulianDay(birthDateTime);
+        double julianDay = TimeScale.julianDayUtc(birthDateTime);
         
         // Calculate sidereal time
         double siderealTime = calculateSiderealTime(julianDay, longitude);
@@ -28,39 +37,6 @@ public class HouseCalculator {
         return normalizeAngle(ascendant);
     }
     
-    public static double[] calculateHouseCusps(double ascendant, double latitude) {
-        double[] cusps = new double[12];
-        
-        // Calculate houses using Placidus house system
-        for (int i = 0; i < 12; i++) {
-            double houseAngle = (ascendant + i * 30.0) % 360.0;
-            cusps[i] = calculatePlacidusCusp(houseAngle, latitude);
-        }
-        
-        return cusps;
-    }
-    
-    private static double calculateJulianDay(LocalDateTime dateTime) {
-        int year = dateTime.getYear();
-        int month = dateTime.getMonthValue();
-        int day = dateTime.getDayOfMonth();
-        int hour = dateTime.getHour();
-        int minute = dateTime.getMinute();
-        int second = dateTime.getSecond();
-        
-        // Convert to Julian Day
-        double a = Math.floor((14 - month) / 12);
-        double y = year + 4800 - a;
-        double m = month + 12 * a - 3;
-        
-        double jd = day + Math.floor((153 * m + 2) / 5) + 365 * y + Math.floor(y / 4) 
-                  - Math.floor(y / 100) + Math.floor(y / 400) - 32045;
-        
-        // Add time component
-        double time = (hour + minute / 60.0 + second / 3600.0) / 24.0;
-        return jd + time;
-    }
-    
     private static double calculateSiderealTime(double julianDay, double longitude) {
         // Calculate Greenwich sidereal time
         double t = (julianDay - 2451545.0) / 36525.0;
@@ -100,16 +76,6 @@ public class HouseCalculator {
         return normalizeAngle(ascendant);
     }
     
-    private static double calculatePlacidusCusp(double houseAngle, double latitude) {
-        // Calculate Placidus house system
-        double cusp = Math.atan2(
-            Math.tan(houseAngle * Math.PI / 180.0),
-            Math.cos(latitude * Math.PI / 180.0)
-        ) * 180.0 / Math.PI;
-        
-        return normalizeAngle(cusp);
-    }
-    
     private static double normalizeAngle(double angle) {
         angle = angle % 360;
         if (angle < 0) {
@@ -119,43 +85,259 @@ public class HouseCalculator {
     }
 
     public static double[] calculateHouses(double julianDay, double latitude, double longitude) {
-        // Calculate Greenwich sidereal time
-        double lst = calculateLST(julianDay, longitude);
-        
-        // Calculate house cusps using Placidus system
-        double[] houses = new double[12];
-        
-        // RAMC (Right Ascension of Midheaven)
-        double ramc = lst * 15.0; // Convert hours to degrees
-        houses[9] = ramc; // Midheaven (10th house)
-        
-        // Calculate other house cusps
-        for (int i = 0; i < 12; i++) {
-            // Simple equal house system: each house is 30 degrees
-            houses[i] = (ramc + (i * 30.0)) % 360.0;
+        double[] cusps = new double[CUSP_COUNT];
+        calculateHouses(julianDay, latitude, longitude, HouseSystem.PLACIDUS, cusps, new double[ASCMC_COUNT]);
+        return cusps;
+    }
+
+    /**
+     * House cusps for a Julian day (UT) and geographic position. Sidereal time
+     * and the true obliquity come from {@link #obliquityAndNutation}, so no
+     * SwissEph instance is needed. They pass through {@code ascmc} before it
+     * is filled, so nothing is allocated.
+     */
+    public static HouseSystem calculateHouses(double julianDay, double latitude, double longitude,
+                                              HouseSystem system, double[] cusps, double[] ascmc) {
+        obliquityAndNutation(julianDay, ascmc);
+        double obliquity = ascmc[0];
+        double armc = TimeScale.meanSiderealTime(julianDay)
+                + ascmc[1] * Math.cos(Math.toRadians(obliquity)) + longitude;
+        return calculateHousesFromSiderealTime(normalizeAngle(armc), latitude, obliquity, system, cusps, ascmc);
+    }
+
+    /**
+     * True obliquity into {@code out[0]} and nutation in longitude into
+     * {@code out[1]}, in degrees, at a Julian day (UT), from closed-form
+     * series: mean obliquity IAU 2006 plus the largest nutation terms, good
+     * to about an arcsecond.
+     */
+    public static void obliquityAndNutation(double julianDay, double[] out) {
+        double t = TimeScale.centuries(TimeScale.julianDayTt(julianDay));
+        double omega = Math.toRadians(125.04452 - 1934.136261 * t);
+        double sunLongitude = Math.toRadians(280.4665 + 36000.7698 * t);
+        double moonLongitude = Math.toRadians(218.3165 + 481267.8813 * t);
+        double nutationLongitude = nutationLongitude(omega, sunLongitude, moonLongitude);
+        double nutationObliquity = (9.20 * Math.cos(omega) + 0.57 * Math.cos(2 * sunLongitude)
+                + 0.10 * Math.cos(2 * moonLongitude) - 0.09 * Math.cos(2 * omega)) / 3600.0;
+        out[0] = (84381.406 - 46.836769 * t - 0.0001831 * t * t + 0.00200340 * t * t * t) / 3600.0
+                + nutationObliquity;
+        out[1] = nutationLongitude;
+    }
+
+    /** Nutation in longitude in degrees at a Julian day (UT), the series of {@link #obliquityAndNutation}. */
+    public static double nutationLongitude(double julianDay) {
+        double t = TimeScale.centuries(TimeScale.julianDayTt(julianDay));
+        return nutationLongitude(Math.toRadians(125.04452 - 1934.136261 * t),
+                Math.toRadians(280.4665 + 36000.7698 * t), Math.toRadians(218.3165 + 481267.8813 * t));
+    }
+
+    private static double nutationLongitude(double omega, double sunLongitude, double moonLongitude) {
+        return (-17.20 * Math.sin(omega) - 1.32 * Math.sin(2 * sunLongitude)
+                - 0.23 * Math.sin(2 * moonLongitude) + 0.21 * Math.sin(2 * omega)) / 3600.0;
+    }
+
+    /**
+     * Fills {@code cusps[1..12]} (index 0 unused, as in swe_houses) and
+     * {@code ascmc[0..4]} (Ascendant, MC, ARMC, Vertex, equatorial Ascendant)
+     * from the local sidereal time (ARMC), geographic latitude and true
+     * obliquity, all in degrees. Follows the Swiss Ephemeris formulas and
+     * allocates nothing, so it is safe to call from any thread.
+     *
+     * Placidus and Koch are undefined inside the polar circles; like SwissEph
+     * they fall back to Porphyry there. Returns the system actually used.
+     */
+    public static HouseSystem calculateHousesFromSiderealTime(double armc, double latitude, double obliquity,
+                                                             HouseSystem system, double[] cusps, double[] ascmc) {
+        double sine = Math.sin(Math.toRadians(obliquity));
+        double cose = Math.cos(Math.toRadians(obliquity));
+        double mc = ascendant(armc, 0, sine, cose);
+        double asc = ascendant(armc + 90, latitude, sine, cose);
+        boolean polar = Math.abs(latitude) >= 90 - obliquity;
+        if (polar && (system == HouseSystem.PLACIDUS || system == HouseSystem.KOCH)) {
+            system = HouseSystem.PORPHYRY;
         }
-        
-        return houses;
+
+        double tanLatitude = Math.tan(Math.toRadians(latitude));
+        switch (system) {
+            case PLACIDUS -> {
+                cusps[11] = placidusCusp(armc + 30, 1.0 / 3, tanLatitude, sine, cose);
+                cusps[12] = placidusCusp(armc + 60, 2.0 / 3, tanLatitude, sine, cose);
+                cusps[2] = placidusCusp(armc + 120, 2.0 / 3, tanLatitude, sine, cose);
+                cusps[3] = placidusCusp(armc + 150, 1.0 / 3, tanLatitude, sine, cose);
+            }
+            case KOCH -> {
+                double sina = clamp(Math.sin(Math.toRadians(mc)) * sine / Math.cos(Math.toRadians(latitude)));
+                double cosa = Math.sqrt(1 - sina * sina);
+                double c = Math.atan(tanLatitude / cosa);
+                double ad3 = Math.toDegrees(Math.asin(Math.sin(c) * sina)) / 3.0;
+                cusps[11] = ascendant(armc + 30 - 2 * ad3, latitude, sine, cose);
+                cusps[12] = ascendant(armc + 60 - ad3, latitude, sine, cose);
+                cusps[2] = ascendant(armc + 120 + ad3, latitude, sine, cose);
+                cusps[3] = ascendant(armc + 150 + 2 * ad3, latitude, sine, cose);
+            }
+            case REGIOMONTANUS -> {
+                double pole1 = Math.toDegrees(Math.atan(tanLatitude * 0.5));
+                double pole2 = Math.toDegrees(Math.atan(tanLatitude * SQRT3_2));
+                cusps[11] = ascendant(armc + 30, pole1, sine, cose);
+                cusps[12] = ascendant(armc + 60, pole2, sine, cose);
+                cusps[2] = ascendant(armc + 120, pole2, sine, cose);
+                cusps[3] = ascendant(armc + 150, pole1, sine, cose);
+            }
+            case CAMPANUS -> {
+                double sinLatitude = Math.sin(Math.toRadians(latitude));
+                double cosLatitude = Math.cos(Math.toRadians(latitude));
+                double pole1 = Math.toDegrees(Math.asin(sinLatitude * 0.5));
+                double pole2 = Math.toDegrees(Math.asin(sinLatitude * SQRT3_2));
+                double offset1 = Math.toDegrees(Math.atan2(Math.sqrt(3.0), cosLatitude));
+                double offset2 = Math.toDegrees(Math.atan2(1 / Math.sqrt(3.0), cosLatitude));
+                cusps[11] = ascendant(armc + 90 - offset1, pole1, sine, cose);
+                cusps[12] = ascendant(armc + 90 - offset2, pole2, sine, cose);
+                cusps[2] = ascendant(armc + 90 + offset2, pole2, sine, cose);
+                cusps[3] = ascendant(armc + 90 + offset1, pole1, sine, cose);
+            }
+            case PORPHYRY -> {
+                if (ascendantBelowHorizon(asc, mc)) {
+                    asc = normalizeAngle(asc + 180);
+                }
+                divideFromAngles(system, asc, mc, cusps);
+            }
+            case EQUAL, WHOLE_SIGN -> {
+                if (polar && ascendantBelowHorizon(asc, mc)) {
+                    asc = normalizeAngle(asc + 180);
+                }
+                divideFromAngles(system, asc, mc, cusps);
+            }
+        }
+        if (polar && (system == HouseSystem.REGIOMONTANUS || system == HouseSystem.CAMPANUS)
+                && ascendantBelowHorizon(asc, mc)) {
+            // The whole house circle is turned round, MC included
+            asc = normalizeAngle(asc + 180);
+            mc = normalizeAngle(mc + 180);
+            cusps[11] = normalizeAngle(cusps[11] + 180);
+            cusps[12] = normalizeAngle(cusps[12] + 180);
+            cusps[2] = normalizeAngle(cusps[2] + 180);
+            cusps[3] = normalizeAngle(cusps[3] + 180);
+        }
+        fillOpposite(system, asc, mc, cusps);
+
+        ascmc[0] = asc;
+        ascmc[1] = mc;
+        ascmc[2] = normalizeAngle(armc);
+        ascmc[3] = vertex(armc, latitude, obliquity, sine, cose, mc);
+        ascmc[4] = ascendant(armc + 90, 0, sine, cose);
+        return system;
     }
-    
-    private static double calculateLST(double julianDay, double longitude) {
-        // Calculate Greenwich sidereal time
-        double t = (julianDay - 2451545.0) / 36525.0;
-        double gmst = 280.46061837 + 360.98564736629 * (julianDay - 2451545.0) +
-                     t * t * (0.000387933 - t / 38710000.0);
-        
-        // Normalize to [0, 360)
-        gmst = (gmst + 360.0) % 360.0;
-        
-        // Convert to hours
-        double gmsth = gmst / 15.0;
-        
-        // Add local longitude (in hours)
-        double lst = gmsth + (longitude / 15.0);
-        
-        // Normalize to [0, 24)
-        lst = (lst + 24.0) % 24.0;
-        
-        return lst;
+
+    /**
+     * Fast-angles mode of {@link #calculateHousesFromSiderealTime} for time
+     * sliders: the angles and intermediate cusps are interpolated in the
+     * system's {@link AngleTable}, within the arcseconds it documents; only
+     * the Vertex is computed directly. Above
+     * {@link AngleTable#MAX_LATITUDE}, or for an obliquity the table does not
+     * cover, the cusps are computed exactly.
+     */
+    public static HouseSystem calculateHousesFast(double armc, double latitude, double obliquity,
+                                                  HouseSystem system, double[] cusps, double[] ascmc) {
+        if (!AngleTable.of(system).lookup(armc, latitude, obliquity, cusps, ascmc)) {
+            return calculateHousesFromSiderealTime(armc, latitude, obliquity, system, cusps, ascmc);
+        }
+        if (!AngleTable.hasIntermediateCusps(system)) {
+            divideFromAngles(system, ascmc[0], ascmc[1], cusps);
+        }
+        fillOpposite(system, ascmc[0], ascmc[1], cusps);
+        ascmc[3] = vertex(armc, latitude, obliquity, Math.sin(Math.toRadians(obliquity)),
+                Math.cos(Math.toRadians(obliquity)), ascmc[1]);
+        return system;
+    }
+
+    // The Vertex is the western intersection of the prime vertical with the ecliptic
+    private static double vertex(double armc, double latitude, double obliquity, double sine, double cose,
+                                 double mc) {
+        double vertexPole = latitude >= 0 ? 90 - latitude : -90 - latitude;
+        double vertex = ascendant(armc - 90, vertexPole, sine, cose);
+        if (Math.abs(latitude) <= obliquity && difference(vertex, mc) > 0) {
+            vertex = normalizeAngle(vertex + 180);
+        }
+        return vertex;
+    }
+
+    // Porphyry trisects the quadrants between the angles; Equal and Whole Sign count 30 degrees
+    private static void divideFromAngles(HouseSystem system, double asc, double mc, double[] cusps) {
+        if (system == HouseSystem.PORPHYRY) {
+            double ascToMc = difference(asc, mc);
+            cusps[11] = normalizeAngle(mc + ascToMc / 3);
+            cusps[12] = normalizeAngle(mc + ascToMc / 3 * 2);
+            cusps[2] = normalizeAngle(asc + (180 - ascToMc) / 3);
+            cusps[3] = normalizeAngle(asc + (180 - ascToMc) / 3 * 2);
+        } else {
+            double first = system == HouseSystem.EQUAL ? asc : Math.floor(asc / 30.0) * 30.0;
+            for (int house = 1; house <= 12; house++) {
+                cusps[house] = normalizeAngle(first + (house - 1) * 30.0);
+            }
+        }
+    }
+
+    // Quadrant systems mirror cusps 10-12 and 1-3 into the opposite houses
+    private static void fillOpposite(HouseSystem system, double asc, double mc, double[] cusps) {
+        if (system.isQuadrant()) {
+            cusps[1] = asc;
+            cusps[10] = mc;
+            cusps[4] = normalizeAngle(mc + 180);
+            cusps[5] = normalizeAngle(cusps[11] + 180);
+            cusps[6] = normalizeAngle(cusps[12] + 180);
+            cusps[7] = normalizeAngle(asc + 180);
+            cusps[8] = normalizeAngle(cusps[2] + 180);
+            cusps[9] = normalizeAngle(cusps[3] + 180);
+        }
+        cusps[0] = 0;
+    }
+
+    // Placidus cusp: iterate the pole height until the cusp's semi-arc fraction is met
+    private static double placidusCusp(double rectAscension, double fraction,
+                                       double tanLatitude, double sine, double cose) {
+        double firstPole = Math.toDegrees(Math.atan(Math.sin(
+                Math.asin(tanLatitude * sine / cose) * fraction)));
+        double cusp = ascendant(rectAscension, firstPole, sine, cose);
+        double previous = cusp;
+        for (int i = 1; i <= PLACIDUS_MAX_ITERATIONS; i++) {
+            double tanDeclination = Math.tan(Math.asin(sine * Math.sin(Math.toRadians(cusp))));
+            if (Math.abs(tanDeclination) < VERY_SMALL) {
+                return normalizeAngle(rectAscension);
+            }
+            double pole = Math.toDegrees(Math.atan(Math.sin(
+                    Math.asin(clamp(tanLatitude * tanDeclination)) * fraction) / tanDeclination));
+            cusp = ascendant(rectAscension, pole, sine, cose);
+            if (i > 1 && Math.abs(difference(cusp, previous)) < PLACIDUS_TOLERANCE) {
+                break;
+            }
+            previous = cusp;
+        }
+        return cusp;
+    }
+
+    /**
+     * Ecliptic longitude rising at the given oblique ascension for a pole
+     * height, i.e. Asc1() in swehouse.c. With pole 0 this converts right
+     * ascension to longitude.
+     */
+    private static double ascendant(double obliqueAscension, double pole, double sine, double cose) {
+        double x = Math.toRadians(obliqueAscension);
+        double y = Math.cos(x) * cose - Math.tan(Math.toRadians(pole)) * sine;
+        return normalizeAngle(Math.toDegrees(Math.atan2(Math.sin(x), y)));
+    }
+
+    // Inside the polar circles the formula can return the descendant instead
+    private static boolean ascendantBelowHorizon(double asc, double mc) {
+        return difference(asc, mc) < 0;
+    }
+
+    // Signed difference a - b in (-180, 180]
+    private static double difference(double a, double b) {
+        double d = normalizeAngle(a - b);
+        return d > 180 ? d - 360 : d;
+    }
+
+    private static double clamp(double value) {
+        return Math.max(-1.0, Math.min(1.0, value));
     }
-} 
\ No newline at end of file
+}
@@ -2,12 +2,71 @@ package com.astrology.api.util;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import swisseph.SweConst;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 
+/**
+ * Reader for JPL DE binary ephemeris files (DE405, DE430, DE440, ...).
+ * The file is memory-mapped once in {@link #open()} and Chebyshev coefficients
+ * are read straight from the mapping, so evaluation allocates nothing and
+ * instances can be shared between threads. Without a configured file the
+ * reader falls back to the Keplerian approximation in
+ * {@link #calculatePlanetPosition(double, int)}.
+ */
 public class JPLDE405Reader {
     private static final Logger logger = LoggerFactory.getLogger(JPLDE405Reader.class);
 
+    // Target indices in the DE coefficient pointer table
+    public static final int MERCURY = 0;
+    public static final int VENUS = 1;
+    public static final int EARTH_MOON_BARYCENTER = 2;
+    public static final int MARS = 3;
+    public static final int JUPITER = 4;
+    public static final int SATURN = 5;
+    public static final int URANUS = 6;
+    public static final int NEPTUNE = 7;
+    public static final int PLUTO = 8;
+    public static final int MOON = 9; // geocentric
+    public static final int SUN = 10;
+    public static final int NUTATIONS = 11;
+    public static final int LIBRATIONS = 12;
+
+    // Header layout of the first record (see JPL's asc2eph / jpleph.c)
+    private static final int HEADER_SS_OFFSET = 2652;
+    private static final int HEADER_NCON_OFFSET = 2676;
+    private static final int HEADER_AU_OFFSET = 2680;
+    private static final int HEADER_EMRAT_OFFSET = 2688;
+    private static final int HEADER_IPT_OFFSET = 2696;
+    private static final int HEADER_NUMDE_OFFSET = 2840;
+    private static final int HEADER_LPT_OFFSET = 2844;
+
+    private static final double SPEED_OF_LIGHT_KM_PER_DAY = 299792.458 * 86400.0;
+    private static final double J2000 = 2451545.0;
+    private static final double OBLIQUITY_J2000 = Math.toRadians(84381.406 / 3600.0);
+    private static final double COS_OBLIQUITY = Math.cos(OBLIQUITY_J2000);
+    private static final double SIN_OBLIQUITY = Math.sin(OBLIQUITY_J2000);
+    private static final double ARCSEC = Math.PI / (180.0 * 3600.0);
+
+    private final Path file;
+    private MappedByteBuffer[] segments;
+    private int recordsPerSegment;
+    private int recordSize;
+    private int recordCount;
+    private final int[][] pointers = new int[13][3];
+    private double startJd;
+    private double endJd;
+    private double recordSpan;
+    private double au;
+    private double earthMoonRatio;
+    private int deNumber;
+
     // Constants for orbital elements (simplified)
     private static final double[] SEMI_MAJOR_AXIS = {
         0.387098,  // Mercury
@@ -81,8 +140,278 @@ public class JPLDE405Reader {
         238.9289   // Pluto
     };
 
+    public JPLDE405Reader() {
+        this(null);
+    }
+
+    public JPLDE405Reader(Path file) {
+        this.file = file;
+    }
+
     public void open() throws IOException {
-        logger.info("Initialized basic astronomical calculator");
+        if (file == null) {
+            logger.info("No JPL ephemeris file configured, using Keplerian approximation");
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(channel.size(), 2856 + 3 * 4));
+            header.order(detectByteOrder(header));
+
+            startJd = header.getDouble(HEADER_SS_OFFSET);
+            endJd = header.getDouble(HEADER_SS_OFFSET + 8);
+            recordSpan = header.getDouble(HEADER_SS_OFFSET + 16);
+            au = header.getDouble(HEADER_AU_OFFSET);
+            earthMoonRatio = header.getDouble(HEADER_EMRAT_OFFSET);
+            deNumber = header.getInt(HEADER_NUMDE_OFFSET);
+            for (int i = 0; i < 12; i++) {
+                for (int j = 0; j < 3; j++) {
+                    pointers[i][j] = header.getInt(HEADER_IPT_OFFSET + (i * 3 + j) * 4);
+                }
+            }
+            for (int j = 0; j < 3; j++) {
+                pointers[LIBRATIONS][j] = header.getInt(HEADER_LPT_OFFSET + j * 4);
+            }
+
+            // Record length follows from the last coefficient block (jpleph.c "ksize")
+            int last = 0;
+            for (int i = 1; i < pointers.length; i++) {
+                if (pointers[i][0] > pointers[last][0]) {
+                    last = i;
+                }
+            }
+            int components = last == NUTATIONS ? 2 : 3;
+            int coefficientsPerRecord = pointers[last][0] - 1 + components * pointers[last][1] * pointers[last][2];
+            recordSize = coefficientsPerRecord * 8;
+
+            // Two header records precede the coefficient records
+            long dataSize = channel.size() - 2L * recordSize;
+            recordCount = (int) Math.min(dataSize / recordSize, Math.round((endJd - startJd) / recordSpan));
+            recordsPerSegment = Integer.MAX_VALUE / recordSize;
+            int segmentCount = (recordCount + recordsPerSegment - 1) / recordsPerSegment;
+            segments = new MappedByteBuffer[segmentCount];
+            for (int i = 0; i < segmentCount; i++) {
+                long offset = 2L * recordSize + (long) i * recordsPerSegment * recordSize;
+                int records = Math.min(recordsPerSegment, recordCount - i * recordsPerSegment);
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, offset, (long) records * recordSize);
+                segments[i].order(header.order());
+            }
+        }
+
+        logger.info("Mapped DE{} ephemeris {} covering JD {} to {} ({} records of {} bytes)",
+                deNumber, file, startJd, endJd, recordCount, recordSize);
+    }
+
+    private static ByteOrder detectByteOrder(ByteBuffer header) {
+        header.order(ByteOrder.LITTLE_ENDIAN);
+        int numde = header.getInt(HEADER_NUMDE_OFFSET);
+        if (numde > 0 && numde < 10000) {
+            return ByteOrder.LITTLE_ENDIAN;
+        }
+        return ByteOrder.BIG_ENDIAN;
+    }
+
+    public boolean isOpen() {
+        return segments != null;
+    }
+
+    public boolean covers(double julianDayTdb) {
+        return isOpen() && julianDayTdb >= startJd && julianDayTdb <= endJd;
+    }
+
+    public int getDeNumber() {
+        return deNumber;
+    }
+
+    public double getStartJd() {
+        return startJd;
+    }
+
+    public double getEndJd() {
+        return endJd;
+    }
+
+    public double getAu() {
+        return au;
+    }
+
+    public double getEarthMoonRatio() {
+        return earthMoonRatio;
+    }
+
+    public int recordIndex(double julianDayTdb) {
+        if (!covers(julianDayTdb)) {
+            throw new IllegalArgumentException("Julian day " + julianDayTdb + " outside ephemeris range "
+                    + startJd + " - " + endJd);
+        }
+        return Math.min((int) ((julianDayTdb - startJd) / recordSpan), recordCount - 1);
+    }
+
+    private double coefficient(int record, int index) {
+        MappedByteBuffer segment = segments[record / recordsPerSegment];
+        return segment.getDouble((record % recordsPerSegment) * recordSize + index * 8);
+    }
+
+    /**
+     * Evaluates a DE target at a TDB Julian day. Writes position (km, or radians
+     * for nutations/librations) into out[0..2] and velocity per day into
+     * out[3..5], ICRF equatorial and solar-system-barycentric except for the
+     * geocentric Moon.
+     */
+    public void evaluate(int target, double julianDayTdb, double[] out) {
+        int record = recordIndex(julianDayTdb);
+        int offset = pointers[target][0] - 1;
+        int coefficientCount = pointers[target][1];
+        int subIntervals = pointers[target][2];
+        int components = target == NUTATIONS ? 2 : 3;
+        if (coefficientCount == 0) {
+            throw new IllegalArgumentException("Target " + target + " is not present in DE" + deNumber);
+        }
+
+        // Normalised time within the record, then within the sub-interval
+        double recordStart = coefficient(record, 0);
+        double fraction = (julianDayTdb - recordStart) / recordSpan;
+        int subInterval = Math.min((int) (fraction * subIntervals), subIntervals - 1);
+        double x = 2.0 * (fraction * subIntervals - subInterval) - 1.0;
+        double velocityScale = 2.0 * subIntervals / recordSpan;
+
+        int base = offset + subInterval * components * coefficientCount;
+        for (int c = 0; c < components; c++) {
+            int start = base + c * coefficientCount;
+            double t0 = 1.0, t1 = x;
+            double d0 = 0.0, d1 = 1.0;
+            double position = coefficient(record, start);
+            double velocity = 0.0;
+            if (coefficientCount > 1) {
+                double a1 = coefficient(record, start + 1);
+                position += a1 * t1;
+                velocity += a1 * d1;
+            }
+            for (int k = 2; k < coefficientCount; k++) {
+                double t2 = 2.0 * x * t1 - t0;
+                double d2 = 2.0 * t1 + 2.0 * x * d1 - d0;
+                double a = coefficient(record, start + k);
+                position += a * t2;
+                velocity += a * d2;
+                t0 = t1;
+                t1 = t2;
+                d0 = d1;
+                d1 = d2;
+            }
+            out[c] = position;
+            out[c + 3] = velocity * velocityScale;
+        }
+        if (components == 2) {
+            out[2] = 0.0;
+            out[5] = 0.0;
+        }
+    }
+
+    /**
+     * Geocentric ecliptic-of-date position of a Swiss Ephemeris body (SE_SUN to
+     * SE_PLUTO) at a UT Julian day, in the same layout as swe_calc_ut with
+     * SEFLG_SPEED: longitude, latitude, distance (AU) and their daily speeds.
+     * Includes light-time, annual aberration, precession and the main nutation
+     * terms. {@code scratch} needs room for 6 doubles.
+     */
+    public void calculateGeocentric(double julianDayUt, int sweBody, double[] out, double[] scratch) {
+        double tdb = TimeScale.julianDayTt(julianDayUt);
+        int target = targetFor(sweBody);
+
+        // Barycentric Earth = EMB - Moon / (1 + EMRAT)
+        evaluate(EARTH_MOON_BARYCENTER, tdb, scratch);
+        double ex = scratch[0], ey = scratch[1], ez = scratch[2];
+        double evx = scratch[3], evy = scratch[4], evz = scratch[5];
+        evaluate(MOON, tdb, scratch);
+        double moonFactor = 1.0 / (1.0 + earthMoonRatio);
+        ex -= scratch[0] * moonFactor;
+        ey -= scratch[1] * moonFactor;
+        ez -= scratch[2] * moonFactor;
+        evx -= scratch[3] * moonFactor;
+        evy -= scratch[4] * moonFactor;
+        evz -= scratch[5] * moonFactor;
+
+        // Geometric geocentric vector, then one light-time iteration
+        geocentric(target, tdb, ex, ey, ez, evx, evy, evz, scratch);
+        double distance = Math.sqrt(scratch[0] * scratch[0] + scratch[1] * scratch[1] + scratch[2] * scratch[2]);
+        geocentric(target, tdb - distance / SPEED_OF_LIGHT_KM_PER_DAY, ex, ey, ez, evx, evy, evz, scratch);
+        double x = scratch[0], y = scratch[1], z = scratch[2];
+        double vx = scratch[3], vy = scratch[4], vz = scratch[5];
+
+        // Annual aberration (first order in v/c); the Moon travels with the Earth
+        if (target != MOON) {
+            distance = Math.sqrt(x * x + y * y + z * z);
+            x += distance * evx / SPEED_OF_LIGHT_KM_PER_DAY;
+            y += distance * evy / SPEED_OF_LIGHT_KM_PER_DAY;
+            z += distance * evz / SPEED_OF_LIGHT_KM_PER_DAY;
+        }
+
+        // Equatorial J2000 -> ecliptic J2000
+        double yEcl = y * COS_OBLIQUITY + z * SIN_OBLIQUITY;
+        double zEcl = -y * SIN_OBLIQUITY + z * COS_OBLIQUITY;
+        double vyEcl = vy * COS_OBLIQUITY + vz * SIN_OBLIQUITY;
+        double vzEcl = -vy * SIN_OBLIQUITY + vz * COS_OBLIQUITY;
+
+        double rho2 = x * x + yEcl * yEcl;
+        double r2 = rho2 + zEcl * zEcl;
+        double rho = Math.sqrt(rho2);
+        double r = Math.sqrt(r2);
+
+        double longitude = Math.atan2(yEcl, x) + precessionAndNutation(tdb);
+        double latitude = Math.atan2(zEcl, rho);
+        double longitudeSpeed = (x * vyEcl - yEcl * vx) / rho2;
+        double radialSpeed = (x * vx + yEcl * vyEcl + zEcl * vzEcl) / r;
+        double latitudeSpeed = (vzEcl * rho2 - zEcl * (x * vx + yEcl * vyEcl)) / (r2 * rho);
+
+        longitude = Math.toDegrees(longitude) % 360.0;
+        out[0] = longitude < 0 ? longitude + 360.0 : longitude;
+        out[1] = Math.toDegrees(latitude);
+        out[2] = r / au;
+        out[3] = Math.toDegrees(longitudeSpeed);
+        out[4] = Math.toDegrees(latitudeSpeed);
+        out[5] = radialSpeed / au;
+    }
+
+    private void geocentric(int target, double tdb, double ex, double ey, double ez,
+                            double evx, double evy, double evz, double[] scratch) {
+        evaluate(target, tdb, scratch);
+        if (target == MOON) {
+            return;
+        }
+        scratch[0] -= ex;
+        scratch[1] -= ey;
+        scratch[2] -= ez;
+        scratch[3] -= evx;
+        scratch[4] -= evy;
+        scratch[5] -= evz;
+    }
+
+    // General precession in longitude (IAU 2006) plus the largest nutation terms, in radians
+    private static double precessionAndNutation(double tdb) {
+        double t = (tdb - J2000) / 36525.0;
+        double precession = 5028.796195 * t + 1.1054348 * t * t;
+        double omega = Math.toRadians(125.04452 - 1934.136261 * t);
+        double sunLongitude = Math.toRadians(280.4665 + 36000.7698 * t);
+        double moonLongitude = Math.toRadians(218.3165 + 481267.8813 * t);
+        double nutation = -17.20 * Math.sin(omega) - 1.32 * Math.sin(2 * sunLongitude)
+                - 0.23 * Math.sin(2 * moonLongitude) + 0.21 * Math.sin(2 * omega);
+        return (precession + nutation) * ARCSEC;
+    }
+
+    private static int targetFor(int sweBody) {
+        return switch (sweBody) {
+            case SweConst.SE_SUN -> SUN;
+            case SweConst.SE_MOON -> MOON;
+            case SweConst.SE_MERCURY -> MERCURY;
+            case SweConst.SE_VENUS -> VENUS;
+            case SweConst.SE_MARS -> MARS;
+            case SweConst.SE_JUPITER -> JUPITER;
+            case SweConst.SE_SATURN -> SATURN;
+            case SweConst.SE_URANUS -> URANUS;
+            case SweConst.SE_NEPTUNE -> NEPTUNE;
+            case SweConst.SE_PLUTO -> PLUTO;
+            default -> throw new IllegalArgumentException("Body not available from JPL ephemeris: " + sweBody);
+        };
     }
 
     public double[] calculatePlanetPosition(double julianDay, int planetIndex) {
@@ -0,0 +1,73 @@
+package com.astrology.api.util;
+
+import com.astrology.api.model.astrology.Planet;
+
+/**
+ * A JPL DE file read by {@link JPLDE405Reader}, over the span of the file.
+ * The planetary theory is the reference; the error is the reader's
+ * reduction to apparent positions, mostly the nutation series cut to four
+ * terms (0.34 arcsec at worst against the full series, 1900-2100) and the
+ * gravitational deflection of light, which it leaves out.
+ */
+public class JplEngine implements EphemerisEngine {
+    private static final Planet[] PLANETS = Planet.all();
+    private static final double MAX_ERROR_ARCSEC = 1.0;
+
+    private final JPLDE405Reader reader;
+
+    // The reader must have been opened on a file
+    public JplEngine(JPLDE405Reader reader) {
+        if (!reader.isOpen()) {
+            throw new IllegalArgumentException("The JPL engine needs an ephemeris file");
+        }
+        this.reader = reader;
+    }
+
+    @Override
+    public String getName() {
+        return "jpl-de" + reader.getDeNumber();
+    }
+
+    @Override
+    public double getMaxErrorArcsec() {
+        return MAX_ERROR_ARCSEC;
+    }
+
+    @Override
+    public boolean covers(double julianDayUt) {
+        // Light time reaches back up to about six hours for Pluto
+        double tdb = TimeScale.julianDayTt(julianDayUt);
+        return reader.covers(tdb - 1) && reader.covers(tdb);
+    }
+
+    @Override
+    public int calculate(double julianDayUt, double[] bodies) {
+        double[] xx = new double[ChartResult.BODY_STRIDE];
+        double[] scratch = new double[6];
+        for (int p = 0; p < PLANETS.length; p++) {
+            reader.calculateGeocentric(julianDayUt, PLANETS[p].getSweBody(), xx, scratch);
+            System.arraycopy(xx, 0, bodies, p * ChartResult.BODY_STRIDE, ChartResult.BODY_STRIDE);
+        }
+        return 0;
+    }
+
+    @Override
+    public int calculate(double[] julianDays, int count, EphemerisBuffer out) {
+        out.resize(count, PLANETS.length);
+        double[] xx = new double[ChartResult.BODY_STRIDE];
+        double[] scratch = new double[6];
+        for (int i = 0; i < count; i++) {
+            for (int p = 0; p < PLANETS.length; p++) {
+                reader.calculateGeocentric(julianDays[i], PLANETS[p].getSweBody(), xx, scratch);
+                int index = out.index(i, p);
+                out.getLongitudes()[index] = xx[0];
+                out.getLatitudes()[index] = xx[1];
+                out.getDistances()[index] = xx[2];
+                out.getLongitudeSpeeds()[index] = xx[3];
+                out.getLatitudeSpeeds()[index] = xx[4];
+                out.getDistanceSpeeds()[index] = xx[5];
+            }
+        }
+        return 0;
+    }
+}
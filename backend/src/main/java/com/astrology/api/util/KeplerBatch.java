@@ -0,0 +1,187 @@
+package com.astrology.api.util;
+
+import com.astrology.api.model.astrology.Planet;
+
+/**
+ * Fast analytic positions of the ten {@link Planet}s for many instants at
+ * once, for previews and bulk scans where a few arcminutes are good enough.
+ *
+ * The planets move on Keplerian orbits with linearly varying elements
+ * (Standish, "Keplerian Elements for Approximate Positions of the Major
+ * Planets", JPL, table 1, valid 1800-2050): a fraction of a degree for the
+ * outer planets, better for the inner ones and the Sun. Kepler's equation is
+ * solved by a {@link KeplerKernel} for all instants of one body at a time.
+ * Geocentric positions correct for light time and aberration to first order
+ * and are precessed to the ecliptic of date; nutation is left out. The Moon
+ * comes from the low-precision series of the Astronomical Almanac (about
+ * 0.3 degrees in longitude).
+ *
+ * Output has {@link Planet#COUNT} bodies per instant in ordinal order. The
+ * instance keeps scratch arrays and is used by one thread at a time.
+ */
+public class KeplerBatch {
+    private static final double RADIANS = Math.PI / 180.0;
+    private static final double EARTH_RADIUS_AU = 6378.14 / 149597870.7;
+    // General precession in longitude, degrees per century and per century squared
+    private static final double PRECESSION = 5029.0966 / 3600.0;
+    private static final double PRECESSION_RATE = 1.11113 / 3600.0;
+
+    // a, e, I, L, longitude of perihelion, longitude of the node, each followed by its rate per century
+    private static final double[] EARTH_MOON_BARYCENTER = {
+        1.00000261, 0.00000562, 0.01671123, -0.00004392, -0.00001531, -0.01294668,
+        100.46457166, 35999.37244981, 102.93768193, 0.32327364, 0.0, 0.0};
+    private static final double[][] ELEMENTS = new double[Planet.COUNT][];
+
+    static {
+        ELEMENTS[Planet.MERCURY.ordinal()] = new double[]{
+            0.38709927, 0.00000037, 0.20563593, 0.00001906, 7.00497902, -0.00594749,
+            252.25032350, 149472.67411175, 77.45779628, 0.16047689, 48.33076593, -0.12534081};
+        ELEMENTS[Planet.VENUS.ordinal()] = new double[]{
+            0.72333566, 0.00000390, 0.00677672, -0.00004107, 3.39467605, -0.00078890,
+            181.97909950, 58517.81538729, 131.60246718, 0.00268329, 76.67984255, -0.27769418};
+        ELEMENTS[Planet.MARS.ordinal()] = new double[]{
+            1.52371034, 0.00001847, 0.09339410, 0.00007882, 1.84969142, -0.00813131,
+            -4.55343205, 19140.30268499, -23.94362959, 0.44441088, 49.55953891, -0.29257343};
+        ELEMENTS[Planet.JUPITER.ordinal()] = new double[]{
+            5.20288700, -0.00011607, 0.04838624, -0.00013253, 1.30439695, -0.00183714,
+            34.39644051, 3034.74612775, 14.72847983, 0.21252668, 100.47390909, 0.20469106};
+        ELEMENTS[Planet.SATURN.ordinal()] = new double[]{
+            9.53667594, -0.00125060, 0.05386179, -0.00050991, 2.48599187, 0.00193609,
+            49.95424423, 1222.49362201, 92.59887831, -0.41897216, 113.66242448, -0.28867794};
+        ELEMENTS[Planet.URANUS.ordinal()] = new double[]{
+            19.18916464, -0.00196176, 0.04725744, -0.00004397, 0.77263783, -0.00242939,
+            313.23810451, 428.48202785, 170.95427630, 0.40805281, 74.01692503, 0.04240589};
+        ELEMENTS[Planet.NEPTUNE.ordinal()] = new double[]{
+            30.06992276, 0.00026291, 0.00859048, 0.00005105, 1.77004347, 0.00035372,
+            -55.12002969, 218.45945325, 44.96476227, -0.32241464, 131.78422574, -0.00508664};
+        ELEMENTS[Planet.PLUTO.ordinal()] = new double[]{
+            39.48211675, -0.00031596, 0.24882730, 0.00005170, 17.14001206, 0.00004818,
+            238.92903833, 145.20780515, 224.06891629, -0.04062942, 110.30393684, -0.01183482};
+    }
+
+    // Moon series terms: amplitude (degrees), phase (degrees), frequency (degrees per century)
+    private static final double[][] MOON_LONGITUDE = {
+        {6.29, 134.9, 477198.85}, {-1.27, 259.2, -413335.38}, {0.66, 235.7, 890534.23},
+        {0.21, 269.9, 954397.70}, {-0.19, 357.5, 35999.05}, {-0.11, 186.6, 966404.05}};
+    private static final double[][] MOON_LATITUDE = {
+        {5.13, 93.3, 483202.03}, {0.28, 228.2, 960400.87}, {-0.28, 318.3, 6003.18},
+        {-0.17, 217.6, -407332.20}};
+    private static final double[][] MOON_PARALLAX = {
+        {0.0518, 134.9, 477198.85}, {0.0095, 259.2, -413335.38}, {0.0078, 235.7, 890534.23},
+        {0.0028, 269.9, 954397.70}};
+
+    private final KeplerKernel kernel;
+    private double[] centuries = new double[0];
+    private double[][] earth = new double[6][0];
+    private double[][] body = new double[6][0];
+    private double[][] spherical = new double[6][0];
+
+    public KeplerBatch() {
+        this(KeplerKernel.create());
+    }
+
+    KeplerBatch(KeplerKernel kernel) {
+        this.kernel = kernel;
+    }
+
+    public String getKernelName() {
+        return kernel.name();
+    }
+
+    /**
+     * Fills {@code out} with the geocentric longitude, latitude, distance
+     * and their daily speeds of every planet at the first {@code count}
+     * Julian days (UT).
+     */
+    public void calculate(double[] julianDays, int count, EphemerisBuffer out) {
+        if (centuries.length < count) {
+            centuries = new double[count];
+            earth = new double[6][count];
+            body = new double[6][count];
+            spherical = new double[6][count];
+        }
+        out.resize(count, Planet.COUNT);
+        for (int i = 0; i < count; i++) {
+            centuries[i] = TimeScale.centuries(TimeScale.julianDayTt(julianDays[i]));
+        }
+
+        kernel.solve(EARTH_MOON_BARYCENTER, centuries, 0, count, earth);
+        for (Planet planet : Planet.all()) {
+            int b = planet.ordinal();
+            if (planet == Planet.MOON) {
+                for (int i = 0; i < count; i++) {
+                    moon(centuries[i], out, out.index(i, b));
+                }
+                continue;
+            }
+            if (planet == Planet.SUN) {
+                for (int c = 0; c < 6; c++) {
+                    for (int i = 0; i < count; i++) {
+                        body[c][i] = -earth[c][i];
+                    }
+                }
+            } else {
+                kernel.solve(ELEMENTS[b], centuries, 0, count, body);
+                for (int c = 0; c < 6; c++) {
+                    for (int i = 0; i < count; i++) {
+                        body[c][i] -= earth[c][i];
+                    }
+                }
+            }
+            kernel.spherical(body, 0, count, spherical);
+            store(count, b, out);
+        }
+    }
+
+    // Spherical J2000 coordinates into the buffer, precessed to the ecliptic of date
+    private void store(int count, int b, EphemerisBuffer out) {
+        double[] longitudes = out.getLongitudes();
+        for (int i = 0; i < count; i++) {
+            int index = out.index(i, b);
+            double t = centuries[i];
+            double longitude = (spherical[0][i] + (PRECESSION + PRECESSION_RATE * t) * t) % 360.0;
+            longitudes[index] = longitude < 0 ? longitude + 360.0 : longitude;
+            out.getLatitudes()[index] = spherical[1][i];
+            out.getDistances()[index] = spherical[2][i];
+            out.getLongitudeSpeeds()[index] = spherical[3][i]
+                + (PRECESSION + 2 * PRECESSION_RATE * t) / KeplerKernel.DAYS_PER_CENTURY;
+            out.getLatitudeSpeeds()[index] = spherical[4][i];
+            out.getDistanceSpeeds()[index] = spherical[5][i];
+        }
+    }
+
+    private static void moon(double t, EphemerisBuffer out, int index) {
+        double longitude = 218.32 + 481267.881 * t;
+        double longitudeRate = 481267.881;
+        for (double[] term : MOON_LONGITUDE) {
+            double angle = (term[1] + term[2] * t) * RADIANS;
+            longitude += term[0] * Math.sin(angle);
+            longitudeRate += term[0] * term[2] * RADIANS * Math.cos(angle);
+        }
+        double latitude = 0;
+        double latitudeRate = 0;
+        for (double[] term : MOON_LATITUDE) {
+            double angle = (term[1] + term[2] * t) * RADIANS;
+            latitude += term[0] * Math.sin(angle);
+            latitudeRate += term[0] * term[2] * RADIANS * Math.cos(angle);
+        }
+        double parallax = 0.9508;
+        double parallaxRate = 0;
+        for (double[] term : MOON_PARALLAX) {
+            double angle = (term[1] + term[2] * t) * RADIANS;
+            parallax += term[0] * Math.cos(angle);
+            parallaxRate -= term[0] * term[2] * RADIANS * Math.sin(angle);
+        }
+        double sinParallax = Math.sin(parallax * RADIANS);
+        double distance = EARTH_RADIUS_AU / sinParallax;
+
+        longitude %= 360.0;
+        out.getLongitudes()[index] = longitude < 0 ? longitude + 360.0 : longitude;
+        out.getLatitudes()[index] = latitude;
+        out.getDistances()[index] = distance;
+        out.getLongitudeSpeeds()[index] = longitudeRate / KeplerKernel.DAYS_PER_CENTURY;
+        out.getLatitudeSpeeds()[index] = latitudeRate / KeplerKernel.DAYS_PER_CENTURY;
+        out.getDistanceSpeeds()[index] = -distance * Math.cos(parallax * RADIANS) / sinParallax
+            * parallaxRate * RADIANS / KeplerKernel.DAYS_PER_CENTURY;
+    }
+}
@@ -0,0 +1,63 @@
+package com.astrology.api.util;
+
+import com.astrology.api.model.astrology.Planet;
+
+/**
+ * {@link KeplerBatch} as an engine: microseconds per instant, within
+ * 0.35 degrees of the Swiss Ephemeris (worst case, the Moon; the planets
+ * stay within 0.25) over 2000 random instants 1900-2050, and covering the
+ * span of its orbital elements, 1800-2050.
+ */
+public class KeplerEngine implements EphemerisEngine {
+    private static final double FIRST_JD = 2378496.5;
+    private static final double LAST_JD = 2469807.5;
+    private static final double MAX_ERROR_ARCSEC = 0.35 * 3600;
+
+    // Batches keep scratch arrays, so each thread gets its own
+    private static final ThreadLocal<Single> SINGLES = ThreadLocal.withInitial(Single::new);
+
+    private static final class Single {
+        final KeplerBatch batch = new KeplerBatch();
+        final double[] julianDay = new double[1];
+        final EphemerisBuffer buffer = new EphemerisBuffer(Planet.COUNT);
+    }
+
+    @Override
+    public String getName() {
+        return "kepler-" + SINGLES.get().batch.getKernelName();
+    }
+
+    @Override
+    public double getMaxErrorArcsec() {
+        return MAX_ERROR_ARCSEC;
+    }
+
+    @Override
+    public boolean covers(double julianDayUt) {
+        return julianDayUt >= FIRST_JD && julianDayUt < LAST_JD;
+    }
+
+    @Override
+    public int calculate(double julianDayUt, double[] bodies) {
+        Single single = SINGLES.get();
+        single.julianDay[0] = julianDayUt;
+        EphemerisBuffer buffer = single.buffer;
+        single.batch.calculate(single.julianDay, 1, buffer);
+        for (int p = 0; p < Planet.COUNT; p++) {
+            int offset = p * ChartResult.BODY_STRIDE;
+            bodies[offset] = buffer.getLongitudes()[p];
+            bodies[offset + 1] = buffer.getLatitudes()[p];
+            bodies[offset + 2] = buffer.getDistances()[p];
+            bodies[offset + 3] = buffer.getLongitudeSpeeds()[p];
+            bodies[offset + 4] = buffer.getLatitudeSpeeds()[p];
+            bodies[offset + 5] = buffer.getDistanceSpeeds()[p];
+        }
+        return 0;
+    }
+
+    @Override
+    public int calculate(double[] julianDays, int count, EphemerisBuffer out) {
+        SINGLES.get().batch.calculate(julianDays, count, out);
+        return 0;
+    }
+}
@@ -0,0 +1,54 @@
+package com.astrology.api.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The per-instant arithmetic of {@link KeplerBatch}, one body over many
+ * instants at a time. States are six arrays: x, y, z in AU and vx, vy, vz
+ * in AU/day.
+ *
+ * The Vector API kernel is used when the jdk.incubator.vector module is
+ * present (--add-modules jdk.incubator.vector), the scalar kernel otherwise.
+ */
+interface KeplerKernel {
+    // Newton steps from E = M + e sin M; enough for e < 0.25 to reach double precision
+    int ITERATIONS = 5;
+    double RADIANS = Math.PI / 180.0;
+    double DAYS_PER_CENTURY = 36525.0;
+
+    // Light time for one AU, in days
+    double LIGHT_TIME = 0.0057755183;
+
+    /**
+     * Heliocentric ecliptic (J2000) state from Keplerian elements and their
+     * rates per century ({@code a, a', e, e', I, I', L, L', varpi, varpi',
+     * Omega, Omega'}, angles in degrees).
+     */
+    void solve(double[] elements, double[] centuries, int from, int to, double[][] state);
+
+    /**
+     * Geocentric state to longitude (-180 to 180), latitude, distance and
+     * their daily speeds, in degrees and AU, after moving the position back
+     * along the velocity by the light time (light time and aberration to
+     * first order).
+     */
+    void spherical(double[][] state, int from, int to, double[][] spherical);
+
+    String name();
+
+    static KeplerKernel create() {
+        Logger logger = LoggerFactory.getLogger(KeplerKernel.class);
+        if (!Boolean.getBoolean("kepler.scalar")
+                && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                // Loaded by name so the scalar path never links against the incubator module
+                return (KeplerKernel) Class.forName("com.astrology.api.util.VectorKeplerKernel")
+                    .getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                logger.warn("Vector API Kepler kernel unavailable, using the scalar one: {}", e.toString());
+            }
+        }
+        return new ScalarKeplerKernel();
+    }
+}
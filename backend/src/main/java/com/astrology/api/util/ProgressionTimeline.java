@@ -0,0 +1,167 @@
+package com.astrology.api.util;
+
+import com.astrology.api.model.astrology.Ayanamsa;
+import com.astrology.api.model.astrology.Planet;
+import swisseph.SweConst;
+import swisseph.SwissEph;
+
+/**
+ * Secondary progressions and solar arc directions over a lifetime, held in
+ * flat arrays. Progressions take a day after birth for each year of life, so
+ * {@code years} of timeline need only {@code years + 1} ephemeris evaluations
+ * (one per whole progressed day). Points between them (e.g. monthly) are
+ * cubic Hermite interpolations from the longitudes and daily speeds at the two
+ * neighbouring days, which over a one-day span stays within an arcsecond of
+ * the ephemeris for every body.
+ *
+ * The solar arc at each point is the progressed Sun minus the Sun at birth;
+ * directed positions are natal longitudes plus that arc and are derived on
+ * access. Instances are immutable once generated and safe to share.
+ */
+public class ProgressionTimeline {
+    private static final int CALC_FLAGS = SweConst.SEFLG_SWIEPH | SweConst.SEFLG_SPEED;
+    private static final Planet[] PLANETS = Planet.all();
+
+    private final double natalJulianDay;
+    private final int pointsPerYear;
+    private final int pointCount;
+    private final double[] natalLongitudes;
+    // pointCount x Planet.COUNT
+    private final double[] progressed;
+    private final double[] progressedSpeeds;
+    private final double[] solarArcs;
+    // Sun at the birth moment from the same ephemeris, the zero of the solar arc
+    private double natalSun;
+
+    private ProgressionTimeline(double natalJulianDay, int years, int pointsPerYear, double[] natalLongitudes) {
+        this.natalJulianDay = natalJulianDay;
+        this.pointsPerYear = pointsPerYear;
+        this.pointCount = years * pointsPerYear + 1;
+        this.natalLongitudes = natalLongitudes.clone();
+        this.progressed = new double[pointCount * Planet.COUNT];
+        this.progressedSpeeds = new double[pointCount * Planet.COUNT];
+        this.solarArcs = new double[pointCount];
+    }
+
+    /**
+     * Generates the timeline for ages 0 to {@code years} in steps of
+     * 1/pointsPerYear. {@code natalLongitudes} is indexed by Planet ordinal,
+     * with the Ascendant and MC appended (Planet.COUNT + 2 values); the angles
+     * only take part in the solar arc directions.
+     */
+    public static ProgressionTimeline generate(SwissEph swissEph, double natalJulianDay,
+                                               double[] natalLongitudes, int years, int pointsPerYear) {
+        return generate(swissEph, natalJulianDay, natalLongitudes, years, pointsPerYear, null);
+    }
+
+    /**
+     * As above in the sidereal zodiac of {@code ayanamsa}, or the tropical
+     * zodiac when it is null; {@code natalLongitudes} must be in the same zodiac.
+     */
+    public static ProgressionTimeline generate(SwissEph swissEph, double natalJulianDay, double[] natalLongitudes,
+                                               int years, int pointsPerYear, Ayanamsa ayanamsa) {
+        if (natalLongitudes.length != Planet.COUNT + 2) {
+            throw new IllegalArgumentException("Expected the planets followed by the Ascendant and MC");
+        }
+        ProgressionTimeline timeline = new ProgressionTimeline(natalJulianDay, years, pointsPerYear, natalLongitudes);
+        double[] xx = new double[6];
+        StringBuffer serr = new StringBuffer();
+        // Longitudes and speeds at the current and the next whole progressed day
+        double[] lon0 = new double[Planet.COUNT];
+        double[] speed0 = new double[Planet.COUNT];
+        double[] lon1 = new double[Planet.COUNT];
+        double[] speed1 = new double[Planet.COUNT];
+
+        evaluate(swissEph, natalJulianDay, ayanamsa, lon0, speed0, xx, serr);
+        timeline.natalSun = lon0[Planet.SUN.ordinal()];
+        for (int year = 0; year < years; year++) {
+            evaluate(swissEph, natalJulianDay + year + 1, ayanamsa, lon1, speed1, xx, serr);
+            for (int step = 0; step < pointsPerYear; step++) {
+                timeline.interpolate(year * pointsPerYear + step, (double) step / pointsPerYear,
+                        lon0, speed0, lon1, speed1);
+            }
+            double[] swap = lon0;
+            lon0 = lon1;
+            lon1 = swap;
+            swap = speed0;
+            speed0 = speed1;
+            speed1 = swap;
+        }
+        timeline.interpolate(timeline.pointCount - 1, 0.0, lon0, speed0, lon0, speed0);
+        return timeline;
+    }
+
+    private static void evaluate(SwissEph swissEph, double julianDay, Ayanamsa ayanamsa, double[] longitudes,
+                                 double[] speeds, double[] xx, StringBuffer serr) {
+        double offset = AyanamsaCache.offset(swissEph, ayanamsa, julianDay);
+        for (int p = 0; p < PLANETS.length; p++) {
+            serr.setLength(0);
+            if (swissEph.swe_calc_ut(julianDay, PLANETS[p].getSweBody(), CALC_FLAGS, xx, serr) < 0) {
+                throw new IllegalStateException("Error calculating " + PLANETS[p] + ": " + serr);
+            }
+            double longitude = (xx[0] - offset) % 360.0;
+            longitudes[p] = longitude < 0 ? longitude + 360.0 : longitude;
+            speeds[p] = xx[3];
+        }
+    }
+
+    // Cubic Hermite on a one-day interval at fraction f, from longitudes and speeds (degrees/day)
+    private void interpolate(int point, double f, double[] lon0, double[] speed0, double[] lon1, double[] speed1) {
+        double f2 = f * f;
+        double f3 = f2 * f;
+        double h00 = 2 * f3 - 3 * f2 + 1;
+        double h10 = f3 - 2 * f2 + f;
+        double h01 = -2 * f3 + 3 * f2;
+        double h11 = f3 - f2;
+        int row = point * Planet.COUNT;
+        for (int p = 0; p < Planet.COUNT; p++) {
+            double end = lon0[p] + TransitSearch.signedDifference(lon1[p], lon0[p]);
+            double longitude = (h00 * lon0[p] + h10 * speed0[p] + h01 * end + h11 * speed1[p]) % 360.0;
+            progressed[row + p] = longitude < 0 ? longitude + 360.0 : longitude;
+            progressedSpeeds[row + p] = speed0[p] + (speed1[p] - speed0[p]) * f;
+        }
+        // The Sun never turns retrograde, so the arc only grows (about a degree a year)
+        double arc = (progressed[row + Planet.SUN.ordinal()] - natalSun) % 360.0;
+        solarArcs[point] = arc < 0 ? arc + 360.0 : arc;
+    }
+
+    public int getPointCount() {
+        return pointCount;
+    }
+
+    public int getPointsPerYear() {
+        return pointsPerYear;
+    }
+
+    public double getNatalJulianDay() {
+        return natalJulianDay;
+    }
+
+    // Age in years at a point
+    public double age(int point) {
+        return (double) point / pointsPerYear;
+    }
+
+    // Julian day of the progressed chart (natal day plus one day per year)
+    public double progressedJulianDay(int point) {
+        return natalJulianDay + age(point);
+    }
+
+    public double progressedLongitude(int point, Planet planet) {
+        return progressed[point * Planet.COUNT + planet.ordinal()];
+    }
+
+    public boolean isProgressedRetrograde(int point, Planet planet) {
+        return progressedSpeeds[point * Planet.COUNT + planet.ordinal()] < 0;
+    }
+
+    public double solarArc(int point) {
+        return solarArcs[point];
+    }
+
+    // Natal point (Planet ordinal, then Planet.COUNT for the Ascendant and Planet.COUNT + 1 for the MC) plus the arc
+    public double directedLongitude(int point, int natalPoint) {
+        double longitude = (natalLongitudes[natalPoint] + solarArcs[point]) % 360.0;
+        return longitude < 0 ? longitude + 360.0 : longitude;
+    }
+}
@@ -0,0 +1,190 @@
+package com.astrology.api.util;
+
+import com.astrology.api.model.astrology.HouseSystem;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Scores evenly spaced candidate birth times at one place against life
+ * events. Only the angles change across a window of hours, so instead of a
+ * full chart per candidate the local sidereal time (ARMC) advances by a fixed
+ * step and the cusps come from
+ * {@link HouseCalculator#calculateHousesFromSiderealTime} with the obliquity
+ * of the window.
+ *
+ * Two rules are scored with {@link AspectCalculator#calculateCross}:
+ * transiting bodies at each event against the candidate Ascendant and MC,
+ * and the candidate Ascendant and MC directed by each event's solar arc
+ * against the natal planets. A hit adds the event weight times
+ * {@code 1 - orb / allowed orb}. Candidates are split into chunks on a
+ * fork-join pool; scores, Ascendants and MCs land in flat arrays.
+ */
+public class RectificationSweep {
+    private static final int CHUNK = 256;
+    // Only the angles are scored and they do not depend on the house system; Porphyry is the cheapest
+    private static final HouseSystem ANGLES_ONLY = HouseSystem.PORPHYRY;
+
+    private final double armcStart;
+    private final double armcStep;
+    private final int count;
+    private final double latitude;
+    private final double obliquity;
+
+    private AspectCalculator transitAspects;
+    private double[] transitLongitudes = new double[0];
+    private double[] transitWeights = new double[0];
+
+    private AspectCalculator directionAspects;
+    private double[] directionArcs = new double[0];
+    private double[] directionWeights = new double[0];
+    private double[] natalLongitudes = new double[0];
+
+    private final double[] scores;
+    private final double[] ascendants;
+    private final double[] midheavens;
+
+    /**
+     * Candidate {@code i} has ARMC {@code armcStart + i * armcStep} (degrees);
+     * {@code armcStep} is the time step in days times {@link TimeScale#SIDEREAL_RATE}.
+     */
+    public RectificationSweep(double armcStart, double armcStep, int count, double latitude, double obliquity) {
+        this.armcStart = armcStart;
+        this.armcStep = armcStep;
+        this.count = count;
+        this.latitude = latitude;
+        this.obliquity = obliquity;
+        this.scores = new double[count];
+        this.ascendants = new double[count];
+        this.midheavens = new double[count];
+    }
+
+    // Transiting longitudes of every event, each with its event's weight
+    public RectificationSweep transits(double[] longitudes, double[] weights, AspectCalculator aspects) {
+        this.transitLongitudes = longitudes;
+        this.transitWeights = weights;
+        this.transitAspects = aspects;
+        return this;
+    }
+
+    // Solar arc and weight per event, and the natal planets the directed angles are tested against
+    public RectificationSweep directions(double[] arcs, double[] weights, double[] natal, AspectCalculator aspects) {
+        this.directionArcs = arcs;
+        this.directionWeights = weights;
+        this.natalLongitudes = natal;
+        this.directionAspects = aspects;
+        return this;
+    }
+
+    /** Scores every candidate; {@code progress} receives the size of each finished chunk. */
+    public void run(ForkJoinPool pool, IntConsumer progress) {
+        pool.invoke(new Chunk(0, count, progress));
+    }
+
+    private class Chunk extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final IntConsumer progress;
+
+        Chunk(int from, int to, IntConsumer progress) {
+            this.from = from;
+            this.to = to;
+            this.progress = progress;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > CHUNK) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new Chunk(from, mid, progress), new Chunk(mid, to, progress));
+                return;
+            }
+            double[] cusps = new double[HouseCalculator.CUSP_COUNT];
+            double[] ascmc = new double[HouseCalculator.ASCMC_COUNT];
+            double[] angles = new double[2];
+            double[] directed = new double[directionArcs.length * 2];
+            AspectTable table = new AspectTable();
+            for (int candidate = from; candidate < to; candidate++) {
+                score(candidate, cusps, ascmc, angles, directed, table);
+            }
+            progress.accept(to - from);
+        }
+    }
+
+    private void score(int candidate, double[] cusps, double[] ascmc, double[] angles, double[] directed,
+                       AspectTable table) {
+        double armc = normalize(armcStart + candidate * armcStep);
+        HouseCalculator.calculateHousesFromSiderealTime(armc, latitude, obliquity, ANGLES_ONLY, cusps, ascmc);
+        angles[0] = ascmc[0];
+        angles[1] = ascmc[1];
+        ascendants[candidate] = ascmc[0];
+        midheavens[candidate] = ascmc[1];
+
+        double score = 0;
+        if (transitAspects != null && transitLongitudes.length > 0) {
+            transitAspects.calculateCross(angles, null, null, 2,
+                    transitLongitudes, null, null, transitLongitudes.length, table);
+            for (int row = 0; row < table.size(); row++) {
+                score += transitWeights[table.second(row)]
+                        * (1 - table.orb(row) / transitAspects.getOrb(table.aspect(row)));
+            }
+        }
+        if (directionAspects != null && directionArcs.length > 0) {
+            for (int event = 0; event < directionArcs.length; event++) {
+                directed[event * 2] = normalize(angles[0] + directionArcs[event]);
+                directed[event * 2 + 1] = normalize(angles[1] + directionArcs[event]);
+            }
+            directionAspects.calculateCross(directed, null, null, directed.length,
+                    natalLongitudes, null, null, natalLongitudes.length, table);
+            for (int row = 0; row < table.size(); row++) {
+                score += directionWeights[table.first(row) / 2]
+                        * (1 - table.orb(row) / directionAspects.getOrb(table.aspect(row)));
+            }
+        }
+        scores[candidate] = score;
+    }
+
+    private static double normalize(double longitude) {
+        double value = longitude % 360.0;
+        return value < 0 ? value + 360.0 : value;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public double score(int candidate) {
+        return scores[candidate];
+    }
+
+    public double ascendant(int candidate) {
+        return ascendants[candidate];
+    }
+
+    public double midheaven(int candidate) {
+        return midheavens[candidate];
+    }
+
+    /** Indices of the {@code limit} best-scoring candidates, best first (ties keep time order). */
+    public int[] best(int limit) {
+        int size = Math.min(limit, count);
+        int[] best = new int[size];
+        int filled = 0;
+        for (int candidate = 0; candidate < count; candidate++) {
+            double score = scores[candidate];
+            if (filled == size && score <= scores[best[size - 1]]) {
+                continue;
+            }
+            int position = filled < size ? filled++ : size - 1;
+            while (position > 0 && scores[best[position - 1]] < score) {
+                best[position] = best[position - 1];
+                position--;
+            }
+            best[position] = candidate;
+        }
+        return best;
+    }
+}
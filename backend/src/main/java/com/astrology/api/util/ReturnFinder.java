@@ -0,0 +1,82 @@
+package com.astrology.api.util;
+
+import com.astrology.api.model.astrology.Ayanamsa;
+import swisseph.SweConst;
+import swisseph.SwissEph;
+
+/**
+ * Finds the moments a body that never turns retrograde (the Sun or the Moon)
+ * comes back to a given longitude, as for solar and lunar returns. The first
+ * guess advances by the remaining arc over the current speed; a few Newton
+ * steps on longitude with the speed as derivative bring it inside a 0.1-day
+ * bracket, and a bracketed Newton iteration ({@link RootFinder#newton})
+ * finishes it. A return costs five to seven longitude evaluations. With an ayanamsa the
+ * longitude is sidereal, giving the sidereal return.
+ */
+public class ReturnFinder {
+    private static final int CALC_FLAGS = SweConst.SEFLG_SWIEPH | SweConst.SEFLG_SPEED;
+    // 1e-7 days is about 9 ms
+    private static final double TIME_TOLERANCE = 1e-7;
+    private static final int MAX_ITERATIONS = 40;
+    // Coarse steps stop once they are this small (days); the Moon covers about 0.6 degrees in it
+    private static final double COARSE_TOLERANCE = 0.05;
+    private static final double BRACKET = 0.1;
+
+    private final SwissEph swissEph;
+    // Null for the tropical zodiac
+    private final Ayanamsa ayanamsa;
+    private final double[] xx = new double[6];
+    private final double[] derivative = new double[1];
+    private final StringBuffer serr = new StringBuffer();
+
+    // The instance is used by one thread for the duration of a search
+    public ReturnFinder(SwissEph swissEph) {
+        this(swissEph, null);
+    }
+
+    public ReturnFinder(SwissEph swissEph, Ayanamsa ayanamsa) {
+        this.swissEph = swissEph;
+        this.ayanamsa = ayanamsa;
+    }
+
+    /** First time after {@code afterJd} (UT) at which the body is at {@code targetLongitude}. */
+    public double next(int sweBody, double targetLongitude, double afterJd) {
+        double lon = longitude(sweBody, afterJd);
+        double remaining = (targetLongitude - lon) % 360.0;
+        if (remaining <= 0) {
+            remaining += 360.0;
+        }
+        if (xx[3] <= 0) {
+            throw new IllegalArgumentException("Body " + sweBody + " is not moving forward at JD " + afterJd);
+        }
+        double t = afterJd + remaining / xx[3];
+
+        for (int i = 0; i < MAX_ITERATIONS; i++) {
+            double step = TransitSearch.signedDifference(longitude(sweBody, t), targetLongitude) / xx[3];
+            t -= step;
+            if (Math.abs(step) < COARSE_TOLERANCE) {
+                break;
+            }
+        }
+
+        double a = t - BRACKET;
+        double b = t + BRACKET;
+        return RootFinder.newton((x, d) -> residual(sweBody, x, targetLongitude, d), a, b,
+                residual(sweBody, a, targetLongitude, derivative), residual(sweBody, b, targetLongitude, derivative),
+                TIME_TOLERANCE, MAX_ITERATIONS, derivative);
+    }
+
+    private double residual(int sweBody, double julianDay, double target, double[] speed) {
+        double lon = longitude(sweBody, julianDay);
+        speed[0] = xx[3];
+        return TransitSearch.signedDifference(lon, target);
+    }
+
+    private double longitude(int sweBody, double julianDay) {
+        serr.setLength(0);
+        if (swissEph.swe_calc_ut(julianDay, sweBody, CALC_FLAGS, xx, serr) < 0) {
+            throw new IllegalStateException("Error calculating body " + sweBody + ": " + serr);
+        }
+        return ayanamsa == null ? xx[0] : xx[0] - AyanamsaCache.offset(swissEph, ayanamsa, julianDay);
+    }
+}
@@ -0,0 +1,147 @@
+package com.astrology.api.util;
+
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Bracketed one-dimensional root finders used by the time searches. Both
+ * expect f(a) and f(b) to have opposite signs (or one of them to be zero) and
+ * return a point within {@code tolerance} of a root.
+ */
+public final class RootFinder {
+
+    /** A function that also reports its derivative, e.g. longitude and speed. */
+    @FunctionalInterface
+    public interface DifferentiableFunction {
+        // Returns f(x) and writes f'(x) into derivative[0]
+        double value(double x, double[] derivative);
+    }
+
+    private RootFinder() {
+    }
+
+    /**
+     * Brent's method (inverse quadratic interpolation with bisection
+     * fallback) for functions without a derivative.
+     */
+    public static double brent(DoubleUnaryOperator f, double a, double b, double fa, double fb,
+                               double tolerance, int maxIterations) {
+        checkBracket(a, b, fa, fb);
+        if (fa == 0) {
+            return a;
+        }
+        if (fb == 0) {
+            return b;
+        }
+        double c = a, fc = fa;
+        double d = b - a, e = d;
+        for (int i = 0; i < maxIterations; i++) {
+            if (Math.signum(fb) == Math.signum(fc)) {
+                c = a;
+                fc = fa;
+                d = b - a;
+                e = d;
+            }
+            if (Math.abs(fc) < Math.abs(fb)) {
+                a = b;
+                b = c;
+                c = a;
+                fa = fb;
+                fb = fc;
+                fc = fa;
+            }
+            double tol = 2 * Math.ulp(b) + 0.5 * tolerance;
+            double m = 0.5 * (c - b);
+            if (Math.abs(m) <= tol || fb == 0) {
+                return b;
+            }
+            if (Math.abs(e) >= tol && Math.abs(fa) > Math.abs(fb)) {
+                double s = fb / fa, p, q;
+                if (a == c) {
+                    p = 2 * m * s;
+                    q = 1 - s;
+                } else {
+                    double r = fb / fc;
+                    q = fa / fc;
+                    p = s * (2 * m * q * (q - r) - (b - a) * (r - 1));
+                    q = (q - 1) * (r - 1) * (s - 1);
+                }
+                if (p > 0) {
+                    q = -q;
+                } else {
+                    p = -p;
+                }
+                if (2 * p < Math.min(3 * m * q - Math.abs(tol * q), Math.abs(e * q))) {
+                    e = d;
+                    d = p / q;
+                } else {
+                    d = m;
+                    e = d;
+                }
+            } else {
+                d = m;
+                e = d;
+            }
+            a = b;
+            fa = fb;
+            b += Math.abs(d) > tol ? d : (m > 0 ? tol : -tol);
+            fb = f.applyAsDouble(b);
+        }
+        return b;
+    }
+
+    /**
+     * Newton's method kept inside the bracket: a step that would leave it, or
+     * that does not shrink the bracket fast enough, becomes a bisection.
+     * {@code scratch} needs one element.
+     */
+    public static double newton(DifferentiableFunction f, double a, double b, double fa, double fb,
+                                double tolerance, int maxIterations, double[] scratch) {
+        checkBracket(a, b, fa, fb);
+        if (fa == 0) {
+            return a;
+        }
+        if (fb == 0) {
+            return b;
+        }
+        // Orient so that f(low) < 0 < f(high)
+        double low = fa < 0 ? a : b;
+        double high = fa < 0 ? b : a;
+        double x = 0.5 * (a + b);
+        double previousStep = Math.abs(b - a);
+        double step = previousStep;
+        double fx = f.value(x, scratch);
+        double dfx = scratch[0];
+        for (int i = 0; i < maxIterations; i++) {
+            boolean outside = ((x - high) * dfx - fx) * ((x - low) * dfx - fx) > 0;
+            if (outside || Math.abs(2 * fx) > Math.abs(previousStep * dfx)) {
+                previousStep = step;
+                step = 0.5 * (high - low);
+                x = low + step;
+            } else {
+                previousStep = step;
+                step = fx / dfx;
+                x -= step;
+            }
+            if (Math.abs(step) < tolerance) {
+                return x;
+            }
+            fx = f.value(x, scratch);
+            dfx = scratch[0];
+            if (fx == 0) {
+                return x;
+            }
+            if (fx < 0) {
+                low = x;
+            } else {
+                high = x;
+            }
+        }
+        return x;
+    }
+
+    private static void checkBracket(double a, double b, double fa, double fb) {
+        if (fa * fb > 0) {
+            throw new IllegalArgumentException("Root not bracketed in [" + a + ", " + b + "]");
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.astrology.api.util;
+
+/** Plain-Java {@link KeplerKernel}, also the tail loop of the vector kernel. */
+class ScalarKeplerKernel implements KeplerKernel {
+
+    @Override
+    public void solve(double[] el, double[] centuries, int from, int to, double[][] state) {
+        // Mean anomaly rate in radians per day
+        double rate = (el[7] - el[9]) * RADIANS / DAYS_PER_CENTURY;
+        double[] x = state[0];
+        double[] y = state[1];
+        double[] z = state[2];
+        double[] vx = state[3];
+        double[] vy = state[4];
+        double[] vz = state[5];
+        for (int i = from; i < to; i++) {
+            double t = centuries[i];
+            double a = el[0] + el[1] * t;
+            double e = el[2] + el[3] * t;
+            double inclination = (el[4] + el[5] * t) * RADIANS;
+            double perihelion = el[8] + el[9] * t;
+            double node = (el[10] + el[11] * t) * RADIANS;
+            double m = (el[6] + el[7] * t - perihelion) * RADIANS;
+            double w = perihelion * RADIANS - node;
+
+            double anomaly = m + e * Math.sin(m);
+            for (int k = 0; k < ITERATIONS; k++) {
+                anomaly -= (anomaly - e * Math.sin(anomaly) - m) / (1 - e * Math.cos(anomaly));
+            }
+            double sinE = Math.sin(anomaly);
+            double cosE = Math.cos(anomaly);
+            double minor = a * Math.sqrt(1 - e * e);
+            double xp = a * (cosE - e);
+            double yp = minor * sinE;
+            double anomalyRate = rate / (1 - e * cosE);
+            double vxp = -a * sinE * anomalyRate;
+            double vyp = minor * cosE * anomalyRate;
+
+            double cw = Math.cos(w);
+            double sw = Math.sin(w);
+            double cn = Math.cos(node);
+            double sn = Math.sin(node);
+            double ci = Math.cos(inclination);
+            double si = Math.sin(inclination);
+            double p1 = cw * cn - sw * sn * ci;
+            double p2 = -sw * cn - cw * sn * ci;
+            double q1 = cw * sn + sw * cn * ci;
+            double q2 = -sw * sn + cw * cn * ci;
+            double r1 = sw * si;
+            double r2 = cw * si;
+            x[i] = p1 * xp + p2 * yp;
+            y[i] = q1 * xp + q2 * yp;
+            z[i] = r1 * xp + r2 * yp;
+            vx[i] = p1 * vxp + p2 * vyp;
+            vy[i] = q1 * vxp + q2 * vyp;
+            vz[i] = r1 * vxp + r2 * vyp;
+        }
+    }
+
+    @Override
+    public void spherical(double[][] state, int from, int to, double[][] spherical) {
+        for (int i = from; i < to; i++) {
+            double vx = state[3][i];
+            double vy = state[4][i];
+            double vz = state[5][i];
+            double tau = Math.sqrt(state[0][i] * state[0][i] + state[1][i] * state[1][i]
+                + state[2][i] * state[2][i]) * LIGHT_TIME;
+            double x = state[0][i] - vx * tau;
+            double y = state[1][i] - vy * tau;
+            double z = state[2][i] - vz * tau;
+            double planar = x * x + y * y;
+            double rho = Math.sqrt(planar);
+            double r = Math.sqrt(planar + z * z);
+            double radial = x * vx + y * vy;
+            spherical[0][i] = Math.atan2(y, x) / RADIANS;
+            spherical[1][i] = Math.atan2(z, rho) / RADIANS;
+            spherical[2][i] = r;
+            spherical[3][i] = (x * vy - y * vx) / planar / RADIANS;
+            spherical[4][i] = (vz * planar - z * radial) / (r * r * rho) / RADIANS;
+            spherical[5][i] = (radial + z * vz) / r;
+        }
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+}
@@ -0,0 +1,172 @@
+package com.astrology.api.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import swisseph.SwissEph;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Fixed-size pool of SwissEph instances. The Java port keeps mutable state per
+ * instance (file handles, cached positions, sidereal mode), so each calculation
+ * borrows an instance exclusively and hands it back when done.
+ */
+public class SwissEphPool {
+    private static final Logger logger = LoggerFactory.getLogger(SwissEphPool.class);
+
+    private static volatile SwissEphPool shared;
+
+    private final BlockingQueue<SwissEph> idle;
+    private final int size;
+
+    private final AtomicInteger inUse = new AtomicInteger();
+    private final AtomicInteger peakInUse = new AtomicInteger();
+    private final LongAdder borrowCount = new LongAdder();
+    private final LongAdder contendedCount = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    public SwissEphPool(int size, String ephePath) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Pool size must be positive: " + size);
+        }
+        this.size = size;
+        this.idle = new ArrayBlockingQueue<>(size);
+        for (int i = 0; i < size; i++) {
+            idle.add(ephePath == null || ephePath.isBlank() ? new SwissEph() : new SwissEph(ephePath));
+        }
+        logger.info("Created SwissEph pool with {} instances (ephemeris path: {})",
+                size, ephePath == null || ephePath.isBlank() ? "default" : ephePath);
+    }
+
+    public static SwissEphPool shared() {
+        SwissEphPool pool = shared;
+        if (pool == null) {
+            synchronized (SwissEphPool.class) {
+                pool = shared;
+                if (pool == null) {
+                    pool = new SwissEphPool(Runtime.getRuntime().availableProcessors(), null);
+                    shared = pool;
+                }
+            }
+        }
+        return pool;
+    }
+
+    public static synchronized void configureShared(int size, String ephePath) {
+        shared = new SwissEphPool(size > 0 ? size : Runtime.getRuntime().availableProcessors(), ephePath);
+    }
+
+    public SwissEph borrow() {
+        SwissEph swissEph = idle.poll();
+        if (swissEph == null) {
+            contendedCount.increment();
+            long start = System.nanoTime();
+            try {
+                swissEph = idle.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a SwissEph instance", e);
+            }
+            long waited = System.nanoTime() - start;
+            totalWaitNanos.add(waited);
+            maxWaitNanos.accumulateAndGet(waited, Math::max);
+        }
+        borrowCount.increment();
+        int current = inUse.incrementAndGet();
+        peakInUse.accumulateAndGet(current, Math::max);
+        return swissEph;
+    }
+
+    public void release(SwissEph swissEph) {
+        inUse.decrementAndGet();
+        idle.offer(swissEph);
+    }
+
+    public <T> T execute(Function<SwissEph, T> task) {
+        SwissEph swissEph = borrow();
+        try {
+            return task.apply(swissEph);
+        } finally {
+            release(swissEph);
+        }
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public PoolStats getStats() {
+        long borrows = borrowCount.sum();
+        long waitNanos = totalWaitNanos.sum();
+        return new PoolStats(size, inUse.get(), peakInUse.get(), borrows, contendedCount.sum(),
+                TimeUnit.NANOSECONDS.toMicros(waitNanos),
+                TimeUnit.NANOSECONDS.toMicros(maxWaitNanos.get()),
+                borrows == 0 ? 0.0 : waitNanos / 1000.0 / borrows);
+    }
+
+    public static final class PoolStats {
+        private final int size;
+        private final int inUse;
+        private final int peakInUse;
+        private final long borrowCount;
+        private final long contendedCount;
+        private final long totalWaitMicros;
+        private final long maxWaitMicros;
+        private final double meanWaitMicros;
+
+        PoolStats(int size, int inUse, int peakInUse, long borrowCount, long contendedCount,
+                  long totalWaitMicros, long maxWaitMicros, double meanWaitMicros) {
+            this.size = size;
+            this.inUse = inUse;
+            this.peakInUse = peakInUse;
+            this.borrowCount = borrowCount;
+            this.contendedCount = contendedCount;
+            this.totalWaitMicros = totalWaitMicros;
+            this.maxWaitMicros = maxWaitMicros;
+            this.meanWaitMicros = meanWaitMicros;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public int getInUse() {
+            return inUse;
+        }
+
+        public double getOccupancy() {
+            return (double) inUse / size;
+        }
+
+        public int getPeakInUse() {
+            return peakInUse;
+        }
+
+        public long getBorrowCount() {
+            return borrowCount;
+        }
+
+        public long getContendedCount() {
+            return contendedCount;
+        }
+
+        public long getTotalWaitMicros() {
+            return totalWaitMicros;
+        }
+
+        public long getMaxWaitMicros() {
+            return maxWaitMicros;
+        }
+
+        public double getMeanWaitMicros() {
+            return meanWaitMicros;
+        }
+    }
+}
@@ -1,6 +1,6 @@
 package com.astrology.api.util;
 
-import swisseph.SweDate;
+import com.astrology.api.model.astrology.HouseSystem;
 import swisseph.SwissEph;
 import swisseph.SweConst;
 import java.time.LocalDateTime;
@@ -12,7 +12,6 @@ import org.slf4j.LoggerFactory;
 
 public class SwissEphemerisCalculator {
     private static final Logger logger = LoggerFactory.getLogger(SwissEphemerisCalculator.class);
-    private static final SwissEph swissEph = new SwissEph();
     
     // Planet index constants
     private static final int SUN = SweConst.SE_SUN;
@@ -26,46 +25,123 @@ public class SwissEphemerisCalculator {
     private static final int NEPTUNE = SweConst.SE_NEPTUNE;
     private static final int PLUTO = SweConst.SE_PLUTO;
     
+    private static final int CALC_FLAGS = SweConst.SEFLG_SWIEPH | SweConst.SEFLG_SPEED;
+    
+    private static final int[] CLASSICAL_BODIES = {
+        SUN, MOON, MERCURY, VENUS, MARS, JUPITER, SATURN, URANUS, NEPTUNE, PLUTO
+    };
+    
+    public static int[] classicalBodies() {
+        return CLASSICAL_BODIES.clone();
+    }
+    
+    public static int calculatePositions(double[] julianDays, int[] bodies, EphemerisBuffer out) {
+        return calculatePositions(julianDays, julianDays.length, bodies, out);
+    }
+    
+    /**
+     * Calculates every body for the first {@code count} Julian days (UT) into the
+     * caller's buffer using one pooled SwissEph instance for the whole batch.
+     * Failed positions are zero-filled like the single-instant API; the number of
+     * failures is returned.
+     */
+    public static int calculatePositions(double[] julianDays, int count, int[] bodies, EphemerisBuffer out) {
+        out.resize(count, bodies.length);
+        double[] longitudes = out.getLongitudes();
+        double[] latitudes = out.getLatitudes();
+        double[] distances = out.getDistances();
+        double[] longitudeSpeeds = out.getLongitudeSpeeds();
+        double[] latitudeSpeeds = out.getLatitudeSpeeds();
+        double[] distanceSpeeds = out.getDistanceSpeeds();
+        
+        double[] xx = new double[6];
+        StringBuffer serr = new StringBuffer();
+        String lastError = null;
+        int failures = 0;
+        
+        SwissEphPool swissEphPool = SwissEphPool.shared();
+        SwissEph swissEph = swissEphPool.borrow();
+        try {
+            int k = 0;
+            for (int i = 0; i < count; i++) {
+                double julianDay = julianDays[i];
+                for (int b = 0; b < bodies.length; b++, k++) {
+                    serr.setLength(0);
+                    if (swissEph.swe_calc_ut(julianDay, bodies[b], CALC_FLAGS, xx, serr) < 0) {
+                        failures++;
+                        lastError = serr.toString();
+                        xx[0] = xx[1] = xx[2] = xx[3] = xx[4] = xx[5] = 0;
+                    }
+                    longitudes[k] = xx[0];
+                    latitudes[k] = xx[1];
+                    distances[k] = xx[2];
+                    longitudeSpeeds[k] = xx[3];
+                    latitudeSpeeds[k] = xx[4];
+                    distanceSpeeds[k] = xx[5];
+                }
+            }
+        } finally {
+            swissEphPool.release(swissEph);
+        }
+        
+        if (failures > 0) {
+            logger.error("Batch calculation failed for {} of {} positions: {}", failures, count * bodies.length, lastError);
+        }
+        return failures;
+    }
+    
     public static Map<String, double[]> calculatePlanetPositions(LocalDateTime dateTime, double latitude, double longitude) {
+        return calculatePlanetPositions(TimeScale.julianDayUtc(dateTime));
+    }
+    
+    public static Map<String, double[]> calculatePlanetPositions(double julianDay) {
         Map<String, double[]> positions = new HashMap<>();
         
-        // Convert to Julian Day
-        SweDate sweDate = convertToSweDate(dateTime);
-        
-        // Calculate planetary positions
-        positions.put("SUN", calculatePlanetPosition(sweDate, SUN));
-        positions.put("MOON", calculatePlanetPosition(sweDate, MOON));
-        positions.put("MERCURY", calculatePlanetPosition(sweDate, MERCURY));
-        positions.put("VENUS", calculatePlanetPosition(sweDate, VENUS));
-        positions.put("MARS", calculatePlanetPosition(sweDate, MARS));
-        positions.put("JUPITER", calculatePlanetPosition(sweDate, JUPITER));
-        positions.put("SATURN", calculatePlanetPosition(sweDate, SATURN));
-        positions.put("URANUS", calculatePlanetPosition(sweDate, URANUS));
-        positions.put("NEPTUNE", calculatePlanetPosition(sweDate, NEPTUNE));
-        positions.put("PLUTO", calculatePlanetPosition(sweDate, PLUTO));
+        // Calculate planetary positions with a single pooled instance
+        SwissEphPool swissEphPool = SwissEphPool.shared();
+        SwissEph swissEph = swissEphPool.borrow();
+        try {
+            positions.put("SUN", calculatePlanetPosition(swissEph, julianDay, SUN));
+            positions.put("MOON", calculatePlanetPosition(swissEph, julianDay, MOON));
+            positions.put("MERCURY", calculatePlanetPosition(swissEph, julianDay, MERCURY));
+            positions.put("VENUS", calculatePlanetPosition(swissEph, julianDay, VENUS));
+            positions.put("MARS", calculatePlanetPosition(swissEph, julianDay, MARS));
+            positions.put("JUPITER", calculatePlanetPosition(swissEph, julianDay, JUPITER));
+            positions.put("SATURN", calculatePlanetPosition(swissEph, julianDay, SATURN));
+            positions.put("URANUS", calculatePlanetPosition(swissEph, julianDay, URANUS));
+            positions.put("NEPTUNE", calculatePlanetPosition(swissEph, julianDay, NEPTUNE));
+            positions.put("PLUTO", calculatePlanetPosition(swissEph, julianDay, PLUTO));
+        } finally {
+            swissEphPool.release(swissEph);
+        }
         
         return positions;
     }
     
     public static double[] calculateHouses(LocalDateTime dateTime, double latitude, double longitude) {
-        SweDate sweDate = convertToSweDate(dateTime);
-        double[] cusps = new double[13]; // Swiss Ephemeris returns 13 house cusps (including Ascendant)
-        double[] ascmc = new double[10]; // Contains Ascendant, Midheaven, etc.
+        return calculateHouses(TimeScale.julianDayUtc(dateTime), latitude, longitude);
+    }
+    
+    public static double[] calculateHouses(double julianDay, double latitude, double longitude) {
+        return calculateHouses(julianDay, latitude, longitude, HouseSystem.PLACIDUS);
+    }
+    
+    public static double[] calculateHouses(double julianDay, double latitude, double longitude, HouseSystem houseSystem) {
+        double[] cusps = new double[HouseCalculator.CUSP_COUNT]; // Cusps 1-12 in Swiss Ephemeris layout, index 0 unused
+        double[] ascmc = new double[HouseCalculator.ASCMC_COUNT]; // Contains Ascendant, Midheaven, etc.
         
-        // Calculate houses
-        swissEph.swe_houses(sweDate.getJulDay(), SweConst.SEFLG_SWIEPH, latitude, longitude, 
-                           'P', // P = Placidus house system
-                           cusps, ascmc);
+        // Houses are pure Java, so no pooled instance is needed
+        HouseCalculator.calculateHouses(julianDay, latitude, longitude, houseSystem, cusps, ascmc);
         
         return cusps;
     }
     
-    private static double[] calculatePlanetPosition(SweDate sweDate, int planet) {
+    private static double[] calculatePlanetPosition(SwissEph swissEph, double julianDay, int planet) {
         double[] xx = new double[6];
         StringBuffer serr = new StringBuffer();
         
         // Calculate planetary positions
-        int ret = swissEph.swe_calc_ut(sweDate.getJulDay(), planet, 
+        int ret = swissEph.swe_calc_ut(julianDay, planet, 
                                      SweConst.SEFLG_SWIEPH | SweConst.SEFLG_SPEED,
                                      xx, serr);
         
@@ -83,28 +159,20 @@ public class SwissEphemerisCalculator {
         return new double[]{xx[0], xx[1], xx[2], xx[3], xx[4], xx[5]};
     }
     
-    private static SweDate convertToSweDate(LocalDateTime dateTime) {
-        int year = dateTime.getYear();
-        int month = dateTime.getMonthValue();
-        int day = dateTime.getDayOfMonth();
-        int hour = dateTime.getHour();
-        int minute = dateTime.getMinute();
-        int second = dateTime.getSecond();
-        
-        // Convert to Julian Day
-        return new SweDate(year, month, day, 
-                          hour + minute/60.0 + second/3600.0);
+    public static SwissEphPool.PoolStats getPoolStats() {
+        return SwissEphPool.shared().getStats();
     }
     
     public static boolean isRetrograde(int planet, LocalDateTime dateTime) {
-        SweDate sweDate = convertToSweDate(dateTime);
+        double julianDay = TimeScale.julianDayUtc(dateTime);
         double[] xx = new double[6];
         StringBuffer serr = new StringBuffer();
         
         // Calculate planetary positions
-        int ret = swissEph.swe_calc_ut(sweDate.getJulDay(), planet, 
-                                     SweConst.SEFLG_SWIEPH | SweConst.SEFLG_SPEED,
-                                     xx, serr);
+        int ret = SwissEphPool.shared().execute(swissEph ->
+            swissEph.swe_calc_ut(julianDay, planet, 
+                                 SweConst.SEFLG_SWIEPH | SweConst.SEFLG_SPEED,
+                                 xx, serr));
         
         if (ret < 0) {
             logger.error("Error calculating planet position: " + serr.toString());
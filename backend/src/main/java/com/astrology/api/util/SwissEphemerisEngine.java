@@ -0,0 +1,67 @@
+package com.astrology.api.util;
+
+import com.astrology.api.model.astrology.Planet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import swisseph.SweConst;
+
+import java.util.Arrays;
+
+/**
+ * Swiss Ephemeris through the shared pool. Covers every date; with the .se1
+ * files it is good to about a milliarcsecond, and the Moshier fallback used
+ * without them to about an arcsecond for the planets and a few for the Moon.
+ * Single instants take the slow planets from the {@link SlowPlanetCache}.
+ */
+public class SwissEphemerisEngine implements EphemerisEngine {
+    private static final Logger logger = LoggerFactory.getLogger(SwissEphemerisEngine.class);
+
+    private static final int CALC_FLAGS = SweConst.SEFLG_SWIEPH | SweConst.SEFLG_SPEED;
+    private static final Planet[] PLANETS = Planet.all();
+    private static final int[] BODIES = SwissEphemerisCalculator.classicalBodies();
+    // Moshier fallback, the weaker of the two sources
+    private static final double MAX_ERROR_ARCSEC = 3.0;
+
+    @Override
+    public String getName() {
+        return "swisseph";
+    }
+
+    @Override
+    public double getMaxErrorArcsec() {
+        return MAX_ERROR_ARCSEC;
+    }
+
+    @Override
+    public boolean covers(double julianDayUt) {
+        return true;
+    }
+
+    @Override
+    public int calculate(double julianDayUt, double[] bodies) {
+        return SwissEphPool.shared().execute(swissEph -> {
+            double[] xx = new double[ChartResult.BODY_STRIDE];
+            StringBuffer serr = new StringBuffer();
+            int failures = 0;
+            boolean slowCached = SlowPlanetCache.calculate(swissEph, julianDayUt, bodies);
+            for (int p = 0; p < PLANETS.length; p++) {
+                if (slowCached && SlowPlanetCache.isCached(PLANETS[p])) {
+                    continue;
+                }
+                serr.setLength(0);
+                if (swissEph.swe_calc_ut(julianDayUt, PLANETS[p].getSweBody(), CALC_FLAGS, xx, serr) < 0) {
+                    logger.error("Error calculating planet position: {}", serr);
+                    failures++;
+                    Arrays.fill(xx, 0);
+                }
+                System.arraycopy(xx, 0, bodies, p * ChartResult.BODY_STRIDE, ChartResult.BODY_STRIDE);
+            }
+            return failures;
+        });
+    }
+
+    @Override
+    public int calculate(double[] julianDays, int count, EphemerisBuffer out) {
+        return SwissEphemerisCalculator.calculatePositions(julianDays, count, BODIES, out);
+    }
+}
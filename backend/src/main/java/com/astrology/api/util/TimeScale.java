@@ -0,0 +1,116 @@
+package com.astrology.api.util;
+
+import swisseph.SweDate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneRules;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Single place for converting civil time to Julian days. Works on primitive
+ * epoch seconds and Julian days (UT), resolves time zone offsets through
+ * cached ZoneRules and answers ΔT (TT - UT) from a yearly table built once
+ * from Swiss Ephemeris. Dates use the proleptic Gregorian calendar.
+ */
+public final class TimeScale {
+    public static final double UNIX_EPOCH_JD = 2440587.5;
+    public static final double SECONDS_PER_DAY = 86400.0;
+    public static final double J2000 = 2451545.0;
+    // Mean sidereal time advances this many degrees per UT day
+    public static final double SIDEREAL_RATE = 360.98564736629;
+
+    // Yearly ΔT nodes (in days) at 1 January of each year
+    private static final int DELTA_T_FIRST_YEAR = 1620;
+    private static final int DELTA_T_LAST_YEAR = 2100;
+    private static final double[] DELTA_T_NODES = new double[DELTA_T_LAST_YEAR - DELTA_T_FIRST_YEAR + 1];
+    private static final double[] DELTA_T_NODE_JD = new double[DELTA_T_NODES.length];
+
+    private static final ConcurrentMap<String, ZoneRules> ZONE_RULES = new ConcurrentHashMap<>();
+
+    static {
+        for (int i = 0; i < DELTA_T_NODES.length; i++) {
+            double jd = julianDay(LocalDateTime.of(DELTA_T_FIRST_YEAR + i, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC));
+            DELTA_T_NODE_JD[i] = jd;
+            DELTA_T_NODES[i] = SweDate.getDeltaT(jd);
+        }
+    }
+
+    private TimeScale() {
+    }
+
+    public static double julianDay(long epochSeconds) {
+        return UNIX_EPOCH_JD + epochSeconds / SECONDS_PER_DAY;
+    }
+
+    public static long epochSeconds(double julianDay) {
+        return Math.round((julianDay - UNIX_EPOCH_JD) * SECONDS_PER_DAY);
+    }
+
+    // Julian day (UT) of a date-time that is already in UTC
+    public static double julianDayUtc(LocalDateTime utcDateTime) {
+        return julianDay(utcDateTime.toEpochSecond(ZoneOffset.UTC));
+    }
+
+    // Julian day (UT) of a local civil date-time in the given zone
+    public static double julianDay(LocalDateTime localDateTime, String timezone) {
+        return julianDay(epochSeconds(localDateTime, timezone));
+    }
+
+    public static double julianDay(LocalDateTime localDateTime, ZoneId zoneId) {
+        ZoneRules rules = ZONE_RULES.computeIfAbsent(zoneId.getId(), id -> zoneId.getRules());
+        return julianDay(epochSeconds(localDateTime, rules));
+    }
+
+    public static long epochSeconds(LocalDateTime localDateTime, String timezone) {
+        ZoneRules rules = ZONE_RULES.computeIfAbsent(timezone, id -> ZoneId.of(id).getRules());
+        return epochSeconds(localDateTime, rules);
+    }
+
+    private static long epochSeconds(LocalDateTime localDateTime, ZoneRules rules) {
+        // Same resolution as ZonedDateTime: the earlier offset in overlaps and the
+        // pre-transition offset (i.e. shifted forward) in gaps
+        ZoneOffset offset = rules.isFixedOffset() ? rules.getOffset(Instant.EPOCH) : rules.getOffset(localDateTime);
+        return localDateTime.toEpochSecond(offset);
+    }
+
+    /**
+     * ΔT = TT - UT in days. Linear interpolation between yearly nodes inside
+     * 1620-2100 (ΔT changes by at most about a second per year there), within
+     * 0.35 s of Swiss Ephemeris and 0.13 s after 1720; Swiss Ephemeris directly
+     * outside.
+     */
+    public static double deltaT(double julianDayUt) {
+        double position = (julianDayUt - DELTA_T_NODE_JD[0]) / 365.2425;
+        int index = (int) Math.floor(position);
+        if (index > 0 && index < DELTA_T_NODES.length && julianDayUt < DELTA_T_NODE_JD[index]) {
+            index--;
+        }
+        if (index < 0 || index >= DELTA_T_NODES.length - 1) {
+            return SweDate.getDeltaT(julianDayUt);
+        }
+        double fraction = (julianDayUt - DELTA_T_NODE_JD[index]) / (DELTA_T_NODE_JD[index + 1] - DELTA_T_NODE_JD[index]);
+        return DELTA_T_NODES[index] + fraction * (DELTA_T_NODES[index + 1] - DELTA_T_NODES[index]);
+    }
+
+    public static double julianDayTt(double julianDayUt) {
+        return julianDayUt + deltaT(julianDayUt);
+    }
+
+    // Julian centuries since J2000
+    public static double centuries(double julianDay) {
+        return (julianDay - J2000) / 36525.0;
+    }
+
+    // Greenwich mean sidereal time in degrees [0, 360) (Meeus 12.4)
+    public static double meanSiderealTime(double julianDayUt) {
+        double t = centuries(julianDayUt);
+        double gmst = 280.46061837 + SIDEREAL_RATE * (julianDayUt - J2000)
+                + t * t * (0.000387933 - t / 38710000.0);
+        gmst %= 360.0;
+        return gmst < 0 ? gmst + 360.0 : gmst;
+    }
+}
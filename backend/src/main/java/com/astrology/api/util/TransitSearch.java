@@ -0,0 +1,222 @@
+package com.astrology.api.util;
+
+import com.astrology.api.model.astrology.Ayanamsa;
+import swisseph.SweConst;
+import swisseph.SwissEph;
+
+import java.util.Arrays;
+
+/**
+ * Finds the times at which one transiting body reaches any of a set of target
+ * longitudes (natal points plus or minus aspect angles).
+ *
+ * The range is sampled at a body-specific step small enough that at most one
+ * station falls inside a step. A change in the sign of the speed marks a
+ * station, which Brent's method locates so that every piece is monotonic in
+ * longitude. Inside a monotonic piece a target is crossed at most once, and
+ * the crossing is refined with a bracketed Newton iteration that uses the
+ * speed from the same swe_calc_ut call as the derivative.
+ *
+ * With an ayanamsa, longitudes and targets are sidereal, so natal points of a
+ * sidereal chart stay fixed among the stars while the equinox precesses.
+ */
+public class TransitSearch {
+    private static final int CALC_FLAGS = SweConst.SEFLG_SWIEPH | SweConst.SEFLG_SPEED;
+    // 1e-6 days is about 0.1 seconds
+    private static final double TIME_TOLERANCE = 1e-6;
+    private static final double STATION_TOLERANCE = 1e-5;
+    private static final int MAX_ITERATIONS = 60;
+
+    // Station rows: the body turns retrograde or turns direct
+    public static final int STATION_RETROGRADE = 0;
+    public static final int STATION_DIRECT = 1;
+
+    private final SwissEph swissEph;
+    // Null for the tropical zodiac
+    private final Ayanamsa ayanamsa;
+    private final double[] xx = new double[6];
+    private final double[] derivative = new double[1];
+    private final StringBuffer serr = new StringBuffer();
+
+    /** Growable primitive list of hits; target indices refer to the caller's array. */
+    public static class Hits {
+        private double[] julianDays = new double[16];
+        private double[] speeds = new double[16];
+        private int[] targets = new int[16];
+        private int size;
+
+        void add(double julianDay, int target, double speed) {
+            if (size == julianDays.length) {
+                julianDays = Arrays.copyOf(julianDays, size * 2);
+                speeds = Arrays.copyOf(speeds, size * 2);
+                targets = Arrays.copyOf(targets, size * 2);
+            }
+            julianDays[size] = julianDay;
+            targets[size] = target;
+            speeds[size] = speed;
+            size++;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public double julianDay(int row) {
+            return julianDays[row];
+        }
+
+        public int target(int row) {
+            return targets[row];
+        }
+
+        public double speed(int row) {
+            return speeds[row];
+        }
+    }
+
+    // The instance is used by one thread for the duration of a search
+    public TransitSearch(SwissEph swissEph) {
+        this(swissEph, null);
+    }
+
+    public TransitSearch(SwissEph swissEph, Ayanamsa ayanamsa) {
+        this.swissEph = swissEph;
+        this.ayanamsa = ayanamsa;
+    }
+
+    /**
+     * Default sampling step in days: the fastest bodies need short steps so
+     * that a step never spans two stations or half the circle.
+     */
+    public static double defaultStep(int sweBody) {
+        return switch (sweBody) {
+            case SweConst.SE_MOON -> 0.5;
+            case SweConst.SE_MERCURY -> 2.0;
+            case SweConst.SE_VENUS -> 3.0;
+            case SweConst.SE_SUN, SweConst.SE_MARS -> 5.0;
+            case SweConst.SE_JUPITER, SweConst.SE_SATURN -> 10.0;
+            default -> 15.0;
+        };
+    }
+
+    /**
+     * Appends to {@code out} every time in (startJd, endJd] at which the body
+     * reaches one of the target longitudes. Hits come out in time order.
+     */
+    public void search(int sweBody, double startJd, double endJd, double step,
+                       double[] targets, int targetCount, Hits out) {
+        search(sweBody, startJd, endJd, step, targets, targetCount, out, null);
+    }
+
+    /**
+     * As above, and also appends every station to {@code stations} when it is
+     * not null, with target {@link #STATION_RETROGRADE} or {@link #STATION_DIRECT}.
+     */
+    public void search(int sweBody, double startJd, double endJd, double step,
+                       double[] targets, int targetCount, Hits out, Hits stations) {
+        double t0 = startJd;
+        double lon0 = longitude(sweBody, t0);
+        double v0 = xx[3];
+        while (t0 < endJd) {
+            double t1 = Math.min(t0 + step, endJd);
+            double lon1 = longitude(sweBody, t1);
+            double v1 = xx[3];
+            if (v0 * v1 < 0) {
+                double station = RootFinder.brent(t -> speed(sweBody, t), t0, t1, v0, v1,
+                        STATION_TOLERANCE, MAX_ITERATIONS);
+                double stationLongitude = longitude(sweBody, station);
+                if (stations != null) {
+                    stations.add(station, v0 > 0 ? STATION_RETROGRADE : STATION_DIRECT, 0.0);
+                }
+                scanPiece(sweBody, t0, lon0, station, stationLongitude, targets, targetCount, out);
+                scanPiece(sweBody, station, stationLongitude, t1, lon1, targets, targetCount, out);
+            } else {
+                scanPiece(sweBody, t0, lon0, t1, lon1, targets, targetCount, out);
+            }
+            t0 = t1;
+            lon0 = lon1;
+            v0 = v1;
+        }
+    }
+
+    // Longitude is monotonic on [ta, tb]; refine each target crossed in (ta, tb]
+    private void scanPiece(int sweBody, double ta, double lonA, double tb, double lonB,
+                           double[] targets, int targetCount, Hits out) {
+        double delta = signedDifference(lonB, lonA);
+        if (delta == 0) {
+            return;
+        }
+        double lonEnd = lonA + delta;
+        double lower = Math.min(lonA, lonEnd);
+        int first = out.size;
+        for (int k = 0; k < targetCount; k++) {
+            double target = targets[k];
+            // The copy of the target at or just above the lower end of the piece
+            double unwrapped = target + 360.0 * Math.ceil((lower - target) / 360.0);
+            boolean crossed = delta > 0
+                    ? unwrapped > lonA && unwrapped <= lonEnd
+                    : unwrapped < lonA && unwrapped >= lonEnd;
+            if (!crossed) {
+                continue;
+            }
+            double root = RootFinder.newton((t, d) -> residual(sweBody, t, target, d), ta, tb,
+                    lonA - unwrapped, lonEnd - unwrapped, TIME_TOLERANCE, MAX_ITERATIONS, derivative);
+            speed(sweBody, root);
+            out.add(root, k, xx[3]);
+        }
+        sortByTime(out, first);
+    }
+
+    private double residual(int sweBody, double julianDay, double target, double[] speed) {
+        double lon = longitude(sweBody, julianDay);
+        speed[0] = xx[3];
+        return signedDifference(lon, target);
+    }
+
+    private double speed(int sweBody, double julianDay) {
+        longitude(sweBody, julianDay);
+        return xx[3];
+    }
+
+    private double longitude(int sweBody, double julianDay) {
+        serr.setLength(0);
+        if (swissEph.swe_calc_ut(julianDay, sweBody, CALC_FLAGS, xx, serr) < 0) {
+            throw new IllegalStateException("Error calculating body " + sweBody + ": " + serr);
+        }
+        if (ayanamsa == null) {
+            return xx[0];
+        }
+        double longitude = (xx[0] - AyanamsaCache.offset(swissEph, ayanamsa, julianDay)) % 360.0;
+        return longitude < 0 ? longitude + 360.0 : longitude;
+    }
+
+    // Insertion sort of the rows added for one piece (a handful at most)
+    private static void sortByTime(Hits hits, int from) {
+        for (int i = from + 1; i < hits.size; i++) {
+            double julianDay = hits.julianDays[i];
+            double speed = hits.speeds[i];
+            int target = hits.targets[i];
+            int j = i - 1;
+            while (j >= from && hits.julianDays[j] > julianDay) {
+                hits.julianDays[j + 1] = hits.julianDays[j];
+                hits.speeds[j + 1] = hits.speeds[j];
+                hits.targets[j + 1] = hits.targets[j];
+                j--;
+            }
+            hits.julianDays[j + 1] = julianDay;
+            hits.speeds[j + 1] = speed;
+            hits.targets[j + 1] = target;
+        }
+    }
+
+    // a - b in (-180, 180]
+    static double signedDifference(double a, double b) {
+        double d = (a - b) % 360.0;
+        if (d > 180.0) {
+            d -= 360.0;
+        } else if (d <= -180.0) {
+            d += 360.0;
+        }
+        return d;
+    }
+}
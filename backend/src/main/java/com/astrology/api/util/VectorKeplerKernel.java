@@ -0,0 +1,107 @@
+package com.astrology.api.util;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link KeplerKernel} on the incubating Vector API: the same arithmetic as
+ * {@link ScalarKeplerKernel}, one instant per lane. The trigonometry maps to
+ * the JDK's SIMD math stubs where the platform has them. Instants past the
+ * last full vector go through the scalar kernel.
+ */
+class VectorKeplerKernel implements KeplerKernel {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    private final ScalarKeplerKernel tail = new ScalarKeplerKernel();
+
+    @Override
+    public void solve(double[] el, double[] centuries, int from, int to, double[][] state) {
+        double rate = (el[7] - el[9]) * RADIANS / DAYS_PER_CENTURY;
+        int lanes = SPECIES.length();
+        int i = from;
+        for (; i + lanes <= to; i += lanes) {
+            DoubleVector t = DoubleVector.fromArray(SPECIES, centuries, i);
+            DoubleVector a = t.mul(el[1]).add(el[0]);
+            DoubleVector e = t.mul(el[3]).add(el[2]);
+            DoubleVector inclination = t.mul(el[5]).add(el[4]).mul(RADIANS);
+            DoubleVector perihelion = t.mul(el[9]).add(el[8]);
+            DoubleVector node = t.mul(el[11]).add(el[10]).mul(RADIANS);
+            DoubleVector m = t.mul(el[7]).add(el[6]).sub(perihelion).mul(RADIANS);
+            DoubleVector w = perihelion.mul(RADIANS).sub(node);
+
+            DoubleVector anomaly = e.mul(m.lanewise(VectorOperators.SIN)).add(m);
+            for (int k = 0; k < ITERATIONS; k++) {
+                DoubleVector residual = anomaly.sub(e.mul(anomaly.lanewise(VectorOperators.SIN))).sub(m);
+                DoubleVector slope = e.mul(anomaly.lanewise(VectorOperators.COS)).neg().add(1.0);
+                anomaly = anomaly.sub(residual.div(slope));
+            }
+            DoubleVector sinE = anomaly.lanewise(VectorOperators.SIN);
+            DoubleVector cosE = anomaly.lanewise(VectorOperators.COS);
+            DoubleVector minor = a.mul(e.mul(e).neg().add(1.0).sqrt());
+            DoubleVector xp = a.mul(cosE.sub(e));
+            DoubleVector yp = minor.mul(sinE);
+            DoubleVector anomalyRate = DoubleVector.broadcast(SPECIES, rate).div(e.mul(cosE).neg().add(1.0));
+            DoubleVector vxp = a.mul(sinE).mul(anomalyRate).neg();
+            DoubleVector vyp = minor.mul(cosE).mul(anomalyRate);
+
+            DoubleVector cw = w.lanewise(VectorOperators.COS);
+            DoubleVector sw = w.lanewise(VectorOperators.SIN);
+            DoubleVector cn = node.lanewise(VectorOperators.COS);
+            DoubleVector sn = node.lanewise(VectorOperators.SIN);
+            DoubleVector ci = inclination.lanewise(VectorOperators.COS);
+            DoubleVector si = inclination.lanewise(VectorOperators.SIN);
+            DoubleVector p1 = cw.mul(cn).sub(sw.mul(sn).mul(ci));
+            DoubleVector p2 = sw.mul(cn).neg().sub(cw.mul(sn).mul(ci));
+            DoubleVector q1 = cw.mul(sn).add(sw.mul(cn).mul(ci));
+            DoubleVector q2 = sw.mul(sn).neg().add(cw.mul(cn).mul(ci));
+            DoubleVector r1 = sw.mul(si);
+            DoubleVector r2 = cw.mul(si);
+            p1.mul(xp).add(p2.mul(yp)).intoArray(state[0], i);
+            q1.mul(xp).add(q2.mul(yp)).intoArray(state[1], i);
+            r1.mul(xp).add(r2.mul(yp)).intoArray(state[2], i);
+            p1.mul(vxp).add(p2.mul(vyp)).intoArray(state[3], i);
+            q1.mul(vxp).add(q2.mul(vyp)).intoArray(state[4], i);
+            r1.mul(vxp).add(r2.mul(vyp)).intoArray(state[5], i);
+        }
+        if (i < to) {
+            tail.solve(el, centuries, i, to, state);
+        }
+    }
+
+    @Override
+    public void spherical(double[][] state, int from, int to, double[][] spherical) {
+        int lanes = SPECIES.length();
+        int i = from;
+        for (; i + lanes <= to; i += lanes) {
+            DoubleVector vx = DoubleVector.fromArray(SPECIES, state[3], i);
+            DoubleVector vy = DoubleVector.fromArray(SPECIES, state[4], i);
+            DoubleVector vz = DoubleVector.fromArray(SPECIES, state[5], i);
+            DoubleVector x = DoubleVector.fromArray(SPECIES, state[0], i);
+            DoubleVector y = DoubleVector.fromArray(SPECIES, state[1], i);
+            DoubleVector z = DoubleVector.fromArray(SPECIES, state[2], i);
+            DoubleVector tau = x.mul(x).add(y.mul(y)).add(z.mul(z)).sqrt().mul(LIGHT_TIME);
+            x = x.sub(vx.mul(tau));
+            y = y.sub(vy.mul(tau));
+            z = z.sub(vz.mul(tau));
+            DoubleVector planar = x.mul(x).add(y.mul(y));
+            DoubleVector rho = planar.sqrt();
+            DoubleVector r = planar.add(z.mul(z)).sqrt();
+            DoubleVector radial = x.mul(vx).add(y.mul(vy));
+            y.lanewise(VectorOperators.ATAN2, x).div(RADIANS).intoArray(spherical[0], i);
+            z.lanewise(VectorOperators.ATAN2, rho).div(RADIANS).intoArray(spherical[1], i);
+            r.intoArray(spherical[2], i);
+            x.mul(vy).sub(y.mul(vx)).div(planar).div(RADIANS).intoArray(spherical[3], i);
+            vz.mul(planar).sub(z.mul(radial)).div(r.mul(r).mul(rho)).div(RADIANS).intoArray(spherical[4], i);
+            radial.add(z.mul(vz)).div(r).intoArray(spherical[5], i);
+        }
+        if (i < to) {
+            tail.spherical(state, i, to, spherical);
+        }
+    }
+
+    @Override
+    public String name() {
+        return "vector-" + SPECIES.length() + "x64";
+    }
+}
@@ -0,0 +1,140 @@
+package com.astrology.api.util;
+
+import com.astrology.api.model.astrology.DashaLord;
+import com.astrology.api.model.astrology.Nakshatra;
+
+/**
+ * Vimshottari dasha periods from birth to a number of years later, down to a
+ * given depth (1 mahadasha, 2 antardasha, 3 pratyantardasha, 4 sookshma,
+ * 5 prana). Nothing is materialized: the periods at the deepest level are
+ * numbered in time order, and a period's lords and bounds follow from its
+ * number read as base-9 digits, one per level, in O(depth). Pages of a
+ * timeline with tens of thousands of periods therefore cost only the rows
+ * they return.
+ *
+ * The cycle starts with the lord of the Moon's nakshatra, already run down
+ * by the fraction of the nakshatra the Moon has crossed. Years are Julian
+ * years of 365.25 days.
+ */
+public class VimshottariDasha {
+    public static final int MAX_DEPTH = 5;
+    public static final double YEAR = 365.25;
+
+    private static final DashaLord[] LORDS = DashaLord.all();
+    private static final int LORD_COUNT = LORDS.length;
+    private static final double CYCLE = DashaLord.CYCLE_YEARS * YEAR;
+    // Years of the n lords following lord s, in sequence: PREFIX[s][n]
+    private static final double[][] PREFIX = new double[LORD_COUNT][LORD_COUNT + 1];
+
+    static {
+        for (int start = 0; start < LORD_COUNT; start++) {
+            for (int n = 1; n <= LORD_COUNT; n++) {
+                PREFIX[start][n] = PREFIX[start][n - 1] + LORDS[(start + n - 1) % LORD_COUNT].getYears();
+            }
+        }
+    }
+
+    private final int depth;
+    private final int firstLord;
+    // Julian day (UT) on which the birth mahadasha began
+    private final double cycleStart;
+    private final long periodsPerCycle;
+    // Deepest-level period numbers, counted from cycleStart, of the first and last periods shown
+    private final long first;
+    private final long last;
+
+    public VimshottariDasha(double birthJulianDay, double moonSiderealLongitude, int depth, double years) {
+        if (depth < 1 || depth > MAX_DEPTH) {
+            throw new IllegalArgumentException("Dasha depth must be between 1 and " + MAX_DEPTH);
+        }
+        if (!(years > 0)) {
+            throw new IllegalArgumentException("The timeline must cover a positive number of years");
+        }
+        this.depth = depth;
+        this.firstLord = Nakshatra.of(moonSiderealLongitude).getLord().ordinal();
+        this.cycleStart = birthJulianDay
+            - Nakshatra.elapsed(moonSiderealLongitude) * LORDS[firstLord].getYears() * YEAR;
+        long count = 1;
+        for (int level = 0; level < depth; level++) {
+            count *= LORD_COUNT;
+        }
+        this.periodsPerCycle = count;
+        double endJulianDay = birthJulianDay + years * YEAR;
+        this.first = periodAt(birthJulianDay);
+        long lastPeriod = periodAt(endJulianDay);
+        // A period starting exactly at the end is outside the timeline
+        this.last = lastPeriod > first && start(lastPeriod - first) >= endJulianDay ? lastPeriod - 1 : lastPeriod;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public DashaLord getBirthLord() {
+        return LORDS[firstLord];
+    }
+
+    /** Number of periods at the deepest level that overlap the timeline. */
+    public long size() {
+        return last - first + 1;
+    }
+
+    /** Start of a period (0 is the one running at birth), as a Julian day (UT). */
+    public double start(long period) {
+        long number = first + period;
+        long remainder = number % periodsPerCycle;
+        double time = cycleStart + (number / periodsPerCycle) * CYCLE;
+        double span = CYCLE;
+        int lord = firstLord;
+        long divisor = periodsPerCycle / LORD_COUNT;
+        for (int level = 0; level < depth; level++) {
+            int digit = (int) (remainder / divisor);
+            remainder %= divisor;
+            // Sub-periods of a span start with the span's own lord
+            time += span * PREFIX[lord][digit] / DashaLord.CYCLE_YEARS;
+            lord = (lord + digit) % LORD_COUNT;
+            span = span * LORDS[lord].getYears() / DashaLord.CYCLE_YEARS;
+            divisor /= LORD_COUNT;
+        }
+        return time;
+    }
+
+    public double end(long period) {
+        return start(period + 1);
+    }
+
+    /** Lord of a period at a level, 0 being the mahadasha lord. */
+    public DashaLord lord(long period, int level) {
+        long remainder = (first + period) % periodsPerCycle;
+        int lord = firstLord;
+        long divisor = periodsPerCycle / LORD_COUNT;
+        for (int current = 0; current <= level; current++) {
+            lord = (lord + (int) (remainder / divisor)) % LORD_COUNT;
+            remainder %= divisor;
+            divisor /= LORD_COUNT;
+        }
+        return LORDS[lord];
+    }
+
+    // Number of the deepest-level period containing a time, counted from cycleStart
+    private long periodAt(double julianDay) {
+        double offset = julianDay - cycleStart;
+        long cycle = (long) Math.floor(offset / CYCLE);
+        double remaining = offset - cycle * CYCLE;
+        long number = 0;
+        double span = CYCLE;
+        int lord = firstLord;
+        for (int level = 0; level < depth; level++) {
+            int digit = 0;
+            double unit = span / DashaLord.CYCLE_YEARS;
+            while (digit < LORD_COUNT - 1 && PREFIX[lord][digit + 1] * unit <= remaining) {
+                digit++;
+            }
+            remaining -= PREFIX[lord][digit] * unit;
+            number = number * LORD_COUNT + digit;
+            lord = (lord + digit) % LORD_COUNT;
+            span = unit * LORDS[lord].getYears();
+        }
+        return cycle * periodsPerCycle + number;
+    }
+}
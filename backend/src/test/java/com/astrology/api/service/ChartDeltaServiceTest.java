@@ -0,0 +1,130 @@
+package com.astrology.api.service;
+
+import com.astrology.api.dto.ChartDelta;
+import com.astrology.api.model.BirthChart;
+import com.astrology.api.model.astrology.AspectType;
+import com.astrology.api.model.astrology.Ayanamsa;
+import com.astrology.api.model.astrology.HouseSystem;
+import com.astrology.api.model.astrology.Planet;
+import com.astrology.api.util.AspectCalculator;
+import com.astrology.api.util.AstrologyCalculator;
+import com.astrology.api.util.EphemerisRouter;
+import com.astrology.api.util.KeplerEngine;
+import com.astrology.api.util.SwissEphemerisEngine;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChartDeltaServiceTest {
+    private static final double BASE = 2460676.5;
+    private static final double LATITUDE = 51.5;
+    private static final double LONGITUDE = -0.12;
+    private static final double ARCMIN = 1.0 / 60.0;
+
+    private final AspectCalculator aspectCalculator = new AspectCalculator(AspectType.majors());
+    // Stored charts by id, and how often each was loaded
+    private final Map<Long, BirthChart> charts = new HashMap<>();
+    private final Map<Long, Integer> loads = new HashMap<>();
+    private final BirthChartService birthChartService;
+    private final ChartDeltaService service;
+
+    public ChartDeltaServiceTest() throws Exception {
+        EphemerisRouter router = new EphemerisRouter(new KeplerEngine(), new SwissEphemerisEngine(), null);
+        birthChartService = new BirthChartService(null, new AstrologyCalculator(), new ObjectMapper(), Map.of(),
+                router, aspectCalculator, "", "") {
+            @Override
+            public BirthChart getBirthChart(Long id) {
+                loads.merge(id, 1, Integer::sum);
+                return charts.get(id);
+            }
+        };
+        service = new ChartDeltaService(birthChartService, aspectCalculator, 60);
+        charts.put(1L, stored(BASE, null));
+        charts.put(2L, stored(BASE, Ayanamsa.LAHIRI));
+    }
+
+    @Test
+    public void testNoOffsetChangesNothing() {
+        ChartDelta delta = service.delta(1L, 0);
+        assertEquals(BASE, delta.getJulianDay());
+        assertEquals(0, delta.getRefined());
+        assertTrue(delta.getBodies().isEmpty());
+        assertTrue(delta.getAspects().isEmpty());
+        assertTrue(delta.getEndedAspects().isEmpty());
+        // Cusps come from the angle table, within a few arcseconds of the stored exact ones
+        double[] stored = charts.get(1L).getHouses();
+        if (delta.getHouses() != null) {
+            for (int house = 1; house <= 12; house++) {
+                assertEquals(0.0, difference(delta.getHouses()[house], stored[house]), 4.0 / 3600.0);
+            }
+        }
+        assertEquals(0.0, difference(stored[1], delta.getAngles().get("ASC")), 4.0 / 3600.0);
+    }
+
+    @Test
+    public void testDeltaMatchesAChartAtTheNewMoment() {
+        // Three days on: the Moon is recomputed, the rest follow their lines
+        double minutes = 3 * 1440;
+        for (long id : new long[]{1L, 2L}) {
+            BirthChart base = charts.get(id);
+            BirthChart exact = stored(BASE + 3, BirthChartService.ayanamsa(base));
+            ChartDelta delta = service.delta(id, minutes);
+            assertEquals(BASE + 3, delta.getJulianDay(), 1e-9);
+            for (Planet planet : Planet.all()) {
+                assertEquals(0.0, difference(delta.getBodies().get(planet.name()),
+                        exact.getPlanetPositions().get(planet.name())[0]), ARCMIN, planet + " in chart " + id);
+            }
+            assertNotNull(delta.getHouses());
+            assertEquals(0.0, difference(delta.getAngles().get("ASC"), exact.getHouses()[1]), ARCMIN);
+
+            // Formed or changed aspects, and the stored ones that ended, against the exact chart
+            Map<String, String> formed = new HashMap<>(exact.getAspectsDetails());
+            formed.entrySet().removeIf(entry -> entry.getValue().equals(base.getAspectsDetails().get(entry.getKey())));
+            Set<String> ended = new HashSet<>(base.getAspectsDetails().keySet());
+            ended.removeAll(exact.getAspectsDetails().keySet());
+            assertEquals(formed, delta.getAspects());
+            assertEquals(ended, new HashSet<>(delta.getEndedAspects()));
+            assertFalse(formed.isEmpty() && ended.isEmpty(), "three days should change some aspect");
+        }
+    }
+
+    @Test
+    public void testStoredChartIsDecodedOnce() {
+        service.delta(1L, 10);
+        service.delta(1L, -10);
+        service.delta(2L, 10);
+        assertEquals(1, loads.get(1L));
+        assertEquals(1, loads.get(2L));
+    }
+
+    @Test
+    public void testRejectsOffsetsAndChartsItCannotMove() {
+        assertThrows(IllegalArgumentException.class, () -> service.delta(1L, 367 * 1440));
+        assertThrows(IllegalArgumentException.class, () -> service.delta(1L, Double.NaN));
+        BirthChart timeless = stored(BASE, null);
+        timeless.setJulianDay(null);
+        charts.put(3L, timeless);
+        assertThrows(IllegalArgumentException.class, () -> service.delta(3L, 10));
+    }
+
+    private BirthChart stored(double julianDay, Ayanamsa ayanamsa) {
+        BirthChart chart = birthChartService.calculateBirthChart(julianDay, LATITUDE, LONGITUDE,
+                HouseSystem.PLACIDUS, ayanamsa, Set.of());
+        chart.setJulianDay(julianDay);
+        chart.setLatitude(LATITUDE);
+        chart.setLongitude(LONGITUDE);
+        chart.setHouseSystem(HouseSystem.PLACIDUS.name());
+        chart.setAyanamsa(ayanamsa == null ? null : ayanamsa.name());
+        return chart;
+    }
+
+    private static double difference(double a, double b) {
+        return ((a - b) % 360 + 540) % 360 - 180;
+    }
+}
@@ -0,0 +1,102 @@
+package com.astrology.api.service;
+
+import com.astrology.api.model.BirthChart;
+import com.astrology.api.model.astrology.AspectType;
+import com.astrology.api.model.astrology.HouseSystem;
+import com.astrology.api.model.astrology.Planet;
+import com.astrology.api.util.AspectCalculator;
+import com.astrology.api.util.AstrologyCalculator;
+import com.astrology.api.util.EphemerisRouter;
+import com.astrology.api.util.KeplerEngine;
+import com.astrology.api.util.SwissEphemerisEngine;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RelationshipChartServiceTest {
+    private final Map<Long, BirthChart> charts = new HashMap<>();
+    private final BirthChartService birthChartService;
+
+    public RelationshipChartServiceTest() throws Exception {
+        EphemerisRouter router = new EphemerisRouter(new KeplerEngine(), new SwissEphemerisEngine(), null);
+        birthChartService = new BirthChartService(null, new AstrologyCalculator(), new ObjectMapper(), Map.of(),
+                router, new AspectCalculator(AspectType.majors()), "", "") {
+            @Override
+            public BirthChart getBirthChart(Long id) {
+                return charts.get(id);
+            }
+        };
+        // Either side of the antimeridian: Fiji and Samoa
+        charts.put(1L, stored(1L, 2447892.8, -18.1, 178.4));
+        charts.put(2L, stored(2L, 2449010.35, -13.8, -171.8));
+    }
+
+    @Test
+    public void testMidpointOnTheShorterArc() {
+        assertEquals(0.0, RelationshipChartService.midpoint(350.0, 10.0), 1e-12);
+        assertEquals(0.0, RelationshipChartService.midpoint(10.0, 350.0), 1e-12);
+        assertEquals(1.0, RelationshipChartService.midpoint(359.0, 3.0), 1e-12);
+        assertEquals(359.5, RelationshipChartService.midpoint(2.0, 357.0), 1e-12);
+        assertEquals(45.0, RelationshipChartService.midpoint(30.0, 60.0), 1e-12);
+        // Exact oppositions have two midpoints; the first point's plus 90 is taken
+        assertEquals(100.0, RelationshipChartService.midpoint(10.0, 190.0), 1e-12);
+        assertEquals(280.0, RelationshipChartService.midpoint(190.0, 10.0), 1e-12);
+        assertEquals(90.0, RelationshipChartService.midpoint(0.0, 180.0), 1e-12);
+    }
+
+    @Test
+    public void testCompositeIsTheSameInEitherOrder() {
+        BirthChart forward = new RelationshipChartService(birthChartService).compositeChart(1L, 2L);
+        BirthChart backward = new RelationshipChartService(birthChartService).compositeChart(2L, 1L);
+        BirthChart first = charts.get(1L);
+        BirthChart second = charts.get(2L);
+        for (Planet planet : Planet.all()) {
+            double expected = RelationshipChartService.midpoint(first.getPlanetPositions().get(planet.name())[0],
+                second.getPlanetPositions().get(planet.name())[0]);
+            assertEquals(expected, forward.getPlanetPositions().get(planet.name())[0], 1e-9, planet.name());
+            assertArrayEquals(forward.getPlanetPositions().get(planet.name()),
+                backward.getPlanetPositions().get(planet.name()), 0.0);
+        }
+        for (int house = 1; house <= 12; house++) {
+            assertEquals(RelationshipChartService.midpoint(first.getHouses()[house], second.getHouses()[house]),
+                forward.getHouses()[house], 1e-9);
+        }
+        assertArrayEquals(forward.getHouses(), backward.getHouses(), 0.0);
+        assertEquals(forward.getAspectsDetails(), backward.getAspectsDetails());
+    }
+
+    @Test
+    public void testDavisonMomentAndPlace() {
+        RelationshipChartService service = new RelationshipChartService(birthChartService);
+        BirthChart davison = service.davisonChart(2L, 1L);
+        assertSame(davison, service.davisonChart(1L, 2L));
+        double julianDay = (2447892.8 + 2449010.35) * 0.5;
+        assertEquals(julianDay, davison.getJulianDay(), 1e-9);
+        assertEquals((-18.1 - 13.8) * 0.5, davison.getLatitude(), 1e-9);
+        // 178.4 E and 171.8 W are 9.8 degrees apart across the antimeridian, not 350.2 across Greenwich
+        assertEquals(-176.7, davison.getLongitude(), 1e-9);
+        BirthChart expected = birthChartService.calculateBirthChart(julianDay, davison.getLatitude(), -176.7,
+            HouseSystem.PLACIDUS, null, Set.of());
+        for (Planet planet : Planet.all()) {
+            assertArrayEquals(expected.getPlanetPositions().get(planet.name()),
+                davison.getPlanetPositions().get(planet.name()), 1e-12);
+        }
+        assertArrayEquals(expected.getHouses(), davison.getHouses(), 1e-12);
+    }
+
+    private BirthChart stored(Long id, double julianDay, double latitude, double longitude) {
+        BirthChart chart = birthChartService.calculateBirthChart(julianDay, latitude, longitude,
+                HouseSystem.PLACIDUS, null, Set.of());
+        chart.setId(id);
+        chart.setJulianDay(julianDay);
+        chart.setLatitude(latitude);
+        chart.setLongitude(longitude);
+        chart.setHouseSystem(HouseSystem.PLACIDUS.name());
+        return chart;
+    }
+}
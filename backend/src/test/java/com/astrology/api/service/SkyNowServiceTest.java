@@ -0,0 +1,200 @@
+package com.astrology.api.service;
+
+import com.astrology.api.util.EphemerisRouter;
+import com.astrology.api.util.KeplerEngine;
+import com.astrology.api.util.SwissEphemerisEngine;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SkyNowServiceTest {
+
+    private final EphemerisRouter router = new EphemerisRouter(new KeplerEngine(), new SwissEphemerisEngine(), null);
+    private final List<SkyNowService> services = new ArrayList<>();
+
+    @AfterEach
+    public void shutdown() {
+        services.forEach(SkyNowService::shutdown);
+    }
+
+    @Test
+    public void testSlowSubscriberGetsOnlyTheLatestFrame() throws Exception {
+        SkyNowService service = service(60_000, 10, 2);
+        FakeEmitter slow = new FakeEmitter(true);
+        FakeEmitter fast = new FakeEmitter(false);
+        service.subscribe(slow, null, null, null, null);
+        service.subscribe(fast, null, null, null, null);
+        await(() -> slow.attempts == 1);
+
+        // Frames 1 and 2 arrive while the slow client is still taking frame 0; 1 is replaced
+        service.tick();
+        await(() -> fast.events("sky").size() == 2);
+        service.tick();
+        await(() -> fast.events("sky").size() == 3);
+        slow.gate.countDown();
+        await(() -> slow.events("sky").size() == 2);
+        assertTrue(slow.events("sky").get(0).startsWith("id:0"));
+        assertTrue(slow.events("sky").get(1).startsWith("id:2"));
+        assertEquals(1, service.getStats().getFramesReplaced());
+        assertEquals(0, service.getStats().getStalledSubscribers());
+        assertFalse(slow.completed);
+    }
+
+    @Test
+    public void testStalledSubscriberIsDroppedAndCompleted() throws Exception {
+        SkyNowService service = service(10, 10, 1);
+        FakeEmitter stalled = new FakeEmitter(true);
+        service.subscribe(stalled, null, null, null, null);
+        await(() -> stalled.attempts == 1);
+
+        // Three 10 ms ticks on one write
+        Thread.sleep(50);
+        service.tick();
+        assertEquals(1, service.getStats().getStalledSubscribers());
+        assertEquals(0, service.getStats().getSubscribers());
+        assertFalse(stalled.completed);
+        stalled.gate.countDown();
+        await(() -> stalled.completed);
+        assertEquals(1, stalled.events("sky").size());
+
+        // The slot is free again
+        FakeEmitter next = new FakeEmitter(false);
+        service.subscribe(next, null, null, null, null);
+        await(() -> next.events("sky").size() == 1);
+    }
+
+    @Test
+    public void testPlacesAreSharedAndReleased() throws Exception {
+        SkyNowService service = service(60_000, 10, 2);
+        FakeEmitter first = new FakeEmitter(false);
+        FakeEmitter second = new FakeEmitter(false);
+        FakeEmitter elsewhere = new FakeEmitter(false);
+        FakeEmitter skyOnly = new FakeEmitter(false);
+        // The first two round to the same 0.01 degree place
+        service.subscribe(first, null, 51.501, -0.120, "placidus");
+        service.subscribe(second, null, 51.5012, -0.1201, "placidus");
+        service.subscribe(elsewhere, null, 40.71, -74.01, "placidus");
+        service.subscribe(skyOnly, null, null, null, null);
+        assertEquals(2, service.getStats().getPlaces());
+        await(() -> first.events("angles").size() == 1 && second.events("angles").size() == 1
+            && elsewhere.events("angles").size() == 1 && skyOnly.events("sky").size() == 1);
+
+        service.tick();
+        await(() -> first.events("angles").size() == 2 && second.events("angles").size() == 2
+            && elsewhere.events("angles").size() == 2 && skyOnly.events("sky").size() == 2);
+        assertEquals(first.events("angles").get(1), second.events("angles").get(1));
+        assertNotEquals(first.events("angles").get(1), elsewhere.events("angles").get(1));
+        assertTrue(skyOnly.events("angles").isEmpty());
+
+        first.disconnect();
+        assertEquals(2, service.getStats().getPlaces());
+        second.disconnect();
+        assertEquals(1, service.getStats().getPlaces());
+        elsewhere.disconnect();
+        assertEquals(0, service.getStats().getPlaces());
+        assertEquals(1, service.getStats().getSubscribers());
+    }
+
+    @Test
+    public void testSubscriberLimit() {
+        SkyNowService service = service(60_000, 2, 1);
+        service.subscribe(new FakeEmitter(false), null, null, null, null);
+        // A rejected place gives its reserved slot back
+        assertThrows(IllegalArgumentException.class,
+            () -> service.subscribe(new FakeEmitter(false), null, 100.0, 0.0, null));
+        FakeEmitter second = new FakeEmitter(false);
+        service.subscribe(second, null, null, null, null);
+        assertThrows(IllegalStateException.class,
+            () -> service.subscribe(new FakeEmitter(false), null, null, null, null));
+        second.disconnect();
+        service.subscribe(new FakeEmitter(false), null, null, null, null);
+        assertEquals(2, service.getStats().getSubscribers());
+        assertEquals(2, service.getStats().getPeakSubscribers());
+    }
+
+    private SkyNowService service(long intervalMs, int maxSubscribers, int senderThreads) {
+        SkyNowService service = new SkyNowService(router, null, new ObjectMapper(), intervalMs, maxSubscribers,
+            senderThreads);
+        services.add(service);
+        return service;
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "timed out");
+            Thread.sleep(5);
+        }
+    }
+
+    // Records events as their SSE text; a gated emitter blocks its first write until the gate opens
+    private static final class FakeEmitter extends SseEmitter {
+        final CountDownLatch gate = new CountDownLatch(1);
+        final boolean gated;
+        final List<String> events = new CopyOnWriteArrayList<>();
+        final List<Runnable> completionCallbacks = new CopyOnWriteArrayList<>();
+        volatile int attempts;
+        volatile boolean completed;
+
+        FakeEmitter(boolean gated) {
+            this.gated = gated;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            attempts++;
+            if (gated && attempts == 1) {
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+            StringBuilder text = new StringBuilder();
+            for (ResponseBodyEmitter.DataWithMediaType part : builder.build()) {
+                text.append(part.getData());
+            }
+            events.add(text.toString());
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+            super.complete();
+        }
+
+        @Override
+        public void onCompletion(Runnable callback) {
+            completionCallbacks.add(callback);
+            super.onCompletion(callback);
+        }
+
+        // What the container does when the client goes away
+        void disconnect() {
+            completionCallbacks.forEach(Runnable::run);
+        }
+
+        List<String> events(String name) {
+            List<String> named = new ArrayList<>();
+            for (String event : events) {
+                if (event.contains("event:" + name + "\n")) {
+                    named.add(event);
+                }
+            }
+            return named;
+        }
+    }
+}
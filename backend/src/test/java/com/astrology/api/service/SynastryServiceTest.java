@@ -0,0 +1,134 @@
+package com.astrology.api.service;
+
+import com.astrology.api.dto.SynastryAspect;
+import com.astrology.api.dto.SynastryResult;
+import com.astrology.api.model.BirthChart;
+import com.astrology.api.model.astrology.AspectType;
+import com.astrology.api.model.astrology.Ayanamsa;
+import com.astrology.api.model.astrology.HouseSystem;
+import com.astrology.api.repository.BirthChartRepository;
+import com.astrology.api.util.AspectCalculator;
+import com.astrology.api.util.AstrologyCalculator;
+import com.astrology.api.util.EphemerisRouter;
+import com.astrology.api.util.KeplerEngine;
+import com.astrology.api.util.SwissEphemerisEngine;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class SynastryServiceTest {
+    private static final double FIRST = 2447892.8;
+    private static final double SECOND = 2449010.35;
+
+    private final AspectCalculator aspectCalculator = new AspectCalculator(AspectType.majors());
+    private final BirthChartRepository repository = mock(BirthChartRepository.class);
+    private final Map<Long, BirthChart> charts = new HashMap<>();
+    private final SynastryService service = new SynastryService(repository, aspectCalculator);
+
+    @SuppressWarnings("unchecked")
+    public SynastryServiceTest() throws Exception {
+        BirthChartService birthChartService = new BirthChartService(repository, new AstrologyCalculator(),
+            new ObjectMapper(), Map.of(), new EphemerisRouter(new KeplerEngine(), new SwissEphemerisEngine(), null),
+            aspectCalculator, "", "");
+        // Two tropical charts, and the same two moments and places in the Lahiri zodiac
+        charts.put(1L, stored(birthChartService, 1L, FIRST, 51.5, -0.12, null));
+        charts.put(2L, stored(birthChartService, 2L, SECOND, 40.7, -74.0, null));
+        charts.put(3L, stored(birthChartService, 3L, SECOND, 40.7, -74.0, Ayanamsa.LAHIRI));
+        charts.put(4L, stored(birthChartService, 4L, FIRST, 51.5, -0.12, Ayanamsa.LAHIRI));
+        when(repository.findAllById(any())).thenAnswer(invocation -> {
+            List<BirthChart> found = new ArrayList<>();
+            for (Long id : (Collection<Long>) invocation.getArgument(0)) {
+                if (charts.containsKey(id)) {
+                    found.add(charts.get(id));
+                }
+            }
+            return found;
+        });
+    }
+
+    @Test
+    public void testBothDirectionsAgree() {
+        List<SynastryAspect> forward = service.synastry(1L, List.of(2L)).get(0).getAspects();
+        List<SynastryAspect> backward = service.synastry(2L, List.of(1L)).get(0).getAspects();
+        assertFalse(forward.isEmpty());
+        assertEquals(forward.size(), backward.size());
+        Map<String, SynastryAspect> mirrored = new HashMap<>();
+        for (SynastryAspect aspect : backward) {
+            mirrored.put(aspect.getPartnerPoint() + "-" + aspect.getPoint(), aspect);
+        }
+        for (SynastryAspect aspect : forward) {
+            SynastryAspect other = mirrored.get(aspect.getPoint() + "-" + aspect.getPartnerPoint());
+            assertNotNull(other, aspect.getPoint() + "-" + aspect.getPartnerPoint());
+            assertEquals(aspect.getAspect(), other.getAspect());
+            assertEquals(aspect.getSeparation(), other.getSeparation(), 1e-12);
+            assertEquals(aspect.getOrb(), other.getOrb(), 1e-12);
+            assertEquals(aspect.getMotion(), other.getMotion());
+        }
+    }
+
+    @Test
+    public void testZodiacsCancelOrAreShiftedBack() {
+        List<SynastryAspect> tropical = service.synastry(1L, List.of(2L)).get(0).getAspects();
+        List<SynastryResult> results = service.synastry(1L, List.of(3L, 2L));
+        assertEquals(3L, results.get(0).getPartnerId());
+        // Mixed zodiacs are compared in the tropical one
+        assertSameAspects(tropical, results.get(0).getAspects(), 2.0 / 3600.0);
+        assertSameAspects(tropical, results.get(1).getAspects(), 0.0);
+        // Two sidereal charts compare as stored, so each separation moves by the change in the ayanamsa
+        // between the two moments, about 160 arcseconds
+        double drift = Math.abs(BirthChartService.tropicalOffset(charts.get(3L))
+            - BirthChartService.tropicalOffset(charts.get(4L)));
+        List<SynastryAspect> sidereal = service.synastry(4L, List.of(3L)).get(0).getAspects();
+        assertSameAspects(tropical, sidereal, drift + 2.0 / 3600.0);
+        double largest = 0;
+        for (int row = 0; row < tropical.size(); row++) {
+            double difference = tropical.get(row).getSeparation() - sidereal.get(row).getSeparation();
+            largest = Math.max(largest, Math.abs(difference));
+        }
+        assertEquals(drift, largest, 2.0 / 3600.0);
+    }
+
+    @Test
+    public void testChartsAreLoadedOnceAndValidated() {
+        service.synastry(1L, List.of(2L, 3L));
+        service.synastry(2L, List.of(1L, 3L));
+        verify(repository, times(1)).findAllById(any());
+        assertThrows(RuntimeException.class, () -> service.synastry(1L, List.of(99L)));
+        assertThrows(IllegalArgumentException.class, () -> service.synastry(1L, List.of()));
+    }
+
+    // Same pairs and aspects in the same order, separations within a tolerance
+    private static void assertSameAspects(List<SynastryAspect> expected, List<SynastryAspect> actual,
+                                          double tolerance) {
+        assertEquals(expected.size(), actual.size());
+        for (int row = 0; row < expected.size(); row++) {
+            SynastryAspect aspect = expected.get(row);
+            SynastryAspect other = actual.get(row);
+            assertEquals(aspect.getPoint() + "-" + aspect.getPartnerPoint() + " " + aspect.getAspect(),
+                other.getPoint() + "-" + other.getPartnerPoint() + " " + other.getAspect());
+            assertEquals(aspect.getSeparation(), other.getSeparation(), tolerance);
+        }
+    }
+
+    private static BirthChart stored(BirthChartService birthChartService, Long id, double julianDay, double latitude,
+                                     double longitude, Ayanamsa ayanamsa) {
+        BirthChart chart = birthChartService.calculateBirthChart(julianDay, latitude, longitude,
+            HouseSystem.PLACIDUS, ayanamsa, Set.of());
+        chart.setId(id);
+        chart.setJulianDay(julianDay);
+        chart.setLatitude(latitude);
+        chart.setLongitude(longitude);
+        chart.setAyanamsa(ayanamsa == null ? null : ayanamsa.name());
+        return chart;
+    }
+}
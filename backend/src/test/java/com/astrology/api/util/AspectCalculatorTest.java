@@ -0,0 +1,161 @@
+package com.astrology.api.util;
+
+import com.astrology.api.model.astrology.AspectType;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AspectCalculatorTest {
+
+    private final AspectCalculator calculator = new AspectCalculator(AspectType.majors(), new double[]{10, 6, 8, 8, 10});
+
+    @Test
+    public void testSweepMatchesAllPairs() {
+        Random random = new Random(42);
+        AspectTable table = new AspectTable();
+        for (int trial = 0; trial < 200; trial++) {
+            int count = 2 + random.nextInt(40);
+            double[] longitudes = new double[count];
+            double[] speeds = new double[count];
+            double[] orbFactors = new double[count];
+            for (int i = 0; i < count; i++) {
+                longitudes[i] = random.nextDouble() * 360.0;
+                speeds[i] = random.nextDouble() * 2.0 - 0.5;
+                orbFactors[i] = 0.5 + random.nextDouble();
+            }
+            assertMatchesAllPairs(longitudes, speeds, trial % 2 == 0 ? orbFactors : null, table);
+        }
+    }
+
+    @Test
+    public void testWrapAndExactOppositions() {
+        AspectTable table = new AspectTable();
+        // Conjunction across 0 degrees, an exact opposition in both index orders, and one body on 0
+        double[] longitudes = {359.5, 0.5, 10.0, 190.0, 250.0, 70.0, 0.0, 180.0};
+        double[] speeds = {1.0, 0.5, 0.2, -0.1, 0.3, 0.3, 13.0, 0.0};
+        assertMatchesAllPairs(longitudes, speeds, null, table);
+        assertMatchesAllPairs(longitudes, speeds, new double[]{1, 2, 1, 0.5, 1, 1, 1.5, 1}, table);
+
+        // A hair over 180 degrees from the lower index: found once, from the other end
+        calculator.calculate(new double[]{10.0, Math.nextUp(190.0)}, null, null, 2, table);
+        assertEquals(1, table.size());
+        assertEquals(AspectType.OPPOSITION, calculator.getAspect(table.aspect(0)));
+        assertEquals(180.0, table.separation(0), 1e-9);
+        calculator.calculate(new double[]{Math.nextUp(190.0), 10.0}, null, null, 2, table);
+        assertEquals(1, table.size());
+
+        // Equal speeds are neither applying nor separating
+        calculator.calculate(new double[]{10.0, 100.0}, new double[]{1.0, 1.0}, null, 2, table);
+        assertEquals(0, table.applying(0));
+        calculator.calculateCross(new double[]{10.0}, new double[]{1.0}, null, 1,
+            new double[]{100.0}, new double[]{1.0}, null, 1, table);
+        assertEquals(0, table.applying(0));
+    }
+
+    @Test
+    public void testCrossAspectsBetweenTwoCharts() {
+        AspectTable table = new AspectTable();
+        double[] longitudesA = {359.0, 100.0, 45.0};
+        double[] speedsA = {1.0, 0.5, 0.0};
+        double[] factorsA = {1.0, 1.0, 0.5};
+        double[] longitudesB = {1.0, 280.0, 192.0};
+        double[] speedsB = {0.5, 0.5, -0.2};
+        double[] factorsB = {1.0, 1.0, 1.0};
+        // A conjunction across 0 degrees the faster body closes, an exact opposition at equal speeds,
+        // a closing square, and a trine 5 degrees wide inside the 6 allowed by the averaged factors
+        for (boolean swapped : new boolean[]{false, true}) {
+            if (swapped) {
+                calculator.calculateCross(longitudesB, speedsB, factorsB, 3, longitudesA, speedsA, factorsA, 3, table);
+            } else {
+                calculator.calculateCross(longitudesA, speedsA, factorsA, 3, longitudesB, speedsB, factorsB, 3, table);
+            }
+            assertEquals(4, table.size());
+            assertCross(table, swapped, 0, 0, AspectType.CONJUNCTION, 2.0, 2.0, 1);
+            assertCross(table, swapped, 1, 1, AspectType.OPPOSITION, 180.0, 0.0, 0);
+            assertCross(table, swapped, 1, 2, AspectType.SQUARE, 92.0, 2.0, 1);
+            assertCross(table, swapped, 2, 1, AspectType.TRINE, 125.0, 5.0, 1);
+        }
+
+        // Halving B's factor for the trine's partner narrows its orb to 4 degrees
+        calculator.calculateCross(longitudesA, speedsA, factorsA, 3, longitudesB, speedsB,
+            new double[]{1.0, 0.5, 1.0}, 3, table);
+        assertEquals(3, table.size());
+        assertEquals(-1, row(table, false, 2, 1));
+        // Without speeds nothing is applying or separating
+        calculator.calculateCross(longitudesA, null, null, 3, longitudesB, null, null, 3, table);
+        for (int row = 0; row < table.size(); row++) {
+            assertEquals(0, table.applying(row));
+        }
+    }
+
+    private void assertCross(AspectTable table, boolean swapped, int a, int b, AspectType aspect,
+                             double separation, double orb, int applying) {
+        int row = row(table, swapped, a, b);
+        assertTrue(row >= 0, "missing " + a + "-" + b);
+        assertEquals(aspect, calculator.getAspect(table.aspect(row)));
+        assertEquals(separation, table.separation(row), 1e-9);
+        assertEquals(orb, table.orb(row), 1e-9);
+        assertEquals(applying, table.applying(row));
+    }
+
+    // Row of the pair of A's a and B's b, with the charts passed in either order
+    private static int row(AspectTable table, boolean swapped, int a, int b) {
+        for (int row = 0; row < table.size(); row++) {
+            if (table.first(row) == (swapped ? b : a) && table.second(row) == (swapped ? a : b)) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    private void assertMatchesAllPairs(double[] longitudes, double[] speeds, double[] orbFactors, AspectTable table) {
+        int count = longitudes.length;
+        calculator.calculate(longitudes, speeds, orbFactors, count, table);
+        Map<Long, Integer> rows = new HashMap<>();
+        for (int row = 0; row < table.size(); row++) {
+            assertNull(rows.put(key(table.first(row), table.second(row), table.aspect(row)), row), "duplicate row");
+        }
+
+        int expected = 0;
+        for (int i = 0; i < count; i++) {
+            for (int j = i + 1; j < count; j++) {
+                double d = Math.abs(longitudes[i] - longitudes[j]);
+                double separation = Math.min(d, 360.0 - d);
+                double factor = orbFactors == null ? 1.0 : (orbFactors[i] + orbFactors[j]) * 0.5;
+                for (int a = 0; a < calculator.getAspectCount(); a++) {
+                    double angle = calculator.getAspect(a).getAngle();
+                    if (Math.abs(separation - angle) > calculator.getOrb(a) * factor) {
+                        continue;
+                    }
+                    expected++;
+                    Integer row = rows.get(key(i, j, a));
+                    assertNotNull(row, "missing " + i + "-" + j + " " + calculator.getAspect(a));
+                    assertEquals(separation, table.separation(row), 1e-9);
+                    assertEquals(Math.abs(separation - angle), table.orb(row), 1e-9);
+                    assertEquals(applying(separation - angle, longitudes[i], longitudes[j], speeds[i], speeds[j]),
+                        table.applying(row));
+                }
+            }
+        }
+        assertEquals(expected, table.size());
+    }
+
+    // The separation grows at the speed of the body ahead less that of the body behind
+    private static byte applying(double deviation, double first, double second, double firstSpeed,
+                                 double secondSpeed) {
+        double ahead = ((second - first) % 360.0 + 360.0) % 360.0;
+        double rate = ahead <= 180.0 ? secondSpeed - firstSpeed : firstSpeed - secondSpeed;
+        if (rate == 0) {
+            return 0;
+        }
+        return deviation * rate < 0 ? (byte) 1 : (byte) -1;
+    }
+
+    private static long key(int first, int second, int aspect) {
+        return ((long) first << 32) | ((long) second << 8) | aspect;
+    }
+}
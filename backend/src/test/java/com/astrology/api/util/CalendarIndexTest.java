@@ -0,0 +1,63 @@
+package com.astrology.api.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import swisseph.SweConst;
+import swisseph.SwissEph;
+
+import java.nio.file.Path;
+
+import static com.astrology.api.util.TransitSearchTest.utc;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CalendarIndexTest {
+    private static final double MINUTE = 1.0 / 1440;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testLunarPhasesAndIngressesOf2000() throws Exception {
+        Path file = tempDir.resolve("calendar-index.bin");
+        double startJd = utc(2000, 1, 1, 0, 0);
+        double endJd = utc(2000, 3, 1, 0, 0);
+        new CalendarIndexBuilder(new SwissEph()).build(file, startJd, endJd);
+        CalendarIndex index = CalendarIndex.open(file);
+        assertTrue(index.covers(startJd) && index.covers(endJd));
+
+        // New moon 6 Jan 18:14, first quarter 14 Jan 13:34, full moon 21 Jan 04:40 (the eclipse) UT
+        int phases = index.section(CalendarIndex.Kind.LUNAR_PHASE, CalendarIndex.LUNAR_PHASE_BODY);
+        int first = index.firstAfter(phases, startJd);
+        assertEquals(0, first);
+        assertEquals(0, index.code(phases, 0));
+        assertEquals(utc(2000, 1, 6, 18, 14), index.julianDay(phases, 0), 2 * MINUTE);
+        assertEquals(1, index.code(phases, 1));
+        assertEquals(utc(2000, 1, 14, 13, 34), index.julianDay(phases, 1), 2 * MINUTE);
+        assertEquals(2, index.code(phases, 2));
+        assertEquals(utc(2000, 1, 21, 4, 40), index.julianDay(phases, 2), 2 * MINUTE);
+        // Phases cycle in order, a week or so apart
+        for (int event = 1; event < index.count(phases); event++) {
+            assertEquals((index.code(phases, event - 1) + 1) % 4, index.code(phases, event));
+            double gap = index.julianDay(phases, event) - index.julianDay(phases, event - 1);
+            assertTrue(gap > 6.5 && gap < 8.5, "gap " + gap);
+        }
+        // Strictly after: an event time itself is not its own next event
+        assertEquals(1, index.firstAfter(phases, index.julianDay(phases, 0)));
+        assertEquals(index.count(phases), index.firstAfter(phases, endJd));
+
+        // The Sun entered Aquarius on 20 Jan 18:23 and Pisces on 19 Feb 08:33 UT
+        int sun = index.section(CalendarIndex.Kind.INGRESS, SweConst.SE_SUN);
+        assertEquals(2, index.count(sun));
+        assertEquals(10, index.code(sun, 0));
+        assertEquals(utc(2000, 1, 20, 18, 23), index.julianDay(sun, 0), 2 * MINUTE);
+        assertEquals(11, index.code(sun, 1));
+        assertEquals(utc(2000, 2, 19, 8, 33), index.julianDay(sun, 1), 2 * MINUTE);
+        assertEquals(0, index.count(index.section(CalendarIndex.Kind.STATION, SweConst.SE_SUN)));
+
+        // Mercury turned retrograde on 21 Feb 2000 near 12:50 UT; stations are slow, so allow ten minutes
+        int mercury = index.section(CalendarIndex.Kind.STATION, SweConst.SE_MERCURY);
+        assertEquals(1, index.count(mercury));
+        assertEquals(TransitSearch.STATION_RETROGRADE, index.code(mercury, 0));
+        assertEquals(utc(2000, 2, 21, 12, 50), index.julianDay(mercury, 0), 10 * MINUTE);
+    }
+}
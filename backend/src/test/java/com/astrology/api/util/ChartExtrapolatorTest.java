@@ -0,0 +1,75 @@
+package com.astrology.api.util;
+
+import com.astrology.api.model.astrology.Ayanamsa;
+import com.astrology.api.model.astrology.HouseSystem;
+import com.astrology.api.model.astrology.Planet;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChartExtrapolatorTest {
+    private static final double BASE = 2460676.5;
+    private static final double TOLERANCE_ARCSEC = 60;
+
+    private final ChartKernel kernel = new ChartKernel();
+    private final ChartExtrapolator extrapolator = new ChartExtrapolator(TOLERANCE_ARCSEC);
+
+    private void compare(double days, Ayanamsa ayanamsa, int expectedRefined) {
+        ChartResult base = kernel.compute(BASE, 51.5, -0.12, HouseSystem.PLACIDUS, ayanamsa, new ChartResult());
+        ChartResult exact = kernel.compute(BASE + days, 51.5, -0.12, HouseSystem.PLACIDUS, ayanamsa, new ChartResult());
+        ChartResult moved = new ChartResult();
+        int refined = extrapolator.extrapolate(base.bodies, BASE, days, 51.5, -0.12, HouseSystem.PLACIDUS,
+            ayanamsa, moved);
+        assertEquals(expectedRefined, refined);
+        for (Planet planet : Planet.all()) {
+            double difference = Math.abs(TransitSearch.signedDifference(moved.longitude(planet),
+                exact.longitude(planet)));
+            assertTrue(difference < TOLERANCE_ARCSEC / 3600.0, planet.name() + " is off by " + difference);
+        }
+        // Closed-form nutation and the angle table against SwissEph nutation and the exact cusps
+        for (int house = 1; house <= 12; house++) {
+            assertEquals(0.0, TransitSearch.signedDifference(moved.getCusps()[house], exact.getCusps()[house]),
+                10.0 / 3600.0);
+        }
+    }
+
+    @Test
+    public void testSliderStepsStayOnTheLine() {
+        // Two hours: no planet can drift a minute of arc from its line
+        compare(2.0 / 24.0, null, 0);
+        compare(-2.0 / 24.0, Ayanamsa.LAHIRI, 0);
+    }
+
+    @Test
+    public void testSiderealLinesFollowTheTropicalOnes() {
+        // A tolerance no line exceeds over most of a year, so every planet moves along its line
+        ChartExtrapolator loose = new ChartExtrapolator(1e9);
+        double days = 300;
+        ChartResult tropicalBase = kernel.compute(BASE, 51.5, -0.12, HouseSystem.PLACIDUS, null, new ChartResult());
+        ChartResult siderealBase = kernel.compute(BASE, 51.5, -0.12, HouseSystem.PLACIDUS, Ayanamsa.LAHIRI,
+            new ChartResult());
+        ChartResult tropical = new ChartResult();
+        ChartResult sidereal = new ChartResult();
+        assertEquals(0, loose.extrapolate(tropicalBase.bodies, BASE, days, 51.5, -0.12, HouseSystem.PLACIDUS, null,
+            tropical));
+        assertEquals(0, loose.extrapolate(siderealBase.bodies, BASE, days, 51.5, -0.12, HouseSystem.PLACIDUS,
+            Ayanamsa.LAHIRI, sidereal));
+        // The same lines, shifted by the offset of the new moment; the ayanamsa alone grows 40" in 300 days
+        double offset = sidereal.ayanamsaOffset;
+        for (Planet planet : Planet.all()) {
+            assertEquals(0.0, TransitSearch.signedDifference(tropical.longitude(planet) - offset,
+                sidereal.longitude(planet)), 2.0 / 3600.0, planet.name());
+        }
+    }
+
+    @Test
+    public void testLongOffsetsAreRefined() {
+        ChartResult moved = new ChartResult();
+        // Five days: everything but the Sun
+        assertTrue(extrapolator.needsRefinement(Planet.MOON, 10));
+        assertFalse(extrapolator.needsRefinement(Planet.SUN, 1));
+        compare(5, null, Planet.COUNT - 1);
+        assertEquals(0, extrapolator.extrapolate(new double[Planet.COUNT * ChartResult.BODY_STRIDE], BASE, 0,
+            0, 0, HouseSystem.EQUAL, null, moved));
+    }
+}
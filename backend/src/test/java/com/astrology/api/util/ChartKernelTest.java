@@ -0,0 +1,79 @@
+package com.astrology.api.util;
+
+import com.astrology.api.model.astrology.Ayanamsa;
+import com.astrology.api.model.astrology.HouseSystem;
+import com.astrology.api.model.astrology.Planet;
+import org.junit.jupiter.api.Test;
+import swisseph.SweConst;
+import swisseph.SwissEph;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChartKernelTest {
+    private static final double LATITUDE = 51.5;
+    private static final double LONGITUDE = -0.12;
+    private static final Ayanamsa[] AYANAMSAS = {
+        Ayanamsa.LAHIRI, Ayanamsa.FAGAN_BRADLEY, Ayanamsa.KRISHNAMURTI, Ayanamsa.RAMAN, Ayanamsa.GALACTIC_CENTER
+    };
+
+    private final SwissEph swissEph = new SwissEph();
+    private final ChartKernel kernel = new ChartKernel();
+
+    @Test
+    public void testSiderealChartsMatchSwissEph() {
+        ChartResult result = new ChartResult();
+        double[] xx = new double[6];
+        double[] cusps = new double[HouseCalculator.CUSP_COUNT];
+        double[] ascmc = new double[HouseCalculator.ASCMC_COUNT];
+        StringBuffer serr = new StringBuffer();
+        for (Ayanamsa ayanamsa : AYANAMSAS) {
+            // 1900 to 2040, off the day boundaries the ayanamsa cache interpolates between
+            for (double julianDay = 2415020.8; julianDay < 2466154.5; julianDay += 3217.31) {
+                kernel.compute(julianDay, LATITUDE, LONGITUDE, HouseSystem.PLACIDUS, ayanamsa, result);
+                swissEph.swe_set_sid_mode(ayanamsa.getSweMode(), 0, 0);
+                for (Planet planet : Planet.all()) {
+                    swissEph.swe_calc_ut(julianDay, planet.getSweBody(),
+                        SweConst.SEFLG_SWIEPH | SweConst.SEFLG_SIDEREAL | SweConst.SEFLG_SPEED, xx, serr);
+                    assertEquals(0.0, TransitSearch.signedDifference(result.longitude(planet), xx[0]), 1e-6,
+                        planet + " in " + ayanamsa + " at " + julianDay);
+                    // Speeds stay tropical, faster by the ayanamsa's own 0.14" a day plus the nutation's rate
+                    assertEquals(xx[3], result.speed(planet), 1e-4);
+                }
+                // Angles carry the kernel's own sidereal time, as tropical charts do
+                swissEph.swe_houses(julianDay, SweConst.SEFLG_SIDEREAL, LATITUDE, LONGITUDE, 'P', cusps, ascmc);
+                for (int house = 1; house <= 12; house++) {
+                    assertEquals(0.0, TransitSearch.signedDifference(result.getCusps()[house], cusps[house]),
+                        1.4e-4, "cusp " + house + " in " + ayanamsa);
+                }
+                assertEquals(0.0, TransitSearch.signedDifference(result.getAscendant(), ascmc[0]), 1.4e-4);
+                assertEquals(0.0, TransitSearch.signedDifference(result.getMidheaven(), ascmc[1]), 1.4e-4);
+                assertEquals(ChartKernel.signIndex(result.longitude(Planet.SUN)), result.sign(Planet.SUN));
+            }
+        }
+    }
+
+    @Test
+    public void testSiderealWholeSignsStartAtSiderealSigns() {
+        ChartResult result = new ChartResult();
+        double[] cusps = new double[HouseCalculator.CUSP_COUNT];
+        double[] ascmc = new double[HouseCalculator.ASCMC_COUNT];
+        for (Ayanamsa ayanamsa : AYANAMSAS) {
+            for (double julianDay = 2451545.3; julianDay < 2451546.3; julianDay += 0.07) {
+                kernel.compute(julianDay, LATITUDE, LONGITUDE, HouseSystem.WHOLE_SIGN, ayanamsa, result);
+                // The Java port's 'W' ignores SEFLG_SIDEREAL, so start from its sidereal Ascendant
+                swissEph.swe_set_sid_mode(ayanamsa.getSweMode(), 0, 0);
+                swissEph.swe_houses(julianDay, SweConst.SEFLG_SIDEREAL, LATITUDE, LONGITUDE, 'P', cusps, ascmc);
+                assertEquals(0.0, TransitSearch.signedDifference(result.getAscendant(), ascmc[0]), 1.4e-4);
+                // Skip the rare moment the two Ascendants straddle a sign boundary
+                double first = Math.floor(ascmc[0] / 30.0) * 30.0;
+                if (first != Math.floor(result.getAscendant() / 30.0) * 30.0) {
+                    continue;
+                }
+                for (int house = 1; house <= 12; house++) {
+                    assertEquals((first + (house - 1) * 30.0) % 360.0, result.getCusps()[house], 1e-9,
+                        "house " + house + " in " + ayanamsa);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.astrology.api.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import swisseph.SweConst;
+import swisseph.SwissEph;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.astrology.api.util.TransitSearchTest.utc;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChebyshevEphemerisTest {
+    private static final int[] BODIES = {
+        SweConst.SE_SUN, SweConst.SE_MOON, SweConst.SE_MERCURY, SweConst.SE_VENUS, SweConst.SE_MARS,
+        SweConst.SE_JUPITER, SweConst.SE_SATURN, SweConst.SE_URANUS, SweConst.SE_NEPTUNE, SweConst.SE_PLUTO
+    };
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testGeneratedFileMatchesSwissEph() throws Exception {
+        Path file = tempDir.resolve("chebyshev.bin");
+        double startJd = utc(2024, 1, 1, 0, 0);
+        double endJd = utc(2024, 3, 1, 0, 0);
+        ChebyshevEphemerisGenerator.generate(file, startJd, endJd);
+        ChebyshevEphemeris ephemeris = ChebyshevEphemeris.open(file);
+        assertEquals(startJd, ephemeris.getStartJd());
+        assertEquals(endJd, ephemeris.getEndJd());
+        assertTrue(ephemeris.covers(startJd));
+        assertFalse(ephemeris.covers(endJd));
+        assertFalse(ephemeris.supports(SweConst.SE_CHIRON));
+
+        SwissEph swissEph = new SwissEph();
+        double[] xx = new double[6];
+        double[] out = new double[6];
+        StringBuffer serr = new StringBuffer();
+        for (int body : BODIES) {
+            assertTrue(ephemeris.supports(body));
+            double bound = ephemeris.getMaxErrorArcsec(body);
+            assertTrue(bound > 0 && bound < 1.0, body + " stored bound " + bound);
+            // The stored bound is the largest error at the generator's check points; between them it may be
+            // exceeded a little
+            for (double julianDay = startJd; julianDay < endJd; julianDay += 0.037) {
+                ephemeris.calculate(body, julianDay, out);
+                swissEph.swe_calc_ut(julianDay, body, SweConst.SEFLG_SWIEPH | SweConst.SEFLG_SPEED, xx, serr);
+                double error = Math.abs(TransitSearch.signedDifference(out[0], xx[0])) * 3600.0;
+                assertTrue(error <= 1.5 * bound, body + " at " + julianDay + " is off by " + error + "\"");
+                assertEquals(xx[1], out[1], 1.0 / 3600.0);
+                assertEquals(xx[2], out[2], 1e-6 * xx[2]);
+                // Speeds are the derivative of the fit, good to a few arcseconds a day
+                assertEquals(xx[3], out[3], 0.01 * Math.abs(xx[3]) + 5.0 / 3600.0);
+            }
+        }
+    }
+
+    @Test
+    public void testRejectsOtherFiles() throws Exception {
+        Path file = tempDir.resolve("other.bin");
+        Files.write(file, new byte[64]);
+        assertThrows(IllegalArgumentException.class, () -> ChebyshevEphemeris.open(file));
+    }
+}
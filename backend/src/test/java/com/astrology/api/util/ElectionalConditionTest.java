@@ -0,0 +1,52 @@
+package com.astrology.api.util;
+
+import com.astrology.api.model.astrology.Planet;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ElectionalConditionTest {
+
+    @Test
+    public void testParsesClauses() {
+        List<ElectionalCondition> conditions = ElectionalCondition.parseAll(
+                "Moon not void, Venus angular and no Mars–Saturn hard aspect; Mercury direct");
+        assertEquals(4, conditions.size());
+        assertEquals(ElectionalCondition.Kind.VOID_OF_COURSE, conditions.get(0).getKind());
+        assertTrue(conditions.get(0).isNegated());
+        assertEquals(ElectionalCondition.Kind.ANGULAR, conditions.get(1).getKind());
+        assertEquals(ElectionalCondition.Kind.ASPECT, conditions.get(2).getKind());
+        assertTrue(conditions.get(2).isNegated());
+        // "direct" is "not retrograde"
+        assertEquals(ElectionalCondition.Kind.RETROGRADE, conditions.get(3).getKind());
+        assertTrue(conditions.get(3).isNegated());
+    }
+
+    @Test
+    public void testEvaluatesAspectsAndSigns() {
+        double[] longitudes = new double[Planet.COUNT];
+        double[] speeds = new double[Planet.COUNT];
+        longitudes[Planet.MARS.ordinal()] = 10.0;
+        longitudes[Planet.SATURN.ordinal()] = 283.0;
+
+        // 87 degrees apart: a square within its 7 degree orb
+        assertFalse(ElectionalCondition.parse("no Mars-Saturn hard aspect").holds(longitudes, speeds, null));
+        assertTrue(ElectionalCondition.parse("Mars square Saturn").holds(longitudes, speeds, null));
+        assertFalse(ElectionalCondition.parse("Mars trine Saturn").holds(longitudes, speeds, null));
+        assertTrue(ElectionalCondition.parse("Saturn in Capricorn").holds(longitudes, speeds, null));
+
+        // The square leaves its orb after 4 more degrees of separation, at most 0.96 degrees a day
+        double horizon = ElectionalCondition.parse("Mars square Saturn").horizon(longitudes, speeds, null, 0);
+        assertEquals(4.0 / (Planet.MARS.getMaxSpeed() + Planet.SATURN.getMaxSpeed()), horizon, 1e-9);
+    }
+
+    @Test
+    public void testRejectsUnknownClauses() {
+        assertThrows(IllegalArgumentException.class, () -> ElectionalCondition.parseAll("Mars void"));
+        assertThrows(IllegalArgumentException.class, () -> ElectionalCondition.parseAll("Moon in Narnia"));
+        assertThrows(IllegalArgumentException.class, () -> ElectionalCondition.parseAll("Pallas angular"));
+        assertThrows(IllegalArgumentException.class, () -> ElectionalCondition.parseAll(" , "));
+    }
+}
@@ -0,0 +1,56 @@
+package com.astrology.api.util;
+
+import com.astrology.api.model.astrology.HouseSystem;
+import org.junit.jupiter.api.Test;
+import swisseph.SweConst;
+import swisseph.SwissEph;
+
+import static com.astrology.api.util.TransitSearchTest.utc;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ElectionalSearchTest {
+    private static final double MINUTE = 1.0 / 1440;
+
+    private final double startJd = utc(2024, 3, 1, 0, 0);
+    private final double endJd = utc(2024, 6, 1, 0, 0);
+
+    @Test
+    public void testMercuryRetrogradeAndSunInAries() {
+        // Mercury's April 2024 stations at 22:14 and 12:54 UT
+        ElectionalSearch.Windows retrograde = search("Mercury retrograde");
+        assertEquals(1, retrograde.size());
+        assertEquals(utc(2024, 4, 1, 22, 14), retrograde.start(0), 2 * MINUTE);
+        assertEquals(utc(2024, 4, 25, 12, 54), retrograde.end(0), 2 * MINUTE);
+
+        // From the March equinox to the Sun entering Taurus
+        ElectionalSearch.Windows aries = search("Sun in Aries");
+        assertEquals(1, aries.size());
+        assertEquals(utc(2024, 3, 20, 3, 6), aries.start(0), MINUTE);
+        assertEquals(utc(2024, 4, 19, 14, 0), aries.end(0), MINUTE);
+    }
+
+    @Test
+    public void testMoonWindowsMatchTheIngresses() {
+        TransitSearch.Hits ingresses = new TransitSearch.Hits();
+        new TransitSearch(new SwissEph()).search(SweConst.SE_MOON, startJd, endJd,
+            TransitSearch.defaultStep(SweConst.SE_MOON), new double[]{30.0, 60.0}, 2, ingresses);
+        ElectionalSearch.Windows taurus = search("Moon in Taurus");
+        assertEquals(ingresses.size() / 2, taurus.size());
+        int row = ingresses.target(0) == 0 ? 0 : 1;
+        for (int window = 0; window < taurus.size(); window++, row += 2) {
+            assertEquals(ingresses.julianDay(row), taurus.start(window), MINUTE);
+            assertEquals(ingresses.julianDay(row + 1), taurus.end(window), MINUTE);
+        }
+
+        // Both together: only the Taurus Moon of 9-11 April falls inside the retrograde
+        ElectionalSearch.Windows both = search("Moon in Taurus, Mercury retrograde");
+        assertEquals(1, both.size());
+        assertEquals(taurus.start(1), both.start(0), MINUTE);
+        assertEquals(taurus.end(1), both.end(0), MINUTE);
+    }
+
+    private ElectionalSearch.Windows search(String query) {
+        return new ElectionalSearch(ElectionalCondition.parseAll(query), 51.5, -0.12, HouseSystem.PLACIDUS)
+            .search(startJd, endJd);
+    }
+}
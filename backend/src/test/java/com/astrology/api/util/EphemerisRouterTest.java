@@ -0,0 +1,48 @@
+package com.astrology.api.util;
+
+import com.astrology.api.model.astrology.HouseSystem;
+import com.astrology.api.model.astrology.Planet;
+import com.astrology.api.model.astrology.PrecisionTier;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EphemerisRouterTest {
+
+    private final KeplerEngine preview = new KeplerEngine();
+    private final SwissEphemerisEngine standard = new SwissEphemerisEngine();
+    private final EphemerisRouter router = new EphemerisRouter(preview, standard, null);
+
+    @Test
+    public void testEngineSelection() {
+        assertSame(preview, router.engine(PrecisionTier.PREVIEW, 2451545.0));
+        // Before the Keplerian elements begin, and research without a JPL file
+        assertSame(standard, router.engine(PrecisionTier.PREVIEW, 2305447.5));
+        assertSame(standard, router.engine(PrecisionTier.RESEARCH, 2451545.0));
+        assertSame(standard, router.engine(PrecisionTier.STANDARD, 2451545.0));
+        assertEquals(PrecisionTier.STANDARD, PrecisionTier.fromString(null));
+        assertEquals(PrecisionTier.PREVIEW, PrecisionTier.fromString(" Preview "));
+        assertThrows(IllegalArgumentException.class, () -> PrecisionTier.fromString("exact"));
+    }
+
+    @Test
+    public void testPreviewChartWithinBound() {
+        long borrows = SwissEphPool.shared().getStats().getBorrowCount();
+        ChartResult previewChart = router.compute(PrecisionTier.PREVIEW, 2460676.5, 51.5, -0.12,
+            HouseSystem.PLACIDUS, null, new ChartResult());
+        // The analytic engine and the closed-form nutation need no pooled instance
+        assertEquals(borrows, SwissEphPool.shared().getStats().getBorrowCount());
+        ChartResult standardChart = router.compute(PrecisionTier.STANDARD, 2460676.5, 51.5, -0.12,
+            HouseSystem.PLACIDUS, null, new ChartResult());
+        double bound = preview.getMaxErrorArcsec() / 3600.0;
+        for (Planet planet : Planet.all()) {
+            double difference = Math.abs(previewChart.longitude(planet) - standardChart.longitude(planet));
+            assertTrue(Math.min(difference, 360.0 - difference) < bound, planet.name());
+        }
+        // Preview houses come from the angle table, within a few arcseconds at this latitude
+        assertEquals(standardChart.getAscendant(), previewChart.getAscendant(), 4.0 / 3600.0);
+        EphemerisRouter.TierProfile profile = router.getProfiles().get(PrecisionTier.PREVIEW.ordinal());
+        assertEquals(1, profile.getCharts());
+        assertTrue(profile.getEngine().startsWith("kepler"));
+    }
+}
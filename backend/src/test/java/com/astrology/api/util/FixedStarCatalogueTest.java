@@ -0,0 +1,37 @@
+package com.astrology.api.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FixedStarCatalogueTest {
+
+    private static double longitude(FixedStarCatalogue catalogue, double julianDay, String name) {
+        for (int star = 0; star < catalogue.size(); star++) {
+            if (catalogue.name(star).equals(name)) {
+                return catalogue.positions(julianDay)[star * 2];
+            }
+        }
+        throw new AssertionError(name + " is not in the catalogue");
+    }
+
+    @Test
+    public void testJ2000Longitudes() {
+        FixedStarCatalogue catalogue = FixedStarCatalogue.bundled();
+        assertTrue(catalogue.size() >= 100);
+        // Mean ecliptic longitudes of J2000
+        assertEquals(149.83, longitude(catalogue, 2451545.0, "Regulus"), 0.02);
+        assertEquals(203.84, longitude(catalogue, 2451545.0, "Spica"), 0.02);
+        assertEquals(69.79, longitude(catalogue, 2451545.0, "Aldebaran"), 0.02);
+        assertEquals(56.17, longitude(catalogue, 2451545.0, "Algol"), 0.02);
+    }
+
+    @Test
+    public void testPrecessionAndDailyCache() {
+        FixedStarCatalogue catalogue = FixedStarCatalogue.bundled();
+        // About 50.3 arcseconds a year: Regulus moved into Virgo in 2011
+        assertEquals(150.18, longitude(catalogue, 2460676.5, "Regulus"), 0.02);
+        // Times within the same day share one computed epoch
+        assertSame(catalogue.positions(2460676.1), catalogue.positions(2460676.4));
+    }
+}
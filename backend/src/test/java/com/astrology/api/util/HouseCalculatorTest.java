@@ -0,0 +1,167 @@
+package com.astrology.api.util;
+
+import com.astrology.api.model.astrology.HouseSystem;
+import org.junit.jupiter.api.Test;
+import swisseph.SweConst;
+import swisseph.SwissEph;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HouseCalculatorTest {
+    private static final double OBLIQUITY = 23.4367;
+    private static final double ARCSEC = 1.0 / 3600.0;
+
+    private final SwissEph swissEph = new SwissEph();
+
+    @Test
+    public void testSystemsMatchSwissEph() {
+        for (HouseSystem system : HouseSystem.values()) {
+            // Placidus is compared separately: SwissEph stops iterating early at high latitudes
+            double maxLatitude = system == HouseSystem.PLACIDUS ? 60 : 89;
+            double worst = compare(system, maxLatitude);
+            assertTrue(worst < (system == HouseSystem.PLACIDUS ? ARCSEC : 1e-6),
+                    system + " differs from SwissEph by " + worst + " degrees");
+        }
+    }
+
+    @Test
+    public void testPolarFallbackToPorphyry() {
+        double[] cusps = new double[HouseCalculator.CUSP_COUNT];
+        double[] ascmc = new double[HouseCalculator.ASCMC_COUNT];
+        double[] expected = new double[HouseCalculator.CUSP_COUNT];
+        double[] expectedAscmc = new double[HouseCalculator.ASCMC_COUNT];
+
+        for (HouseSystem system : new HouseSystem[]{HouseSystem.PLACIDUS, HouseSystem.KOCH}) {
+            HouseSystem used = HouseCalculator.calculateHousesFromSiderealTime(200.0, 70.0, OBLIQUITY,
+                    system, cusps, ascmc);
+            assertEquals(HouseSystem.PORPHYRY, used);
+
+            swissEph.swe_houses_armc(200.0, 70.0, OBLIQUITY, 'O', expected, expectedAscmc);
+            for (int house = 1; house <= 12; house++) {
+                assertEquals(0.0, difference(expected[house], cusps[house]), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    public void testJulianDayMatchesSwissEph() {
+        double[] cusps = new double[HouseCalculator.CUSP_COUNT];
+        double[] ascmc = new double[HouseCalculator.ASCMC_COUNT];
+        double[] expected = new double[HouseCalculator.CUSP_COUNT];
+        double[] expectedAscmc = new double[HouseCalculator.ASCMC_COUNT];
+
+        // Closed-form obliquity and nutation keep cusps within a couple of arcseconds. SwissEph
+        // switches to a long-term sidereal time model after 2050, so stay within 1900-2050.
+        for (double julianDay = 2415020.5; julianDay < 2469807.5; julianDay += 1234.567) {
+            HouseCalculator.calculateHouses(julianDay, 51.5, -0.13, HouseSystem.REGIOMONTANUS, cusps, ascmc);
+            swissEph.swe_houses(julianDay, SweConst.SEFLG_SWIEPH, 51.5, -0.13, 'R', expected, expectedAscmc);
+            for (int house = 1; house <= 12; house++) {
+                assertEquals(0.0, difference(expected[house], cusps[house]), 2 * ARCSEC);
+            }
+        }
+    }
+
+    @Test
+    public void testFastAnglesFromTable() {
+        double[] cusps = new double[HouseCalculator.CUSP_COUNT];
+        double[] ascmc = new double[HouseCalculator.ASCMC_COUNT];
+        double[] expected = new double[HouseCalculator.CUSP_COUNT];
+        double[] expectedAscmc = new double[HouseCalculator.ASCMC_COUNT];
+        double obliquity = AngleTable.REFERENCE_OBLIQUITY + 0.02;
+        for (HouseSystem system : new HouseSystem[]{HouseSystem.REGIOMONTANUS, HouseSystem.EQUAL}) {
+            for (double latitude = -45; latitude <= 45; latitude += 3.7) {
+                for (double armc = 0.3; armc < 360; armc += 7.3) {
+                    HouseCalculator.calculateHousesFast(armc, latitude, obliquity, system, cusps, ascmc);
+                    HouseCalculator.calculateHousesFromSiderealTime(armc, latitude, obliquity, system,
+                            expected, expectedAscmc);
+                    for (int house = 1; house <= 12; house++) {
+                        assertEquals(0.0, difference(expected[house], cusps[house]), 4 * ARCSEC);
+                    }
+                    for (int angle = 0; angle < 5; angle++) {
+                        assertEquals(0.0, difference(expectedAscmc[angle], ascmc[angle]), 4 * ARCSEC);
+                    }
+                }
+            }
+        }
+        // Beyond the table the cusps are exact
+        HouseCalculator.calculateHousesFast(200.0, 70.0, obliquity, HouseSystem.REGIOMONTANUS, cusps, ascmc);
+        HouseCalculator.calculateHousesFromSiderealTime(200.0, 70.0, obliquity, HouseSystem.REGIOMONTANUS,
+                expected, expectedAscmc);
+        assertArrayEquals(expected, cusps, 0.0);
+    }
+
+    @Test
+    public void testFastPlacidusAndKochWithinTheDocumentedBounds() {
+        for (HouseSystem system : new HouseSystem[]{HouseSystem.PLACIDUS, HouseSystem.KOCH}) {
+            for (double obliquity : new double[]{AngleTable.REFERENCE_OBLIQUITY - 0.025,
+                    AngleTable.REFERENCE_OBLIQUITY + 0.015}) {
+                // Off the table nodes, from the equator out to the cutoff on both sides
+                double worstTo45 = 0;
+                double worstTo60 = 0;
+                for (double latitude = -AngleTable.MAX_LATITUDE; latitude <= AngleTable.MAX_LATITUDE;
+                        latitude += 0.7) {
+                    double worst = compareFast(system, latitude, obliquity);
+                    if (Math.abs(latitude) <= 45) {
+                        worstTo45 = Math.max(worstTo45, worst);
+                    }
+                    worstTo60 = Math.max(worstTo60, worst);
+                }
+                worstTo60 = Math.max(worstTo60, compareFast(system, AngleTable.MAX_LATITUDE, obliquity));
+                assertTrue(worstTo45 < 3.5 * ARCSEC, system + " up to 45 degrees: " + worstTo45 / ARCSEC + "\"");
+                double bound = system == HouseSystem.KOCH ? 30 * ARCSEC : 20 * ARCSEC;
+                assertTrue(worstTo60 < bound, system + " up to 60 degrees: " + worstTo60 / ARCSEC + "\"");
+            }
+        }
+    }
+
+    @Test
+    public void testHouseSystemFromString() {
+        assertEquals(HouseSystem.PLACIDUS, HouseSystem.fromString(null));
+        assertEquals(HouseSystem.WHOLE_SIGN, HouseSystem.fromString("Whole Sign"));
+        assertEquals(HouseSystem.KOCH, HouseSystem.fromString("k"));
+        assertThrows(IllegalArgumentException.class, () -> HouseSystem.fromString("Topocentric"));
+    }
+
+    private double compare(HouseSystem system, double maxLatitude) {
+        double[] cusps = new double[HouseCalculator.CUSP_COUNT];
+        double[] ascmc = new double[HouseCalculator.ASCMC_COUNT];
+        double[] expected = new double[HouseCalculator.CUSP_COUNT];
+        double[] expectedAscmc = new double[HouseCalculator.ASCMC_COUNT];
+        double worst = 0;
+        for (double latitude = -maxLatitude; latitude <= maxLatitude; latitude += 2.5) {
+            for (double armc = 0.3; armc < 360; armc += 7.3) {
+                swissEph.swe_houses_armc(armc, latitude, OBLIQUITY, system.getCode(), expected, expectedAscmc);
+                HouseCalculator.calculateHousesFromSiderealTime(armc, latitude, OBLIQUITY, system, cusps, ascmc);
+                for (int house = 1; house <= 12; house++) {
+                    worst = Math.max(worst, Math.abs(difference(expected[house], cusps[house])));
+                }
+                worst = Math.max(worst, Math.abs(difference(expectedAscmc[0], ascmc[0])));
+                worst = Math.max(worst, Math.abs(difference(expectedAscmc[1], ascmc[1])));
+            }
+        }
+        return worst;
+    }
+
+    // Largest difference of the fast cusps and angles from the exact ones over the ARMC at one latitude
+    private static double compareFast(HouseSystem system, double latitude, double obliquity) {
+        double[] cusps = new double[HouseCalculator.CUSP_COUNT];
+        double[] ascmc = new double[HouseCalculator.ASCMC_COUNT];
+        double[] expected = new double[HouseCalculator.CUSP_COUNT];
+        double[] expectedAscmc = new double[HouseCalculator.ASCMC_COUNT];
+        double worst = 0;
+        for (double armc = 0.3; armc < 360; armc += 1.3) {
+            assertEquals(system, HouseCalculator.calculateHousesFast(armc, latitude, obliquity, system, cusps, ascmc));
+            HouseCalculator.calculateHousesFromSiderealTime(armc, latitude, obliquity, system, expected, expectedAscmc);
+            for (int house = 1; house <= 12; house++) {
+                worst = Math.max(worst, Math.abs(difference(expected[house], cusps[house])));
+            }
+            for (int angle = 0; angle < 5; angle++) {
+                worst = Math.max(worst, Math.abs(difference(expectedAscmc[angle], ascmc[angle])));
+            }
+        }
+        return worst;
+    }
+
+    private static double difference(double a, double b) {
+        return ((a - b) % 360 + 540) % 360 - 180;
+    }
+}
@@ -0,0 +1,124 @@
+package com.astrology.api.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import swisseph.SweConst;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class JPLDE405ReaderTest {
+    private static final double AU = 149597870.7;
+    private static final double START_JD = 2451536.5;
+    private static final double SPAN = 32.0;
+    private static final int RECORDS = 2;
+    private static final int COEFFICIENTS = 12;
+
+    @TempDir
+    Path tempDir;
+
+    private JPLDE405Reader reader;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        Path file = tempDir.resolve("fixture.de");
+        writeFixture(file);
+        reader = new JPLDE405Reader(file);
+        reader.open();
+    }
+
+    @Test
+    public void testHeader() {
+        assertTrue(reader.isOpen());
+        assertEquals(405, reader.getDeNumber());
+        assertEquals(START_JD, reader.getStartJd());
+        assertEquals(START_JD + RECORDS * SPAN, reader.getEndJd());
+        assertEquals(AU, reader.getAu());
+        assertEquals(81.30056, reader.getEarthMoonRatio());
+        assertFalse(reader.covers(START_JD - 1));
+    }
+
+    @Test
+    public void testChebyshevPositionAndVelocity() {
+        double[] out = new double[6];
+
+        // Mercury x = 1000 + 500 T1 + 20 T2 over the first record
+        double jd = START_JD + SPAN * 0.75; // normalised time 0.5
+        reader.evaluate(JPLDE405Reader.MERCURY, jd, out);
+        assertEquals(1000 + 500 * 0.5 + 20 * (2 * 0.25 - 1), out[0], 1e-9);
+        assertEquals((500 + 20 * 4 * 0.5) * 2 / SPAN, out[3], 1e-9);
+        assertEquals(-300.0, out[1], 1e-9);
+        assertEquals(0.0, out[4], 1e-9);
+
+        // Second record carries its own coefficients
+        reader.evaluate(JPLDE405Reader.MERCURY, START_JD + SPAN * 1.5, out);
+        assertEquals(2000.0, out[0], 1e-9);
+    }
+
+    @Test
+    public void testGeocentricSun() {
+        double[] out = new double[6];
+        double[] scratch = new double[6];
+
+        // Earth-Moon barycentre sits at -1 AU on the x axis with the Sun at the origin
+        reader.calculateGeocentric(START_JD + 10, SweConst.SE_SUN, out, scratch);
+        double longitude = out[0] > 180 ? out[0] - 360 : out[0];
+        assertEquals(0.0, longitude, 0.05);
+        assertEquals(0.0, out[1], 1e-9);
+        assertEquals(1.0, out[2], 1e-9);
+    }
+
+    private static void writeFixture(Path file) throws IOException {
+        int[][] pointers = new int[13][3];
+        int offset = 3;
+        for (int i = 0; i < 13; i++) {
+            pointers[i][0] = offset;
+            pointers[i][1] = COEFFICIENTS;
+            pointers[i][2] = 1;
+            offset += (i == JPLDE405Reader.NUTATIONS ? 2 : 3) * COEFFICIENTS;
+        }
+        int recordSize = (offset - 1) * 8;
+
+        ByteBuffer buffer = ByteBuffer.allocate(recordSize * (RECORDS + 2)).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putDouble(2652, START_JD);
+        buffer.putDouble(2660, START_JD + RECORDS * SPAN);
+        buffer.putDouble(2668, SPAN);
+        buffer.putDouble(2680, AU);
+        buffer.putDouble(2688, 81.30056);
+        for (int i = 0; i < 12; i++) {
+            for (int j = 0; j < 3; j++) {
+                buffer.putInt(2696 + (i * 3 + j) * 4, pointers[i][j]);
+            }
+        }
+        buffer.putInt(2840, 405);
+        for (int j = 0; j < 3; j++) {
+            buffer.putInt(2844 + j * 4, pointers[12][j]);
+        }
+
+        for (int record = 0; record < RECORDS; record++) {
+            int base = (record + 2) * recordSize;
+            buffer.putDouble(base, START_JD + record * SPAN);
+            buffer.putDouble(base + 8, START_JD + (record + 1) * SPAN);
+
+            int mercury = base + (pointers[JPLDE405Reader.MERCURY][0] - 1) * 8;
+            if (record == 0) {
+                buffer.putDouble(mercury, 1000.0);
+                buffer.putDouble(mercury + 8, 500.0);
+                buffer.putDouble(mercury + 16, 20.0);
+                buffer.putDouble(mercury + COEFFICIENTS * 8, -300.0);
+            } else {
+                buffer.putDouble(mercury, 2000.0);
+            }
+
+            int emb = base + (pointers[JPLDE405Reader.EARTH_MOON_BARYCENTER][0] - 1) * 8;
+            buffer.putDouble(emb, -AU);
+        }
+
+        Files.write(file, buffer.array());
+    }
+}
@@ -0,0 +1,42 @@
+package com.astrology.api.util;
+
+import com.astrology.api.model.astrology.Planet;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class KeplerBatchTest {
+
+    @Test
+    public void testAgainstSwissEphemeris() {
+        EphemerisBuffer out = new EphemerisBuffer();
+        new KeplerBatch().calculate(new double[]{2451545.0}, 1, out);
+        // Apparent longitudes from the Swiss Ephemeris at J2000
+        double[] expected = {280.369, 223.324, 271.889, 241.566, 327.963, 25.253, 40.396, 314.809, 303.193, 251.455};
+        for (Planet planet : Planet.all()) {
+            double tolerance = planet == Planet.MOON ? 0.35 : 0.25;
+            assertEquals(expected[planet.ordinal()], out.longitude(0, planet.ordinal()), tolerance, planet.name());
+        }
+        // The Sun moves about a degree a day in January
+        assertEquals(1.019, out.speed(0, Planet.SUN.ordinal()), 0.01);
+    }
+
+    @Test
+    public void testKernelsAgree() {
+        // Odd count so the vector kernel also runs its scalar tail
+        int count = 1001;
+        double[] julianDays = new double[count];
+        for (int i = 0; i < count; i++) {
+            julianDays[i] = 2415020.5 + i * 54.7;
+        }
+        EphemerisBuffer vector = new EphemerisBuffer();
+        EphemerisBuffer scalar = new EphemerisBuffer();
+        new KeplerBatch(KeplerKernel.create()).calculate(julianDays, count, vector);
+        new KeplerBatch(new ScalarKeplerKernel()).calculate(julianDays, count, scalar);
+        for (int i = 0; i < count * Planet.COUNT; i++) {
+            double difference = Math.abs(vector.getLongitudes()[i] - scalar.getLongitudes()[i]);
+            assertTrue(Math.min(difference, 360.0 - difference) < 1e-9);
+            assertEquals(scalar.getLongitudeSpeeds()[i], vector.getLongitudeSpeeds()[i], 1e-9);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.astrology.api.util;
+
+import com.astrology.api.model.astrology.Ayanamsa;
+import com.astrology.api.model.astrology.Planet;
+import org.junit.jupiter.api.Test;
+import swisseph.SweConst;
+import swisseph.SwissEph;
+
+import static com.astrology.api.util.TransitSearchTest.utc;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProgressionTimelineTest {
+
+    private final SwissEph swissEph = new SwissEph();
+    // Born 1 March 2024 0h UT, a month before Mercury's April station
+    private final double natalJd = utc(2024, 3, 1, 0, 0);
+
+    @Test
+    public void testMonthlyPointsMatchTheEphemeris() {
+        double[] natal = new double[Planet.COUNT + 2];
+        natal[Planet.COUNT] = 100.0;
+        ProgressionTimeline timeline = ProgressionTimeline.generate(swissEph, natalJd, natal, 80, 12);
+        assertEquals(80 * 12 + 1, timeline.getPointCount());
+
+        double[] xx = new double[6];
+        StringBuffer serr = new StringBuffer();
+        swissEph.swe_calc_ut(natalJd, SweConst.SE_SUN, SweConst.SEFLG_SWIEPH, xx, serr);
+        double natalSun = xx[0];
+        for (int point = 0; point < timeline.getPointCount(); point++) {
+            for (Planet planet : Planet.all()) {
+                swissEph.swe_calc_ut(timeline.progressedJulianDay(point), planet.getSweBody(),
+                    SweConst.SEFLG_SWIEPH | SweConst.SEFLG_SPEED, xx, serr);
+                assertEquals(0.0, TransitSearch.signedDifference(timeline.progressedLongitude(point, planet), xx[0]),
+                    1.0 / 3600.0, planet + " at point " + point);
+            }
+            double arc = TransitSearch.signedDifference(timeline.progressedLongitude(point, Planet.SUN), natalSun);
+            assertEquals((arc + 360.0) % 360.0, timeline.solarArc(point), 1e-9);
+            assertEquals((100.0 + timeline.solarArc(point)) % 360.0, timeline.directedLongitude(point, Planet.COUNT),
+                1e-9);
+        }
+
+        // Mercury stationed retrograde on 1 April 22:14 UT (31.93 days on) and direct on 25 April 12:54 (55.54)
+        int retrograde = firstPointWhere(timeline, true, 0);
+        int direct = firstPointWhere(timeline, false, retrograde);
+        assertEquals(32.0, timeline.age(retrograde), 1e-9);
+        assertEquals(55.0 + 7.0 / 12, timeline.age(direct), 1e-9);
+    }
+
+    @Test
+    public void testSiderealTimeline() {
+        double[] natal = new double[Planet.COUNT + 2];
+        ProgressionTimeline tropical = ProgressionTimeline.generate(swissEph, natalJd, natal, 10, 1);
+        ProgressionTimeline sidereal = ProgressionTimeline.generate(swissEph, natalJd, natal, 10, 1, Ayanamsa.LAHIRI);
+        for (int point = 0; point < tropical.getPointCount(); point++) {
+            double offset = AyanamsaCache.offset(swissEph, Ayanamsa.LAHIRI, tropical.progressedJulianDay(point));
+            for (Planet planet : Planet.all()) {
+                assertEquals(0.0, TransitSearch.signedDifference(tropical.progressedLongitude(point, planet) - offset,
+                    sidereal.progressedLongitude(point, planet)), 1e-9);
+            }
+            // The arc is a difference of two sidereal Suns, so it barely changes
+            assertEquals(tropical.solarArc(point), sidereal.solarArc(point), 0.01);
+        }
+    }
+
+    private static int firstPointWhere(ProgressionTimeline timeline, boolean retrograde, int from) {
+        for (int point = from; point < timeline.getPointCount(); point++) {
+            if (timeline.isProgressedRetrograde(point, Planet.MERCURY) == retrograde) {
+                return point;
+            }
+        }
+        return fail("Mercury never changes direction");
+    }
+}
@@ -0,0 +1,60 @@
+package com.astrology.api.util;
+
+import com.astrology.api.model.astrology.AspectType;
+import com.astrology.api.model.astrology.HouseSystem;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.astrology.api.util.TransitSearchTest.utc;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RectificationSweepTest {
+    private static final double MINUTE = 1.0 / 1440;
+    private static final double LATITUDE = 51.5;
+    private static final double LONGITUDE = -0.12;
+
+    @Test
+    public void testRecoversTheBirthMinute() {
+        // Candidates every minute from 06:30 to 10:30 UT; the true birth is 08:30, candidate 120
+        double startJd = utc(1990, 6, 15, 6, 30);
+        int count = 241;
+        int birth = 120;
+        double[] nutation = new double[2];
+        HouseCalculator.obliquityAndNutation(startJd, nutation);
+        double armcStart = TimeScale.meanSiderealTime(startJd) + nutation[1] * Math.cos(Math.toRadians(nutation[0]))
+            + LONGITUDE;
+        RectificationSweep sweep = new RectificationSweep(armcStart, MINUTE * TimeScale.SIDEREAL_RATE, count,
+            LATITUDE, nutation[0]);
+
+        double[] cusps = new double[HouseCalculator.CUSP_COUNT];
+        double[] ascmc = new double[HouseCalculator.ASCMC_COUNT];
+        HouseCalculator.calculateHouses(startJd + birth * MINUTE, LATITUDE, LONGITUDE, HouseSystem.PORPHYRY,
+            cusps, ascmc);
+        double ascendant = ascmc[0];
+        double midheaven = ascmc[1];
+
+        // A transit on the true Ascendant, one square the true MC, and a direction of the Ascendant by
+        // a 25 degree arc onto a natal planet
+        AspectCalculator aspects = new AspectCalculator(
+            new AspectType[]{AspectType.CONJUNCTION, AspectType.SQUARE}, new double[]{2, 2});
+        double[] natal = {(ascendant + 25.0) % 360.0, (ascendant + 200.0) % 360.0};
+        AtomicInteger done = new AtomicInteger();
+        sweep.transits(new double[]{ascendant, (midheaven + 90.0) % 360.0}, new double[]{1.0, 2.0}, aspects)
+            .directions(new double[]{25.0}, new double[]{3.0}, natal, aspects)
+            .run(ForkJoinPool.commonPool(), done::addAndGet);
+        assertEquals(count, done.get());
+
+        assertEquals(ascendant, sweep.ascendant(birth), 1.0 / 3600.0);
+        assertEquals(midheaven, sweep.midheaven(birth), 1.0 / 3600.0);
+        int[] best = sweep.best(3);
+        assertEquals(birth, best[0]);
+        // All three hits are within a second of exact, so the score is nearly the sum of the weights
+        assertEquals(6.0, sweep.score(birth), 0.01);
+        assertTrue(sweep.score(best[1]) < sweep.score(birth) && sweep.score(best[2]) <= sweep.score(best[1]));
+        // Four minutes either side move the Ascendant about a degree, half the orb
+        assertTrue(sweep.score(birth - 4) < 4.0 && sweep.score(birth + 4) < 4.0);
+        assertEquals(0.0, sweep.score(0));
+    }
+}
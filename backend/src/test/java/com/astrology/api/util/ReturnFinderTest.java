@@ -0,0 +1,83 @@
+package com.astrology.api.util;
+
+import com.astrology.api.model.astrology.Ayanamsa;
+import com.astrology.api.model.astrology.HouseSystem;
+import com.astrology.api.model.astrology.Planet;
+import org.junit.jupiter.api.Test;
+import swisseph.SweConst;
+import swisseph.SwissEph;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReturnFinderTest {
+    private static final double TROPICAL_YEAR = 365.242190;
+
+    private final ChartKernel kernel = new ChartKernel();
+
+    @Test
+    public void testSolarAndLunarReturns() {
+        int[] evaluations = new int[1];
+        SwissEph counting = new SwissEph() {
+            @Override
+            public int swe_calc_ut(double julianDay, int body, int flags, double[] xx, StringBuffer serr) {
+                evaluations[0]++;
+                return super.swe_calc_ut(julianDay, body, flags, xx, serr);
+            }
+        };
+        ReturnFinder finder = new ReturnFinder(counting);
+
+        // The Sun back at 0° and 30°: the 2024 March equinox at 03:06 UT and Taurus at 13:59 UT on 19 April
+        double equinox = finder.next(SweConst.SE_SUN, 0.0, TransitSearchTest.utc(2024, 1, 1, 0, 0));
+        assertEquals(TransitSearchTest.utc(2024, 3, 20, 3, 6), equinox, 1.0 / 1440);
+        evaluations[0] = 0;
+        double taurus = finder.next(SweConst.SE_SUN, 30.0, equinox);
+        assertEquals(TransitSearchTest.utc(2024, 4, 19, 13, 59), taurus, 1.0 / 1440);
+        assertTrue(evaluations[0] <= 7, evaluations[0] + " evaluations");
+
+        // Lunar returns to the Moon of the equinox, a sidereal month apart
+        double[] xx = new double[6];
+        StringBuffer serr = new StringBuffer();
+        new SwissEph().swe_calc_ut(equinox, SweConst.SE_MOON, SweConst.SEFLG_SWIEPH, xx, serr);
+        double moon = xx[0];
+        double previous = equinox;
+        for (int month = 0; month < 13; month++) {
+            evaluations[0] = 0;
+            double lunarReturn = finder.next(SweConst.SE_MOON, moon, previous + 20);
+            assertTrue(evaluations[0] <= 7, evaluations[0] + " evaluations");
+            assertEquals(27.32, lunarReturn - previous, 0.3);
+            counting.swe_calc_ut(lunarReturn, SweConst.SE_MOON, SweConst.SEFLG_SWIEPH, xx, serr);
+            assertEquals(0.0, TransitSearch.signedDifference(xx[0], moon), 1e-5);
+            previous = lunarReturn;
+        }
+    }
+
+    @Test
+    public void testSiderealSolarReturnLandsOnTheBirthday() {
+        // 1990-06-15 08:30 UTC in Delhi, saved as a Lahiri chart
+        double natalJd = TimeScale.julianDayUtc(LocalDateTime.of(1990, 6, 15, 8, 30));
+        ChartResult natal = kernel.compute(natalJd, 28.61, 77.21, HouseSystem.PLACIDUS, Ayanamsa.LAHIRI,
+            new ChartResult());
+        double natalSun = natal.longitude(Planet.SUN);
+        double after = natalJd + 30 * TROPICAL_YEAR - 3;
+
+        double sidereal = SwissEphPool.shared().execute(swissEph ->
+            new ReturnFinder(swissEph, Ayanamsa.LAHIRI).next(Planet.SUN.getSweBody(), natalSun, after));
+        double birthday = TimeScale.julianDayUtc(LocalDateTime.of(2020, 6, 15, 8, 30));
+        assertEquals(birthday, sidereal, 1.0);
+        // The sidereal year is about 20.4 minutes longer than the tropical one
+        double tropicalSun = kernel.compute(natalJd, 28.61, 77.21, new ChartResult()).longitude(Planet.SUN);
+        double tropicalReturn = SwissEphPool.shared().execute(swissEph ->
+            new ReturnFinder(swissEph).next(Planet.SUN.getSweBody(), tropicalSun, after));
+        assertEquals(30 * 20.4 / 1440, sidereal - tropicalReturn, 0.02);
+        ChartResult back = kernel.compute(sidereal, 28.61, 77.21, HouseSystem.PLACIDUS, Ayanamsa.LAHIRI,
+            new ChartResult());
+        assertEquals(0.0, TransitSearch.signedDifference(back.longitude(Planet.SUN), natalSun), 2.0 / 3600.0);
+
+        // Read as tropical, the stored sidereal Sun comes back about 24 days before the birthday
+        double tropical = SwissEphPool.shared().execute(swissEph ->
+            new ReturnFinder(swissEph).next(Planet.SUN.getSweBody(), natalSun, birthday - 40));
+        assertEquals(-24.5, tropical - birthday, 1.5);
+    }
+}
@@ -0,0 +1,34 @@
+package com.astrology.api.util;
+
+import com.astrology.api.model.astrology.Planet;
+import org.junit.jupiter.api.Test;
+import swisseph.SweConst;
+import swisseph.SwissEph;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SlowPlanetCacheTest {
+
+    @Test
+    public void testInterpolationMatchesEphemeris() {
+        SwissEph swissEph = new SwissEph();
+        double[] bodies = new double[Planet.COUNT * ChartResult.BODY_STRIDE];
+        double[] xx = new double[ChartResult.BODY_STRIDE];
+        StringBuffer serr = new StringBuffer();
+        // Across one day, on either side of the nodes and including one
+        for (double julianDay = 2460676.0; julianDay <= 2460677.0; julianDay += 0.125) {
+            assertTrue(SlowPlanetCache.calculate(swissEph, julianDay, bodies));
+            for (Planet planet : Planet.all()) {
+                if (!SlowPlanetCache.isCached(planet)) {
+                    continue;
+                }
+                swissEph.swe_calc_ut(julianDay, planet.getSweBody(), SweConst.SEFLG_SWIEPH | SweConst.SEFLG_SPEED, xx, serr);
+                int offset = planet.ordinal() * ChartResult.BODY_STRIDE;
+                assertEquals(xx[0], bodies[offset], 1e-5, planet.name());
+                assertEquals(xx[1], bodies[offset + 1], 1e-5, planet.name());
+                assertEquals(xx[3], bodies[offset + 3], 1e-5, planet.name());
+            }
+        }
+        assertFalse(SlowPlanetCache.isCached(Planet.MARS));
+    }
+}
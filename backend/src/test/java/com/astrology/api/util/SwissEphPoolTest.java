@@ -0,0 +1,139 @@
+package com.astrology.api.util;
+
+import org.junit.jupiter.api.Test;
+import swisseph.SweConst;
+import swisseph.SwissEph;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class SwissEphPoolTest {
+    private static final int SAMPLES = 400;
+    private static final double START_JD = 2451545.0;
+
+    @Test
+    public void testConcurrentResultsMatchSingleThreaded() throws Exception {
+        int threads = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+        SwissEphPool pool = new SwissEphPool(Runtime.getRuntime().availableProcessors(), null);
+
+        // Reference longitudes computed on a single thread
+        double[] expected = new double[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            expected[i] = longitude(pool, i);
+        }
+
+        // The same instants computed by more threads than pooled instances
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<double[]>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    double[] actual = new double[SAMPLES];
+                    for (int i = 0; i < SAMPLES; i++) {
+                        actual[i] = longitude(pool, i);
+                    }
+                    return actual;
+                }));
+            }
+            for (Future<double[]> future : futures) {
+                assertArrayEquals(expected, future.get(), 1e-12);
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        SwissEphPool.PoolStats stats = pool.getStats();
+        assertEquals(0, stats.getInUse());
+        assertEquals((long) SAMPLES * (threads + 1), stats.getBorrowCount());
+        assertTrue(stats.getPeakInUse() <= pool.getSize());
+    }
+
+    @Test
+    public void testConcurrentBorrowsNeverShareAnInstance() throws Exception {
+        int threads = 8;
+        int borrowsPerThread = 500;
+        SwissEphPool pool = new SwissEphPool(3, null);
+        Set<SwissEph> held = Collections.newSetFromMap(new IdentityHashMap<>());
+        AtomicInteger shared = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < borrowsPerThread; i++) {
+                        SwissEph swissEph = pool.borrow();
+                        synchronized (held) {
+                            if (!held.add(swissEph)) {
+                                shared.incrementAndGet();
+                            }
+                        }
+                        Thread.yield();
+                        synchronized (held) {
+                            held.remove(swissEph);
+                        }
+                        pool.release(swissEph);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(0, shared.get());
+        SwissEphPool.PoolStats stats = pool.getStats();
+        assertEquals(0, stats.getInUse());
+        assertEquals((long) threads * borrowsPerThread, stats.getBorrowCount());
+        assertTrue(stats.getPeakInUse() <= pool.getSize());
+        assertTrue(stats.getContendedCount() <= stats.getBorrowCount());
+        assertTrue(stats.getMaxWaitMicros() <= stats.getTotalWaitMicros());
+    }
+
+    @Test
+    public void testWaitingBorrowGetsTheReleasedInstance() throws Exception {
+        SwissEphPool pool = new SwissEphPool(2, null);
+        SwissEph first = pool.borrow();
+        SwissEph second = pool.borrow();
+        assertNotSame(first, second);
+        assertEquals(2, pool.getStats().getInUse());
+
+        AtomicReference<SwissEph> waiter = new AtomicReference<>();
+        Thread thread = new Thread(() -> waiter.set(pool.borrow()));
+        thread.start();
+        while (thread.getState() != Thread.State.WAITING) {
+            Thread.sleep(1);
+        }
+        pool.release(first);
+        thread.join(10_000);
+        assertSame(first, waiter.get());
+
+        SwissEphPool.PoolStats stats = pool.getStats();
+        assertEquals(3, stats.getBorrowCount());
+        assertEquals(1, stats.getContendedCount());
+        assertEquals(2, stats.getInUse());
+        assertEquals(2, stats.getPeakInUse());
+        pool.release(second);
+        pool.release(waiter.get());
+        assertEquals(0, pool.getStats().getInUse());
+    }
+
+    private static double longitude(SwissEphPool pool, int sample) {
+        double[] xx = new double[6];
+        StringBuffer serr = new StringBuffer();
+        pool.execute(swissEph -> swissEph.swe_calc_ut(START_JD + sample * 3.7, sample % 10,
+                SweConst.SEFLG_SWIEPH | SweConst.SEFLG_SPEED, xx, serr));
+        return xx[0];
+    }
+}
@@ -0,0 +1,77 @@
+package com.astrology.api.util;
+
+import org.junit.jupiter.api.Test;
+import swisseph.SweConst;
+import swisseph.SwissEph;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SwissEphemerisCalculatorTest {
+    private static final int FLAGS = SweConst.SEFLG_SWIEPH | SweConst.SEFLG_SPEED;
+
+    private final SwissEph swissEph = new SwissEph();
+
+    @Test
+    public void testBatchMatchesSingleCalls() {
+        int[] bodies = SwissEphemerisCalculator.classicalBodies();
+        double[] julianDays = new double[40];
+        for (int i = 0; i < julianDays.length; i++) {
+            julianDays[i] = 2415020.5 + i * 1283.17;
+        }
+        EphemerisBuffer out = new EphemerisBuffer();
+        assertEquals(0, SwissEphemerisCalculator.calculatePositions(julianDays, bodies, out));
+        assertEquals(julianDays.length, out.getInstantCount());
+        assertEquals(bodies.length, out.getBodyCount());
+        assertMatchesSingleCalls(julianDays, julianDays.length, bodies, out);
+
+        // A shorter batch reuses the buffer and fills only its own instants
+        int capacity = out.getCapacity();
+        assertEquals(0, SwissEphemerisCalculator.calculatePositions(julianDays, 7, bodies, out));
+        assertEquals(capacity, out.getCapacity());
+        assertEquals(7, out.getInstantCount());
+        assertMatchesSingleCalls(julianDays, 7, bodies, out);
+    }
+
+    @Test
+    public void testFailuresAreCountedAndZeroFilled() {
+        // Chiron needs an asteroid file and an unknown body number always fails
+        int[] bodies = {SweConst.SE_SUN, SweConst.SE_CHIRON, 999, SweConst.SE_MOON};
+        double[] julianDays = {2451545.0, 2460310.5, 2433282.5};
+        int expected = 0;
+        double[] xx = new double[6];
+        StringBuffer serr = new StringBuffer();
+        for (double julianDay : julianDays) {
+            for (int body : bodies) {
+                if (swissEph.swe_calc_ut(julianDay, body, FLAGS, xx, serr) < 0) {
+                    expected++;
+                }
+            }
+        }
+        assertTrue(expected >= julianDays.length);
+
+        EphemerisBuffer out = new EphemerisBuffer();
+        assertEquals(expected, SwissEphemerisCalculator.calculatePositions(julianDays, bodies, out));
+        assertMatchesSingleCalls(julianDays, julianDays.length, bodies, out);
+    }
+
+    // Every buffer entry equals its own swe_calc_ut, or zeros where that call fails
+    private void assertMatchesSingleCalls(double[] julianDays, int count, int[] bodies, EphemerisBuffer out) {
+        double[] xx = new double[6];
+        StringBuffer serr = new StringBuffer();
+        for (int i = 0; i < count; i++) {
+            for (int b = 0; b < bodies.length; b++) {
+                if (swissEph.swe_calc_ut(julianDays[i], bodies[b], FLAGS, xx, serr) < 0) {
+                    xx = new double[6];
+                }
+                int k = out.index(i, b);
+                String where = "body " + bodies[b] + " at " + julianDays[i];
+                assertEquals(xx[0], out.getLongitudes()[k], 0.0, where);
+                assertEquals(xx[1], out.getLatitudes()[k], 0.0, where);
+                assertEquals(xx[2], out.getDistances()[k], 0.0, where);
+                assertEquals(xx[3], out.getLongitudeSpeeds()[k], 0.0, where);
+                assertEquals(xx[4], out.getLatitudeSpeeds()[k], 0.0, where);
+                assertEquals(xx[5], out.getDistanceSpeeds()[k], 0.0, where);
+            }
+        }
+    }
+}
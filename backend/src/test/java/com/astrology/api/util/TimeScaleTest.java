@@ -0,0 +1,81 @@
+package com.astrology.api.util;
+
+import org.junit.jupiter.api.Test;
+import swisseph.SweDate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimeScaleTest {
+    private static final double MILLISECOND = 0.001 / TimeScale.SECONDS_PER_DAY;
+
+    @Test
+    public void testJulianDayMatchesSweDate() {
+        Random random = new Random(7);
+        for (int trial = 0; trial < 2000; trial++) {
+            // Both sides of the Unix epoch, in the proleptic Gregorian calendar
+            LocalDateTime dateTime = LocalDateTime.of(1600 + random.nextInt(600), 1 + random.nextInt(12),
+                1 + random.nextInt(28), random.nextInt(24), random.nextInt(60), random.nextInt(60));
+            double hour = dateTime.getHour() + dateTime.getMinute() / 60.0 + dateTime.getSecond() / 3600.0;
+            double expected = SweDate.getJulDay(dateTime.getYear(), dateTime.getMonthValue(), dateTime.getDayOfMonth(),
+                hour, SweDate.SE_GREG_CAL);
+            double julianDay = TimeScale.julianDayUtc(dateTime);
+            assertEquals(expected, julianDay, MILLISECOND, dateTime.toString());
+            assertEquals(dateTime, LocalDateTime.ofEpochSecond(TimeScale.epochSeconds(julianDay), 0,
+                ZoneOffset.UTC));
+        }
+        assertEquals(TimeScale.J2000, TimeScale.julianDayUtc(LocalDateTime.of(2000, 1, 1, 12, 0)));
+        assertEquals(TimeScale.UNIX_EPOCH_JD, TimeScale.julianDay(0L));
+    }
+
+    @Test
+    public void testZonesResolveAsZonedDateTime() {
+        ZoneId london = ZoneId.of("Europe/London");
+        // 01:30 on 31 March 2024 does not exist in London, and 01:30 on 27 October 2024 happens twice
+        LocalDateTime[] dateTimes = {
+            LocalDateTime.of(2024, 3, 31, 1, 30), LocalDateTime.of(2024, 10, 27, 1, 30),
+            LocalDateTime.of(2024, 3, 31, 0, 59), LocalDateTime.of(2024, 3, 31, 2, 0),
+            LocalDateTime.of(2024, 10, 27, 0, 59), LocalDateTime.of(2024, 10, 27, 2, 0),
+            LocalDateTime.of(1990, 6, 15, 8, 30)
+        };
+        for (String zone : new String[]{"Europe/London", "America/New_York", "Australia/Lord_Howe", "UTC"}) {
+            ZoneId zoneId = ZoneId.of(zone);
+            for (LocalDateTime dateTime : dateTimes) {
+                long expected = ZonedDateTime.of(dateTime, zoneId).toEpochSecond();
+                assertEquals(expected, TimeScale.epochSeconds(dateTime, zone), zone + " " + dateTime);
+                assertEquals(TimeScale.julianDay(expected), TimeScale.julianDay(dateTime, zoneId));
+            }
+        }
+        // The gap moves forward by its hour; the overlap takes the earlier, summer offset
+        assertEquals(ZonedDateTime.of(2024, 3, 31, 2, 30, 0, 0, london).toEpochSecond(),
+            TimeScale.epochSeconds(LocalDateTime.of(2024, 3, 31, 1, 30), "Europe/London"));
+        assertEquals(LocalDateTime.of(2024, 10, 27, 0, 30).toEpochSecond(ZoneOffset.UTC),
+            TimeScale.epochSeconds(LocalDateTime.of(2024, 10, 27, 1, 30), "Europe/London"));
+    }
+
+    @Test
+    public void testDeltaTMatchesSweDate() {
+        // Inside the table the yearly nodes are interpolated; ΔT curves most in the 17th century
+        double since1720 = TimeScale.julianDayUtc(LocalDateTime.of(1720, 1, 1, 0, 0));
+        for (double julianDay = TimeScale.julianDayUtc(LocalDateTime.of(1620, 1, 1, 0, 0));
+             julianDay < TimeScale.julianDayUtc(LocalDateTime.of(2100, 1, 1, 0, 0)); julianDay += 1.37) {
+            double seconds = julianDay < since1720 ? 0.35 : 0.13;
+            assertEquals(SweDate.getDeltaT(julianDay), TimeScale.deltaT(julianDay),
+                seconds / TimeScale.SECONDS_PER_DAY, "JD " + julianDay);
+        }
+        // On a node and outside the table the values are SwissEph's own
+        double node = TimeScale.julianDayUtc(LocalDateTime.of(1900, 1, 1, 0, 0));
+        assertEquals(SweDate.getDeltaT(node), TimeScale.deltaT(node), 1e-15);
+        for (int year : new int[]{-500, 1000, 1619, 2100, 2200, 3000}) {
+            double julianDay = TimeScale.julianDayUtc(LocalDateTime.of(year, 6, 1, 0, 0));
+            assertEquals(SweDate.getDeltaT(julianDay), TimeScale.deltaT(julianDay), 0.0, "year " + year);
+        }
+        double julianDay = TimeScale.julianDayUtc(LocalDateTime.of(2024, 6, 1, 0, 0));
+        assertEquals(julianDay + TimeScale.deltaT(julianDay), TimeScale.julianDayTt(julianDay));
+    }
+}
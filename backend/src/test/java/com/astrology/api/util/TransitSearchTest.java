@@ -0,0 +1,72 @@
+package com.astrology.api.util;
+
+import org.junit.jupiter.api.Test;
+import swisseph.SweConst;
+import swisseph.SwissEph;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TransitSearchTest {
+    // One minute in days
+    private static final double MINUTE = 1.0 / 1440;
+
+    private final SwissEph swissEph = new SwissEph();
+
+    @Test
+    public void testRootFinders() {
+        assertEquals(Math.PI / 2, RootFinder.brent(Math::cos, 0, 3, 1, Math.cos(3), 1e-12, 60), 1e-12);
+        double[] scratch = new double[1];
+        double root = RootFinder.newton((x, derivative) -> {
+            derivative[0] = 3 * x * x;
+            return x * x * x - 2;
+        }, 0, 2, -2, 6, 1e-12, 60, scratch);
+        assertEquals(Math.cbrt(2), root, 1e-12);
+        assertThrows(IllegalArgumentException.class, () -> RootFinder.brent(Math::cos, 0, 1, 1, Math.cos(1), 1e-9, 60));
+    }
+
+    @Test
+    public void testMercuryStationsAndCrossings() {
+        TransitSearch.Hits hits = new TransitSearch.Hits();
+        TransitSearch.Hits stations = new TransitSearch.Hits();
+        new TransitSearch(swissEph).search(SweConst.SE_MERCURY, utc(2024, 3, 1, 0, 0), utc(2024, 6, 1, 0, 0),
+            TransitSearch.defaultStep(SweConst.SE_MERCURY), new double[]{20.0}, 1, hits, stations);
+
+        // Mercury turned retrograde at 27°13' Aries on 1 April 2024 and direct at 15°58' Aries on 25 April
+        assertEquals(2, stations.size());
+        assertEquals(TransitSearch.STATION_RETROGRADE, stations.target(0));
+        assertEquals(utc(2024, 4, 1, 22, 14), stations.julianDay(0), 2 * MINUTE);
+        assertEquals(TransitSearch.STATION_DIRECT, stations.target(1));
+        assertEquals(utc(2024, 4, 25, 12, 54), stations.julianDay(1), 2 * MINUTE);
+
+        // 20° Aries lies inside the retrograde loop, so it is crossed three times
+        assertEquals(3, hits.size());
+        assertTrue(hits.speed(0) > 0 && hits.speed(1) < 0 && hits.speed(2) > 0);
+        double[] xx = new double[6];
+        StringBuffer serr = new StringBuffer();
+        for (int row = 0; row < hits.size(); row++) {
+            assertTrue(row == 0 || hits.julianDay(row) > hits.julianDay(row - 1));
+            swissEph.swe_calc_ut(hits.julianDay(row), SweConst.SE_MERCURY, SweConst.SEFLG_SWIEPH, xx, serr);
+            assertEquals(20.0, xx[0], 1e-5);
+        }
+    }
+
+    @Test
+    public void testSunIngresses() {
+        TransitSearch.Hits hits = new TransitSearch.Hits();
+        new TransitSearch(swissEph).search(SweConst.SE_SUN, utc(2024, 3, 1, 0, 0), utc(2024, 5, 1, 0, 0),
+            TransitSearch.defaultStep(SweConst.SE_SUN), new double[]{30.0, 0.0}, 2, hits);
+
+        // The March equinox of 2024 and the Sun entering Taurus, in time order whatever the target order
+        assertEquals(2, hits.size());
+        assertEquals(1, hits.target(0));
+        assertEquals(utc(2024, 3, 20, 3, 6), hits.julianDay(0), 2 * MINUTE);
+        assertEquals(0, hits.target(1));
+        assertEquals(utc(2024, 4, 19, 14, 0), hits.julianDay(1), 2 * MINUTE);
+    }
+
+    static double utc(int year, int month, int day, int hour, int minute) {
+        return TimeScale.julianDayUtc(LocalDateTime.of(year, month, day, hour, minute));
+    }
+}
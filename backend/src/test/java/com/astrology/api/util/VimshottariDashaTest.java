@@ -0,0 +1,44 @@
+package com.astrology.api.util;
+
+import com.astrology.api.model.astrology.DashaLord;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VimshottariDashaTest {
+
+    private static final double BIRTH = 2451545.0;
+
+    @Test
+    public void testBirthBalance() {
+        // Halfway through Rohini (40 - 53.33 degrees): half of the Moon's ten years remain
+        VimshottariDasha dasha = new VimshottariDasha(BIRTH, 46.6667, 1, 120);
+        assertEquals(DashaLord.MOON, dasha.getBirthLord());
+        assertEquals(DashaLord.MOON, dasha.lord(0, 0));
+        assertEquals(5 * VimshottariDasha.YEAR, dasha.end(0) - BIRTH, 0.5);
+        assertEquals(DashaLord.MARS, dasha.lord(1, 0));
+        assertEquals(7 * VimshottariDasha.YEAR, dasha.end(1) - dasha.start(1), 1e-6);
+        // Ten mahadashas: the birth one, the eight others and the birth lord's return
+        assertEquals(10, dasha.size());
+    }
+
+    @Test
+    public void testSubPeriodsNestInMahadashas() {
+        // At the very start of Ashwini the cycle begins at birth with Ketu
+        VimshottariDasha mahadashas = new VimshottariDasha(BIRTH, 0.0, 1, 120);
+        VimshottariDasha pratyantardashas = new VimshottariDasha(BIRTH, 0.0, 3, 120);
+        assertEquals(9, mahadashas.size());
+        assertEquals(729, pratyantardashas.size());
+        for (long period = 0; period < pratyantardashas.size(); period++) {
+            int maha = (int) (period / 81);
+            assertEquals(mahadashas.lord(maha, 0), pratyantardashas.lord(period, 0));
+            if (period % 81 == 0) {
+                // Each mahadasha opens with its own antardasha and pratyantardasha
+                assertEquals(mahadashas.start(maha), pratyantardashas.start(period), 1e-6);
+                assertEquals(pratyantardashas.lord(period, 0), pratyantardashas.lord(period, 2));
+            }
+        }
+        assertEquals(mahadashas.end(8), pratyantardashas.end(728), 1e-6);
+        assertEquals(DashaLord.CYCLE_YEARS * VimshottariDasha.YEAR, pratyantardashas.end(728) - BIRTH, 1e-6);
+    }
+}